@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.benchmarks.beans.ApplicationBean;
+import org.apache.webbeans.benchmarks.beans.Greeter;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Typesafe resolution via {@link javax.enterprise.inject.spi.BeanManager}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class BeanManagerBenchmark
+{
+    private BeanManagerImpl beanManager;
+    private Set<Bean<?>> greeterBeans;
+
+    @Setup
+    public void lookupBeanManager(ContainerState containerState)
+    {
+        beanManager = containerState.getBeanManager();
+        greeterBeans = beanManager.getBeans(Greeter.class);
+    }
+
+    @Benchmark
+    public Set<Bean<?>> getBeans()
+    {
+        return beanManager.getBeans(ApplicationBean.class);
+    }
+
+    @Benchmark
+    public Set<Bean<?>> getBeansByName()
+    {
+        return beanManager.getBeans("namedBean");
+    }
+
+    @Benchmark
+    public Bean<?> resolve()
+    {
+        return beanManager.resolve(greeterBeans);
+    }
+
+    @Benchmark
+    public Bean<?> getBeansAndResolve()
+    {
+        return beanManager.resolve(beanManager.getBeans(Greeter.class));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.se.SeContainerInitializer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full container boot of a {@link SyntheticDeployment}.
+ * Each iteration boots one container with freshly loaded bean classes.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class BootBenchmark
+{
+    @Param({"1000", "10000", "50000"})
+    public int beanCount;
+
+    private SyntheticDeployment deployment;
+
+    private Class<?>[] beanClasses;
+    private SeContainer container;
+
+    @Setup(Level.Trial)
+    public void generateDeployment()
+    {
+        deployment = new SyntheticDeployment(beanCount);
+    }
+
+    @Setup(Level.Iteration)
+    public void loadBeanClasses()
+    {
+        beanClasses = deployment.loadClasses(BootBenchmark.class.getClassLoader());
+    }
+
+    @Benchmark
+    public SeContainer boot()
+    {
+        container = SeContainerInitializer.newInstance()
+            .setClassLoader(beanClasses[0].getClassLoader())
+            .disableDiscovery()
+            .addBeanClasses(beanClasses)
+            .initialize();
+        return container;
+    }
+
+    @TearDown(Level.Iteration)
+    public void shutdown()
+    {
+        if (container != null)
+        {
+            container.close();
+            container = null;
+        }
+    }
+}
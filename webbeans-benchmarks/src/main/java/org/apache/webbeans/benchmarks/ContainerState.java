@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.se.SeContainerInitializer;
+
+import org.apache.webbeans.benchmarks.beans.ApplicationBean;
+import org.apache.webbeans.benchmarks.beans.Counted;
+import org.apache.webbeans.benchmarks.beans.CountedInterceptor;
+import org.apache.webbeans.benchmarks.beans.DependentBean;
+import org.apache.webbeans.benchmarks.beans.DependentChild;
+import org.apache.webbeans.benchmarks.beans.Greeter;
+import org.apache.webbeans.benchmarks.beans.GreeterDecorator;
+import org.apache.webbeans.benchmarks.beans.GreeterImpl;
+import org.apache.webbeans.benchmarks.beans.InterceptedBean;
+import org.apache.webbeans.benchmarks.beans.NamedBean;
+import org.apache.webbeans.benchmarks.beans.PingObserver;
+import org.apache.webbeans.benchmarks.beans.RequestBean;
+import org.apache.webbeans.benchmarks.beans.SessionBean;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.spi.ContextsService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Boots a container with all the beans in the {@code beans} package
+ * once per benchmark trial.
+ *
+ * <p>The request and session contexts of the default SE ContextsService are bound to a thread.
+ * They get started for each benchmark thread in {@link ThreadContexts}.</p>
+ */
+@State(Scope.Benchmark)
+public class ContainerState
+{
+    private SeContainer container;
+    private WebBeansContext webBeansContext;
+
+    @Setup(Level.Trial)
+    public void startContainer()
+    {
+        container = SeContainerInitializer.newInstance()
+            .disableDiscovery()
+            .addBeanClasses(
+                ApplicationBean.class, RequestBean.class, SessionBean.class,
+                DependentBean.class, DependentChild.class, NamedBean.class,
+                Greeter.class, GreeterImpl.class, GreeterDecorator.class,
+                Counted.class, CountedInterceptor.class, InterceptedBean.class,
+                PingObserver.class)
+            .enableInterceptors(CountedInterceptor.class)
+            .enableDecorators(GreeterDecorator.class)
+            .initialize();
+        webBeansContext = WebBeansContext.currentInstance();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContainer()
+    {
+        container.close();
+    }
+
+    public SeContainer getContainer()
+    {
+        return container;
+    }
+
+    public WebBeansContext getWebBeansContext()
+    {
+        return webBeansContext;
+    }
+
+    public BeanManagerImpl getBeanManager()
+    {
+        return webBeansContext.getBeanManagerImpl();
+    }
+
+    /**
+     * Starts the request and session context for each benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadContexts
+    {
+        private ContextsService contextsService;
+
+        @Setup(Level.Trial)
+        public void startContexts(ContainerState containerState)
+        {
+            contextsService = containerState.getWebBeansContext().getContextsService();
+            contextsService.startContext(RequestScoped.class, null);
+            contextsService.startContext(SessionScoped.class, null);
+        }
+
+        @TearDown(Level.Trial)
+        public void endContexts()
+        {
+            contextsService.endContext(SessionScoped.class, null);
+            contextsService.endContext(RequestScoped.class, null);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.benchmarks.beans.DependentBean;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Creating a &#064;Dependent bean with &#064;Dependent injection points
+ * and releasing all the dependents tracked in its CreationalContext.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class CreationalContextBenchmark
+{
+    private BeanManagerImpl beanManager;
+    private Bean<DependentBean> bean;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void lookupBean(ContainerState containerState)
+    {
+        beanManager = containerState.getBeanManager();
+        bean = (Bean<DependentBean>) beanManager.resolve(beanManager.getBeans(DependentBean.class));
+    }
+
+    @Benchmark
+    public int createAndRelease()
+    {
+        CreationalContext<DependentBean> creationalContext = beanManager.createCreationalContext(bean);
+        DependentBean instance = (DependentBean) beanManager.getReference(bean, DependentBean.class, creationalContext);
+        int result = instance.ping();
+        creationalContext.release();
+        return result;
+    }
+}
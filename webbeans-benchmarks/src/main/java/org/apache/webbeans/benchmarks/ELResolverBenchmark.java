@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.el.ELContext;
+import javax.el.ELResolver;
+import javax.el.FunctionMapper;
+import javax.el.VariableMapper;
+
+import org.apache.webbeans.el22.WebBeansELResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Resolution of a &#064;Named bean via the {@link WebBeansELResolver}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ELResolverBenchmark
+{
+    private WebBeansELResolver resolver;
+    private ELContext elContext;
+
+    @Setup
+    public void createResolver(ContainerState containerState, ContainerState.ThreadContexts threadContexts)
+    {
+        resolver = new WebBeansELResolver();
+        elContext = new BenchmarkELContext();
+    }
+
+    /**
+     * The name is looked up in the name table the resolver builds after deployment.
+     */
+    @Benchmark
+    public Object resolveName()
+    {
+        return resolver.getValue(elContext, null, "namedBean");
+    }
+
+    /**
+     * A name which is not known to the container, like the JSF implicit objects.
+     */
+    @Benchmark
+    public Object resolveUnknownName()
+    {
+        return resolver.getValue(elContext, null, "facesContext");
+    }
+
+    private static final class BenchmarkELContext extends ELContext
+    {
+        @Override
+        public ELResolver getELResolver()
+        {
+            return null;
+        }
+
+        @Override
+        public FunctionMapper getFunctionMapper()
+        {
+            return null;
+        }
+
+        @Override
+        public VariableMapper getVariableMapper()
+        {
+            return null;
+        }
+    }
+}
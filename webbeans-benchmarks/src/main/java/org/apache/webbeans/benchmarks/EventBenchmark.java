@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.event.Event;
+
+import org.apache.webbeans.benchmarks.beans.PingEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Synchronous and asynchronous event delivery.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class EventBenchmark
+{
+    private Event<PingEvent> event;
+
+    @Setup
+    public void lookupEvent(ContainerState containerState, ContainerState.ThreadContexts threadContexts)
+    {
+        event = containerState.getBeanManager().getEvent().select(PingEvent.class);
+    }
+
+    @Benchmark
+    public PingEvent fire()
+    {
+        PingEvent pingEvent = new PingEvent();
+        event.fire(pingEvent);
+        return pingEvent;
+    }
+
+    @Benchmark
+    public PingEvent fireAsync()
+    {
+        return event.fireAsync(new PingEvent()).toCompletableFuture().join();
+    }
+}
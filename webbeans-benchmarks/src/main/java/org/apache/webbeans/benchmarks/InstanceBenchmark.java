@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.Instance;
+
+import org.apache.webbeans.benchmarks.beans.ApplicationBean;
+import org.apache.webbeans.benchmarks.beans.DependentBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Programmatic lookup via {@link Instance}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class InstanceBenchmark
+{
+    private Instance<Object> instance;
+    private Instance<ApplicationBean> applicationBeanInstance;
+    private Instance<DependentBean> dependentBeanInstance;
+
+    @Setup
+    public void lookupInstances(ContainerState containerState)
+    {
+        instance = containerState.getContainer();
+        applicationBeanInstance = instance.select(ApplicationBean.class);
+        dependentBeanInstance = instance.select(DependentBean.class);
+    }
+
+    @Benchmark
+    public ApplicationBean get()
+    {
+        return applicationBeanInstance.get();
+    }
+
+    @Benchmark
+    public ApplicationBean selectAndGet()
+    {
+        return instance.select(ApplicationBean.class).get();
+    }
+
+    @Benchmark
+    public int getAndDestroyDependent()
+    {
+        DependentBean dependentBean = dependentBeanInstance.get();
+        int result = dependentBean.ping();
+        dependentBeanInstance.destroy(dependentBean);
+        return result;
+    }
+}
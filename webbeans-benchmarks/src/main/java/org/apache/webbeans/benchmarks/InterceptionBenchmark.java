@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.webbeans.benchmarks.beans.Greeter;
+import org.apache.webbeans.benchmarks.beans.InterceptedBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Invocations of intercepted and decorated methods.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class InterceptionBenchmark
+{
+    private InterceptedBean interceptedBean;
+    private Greeter greeter;
+    private int value;
+
+    @Setup
+    public void lookupBeans(ContainerState containerState)
+    {
+        interceptedBean = containerState.getContainer().select(InterceptedBean.class).get();
+        greeter = containerState.getContainer().select(Greeter.class).get();
+    }
+
+    @Benchmark
+    public int intercepted()
+    {
+        return interceptedBean.intercepted(value++);
+    }
+
+    @Benchmark
+    public int notInterceptedMethodOfInterceptedBean()
+    {
+        return interceptedBean.notIntercepted(value++);
+    }
+
+    @Benchmark
+    public String decorated()
+    {
+        return greeter.greet("OpenWebBeans");
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.webbeans.benchmarks.beans.ApplicationBean;
+import org.apache.webbeans.benchmarks.beans.RequestBean;
+import org.apache.webbeans.benchmarks.beans.SessionBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Method invocations on the normal scoped proxies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class NormalScopedProxyBenchmark
+{
+    private ApplicationBean applicationBean;
+    private RequestBean requestBean;
+    private SessionBean sessionBean;
+
+    @Setup
+    public void lookupProxies(ContainerState containerState, ContainerState.ThreadContexts threadContexts)
+    {
+        applicationBean = containerState.getContainer().select(ApplicationBean.class).get();
+        requestBean = containerState.getContainer().select(RequestBean.class).get();
+        sessionBean = containerState.getContainer().select(SessionBean.class).get();
+    }
+
+    @Benchmark
+    public int applicationScoped()
+    {
+        return applicationBean.ping();
+    }
+
+    @Benchmark
+    public int requestScoped()
+    {
+        return requestBean.ping();
+    }
+
+    @Benchmark
+    public int sessionScoped()
+    {
+        return sessionBean.ping();
+    }
+}
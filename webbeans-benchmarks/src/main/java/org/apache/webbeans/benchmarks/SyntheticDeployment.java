@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.xbean.asm7.AnnotationVisitor;
+import org.apache.xbean.asm7.ClassWriter;
+import org.apache.xbean.asm7.FieldVisitor;
+import org.apache.xbean.asm7.MethodVisitor;
+import org.apache.xbean.asm7.Opcodes;
+
+/**
+ * Generates a synthetic deployment of plain bean classes.
+ *
+ * <p>Every 10th bean is &#064;ApplicationScoped, all others are &#064;Dependent.
+ * Each bean injects its predecessor, so the deployment also has to
+ * validate one injection point per bean.</p>
+ */
+public final class SyntheticDeployment
+{
+    private static final String PACKAGE = "org/apache/webbeans/benchmarks/synthetic/";
+
+    private final Map<String, byte[]> classBytes = new HashMap<>();
+    private final String[] classNames;
+
+    public SyntheticDeployment(int beanCount)
+    {
+        classNames = new String[beanCount];
+        for (int i = 0; i < beanCount; i++)
+        {
+            String internalName = PACKAGE + "SyntheticBean" + i;
+            classNames[i] = internalName.replace('/', '.');
+            classBytes.put(classNames[i], generate(internalName, i == 0 ? null : PACKAGE + "SyntheticBean" + (i - 1), i % 10 == 0));
+        }
+    }
+
+    /**
+     * @return the bean classes loaded by a new ClassLoader, so each boot starts from scratch
+     */
+    public Class<?>[] loadClasses(ClassLoader parent)
+    {
+        SyntheticClassLoader classLoader = new SyntheticClassLoader(parent, classBytes);
+        Class<?>[] classes = new Class<?>[classNames.length];
+        try
+        {
+            for (int i = 0; i < classNames.length; i++)
+            {
+                classes[i] = classLoader.loadClass(classNames[i]);
+            }
+        }
+        catch (ClassNotFoundException e)
+        {
+            throw new IllegalStateException(e);
+        }
+        return classes;
+    }
+
+    private static byte[] generate(String internalName, String injectedType, boolean applicationScoped)
+    {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, internalName, null, "java/lang/Object", null);
+
+        AnnotationVisitor scope = cw.visitAnnotation(applicationScoped
+            ? "Ljavax/enterprise/context/ApplicationScoped;" : "Ljavax/enterprise/context/Dependent;", true);
+        scope.visitEnd();
+
+        if (injectedType != null)
+        {
+            FieldVisitor fv = cw.visitField(Opcodes.ACC_PRIVATE, "previous", "L" + injectedType + ";", null, null);
+            fv.visitAnnotation("Ljavax/inject/Inject;", true).visitEnd();
+            fv.visitEnd();
+        }
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static final class SyntheticClassLoader extends ClassLoader
+    {
+        private final Map<String, byte[]> classBytes;
+
+        private SyntheticClassLoader(ClassLoader parent, Map<String, byte[]> classBytes)
+        {
+            super(parent);
+            this.classBytes = classBytes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException
+        {
+            byte[] bytes = classBytes.get(name);
+            if (bytes == null)
+            {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
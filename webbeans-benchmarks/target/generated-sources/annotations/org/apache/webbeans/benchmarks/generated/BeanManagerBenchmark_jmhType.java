@@ -0,0 +1,4 @@
+package org.apache.webbeans.benchmarks.generated;
+public class BeanManagerBenchmark_jmhType extends BeanManagerBenchmark_jmhType_B3 {
+}
+
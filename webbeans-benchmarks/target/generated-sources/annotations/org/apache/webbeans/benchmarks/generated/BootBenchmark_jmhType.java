@@ -0,0 +1,4 @@
+package org.apache.webbeans.benchmarks.generated;
+public class BootBenchmark_jmhType extends BootBenchmark_jmhType_B3 {
+}
+
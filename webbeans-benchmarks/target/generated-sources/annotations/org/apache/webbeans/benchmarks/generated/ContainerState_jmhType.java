@@ -0,0 +1,4 @@
+package org.apache.webbeans.benchmarks.generated;
+public class ContainerState_jmhType extends ContainerState_jmhType_B3 {
+}
+
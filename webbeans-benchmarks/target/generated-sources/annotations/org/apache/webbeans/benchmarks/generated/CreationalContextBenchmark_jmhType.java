@@ -0,0 +1,4 @@
+package org.apache.webbeans.benchmarks.generated;
+public class CreationalContextBenchmark_jmhType extends CreationalContextBenchmark_jmhType_B3 {
+}
+
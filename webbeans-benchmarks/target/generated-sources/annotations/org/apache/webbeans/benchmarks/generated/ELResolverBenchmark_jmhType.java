@@ -0,0 +1,4 @@
+package org.apache.webbeans.benchmarks.generated;
+public class ELResolverBenchmark_jmhType extends ELResolverBenchmark_jmhType_B3 {
+}
+
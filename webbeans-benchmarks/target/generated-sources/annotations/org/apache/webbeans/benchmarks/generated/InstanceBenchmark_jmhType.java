@@ -0,0 +1,4 @@
+package org.apache.webbeans.benchmarks.generated;
+public class InstanceBenchmark_jmhType extends InstanceBenchmark_jmhType_B3 {
+}
+
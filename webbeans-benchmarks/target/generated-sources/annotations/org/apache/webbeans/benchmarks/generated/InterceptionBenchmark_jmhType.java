@@ -0,0 +1,4 @@
+package org.apache.webbeans.benchmarks.generated;
+public class InterceptionBenchmark_jmhType extends InterceptionBenchmark_jmhType_B3 {
+}
+
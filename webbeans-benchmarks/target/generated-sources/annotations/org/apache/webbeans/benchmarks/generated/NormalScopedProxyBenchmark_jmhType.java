@@ -0,0 +1,4 @@
+package org.apache.webbeans.benchmarks.generated;
+public class NormalScopedProxyBenchmark_jmhType extends NormalScopedProxyBenchmark_jmhType_B3 {
+}
+
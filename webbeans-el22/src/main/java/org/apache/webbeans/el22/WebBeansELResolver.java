@@ -28,10 +28,14 @@ import javax.el.ELException;
 import javax.el.ELResolver;
 import javax.enterprise.context.Dependent;
 import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.AmbiguousResolutionException;
 import javax.enterprise.inject.spi.Bean;
 import java.beans.FeatureDescriptor;
 import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -47,6 +51,15 @@ import java.util.Set;
  * All <code>@Dependent</code> scoped contextual instances created during an EL 
  * expression evaluation are destroyed when the evaluation completes.
  * </p>
+ *
+ * <p>
+ * Once the deployment got validated the resolver builds an immutable table of all bean names,
+ * so resolving a name does not need to go through the BeanManager anymore. The references themselves
+ * still get created lazily on first usage via {@link #getNormalScopedContextualInstance} and
+ * {@link #getDependentContextualInstance}.
+ * The table gets rebuilt if beans got added or removed afterwards,
+ * see {@link BeanManagerImpl#getBeansVersion()}.
+ * </p>
  * 
  * @version $Rev: 1307826 $ $Date: 2012-03-31 18:24:37 +0300 (Sat, 31 Mar 2012) $
  *
@@ -55,6 +68,11 @@ public class WebBeansELResolver extends ELResolver
 {
     private WebBeansContext webBeansContext;
 
+    /**
+     * All bean names of the deployment, built lazily after the deployment got validated.
+     */
+    private volatile NamedBeans namedBeans;
+
     public WebBeansELResolver()
     {
         webBeansContext = WebBeansContext.getInstance();
@@ -94,10 +112,8 @@ public class WebBeansELResolver extends ELResolver
     @SuppressWarnings({"unchecked","deprecation"})
     public Object getValue(ELContext context, Object base, Object property) throws ELException
     {
-        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
         //we only check root beans
-        // Check if the OWB actually got used in this application
-        if (base != null || !beanManager.isInUse())
+        if (base != null)
         {
             return null;
         }
@@ -105,6 +121,50 @@ public class WebBeansELResolver extends ELResolver
         //Name of the bean
         String beanName = (String) property;
 
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        NamedBeans beans = namedBeans;
+        if (beans == null || beans.beansVersion != beanManager.getBeansVersion())
+        {
+            // Check if the OWB actually got used in this application
+            if (!beanManager.isInUse())
+            {
+                return null;
+            }
+            if (!beanManager.isAfterDeploymentValidationFired())
+            {
+                return resolveByName(beanManager, context, beanName);
+            }
+
+            beans = createNamedBeans(beanManager);
+            namedBeans = beans;
+        }
+
+        NamedBean namedBean = beans.beans.get(beanName);
+        if (namedBean == null)
+        {
+            return null;
+        }
+
+        if (namedBean.bean == null)
+        {
+            // ambiguous name or other pseudo-scope, resolve it the regular way
+            return resolveByName(beanManager, context, beanName);
+        }
+
+        ELContextStore elContextStore = ELContextStore.getInstance(true);
+        if (namedBean.normalScoped)
+        {
+            return getNormalScopedContextualInstance(beanManager, elContextStore, context, namedBean.bean, beanName);
+        }
+        return getDependentContextualInstance(beanManager, elContextStore, context, namedBean.bean);
+    }
+
+    /**
+     * Resolves the given name via the BeanManager. This is used before the deployment got validated
+     * and for names which cannot be resolved unambiguously.
+     */
+    private Object resolveByName(BeanManagerImpl beanManager, ELContext context, String beanName)
+    {
         //Local store, create if not exist
         ELContextStore elContextStore = ELContextStore.getInstance(true);
 
@@ -139,6 +199,51 @@ public class WebBeansELResolver extends ELResolver
         return contextualInstance;
     }
 
+    private NamedBeans createNamedBeans(BeanManagerImpl beanManager)
+    {
+        // read the version first, a concurrent change then only leads to another rebuild
+        int beansVersion = beanManager.getBeansVersion();
+        Map<String, NamedBean> beans = new HashMap<>();
+        for (Bean<?> deployedBean : beanManager.getBeans())
+        {
+            String beanName = deployedBean.getName();
+            if (beanName == null || beans.containsKey(beanName))
+            {
+                continue;
+            }
+
+            Bean<?> bean;
+            try
+            {
+                bean = beanManager.resolve(beanManager.getBeans(beanName));
+            }
+            catch (AmbiguousResolutionException e)
+            {
+                // keep the name so the exception gets thrown on each usage
+                beans.put(beanName, new NamedBean(null, false));
+                continue;
+            }
+            if (bean == null)
+            {
+                continue;
+            }
+
+            if (bean.getScope().equals(Dependent.class))
+            {
+                beans.put(beanName, new NamedBean(bean, false));
+            }
+            else if (beanManager.isNormalScope(bean.getScope()))
+            {
+                beans.put(beanName, new NamedBean(bean, true));
+            }
+            else
+            {
+                beans.put(beanName, new NamedBean(null, false));
+            }
+        }
+        return new NamedBeans(beansVersion, Collections.unmodifiableMap(beans));
+    }
+
     protected Object getNormalScopedContextualInstance(BeanManagerImpl manager, ELContextStore store, ELContext context, Bean<?> bean, String beanName)
     {
         CreationalContext<?> creationalContext = manager.createCreationalContext(bean);
@@ -195,6 +300,30 @@ public class WebBeansELResolver extends ELResolver
         return Object.class;
     }
 
+    private static final class NamedBeans
+    {
+        private final int beansVersion;
+        private final Map<String, NamedBean> beans;
+
+        private NamedBeans(int beansVersion, Map<String, NamedBean> beans)
+        {
+            this.beansVersion = beansVersion;
+            this.beans = beans;
+        }
+    }
+
+    private static final class NamedBean
+    {
+        private final Bean<?> bean;
+        private final boolean normalScoped;
+
+        private NamedBean(Bean<?> bean, boolean normalScoped)
+        {
+            this.bean = bean;
+            this.normalScoped = normalScoped;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */    
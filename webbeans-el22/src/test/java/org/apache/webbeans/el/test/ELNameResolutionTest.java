@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.el.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import javax.el.ELContext;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.configurator.BeanConfiguratorImpl;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.el.ELContextStore;
+import org.apache.webbeans.el22.WebBeansELResolver;
+import org.apache.webbeans.spi.ContextsService;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ELNameResolutionTest extends AbstractUnitTest
+{
+    @Test
+    public void testNameResolution()
+    {
+        Collection<Class<?>> classes = new ArrayList<Class<?>>();
+        classes.add(SampleBean.class);
+        classes.add(RequestBean.class);
+        classes.add(DependentBean.class);
+
+        startContainer(classes);
+
+        ELContextStore previousStore = ELContextStore.getInstance(false);
+        if (previousStore != null)
+        {
+            previousStore.destroyELContextStore();
+        }
+
+        ContextsService contextsService = getWebBeansContext().getContextsService();
+        contextsService.startContext(RequestScoped.class, null);
+        contextsService.startContext(SessionScoped.class, null);
+        try
+        {
+            WebBeansELResolver resolver = new WebBeansELResolver();
+
+            ELContext elContext = new MockELContext();
+            SampleBean sampleBean = (SampleBean) resolver.getValue(elContext, null, "sampleBean");
+            Assert.assertTrue(elContext.isPropertyResolved());
+            Assert.assertEquals(121, sampleBean.getX());
+            Assert.assertSame(sampleBean, resolver.getValue(new MockELContext(), null, "sampleBean"));
+
+            elContext = new MockELContext();
+            Assert.assertNull(resolver.getValue(elContext, null, "unknownBean"));
+            Assert.assertFalse(elContext.isPropertyResolved());
+
+            elContext = new MockELContext();
+            DependentBean dependentBean = (DependentBean) resolver.getValue(elContext, null, "dependentBean");
+            Assert.assertTrue(elContext.isPropertyResolved());
+            Assert.assertEquals(7, dependentBean.getZ());
+            Assert.assertSame(dependentBean, resolver.getValue(new MockELContext(), null, "dependentBean"));
+
+            ELContextStore elContextStore = ELContextStore.getInstance(false);
+            Assert.assertNotNull(elContextStore);
+            elContextStore.destroyDependents();
+            Assert.assertNotSame(dependentBean, resolver.getValue(new MockELContext(), null, "dependentBean"));
+            elContextStore.destroyDependents();
+            elContextStore.destroyELContextStore();
+        }
+        finally
+        {
+            contextsService.endContext(RequestScoped.class, null);
+            contextsService.endContext(SessionScoped.class, null);
+            shutDownContainer();
+        }
+    }
+
+    @Test
+    public void testNormalScopedBeansGetResolvedLazilyViaHook()
+    {
+        Collection<Class<?>> classes = new ArrayList<Class<?>>();
+        classes.add(SampleBean.class);
+        classes.add(RequestBean.class);
+        classes.add(DependentBean.class);
+
+        startContainer(classes);
+
+        ContextsService contextsService = getWebBeansContext().getContextsService();
+        contextsService.startContext(RequestScoped.class, null);
+        contextsService.startContext(SessionScoped.class, null);
+        try
+        {
+            List<String> resolvedNames = new ArrayList<String>();
+            WebBeansELResolver resolver = new WebBeansELResolver()
+            {
+                @Override
+                protected Object getNormalScopedContextualInstance(BeanManagerImpl manager, ELContextStore store,
+                                                                   ELContext context, Bean<?> bean, String beanName)
+                {
+                    resolvedNames.add(beanName);
+                    return super.getNormalScopedContextualInstance(manager, store, context, bean, beanName);
+                }
+            };
+
+            Assert.assertNotNull(resolver.getValue(new MockELContext(), null, "dependentBean"));
+            Assert.assertTrue(resolvedNames.isEmpty());
+
+            Object sampleBean = resolver.getValue(new MockELContext(), null, "sampleBean");
+            Assert.assertNotNull(sampleBean);
+            Assert.assertSame(sampleBean, resolver.getValue(new MockELContext(), null, "sampleBean"));
+            Assert.assertEquals(Arrays.asList("sampleBean", "sampleBean"), resolvedNames);
+        }
+        finally
+        {
+            ELContextStore elContextStore = ELContextStore.getInstance(false);
+            if (elContextStore != null)
+            {
+                elContextStore.destroyDependents();
+                elContextStore.destroyELContextStore();
+            }
+            contextsService.endContext(RequestScoped.class, null);
+            contextsService.endContext(SessionScoped.class, null);
+            shutDownContainer();
+        }
+    }
+
+    @Test
+    public void testNameResolutionAfterBeanGotAdded()
+    {
+        Collection<Class<?>> classes = new ArrayList<Class<?>>();
+        classes.add(DependentBean.class);
+
+        startContainer(classes);
+        try
+        {
+            WebBeansELResolver resolver = new WebBeansELResolver();
+            Assert.assertNull(resolver.getValue(new MockELContext(), null, "lateBean"));
+
+            BeanConfiguratorImpl<String> lateBean = new BeanConfiguratorImpl<>(getWebBeansContext());
+            lateBean.beanClass(ELNameResolutionTest.class).types(String.class, Object.class).name("lateBean")
+                .createWith(creationalContext -> "late");
+            getWebBeansContext().getBeanManagerImpl().addBean(lateBean.getBean());
+
+            ELContext elContext = new MockELContext();
+            Assert.assertEquals("late", resolver.getValue(elContext, null, "lateBean"));
+            Assert.assertTrue(elContext.isPropertyResolved());
+        }
+        finally
+        {
+            ELContextStore elContextStore = ELContextStore.getInstance(false);
+            if (elContextStore != null)
+            {
+                elContextStore.destroyDependents();
+                elContextStore.destroyELContextStore();
+            }
+            shutDownContainer();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.gradle.index;
+
+import org.gradle.api.Action;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.process.JavaExecSpec;
+
+import java.io.File;
+
+/**
+ * Generates the OpenWebBeans bean archive index (META-INF/openwebbeans/index)
+ * into the compiled classes so that the container does not need to scan them at startup.
+ *
+ * Usage:
+ * <pre>
+ * task openwebbeansIndex(type: org.apache.openwebbeans.gradle.index.BeanArchiveIndexTask) {
+ *     classesDirectory = sourceSets.main.output.classesDir
+ *     indexerClasspath = configurations.openwebbeans
+ * }
+ * jar.dependsOn openwebbeansIndex
+ * </pre>
+ */
+// note: the indexer runs in a forked JVM to not bring webbeans-impl in the gradle buildscript classpath
+public class BeanArchiveIndexTask extends DefaultTask
+{
+    private static final String INDEXER = "org.apache.webbeans.corespi.scanner.index.BeanArchiveIndexer";
+    private static final String INDEX_LOCATION = "META-INF/openwebbeans/index";
+
+    private File classesDirectory;
+
+    /**
+     * Needs to contain openwebbeans-impl and its dependencies.
+     */
+    private FileCollection indexerClasspath;
+
+    @TaskAction
+    public void index()
+    {
+        getProject().javaexec(new Action<JavaExecSpec>()
+        {
+            @Override
+            public void execute(JavaExecSpec javaExecSpec)
+            {
+                javaExecSpec.setMain(INDEXER);
+                javaExecSpec.setClasspath(indexerClasspath);
+                javaExecSpec.args(classesDirectory.getAbsolutePath());
+            }
+        });
+    }
+
+    @InputDirectory
+    public File getClassesDirectory()
+    {
+        return classesDirectory;
+    }
+
+    public void setClassesDirectory(File classesDirectory)
+    {
+        this.classesDirectory = classesDirectory;
+    }
+
+    @InputFiles
+    public FileCollection getIndexerClasspath()
+    {
+        return indexerClasspath;
+    }
+
+    public void setIndexerClasspath(FileCollection indexerClasspath)
+    {
+        this.indexerClasspath = indexerClasspath;
+    }
+
+    @OutputFile
+    public File getIndexFile()
+    {
+        return new File(classesDirectory, INDEX_LOCATION);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.gradle.proxy;
+
+import org.gradle.api.Action;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.process.JavaExecSpec;
+
+import java.io.File;
+
+/**
+ * Generates the OpenWebBeans proxy classes of the project into the compiled classes
+ * so that the container does not need to generate them at runtime.
+ *
+ * Usage:
+ * <pre>
+ * task openwebbeansProxies(type: org.apache.openwebbeans.gradle.proxy.PrebuiltProxyTask) {
+ *     classesDirectory = sourceSets.main.output.classesDir
+ *     generatorClasspath = sourceSets.main.runtimeClasspath + configurations.openwebbeans
+ * }
+ * jar.dependsOn openwebbeansProxies
+ * </pre>
+ */
+// note: the container gets booted in a forked JVM on the runtime classpath of the project
+public class PrebuiltProxyTask extends DefaultTask
+{
+    private static final String GENERATOR = "org.apache.webbeans.proxy.PrebuiltProxyGenerator";
+
+    private File classesDirectory;
+
+    /**
+     * Needs to contain the project classes, its runtime dependencies and openwebbeans-impl.
+     */
+    private FileCollection generatorClasspath;
+
+    @TaskAction
+    public void generate()
+    {
+        getProject().javaexec(new Action<JavaExecSpec>()
+        {
+            @Override
+            public void execute(JavaExecSpec javaExecSpec)
+            {
+                javaExecSpec.setMain(GENERATOR);
+                javaExecSpec.setClasspath(generatorClasspath);
+                javaExecSpec.args(classesDirectory.getAbsolutePath());
+            }
+        });
+    }
+
+    @InputDirectory
+    public File getClassesDirectory()
+    {
+        return classesDirectory;
+    }
+
+    public void setClassesDirectory(File classesDirectory)
+    {
+        this.classesDirectory = classesDirectory;
+    }
+
+    @InputFiles
+    public FileCollection getGeneratorClasspath()
+    {
+        return generatorClasspath;
+    }
+
+    public void setGeneratorClasspath(FileCollection generatorClasspath)
+    {
+        this.generatorClasspath = generatorClasspath;
+    }
+}
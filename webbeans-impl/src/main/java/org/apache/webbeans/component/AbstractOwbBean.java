@@ -24,6 +24,7 @@ import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.SerializableBean;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.MetricsService;
 
 import javax.enterprise.context.Dependent;
 import javax.enterprise.context.spi.CreationalContext;
@@ -111,6 +112,9 @@ public abstract class AbstractOwbBean<T>
     @Override
     public T create(CreationalContext<T> creationalContext)
     {
+        MetricsService metricsService = webBeansContext.getMetricsService();
+        boolean measure = metricsService.isEnabled();
+        long start = measure ? System.nanoTime() : 0;
         try
         {
             if(!(creationalContext instanceof CreationalContextImpl))
@@ -130,6 +134,10 @@ public abstract class AbstractOwbBean<T>
             {
                 ((CreationalContextImpl<T>)creationalContext).addDependent(this, instance);
             }
+            if (measure)
+            {
+                metricsService.beanCreated(this, System.nanoTime() - start);
+            }
             return instance;
         }
         catch (Exception re)
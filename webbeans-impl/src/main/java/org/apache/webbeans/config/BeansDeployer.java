@@ -40,6 +40,7 @@ import org.apache.webbeans.component.creation.ProducerFieldBeansBuilder;
 import org.apache.webbeans.component.creation.ProducerMethodBeansBuilder;
 import org.apache.webbeans.configurator.AnnotatedTypeConfiguratorImpl;
 import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.container.BeanSlotRegistry;
 import org.apache.webbeans.container.InjectableBeanManager;
 import org.apache.webbeans.container.InjectionResolver;
 import org.apache.webbeans.corespi.se.DefaultJndiService;
@@ -53,6 +54,8 @@ import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.exception.WebBeansException;
 
 import javax.annotation.Priority;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
 import javax.enterprise.inject.Alternative;
 import javax.enterprise.inject.Produces;
 import javax.enterprise.inject.Vetoed;
@@ -124,6 +127,10 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -138,6 +145,7 @@ import static org.apache.webbeans.spi.BeanArchiveService.BeanArchiveInformation;
  */
 @SuppressWarnings("unchecked")
 //This class written as single threaded.
+//Only the side-effect free parts get spread over a ForkJoinPool if parallel deployment is enabled.
 public class BeansDeployer
 {
     //Logger instance
@@ -191,6 +199,15 @@ public class BeansDeployer
      */
     private final DefaultBeanArchiveInformation defaultBeanArchiveInformation;
 
+    /**
+     * Pool for the side-effect free parts of the deployment like AnnotatedType creation,
+     * BeanAttributes building and injection point validation.
+     * Only set during {@link #deploy(ScannerService)} and only if
+     * {@link OpenWebBeansConfiguration#PARALLEL_DEPLOYMENT} is enabled.
+     * All portable extension events still get fired sequentially in a deterministic order.
+     */
+    private ForkJoinPool deploymentPool;
+
     /**
      * Creates a new deployer with given xml configurator.
      * 
@@ -222,10 +239,15 @@ public class BeansDeployer
      */
     public synchronized void deploy(ScannerService scanner)
     {
+        StartupProfiler.Phase phase = null;
         try
         {
             if (!deployed)
-            {                
+            {
+                deploymentPool = createDeploymentPool();
+
+                phase = webBeansContext.getStartupProfiler().startPhase("loadExtensions");
+
                 //Load Extensions
                 webBeansContext.getExtensionLoader().loadExtensionServices();
 
@@ -249,11 +271,14 @@ public class BeansDeployer
                 webBeansContext.getBeanManagerImpl().addInternalBean(webBeansContext.getWebBeansUtil().getRequestContextControllerBean());
 
                 //Fire Event
+                phase = phase.next("BeforeBeanDiscovery");
                 fireBeforeBeanDiscoveryEvent();
                 
                 //Configure Default Beans
+                phase = phase.next("configureDefaultBeans");
                 configureDefaultBeans();
 
+                phase = phase.next("annotatedTypesFromClassPath");
                 Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda = annotatedTypesFromClassPath(scanner);
 
                 List<AnnotatedType<?>> globalBdaAnnotatedTypes = annotatedTypesPerBda.get(defaultBeanArchiveInformation);
@@ -267,17 +292,21 @@ public class BeansDeployer
                 }
 
                 // Also configures deployments, interceptors, decorators.
+                phase = phase.next("deployFromXML");
                 deployFromXML(scanner);
 
+                phase = phase.next("AfterTypeDiscovery");
                 addAdditionalAnnotatedTypes(fireAfterTypeDiscoveryEvent(), globalBdaAnnotatedTypes);
 
 
+                phase = phase.next("getBeanAttributes");
                 Map<BeanArchiveInformation, Map<AnnotatedType<?>, ExtendedBeanAttributes<?>>> beanAttributesPerBda
                     = getBeanAttributes(annotatedTypesPerBda);
 
                 // shouldn't be used anymore, view is now beanAttributes
                 annotatedTypesPerBda.clear();
 
+                phase = phase.next("specialization");
                 SpecializationUtil specializationUtil = new SpecializationUtil(webBeansContext);
                 specializationUtil.removeDisabledBeanAttributes(beanAttributesPerBda, null, true);
 
@@ -309,29 +338,46 @@ public class BeansDeployer
                         false);
 
                 // create beans from the discovered AnnotatedTypes
+                phase = phase.next("deployFromBeanAttributes");
                 deployFromBeanAttributes(beanAttributesPerBda);
 
                 configureProducerMethodSpecializations();
 
                 // all beans which got 'overridden' by a Specialized version can be removed now
                 removeDisabledBeans();
+
+                if (webBeansContext.getOpenWebBeansConfiguration().isLazyAnnotatedTypes())
+                {
+                    // the beans are defined, no need to keep the member lookup caches until the end of the deployment
+                    webBeansContext.getAnnotatedElementFactory().compact();
+                }
                 
                 // We are finally done with our bean discovery
+                phase = phase.next("AfterBeanDiscovery");
                 fireAfterBeanDiscoveryEvent();
 
                 // activate InjectionResolver cache now
                 webBeansContext.getBeanManagerImpl().getInjectionResolver().setStartup(false);
                 
+                phase = phase.next("validateAlternatives");
                 validateAlternatives(beanAttributesPerBda);
 
+                phase = phase.next("validateInjectionPoints");
                 validateInjectionPoints();
+                phase = phase.next("validateDisposeParameters");
                 validateDisposeParameters();
 
+                phase = phase.next("validateDecoratorDecoratedTypes");
                 validateDecoratorDecoratedTypes();
+                phase = phase.next("validateDecoratorGenericTypes");
                 validateDecoratorGenericTypes();
 
+                phase = phase.next("validateNames");
                 validateNames();
 
+                phase = phase.next("assignContextSlots");
+                assignContextSlots();
+
                 if (webBeansContext.getNotificationManager().getObserverMethods().stream()
                         .anyMatch(ObserverMethod::isAsync))
                 {
@@ -341,7 +387,9 @@ public class BeansDeployer
                 }
 
                 // fire event
+                phase = phase.next("AfterDeploymentValidation");
                 fireAfterDeploymentValidationEvent();
+                phase.end();
 
 
                 // do some cleanup after the deployment
@@ -377,12 +425,80 @@ public class BeansDeployer
             //if bootstrapping failed, it doesn't make sense to do it again
             //esp. because #addInternalBean might have been called already and would cause an exception in the next run
             deployed = true;
+
+            if (phase != null)
+            {
+                // no-op if the deployment succeeded, otherwise it ends the phase which failed
+                phase.end();
+            }
+
+            if (deploymentPool != null)
+            {
+                deploymentPool.shutdown();
+                deploymentPool = null;
+            }
+        }
+    }
+
+    private ForkJoinPool createDeploymentPool()
+    {
+        if (!webBeansContext.getOpenWebBeansConfiguration().isParallelDeployment())
+        {
+            return null;
+        }
+
+        // the worker threads must see the same ClassLoader as the deploying thread,
+        // otherwise WebBeansContext lookups and class loading might go wrong
+        ClassLoader classLoader = WebBeansUtil.getCurrentClassLoader();
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool ->
+        {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("owb-deployer-" + thread.getPoolIndex());
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Apply the given function to all items in the {@link #deploymentPool}.
+     * The result list has the same order as the given items.
+     */
+    private <T, R> List<R> parallelMap(List<T> items, Function<T, R> function)
+    {
+        try
+        {
+            return deploymentPool.submit(() -> items.parallelStream().map(function).collect(Collectors.toList())).get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new WebBeansDeploymentException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw ExceptionUtil.throwAsRuntimeException(e.getCause());
         }
     }
 
     /**
      * Ensure "foo" and "foo.bar" conflict and is reported as a DeploymentException but foo.bar and foo.dummy don't conflict.
      */
+    /**
+     * Assigns the context instance slots of all &#064;RequestScoped and &#064;SessionScoped beans
+     * so they end up densely packed at the start of the slot array.
+     */
+    private void assignContextSlots()
+    {
+        BeanSlotRegistry beanSlotRegistry = webBeansContext.getBeanSlotRegistry();
+        for (Bean<?> bean : webBeansContext.getBeanManagerImpl().getBeans())
+        {
+            if (RequestScoped.class.equals(bean.getScope()) || SessionScoped.class.equals(bean.getScope()))
+            {
+                beanSlotRegistry.getSlot(bean);
+            }
+        }
+    }
+
     private void validateNames()
     {
         Collection<String> names = new HashSet<>();
@@ -439,17 +555,27 @@ public class BeansDeployer
             boolean onlyScopedBeans = BeanDiscoveryMode.TRIM == bdaInfo.getBeanDiscoveryMode();
 
             Map<AnnotatedType<?>, ExtendedBeanAttributes<?>> bdaBeanAttributes = new IdentityHashMap<>(annotatedTypes.size());
+
+            // BeanAttributes creation is side-effect free, only ProcessBeanAttributes must be fired in order
+            List<BeanAttributesCandidate> candidates = deploymentPool != null
+                ? parallelMap(annotatedTypes, at -> newBeanAttributesCandidate(at, onlyScopedBeans))
+                : null;
+
+            int index = 0;
             Iterator<AnnotatedType<?>> iterator = annotatedTypes.iterator();
             while (iterator.hasNext())
             {
                 AnnotatedType<?> at = iterator.next();
+                BeanAttributesCandidate candidate = candidates != null
+                    ? candidates.get(index++)
+                    : newBeanAttributesCandidate(at, onlyScopedBeans);
                 Class beanClass = at.getJavaClass();
-                boolean isEjb = discoverEjb && EJBWebBeansConfigurator.isSessionBean(beanClass, webBeansContext);
                 try
                 {
-                    if (isEjb || (ClassUtil.isConcrete(beanClass) || WebBeansUtil.isDecorator(at)) && isValidManagedBean(at))
+                    if (candidate != null)
                     {
-                        BeanAttributesImpl beanAttributes = BeanAttributesBuilder.forContext(webBeansContext).newBeanAttibutes(at, onlyScopedBeans && !isEjb).build();
+                        boolean isEjb = candidate.isEjb;
+                        BeanAttributesImpl beanAttributes = candidate.getBeanAttributes();
                         if (beanAttributes != null &&
                                 (!beanAttributes.isAlternative() || isEnabledAlternative(at, beanAttributes.getStereotypes())))
                         {
@@ -492,6 +618,30 @@ public class BeansDeployer
         return beanAttributesPerBda;
     }
 
+    /**
+     * @return the BeanAttributes candidate or {@code null} if the given AnnotatedType is no bean at all
+     */
+    private BeanAttributesCandidate newBeanAttributesCandidate(AnnotatedType<?> at, boolean onlyScopedBeans)
+    {
+        Class beanClass = at.getJavaClass();
+        boolean isEjb = false;
+        try
+        {
+            isEjb = discoverEjb && EJBWebBeansConfigurator.isSessionBean(beanClass, webBeansContext);
+            if (isEjb || (ClassUtil.isConcrete(beanClass) || WebBeansUtil.isDecorator(at)) && isValidManagedBean(at))
+            {
+                BeanAttributesImpl<?> beanAttributes = BeanAttributesBuilder.forContext(webBeansContext).newBeanAttibutes(at, onlyScopedBeans && !isEjb).build();
+                return new BeanAttributesCandidate(isEjb, beanAttributes, null);
+            }
+            return null;
+        }
+        catch (NoClassDefFoundError | RuntimeException e)
+        {
+            // gets rethrown in the sequential part to keep the error order deterministic
+            return new BeanAttributesCandidate(isEjb, null, e);
+        }
+    }
+
     private boolean isEnabledAlternative(AnnotatedType<?> at, Set<Class<? extends Annotation>> stereotypes)
     {
         AlternativesManager alternativesManager = webBeansContext.getAlternativesManager();
@@ -1120,6 +1270,8 @@ public class BeansDeployer
         if (beans != null && beans.size() > 0)
         {
             LinkedList<String> beanNames = new LinkedList<>();
+            List<Bean<?>> parallelValidations = deploymentPool != null ? new ArrayList<>(beans.size()) : null;
+            RuntimeException deferredProblem = null;
             for (Bean<?> bean : beans)
             {
                 try
@@ -1181,24 +1333,41 @@ public class BeansDeployer
                         }
                     }
 
-                    //Bean injection points
-                    Set<InjectionPoint> injectionPoints = bean.getInjectionPoints();
-
-                    //Check injection points
-                    if (injectionPoints != null)
+                    if (parallelValidations != null)
                     {
-                        webBeansContext.getWebBeansUtil().validate(injectionPoints, bean);
+                        parallelValidations.add(bean);
+                        continue;
                     }
 
+                    //Check injection points
+                    validateBeanInjectionPoints(bean);
+
                     //Check passivation scope
                     checkPassivationScope(bean);
                 }
                 catch (RuntimeException e)
                 {
-                    throw ExceptionUtil.addInformation(e, "Problem while validating bean " + bean);
+                    RuntimeException problem = ExceptionUtil.addInformation(e, "Problem while validating bean " + bean);
+                    if (parallelValidations == null)
+                    {
+                        throw problem;
+                    }
+
+                    // the previous beans get validated first to report the same problem as the sequential validation
+                    deferredProblem = problem;
+                    break;
                 }
 
             }
+
+            if (parallelValidations != null)
+            {
+                validateInParallel(parallelValidations);
+                if (deferredProblem != null)
+                {
+                    throw deferredProblem;
+                }
+            }
             //Validate Bean names
             validateBeanNames(beanNames);
 
@@ -1208,6 +1377,55 @@ public class BeansDeployer
         
     }
     
+    private void validateBeanInjectionPoints(Bean<?> bean)
+    {
+        Set<InjectionPoint> injectionPoints = bean.getInjectionPoints();
+        if (injectionPoints != null)
+        {
+            webBeansContext.getWebBeansUtil().validate(injectionPoints, bean);
+        }
+    }
+
+    /**
+     * Validates the injection points of all given beans in the {@link #deploymentPool}.
+     * The passivation scope checks and the problem reporting happen afterwards in the order of the given beans,
+     * so the first problem is the same one the sequential validation would report.
+     */
+    private void validateInParallel(List<Bean<?>> beans)
+    {
+        List<RuntimeException> problems = parallelMap(beans, bean ->
+        {
+            try
+            {
+                validateBeanInjectionPoints(bean);
+                return null;
+            }
+            catch (RuntimeException e)
+            {
+                return e;
+            }
+        });
+
+        for (int i = 0; i < beans.size(); i++)
+        {
+            Bean<?> bean = beans.get(i);
+            RuntimeException problem = problems.get(i);
+            if (problem != null)
+            {
+                throw ExceptionUtil.addInformation(problem, "Problem while validating bean " + bean);
+            }
+
+            try
+            {
+                checkPassivationScope(bean);
+            }
+            catch (RuntimeException e)
+            {
+                throw ExceptionUtil.addInformation(e, "Problem while validating bean " + bean);
+            }
+        }
+    }
+
     private void validateObservers(Collection<ObserverMethod<?>> observerMethods)
     {
         for (ObserverMethod<?> observerMethod: observerMethods)
@@ -1317,6 +1535,11 @@ public class BeansDeployer
         {
             AnnotatedElementFactory annotatedElementFactory = webBeansContext.getAnnotatedElementFactory();
 
+            if (deploymentPool != null)
+            {
+                preloadAnnotatedTypes(classIndex, foundClasses, annotatedElementFactory);
+            }
+
             for (Class<?> implClass : classIndex)
             {
                 if (foundClasses.contains(implClass))
@@ -1386,6 +1609,44 @@ public class BeansDeployer
         return annotatedTypes;
     }
 
+    /**
+     * Create the AnnotatedTypes and their members for all the given classes in parallel.
+     * In lazy mode the members are left out, they get created once they are needed.
+     * The subsequent sequential pass then picks them up from the AnnotatedElementFactory cache
+     * and fires the ProcessAnnotatedType events in the original order.
+     */
+    private void preloadAnnotatedTypes(Set<Class<?>> classIndex, Set<Class<?>> foundClasses, AnnotatedElementFactory annotatedElementFactory)
+    {
+        List<Class<?>> classes = new ArrayList<>(classIndex.size());
+        for (Class<?> implClass : classIndex)
+        {
+            if (!foundClasses.contains(implClass) && !isVetoed(implClass))
+            {
+                classes.add(implClass);
+            }
+        }
+
+        boolean lazyAnnotatedTypes = webBeansContext.getOpenWebBeansConfiguration().isLazyAnnotatedTypes();
+        parallelMap(classes, implClass ->
+        {
+            try
+            {
+                AnnotatedType<?> annotatedType = annotatedElementFactory.newAnnotatedType(implClass);
+                if (annotatedType != null && !lazyAnnotatedTypes)
+                {
+                    annotatedType.getConstructors();
+                    annotatedType.getFields();
+                    annotatedType.getMethods();
+                }
+            }
+            catch (NoClassDefFoundError | RuntimeException e)
+            {
+                // ignored, the sequential pass will report it
+            }
+            return implClass;
+        });
+    }
+
     private boolean isEEComponent(Class<?> impl)
     {
         OpenWebBeansJavaEEPlugin eePlugin = webBeansContext.getPluginLoader().getJavaEEPlugin();
@@ -2100,4 +2361,34 @@ public class BeansDeployer
             this.ignoreFinalMethods = ignoreFinalMethods;
         }
     }
+
+    /**
+     * Result of the side-effect free BeanAttributes creation for a single AnnotatedType.
+     */
+    private static final class BeanAttributesCandidate
+    {
+        private final boolean isEjb;
+        private final BeanAttributesImpl<?> beanAttributes;
+        private final Throwable problem;
+
+        private BeanAttributesCandidate(boolean isEjb, BeanAttributesImpl<?> beanAttributes, Throwable problem)
+        {
+            this.isEjb = isEjb;
+            this.beanAttributes = beanAttributes;
+            this.problem = problem;
+        }
+
+        private BeanAttributesImpl<?> getBeanAttributes()
+        {
+            if (problem instanceof NoClassDefFoundError)
+            {
+                throw (NoClassDefFoundError) problem;
+            }
+            if (problem != null)
+            {
+                throw (RuntimeException) problem;
+            }
+            return beanAttributes;
+        }
+    }
 }
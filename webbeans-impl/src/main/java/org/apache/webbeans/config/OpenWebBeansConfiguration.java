@@ -18,18 +18,19 @@
  */
 package org.apache.webbeans.config;
 
+import java.io.File;
 import java.io.IOException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -55,8 +56,10 @@ public class OpenWebBeansConfiguration
     private static final Logger logger = WebBeansLoggerFacade.getLogger(OpenWebBeansConfiguration.class);
 
     /**
-     * Conversation periodic delay in ms. This is not used by OWB out of the box.
-     * Some Containers might implement it though.
+     * Conversation periodic delay in ms. If set, timed out conversations get destroyed by a
+     * {@link org.apache.webbeans.conversation.ConversationTimerWheel} which advances every delay.
+     * The default {@code 0} destroys them at the end of each request instead,
+     * which requires to check all conversations of the session.
      */
     public static final String CONVERSATION_PERIODIC_DELAY = "org.apache.webbeans.conversation.Conversation.periodicDelay";
 
@@ -166,6 +169,37 @@ public class OpenWebBeansConfiguration
      */
     public static final String SCAN_ONLY_BEANS_XML_JARS = "org.apache.webbeans.scanBeansXmlOnly";
 
+    /**
+     * Whether the scanner shall use the build-time bean archive index
+     * (META-INF/openwebbeans/index) instead of reading all class files of an archive.
+     * Archives without an index or with a stale one always get fully scanned.
+     * Default is {@code true}.
+     */
+    public static final String USE_BEAN_ARCHIVE_INDEX = "org.apache.webbeans.scanner.useIndex";
+
+    /**
+     * File in which the scanner stores a snapshot of the scanned bean classes.
+     * If the classpath didn't change since the snapshot got written, the next start
+     * takes the bean classes from it and skips scanning altogether.
+     * Disabled by default.
+     */
+    public static final String DEPLOYMENT_SNAPSHOT_FILE = "org.apache.webbeans.scanner.snapshotFile";
+
+    /**
+     * If {@code true} the bean archives get read and parsed in parallel,
+     * one task per archive. Default is {@code false}.
+     */
+    public static final String PARALLEL_SCANNING = "org.apache.webbeans.scanner.parallel";
+
+    /**
+     * If {@code true} classes of bean archives with bean-discovery-mode 'annotated' get
+     * checked on their raw bytecode first and only classes which may carry a bean defining
+     * annotation get parsed. The rejected classes are then also missing in the AnnotationFinder
+     * of the ScannerService, so integrations which look up e.g. annotated methods
+     * of such archives via the finder must not enable it. Default is {@code false}.
+     */
+    public static final String ANNOTATED_PREFILTER = "org.apache.webbeans.scanner.annotatedPrefilter";
+
     /**
      * a comma-separated list of fully qualified class names that should be ignored
      * when determining if a decorator matches its delegate.  These are typically added by
@@ -194,6 +228,29 @@ public class OpenWebBeansConfiguration
      */
     public static final String EAGER_SESSION_INITIALISATION = "org.apache.webbeans.web.eagerSessionInitialisation";
 
+    /**
+     * If {@code true} each &#064;SessionScoped bean gets stored in its own HttpSession attribute
+     * instead of storing the whole SessionContext in a single one. At the end of a request only
+     * the attributes of the beans which got used in this request get set again.
+     * This allows servlet containers with delta replication to only ship those beans.
+     * Default is {@code false}.
+     */
+    public static final String SESSION_DELTA_REPLICATION = "org.apache.webbeans.web.sessionDeltaReplication";
+
+    /**
+     * Milliseconds after which the &#064;SessionScoped beans of an idle session get passivated
+     * into the {@link org.apache.webbeans.spi.SessionContextStore} and dropped from the heap.
+     * They get hydrated again one by one on their first access.
+     * Default is {@code 0} which keeps all beans on the heap.
+     */
+    public static final String SESSION_STORE_IDLE_TIMEOUT = "org.apache.webbeans.web.sessionStore.idleTimeout";
+
+    /**
+     * Directory used by the {@link org.apache.webbeans.corespi.FileSessionContextStore}.
+     * Defaults to {@code openwebbeans-sessions} in the temporary directory of the JVM.
+     */
+    public static final String SESSION_STORE_DIRECTORY = "org.apache.webbeans.web.sessionStore.directory";
+
     /**
      * The Java Version to use for the generated proxy classes.
      * If "auto" then we will pick the version of the current JVM.
@@ -202,6 +259,73 @@ public class OpenWebBeansConfiguration
      */
     public static final String GENERATOR_JAVA_VERSION = "org.apache.webbeans.generator.javaVersion";
 
+    /**
+     * Whether the proxy factories shall first look for proxy classes which got
+     * generated at build time (see {@link org.apache.webbeans.proxy.PrebuiltProxyGenerator})
+     * before generating them at runtime.
+     * Default is {@code false}.
+     */
+    public static final String USE_PREBUILT_PROXIES = "org.apache.webbeans.proxy.usePrebuilt";
+
+    /**
+     * If set, all generated proxy classes get a deterministic name and are written
+     * as class files into this directory. This is used at build time by the
+     * {@link org.apache.webbeans.proxy.PrebuiltProxyGenerator}.
+     */
+    public static final String PREBUILT_PROXY_OUTPUT_DIRECTORY = "org.apache.webbeans.proxy.prebuiltOutputDirectory";
+
+    /**
+     * Maximum number of pre-sorted observer dispatch plans the NotificationManager
+     * keeps after the container got started.
+     * A value of 0 disables the dispatch plan cache. Default is 1000.
+     */
+    public static final String EVENT_DISPATCH_CACHE_SIZE = "org.apache.webbeans.event.NotificationManager.dispatchCacheSize";
+
+    /**
+     * Maximum number of entries of each internal lookup cache created via the
+     * {@link org.apache.webbeans.spi.CacheService}. The size of a single cache can be
+     * overridden by appending its name, e.g.
+     * {@code org.apache.webbeans.cache.maxSize.InjectionResolver.resolvedBeansByType}.
+     * A value of 0 or less makes the cache unbounded. Default is 10000.
+     */
+    public static final String CACHE_MAX_SIZE = "org.apache.webbeans.cache.maxSize";
+
+    /**
+     * Enables the parallel mode of the BeansDeployer.
+     * If {@code true} the side-effect free parts of the deployment (AnnotatedType creation,
+     * BeanAttributes building and injection point validation) get spread over all cores.
+     * Portable extension events still get fired sequentially. Default is {@code false}.
+     */
+    public static final String PARALLEL_DEPLOYMENT = "org.apache.webbeans.deployer.parallel";
+
+    /**
+     * If {@code true} the fields and methods of scanned AnnotatedTypes only get created
+     * once they are really needed, e.g. when the class becomes a bean. Classes which
+     * don't end up as beans then don't keep member metadata around during the deployment.
+     * Default is {@code false}.
+     */
+    public static final String LAZY_ANNOTATED_TYPES = "org.apache.webbeans.deployer.lazyAnnotatedTypes";
+
+    /**
+     * Enables the startup profiler which records wall time, CPU time and allocated bytes
+     * of each deployment phase plus the cumulative time spent in extension observers
+     * and proxy generation. CPU time and allocations only cover the deploying thread.
+     * The report gets logged once the container is started.
+     * Default is {@code false}.
+     */
+    public static final String STARTUP_PROFILING = "org.apache.webbeans.startup.profile";
+
+    /**
+     * Number of the slowest extensions, observers and proxies listed in the startup
+     * profiler summary. Default is 10.
+     */
+    public static final String STARTUP_PROFILING_TOP_ENTRIES = "org.apache.webbeans.startup.profile.top";
+
+    /**
+     * If set the startup profiler additionally writes its report as JSON to this file.
+     */
+    public static final String STARTUP_PROFILING_REPORT_FILE = "org.apache.webbeans.startup.profile.file";
+
 
     /**Default configuration files*/
     private static final String DEFAULT_CONFIG_PROPERTIES_NAME = "META-INF/openwebbeans/openwebbeans.properties";
@@ -239,7 +363,7 @@ public class OpenWebBeansConfiguration
      * will get stored in a Set.
      *
      */
-    private Map<String, Set<String>> configuredLists = new HashMap<>();
+    private Map<String, Set<String>> configuredLists = new ConcurrentHashMap<>();
 
 
     /**
@@ -528,6 +652,24 @@ public class OpenWebBeansConfiguration
         return Boolean.parseBoolean(getProperty(PRODUCER_INTERCEPTION_SUPPORT, "true"));
     }
 
+    /**
+     * @see #USE_PREBUILT_PROXIES
+     */
+    public boolean usePrebuiltProxies()
+    {
+        return Boolean.parseBoolean(getProperty(USE_PREBUILT_PROXIES, "false"));
+    }
+
+    /**
+     * @see #PREBUILT_PROXY_OUTPUT_DIRECTORY
+     * @return the directory or {@code null} if generated proxies shall not get written out
+     */
+    public String getPrebuiltProxyOutputDirectory()
+    {
+        String outputDirectory = getProperty(PREBUILT_PROXY_OUTPUT_DIRECTORY);
+        return outputDirectory == null || outputDirectory.trim().isEmpty() ? null : outputDirectory.trim();
+    }
+
     public String getGeneratorJavaVersion()
     {
         String generatorJavaVersion = getProperty(GENERATOR_JAVA_VERSION);
@@ -538,4 +680,139 @@ public class OpenWebBeansConfiguration
 
         return generatorJavaVersion;
     }
+
+    /**
+     * @see #USE_BEAN_ARCHIVE_INDEX
+     */
+    public boolean useBeanArchiveIndex()
+    {
+        return Boolean.parseBoolean(getProperty(USE_BEAN_ARCHIVE_INDEX, "true"));
+    }
+
+    /**
+     * @see #DEPLOYMENT_SNAPSHOT_FILE
+     * @return the snapshot file or {@code null} if snapshots are disabled
+     */
+    public String getDeploymentSnapshotFile()
+    {
+        String snapshotFile = getProperty(DEPLOYMENT_SNAPSHOT_FILE);
+        return snapshotFile == null || snapshotFile.trim().isEmpty() ? null : snapshotFile.trim();
+    }
+
+    /**
+     * @see #PARALLEL_SCANNING
+     */
+    public boolean isParallelScanning()
+    {
+        return "true".equalsIgnoreCase(getProperty(PARALLEL_SCANNING));
+    }
+
+    /**
+     * @see #ANNOTATED_PREFILTER
+     */
+    public boolean isAnnotatedPrefilter()
+    {
+        return "true".equalsIgnoreCase(getProperty(ANNOTATED_PREFILTER));
+    }
+
+    /**
+     * @see #PARALLEL_DEPLOYMENT
+     */
+    public boolean isParallelDeployment()
+    {
+        return "true".equalsIgnoreCase(getProperty(PARALLEL_DEPLOYMENT));
+    }
+
+    /**
+     * @see #LAZY_ANNOTATED_TYPES
+     */
+    public boolean isLazyAnnotatedTypes()
+    {
+        return "true".equalsIgnoreCase(getProperty(LAZY_ANNOTATED_TYPES));
+    }
+
+    /**
+     * @see #SESSION_DELTA_REPLICATION
+     */
+    public boolean isSessionDeltaReplication()
+    {
+        return "true".equalsIgnoreCase(getProperty(SESSION_DELTA_REPLICATION));
+    }
+
+    /**
+     * @see #SESSION_STORE_IDLE_TIMEOUT
+     */
+    public long getSessionStoreIdleTimeout()
+    {
+        return Long.parseLong(getProperty(SESSION_STORE_IDLE_TIMEOUT, "0").trim());
+    }
+
+    /**
+     * @see #SESSION_STORE_DIRECTORY
+     */
+    public File getSessionStoreDirectory()
+    {
+        String directory = getProperty(SESSION_STORE_DIRECTORY);
+        if (directory == null || directory.trim().isEmpty())
+        {
+            return new File(System.getProperty("java.io.tmpdir"), "openwebbeans-sessions");
+        }
+        return new File(directory.trim());
+    }
+
+    /**
+     * @see #CONVERSATION_PERIODIC_DELAY
+     */
+    public long getConversationPeriodicDelay()
+    {
+        return Long.parseLong(getProperty(CONVERSATION_PERIODIC_DELAY, "0").trim());
+    }
+
+    /**
+     * @see #EVENT_DISPATCH_CACHE_SIZE
+     */
+    public int getEventDispatchCacheSize()
+    {
+        return Integer.parseInt(getProperty(EVENT_DISPATCH_CACHE_SIZE, "1000").trim());
+    }
+
+    /**
+     * @param cacheName the name of the cache
+     * @see #CACHE_MAX_SIZE
+     */
+    public int getCacheMaxSize(String cacheName)
+    {
+        String value = getProperty(CACHE_MAX_SIZE + '.' + cacheName);
+        if (value == null)
+        {
+            value = getProperty(CACHE_MAX_SIZE, "10000");
+        }
+        return Integer.parseInt(value.trim());
+    }
+
+    /**
+     * @see #STARTUP_PROFILING
+     */
+    public boolean isStartupProfilingEnabled()
+    {
+        return "true".equalsIgnoreCase(getProperty(STARTUP_PROFILING));
+    }
+
+    /**
+     * @see #STARTUP_PROFILING_TOP_ENTRIES
+     */
+    public int getStartupProfilingTopEntries()
+    {
+        return Integer.parseInt(getProperty(STARTUP_PROFILING_TOP_ENTRIES, "10").trim());
+    }
+
+    /**
+     * @see #STARTUP_PROFILING_REPORT_FILE
+     * @return the report file or {@code null} if the JSON report shall only get logged
+     */
+    public String getStartupProfilingReportFile()
+    {
+        String reportFile = getProperty(STARTUP_PROFILING_REPORT_FILE);
+        return reportFile == null || reportFile.trim().isEmpty() ? null : reportFile.trim();
+    }
 }
@@ -0,0 +1,569 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.config;
+
+import org.apache.webbeans.event.ObserverMethodImpl;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.util.ClassUtil;
+
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ObserverMethod;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records where the time goes while the container boots.
+ *
+ * <p>Each deployment phase gets measured in wall time, CPU time and allocated bytes.
+ * CPU time and allocations are only the ones of the thread which runs the deployment.
+ * Work which got spread over other threads, e.g. by the parallel scanning and deployment
+ * (see {@link OpenWebBeansConfiguration#PARALLEL_DEPLOYMENT}), is not included in those
+ * two numbers, so they are only comparable between runs with the same parallel settings.
+ * The summary thus labels them as deployer thread numbers. Observer methods and proxy
+ * generation only get measured in wall time but cumulated per observer, extension and
+ * proxy class.</p>
+ *
+ * <p>The profiler is disabled by default, see {@link OpenWebBeansConfiguration#STARTUP_PROFILING}.
+ * Once the container got started {@link #finish()} logs a summary plus the JSON report
+ * and stops recording, thus runtime events do not pay anything for it.</p>
+ */
+public class StartupProfiler
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(StartupProfiler.class);
+
+    private static final Phase NOOP_PHASE = new Phase(null, null);
+
+    private final boolean enabled;
+    private final int topEntries;
+    private final String reportFile;
+
+    private volatile boolean recording;
+
+    private ThreadMXBean threadMXBean;
+    private Method allocatedBytesMethod;
+
+    private final List<PhaseTiming> phases = new CopyOnWriteArrayList<>();
+    private final ConcurrentMap<ObserverMethod<?>, Timing> observerTimings = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timing> proxyTimings = new ConcurrentHashMap<>();
+
+    public StartupProfiler(OpenWebBeansConfiguration configuration)
+    {
+        enabled = configuration.isStartupProfilingEnabled();
+        topEntries = configuration.getStartupProfilingTopEntries();
+        reportFile = configuration.getStartupProfilingReportFile();
+        recording = enabled;
+
+        if (enabled)
+        {
+            initThreadMXBean();
+        }
+    }
+
+    private void initThreadMXBean()
+    {
+        try
+        {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean.isCurrentThreadCpuTimeSupported() && bean.isThreadCpuTimeEnabled())
+            {
+                threadMXBean = bean;
+            }
+
+            // not part of the java.lang.management API, thus only used if the JVM provides it
+            Class<?> hotspotBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (hotspotBean.isInstance(bean)
+                && Boolean.TRUE.equals(hotspotBean.getMethod("isThreadAllocatedMemoryEnabled").invoke(bean)))
+            {
+                allocatedBytesMethod = hotspotBean.getMethod("getThreadAllocatedBytes", long.class);
+                threadMXBean = bean;
+            }
+        }
+        catch (Exception | LinkageError e)
+        {
+            // no CPU time or allocation numbers on this JVM, we still get the wall time
+            logger.log(Level.FINE, "ThreadMXBean not fully available for startup profiling", e);
+        }
+    }
+
+    /**
+     * @return {@code true} if the profiler is enabled and the container is not yet started
+     */
+    public boolean isRecording()
+    {
+        return recording;
+    }
+
+    /**
+     * Starts measuring the given phase. Use {@link Phase#next(String)} to measure
+     * consecutive phases and {@link Phase#end()} for the last one.
+     * The current phase should also get ended if the deployment fails.
+     */
+    public Phase startPhase(String name)
+    {
+        if (!recording)
+        {
+            return NOOP_PHASE;
+        }
+        return new Phase(this, name);
+    }
+
+    /**
+     * Cumulates the time spent in an observer method while the container boots.
+     */
+    public void recordObserver(ObserverMethod<?> observerMethod, long nanos)
+    {
+        observerTimings.computeIfAbsent(observerMethod, o -> new Timing(getObserverName(o))).add(nanos);
+    }
+
+    /**
+     * Records the time needed to generate and define a proxy class.
+     * @param proxyFactory the kind of proxy, e.g. NormalScopeProxyFactory
+     * @param classToProxy the proxied class
+     */
+    public void recordProxyGeneration(String proxyFactory, Class<?> classToProxy, long nanos)
+    {
+        String name = classToProxy.getName() + " (" + proxyFactory + ")";
+        proxyTimings.computeIfAbsent(name, Timing::new).add(nanos);
+    }
+
+    /**
+     * Stops the recording, logs the summary and writes the JSON report.
+     */
+    public void finish()
+    {
+        if (!recording)
+        {
+            return;
+        }
+        recording = false;
+
+        if (logger.isLoggable(Level.INFO))
+        {
+            logger.info(getSummary());
+        }
+
+        String json = toJson();
+        if (logger.isLoggable(Level.FINE))
+        {
+            logger.fine(json);
+        }
+        if (reportFile != null)
+        {
+            writeReport(json);
+        }
+    }
+
+    private void writeReport(String json)
+    {
+        File file = new File(reportFile);
+        if (file.getParentFile() != null && !file.getParentFile().isDirectory() && !file.getParentFile().mkdirs())
+        {
+            logger.warning("Cannot create directory for the startup profile " + file);
+            return;
+        }
+        try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8))
+        {
+            writer.write(json);
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Cannot write the startup profile to " + file, e);
+        }
+    }
+
+    /**
+     * @return all measured phases in the order they got executed
+     */
+    public List<PhaseTiming> getPhases()
+    {
+        return Collections.unmodifiableList(phases);
+    }
+
+    /**
+     * @return all observer methods invoked during the boot, slowest first
+     */
+    public List<Timing> getObserverTimings()
+    {
+        return sorted(observerTimings.values());
+    }
+
+    /**
+     * @return the time spent per portable extension over all its observers, slowest first
+     */
+    public List<Timing> getExtensionTimings()
+    {
+        return getExtensionTimings(false);
+    }
+
+    /**
+     * @return the time spent per portable extension and lifecycle event
+     *         (e.g. ProcessAnnotatedType), slowest first
+     */
+    public List<Timing> getExtensionEventTimings()
+    {
+        return getExtensionTimings(true);
+    }
+
+    /**
+     * @return the generated proxy classes, slowest first
+     */
+    public List<Timing> getProxyTimings()
+    {
+        return sorted(proxyTimings.values());
+    }
+
+    private List<Timing> getExtensionTimings(boolean perEvent)
+    {
+        Map<String, Timing> extensionTimings = new HashMap<>();
+        for (Map.Entry<ObserverMethod<?>, Timing> entry : observerTimings.entrySet())
+        {
+            ObserverMethod<?> observerMethod = entry.getKey();
+            if (!Extension.class.isAssignableFrom(observerMethod.getBeanClass()))
+            {
+                continue;
+            }
+
+            String name = observerMethod.getBeanClass().getName();
+            if (perEvent)
+            {
+                name += " (" + ClassUtil.getClazz(observerMethod.getObservedType()).getSimpleName() + ")";
+            }
+            extensionTimings.computeIfAbsent(name, Timing::new).add(entry.getValue());
+        }
+        return sorted(extensionTimings.values());
+    }
+
+    private static List<Timing> sorted(Collection<Timing> timings)
+    {
+        List<Timing> result = new ArrayList<>(timings);
+        result.sort((t1, t2) -> Long.compare(t2.getNanos(), t1.getNanos()));
+        return result;
+    }
+
+    /**
+     * @return a readable name of the observer, e.g. {@code org.acme.MyExtension#observePat(ProcessAnnotatedType)}
+     */
+    public static String getObserverName(ObserverMethod<?> observerMethod)
+    {
+        String eventType = ClassUtil.getClazz(observerMethod.getObservedType()).getSimpleName();
+        if (observerMethod instanceof ObserverMethodImpl)
+        {
+            return observerMethod.getBeanClass().getName() + '#'
+                + ((ObserverMethodImpl<?>) observerMethod).getObserverMethod().getJavaMember().getName()
+                + '(' + eventType + ')';
+        }
+        return observerMethod.getBeanClass().getName() + '(' + eventType + ')';
+    }
+
+    /**
+     * @return the human readable summary with all phases and the top entries
+     */
+    public String getSummary()
+    {
+        StringBuilder summary = new StringBuilder("OpenWebBeans startup profile:");
+        for (PhaseTiming phase : phases)
+        {
+            summary.append("\n  ").append(phase.getName())
+                .append(": wall ").append(millis(phase.getWallNanos())).append(" ms");
+            if (phase.getCpuNanos() >= 0)
+            {
+                summary.append(", deployer thread cpu ").append(millis(phase.getCpuNanos())).append(" ms");
+            }
+            if (phase.getAllocatedBytes() >= 0)
+            {
+                summary.append(", deployer thread allocated ").append(phase.getAllocatedBytes() / 1024).append(" kB");
+            }
+        }
+        appendTop(summary, "slowest extensions", getExtensionTimings());
+        appendTop(summary, "slowest extension events", getExtensionEventTimings());
+        appendTop(summary, "slowest observers", getObserverTimings());
+        appendTop(summary, "slowest proxies", getProxyTimings());
+        return summary.toString();
+    }
+
+    private void appendTop(StringBuilder summary, String title, List<Timing> timings)
+    {
+        if (timings.isEmpty())
+        {
+            return;
+        }
+
+        summary.append("\n  ").append(title).append(':');
+        for (Timing timing : timings.subList(0, Math.min(topEntries, timings.size())))
+        {
+            summary.append("\n    ").append(millis(timing.getNanos())).append(" ms in ")
+                .append(timing.getCount()).append("x ").append(timing.getName());
+        }
+    }
+
+    private static String millis(long nanos)
+    {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000d);
+    }
+
+    /**
+     * @return the complete report as JSON document
+     */
+    public String toJson()
+    {
+        StringBuilder json = new StringBuilder("{\n  \"phases\": [");
+        for (int i = 0; i < phases.size(); i++)
+        {
+            PhaseTiming phase = phases.get(i);
+            json.append(i == 0 ? "\n" : ",\n")
+                .append("    {\"name\": ").append(quote(phase.getName()))
+                .append(", \"wallNanos\": ").append(phase.getWallNanos())
+                .append(", \"cpuNanos\": ").append(phase.getCpuNanos())
+                .append(", \"allocatedBytes\": ").append(phase.getAllocatedBytes())
+                .append('}');
+        }
+        json.append("\n  ]");
+        appendJson(json, "extensions", getExtensionTimings());
+        appendJson(json, "extensionEvents", getExtensionEventTimings());
+        appendJson(json, "observers", getObserverTimings());
+        appendJson(json, "proxies", getProxyTimings());
+        return json.append("\n}\n").toString();
+    }
+
+    private static void appendJson(StringBuilder json, String name, List<Timing> timings)
+    {
+        json.append(",\n  ").append(quote(name)).append(": [");
+        for (int i = 0; i < timings.size(); i++)
+        {
+            Timing timing = timings.get(i);
+            json.append(i == 0 ? "\n" : ",\n")
+                .append("    {\"name\": ").append(quote(timing.getName()))
+                .append(", \"count\": ").append(timing.getCount())
+                .append(", \"nanos\": ").append(timing.getNanos())
+                .append('}');
+        }
+        json.append("\n  ]");
+    }
+
+    private static String quote(String value)
+    {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\')
+            {
+                quoted.append('\\').append(c);
+            }
+            else if (c < 0x20)
+            {
+                quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            }
+            else
+            {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private long getCpuTime()
+    {
+        return threadMXBean != null && threadMXBean.isCurrentThreadCpuTimeSupported() ? threadMXBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    private long getAllocatedBytes()
+    {
+        if (allocatedBytesMethod == null)
+        {
+            return -1;
+        }
+        try
+        {
+            return (Long) allocatedBytesMethod.invoke(threadMXBean, Thread.currentThread().getId());
+        }
+        catch (Exception e)
+        {
+            return -1;
+        }
+    }
+
+    /**
+     * A running measurement of a single phase.
+     * A Phase must get ended on the thread which started it.
+     */
+    public static class Phase
+    {
+        private final StartupProfiler profiler;
+        private final String name;
+        private final long wallStart;
+        private final long cpuStart;
+        private final long allocatedStart;
+        private boolean ended;
+
+        private Phase(StartupProfiler profiler, String name)
+        {
+            this.profiler = profiler;
+            this.name = name;
+            if (profiler != null)
+            {
+                allocatedStart = profiler.getAllocatedBytes();
+                cpuStart = profiler.getCpuTime();
+                wallStart = System.nanoTime();
+            }
+            else
+            {
+                allocatedStart = -1;
+                cpuStart = -1;
+                wallStart = 0;
+            }
+        }
+
+        /**
+         * Ends this phase and starts the next one.
+         */
+        public Phase next(String nextPhase)
+        {
+            end();
+            return profiler != null ? profiler.startPhase(nextPhase) : this;
+        }
+
+        /**
+         * Ends this phase. Further calls are ignored, thus it can get called
+         * in a finally block to also record a phase which failed.
+         */
+        public void end()
+        {
+            if (profiler == null || !profiler.recording || ended)
+            {
+                return;
+            }
+            ended = true;
+
+            long wall = System.nanoTime() - wallStart;
+            long cpu = cpuStart >= 0 ? profiler.getCpuTime() - cpuStart : -1;
+            long allocated = allocatedStart >= 0 ? profiler.getAllocatedBytes() - allocatedStart : -1;
+            profiler.phases.add(new PhaseTiming(name, wall, cpu, allocated));
+        }
+    }
+
+    /**
+     * The measured numbers of a single phase.
+     * CPU time and allocated bytes only cover the thread which ran the phase,
+     * they are -1 if the JVM doesn't provide them.
+     */
+    public static class PhaseTiming
+    {
+        private final String name;
+        private final long wallNanos;
+        private final long cpuNanos;
+        private final long allocatedBytes;
+
+        public PhaseTiming(String name, long wallNanos, long cpuNanos, long allocatedBytes)
+        {
+            this.name = name;
+            this.wallNanos = wallNanos;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public long getWallNanos()
+        {
+            return wallNanos;
+        }
+
+        /**
+         * @return the CPU time of the thread which ran the phase, without worker threads
+         */
+        public long getCpuNanos()
+        {
+            return cpuNanos;
+        }
+
+        /**
+         * @return the bytes allocated by the thread which ran the phase, without worker threads
+         */
+        public long getAllocatedBytes()
+        {
+            return allocatedBytes;
+        }
+    }
+
+    /**
+     * Cumulated wall time of an observer, extension or proxy class.
+     */
+    public static class Timing
+    {
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        public Timing(String name)
+        {
+            this.name = name;
+        }
+
+        void add(long elapsedNanos)
+        {
+            count.increment();
+            nanos.add(elapsedNanos);
+        }
+
+        void add(Timing other)
+        {
+            count.add(other.getCount());
+            nanos.add(other.getNanos());
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public long getCount()
+        {
+            return count.sum();
+        }
+
+        public long getNanos()
+        {
+            return nanos.sum();
+        }
+    }
+}
@@ -33,8 +33,12 @@ import java.util.logging.Logger;
 
 import org.apache.webbeans.annotation.AnnotationManager;
 import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.container.BeanSlotRegistry;
 import org.apache.webbeans.container.SerializableBeanVault;
 import org.apache.webbeans.context.creational.CreationalContextFactory;
+import org.apache.webbeans.corespi.DefaultCacheService;
+import org.apache.webbeans.corespi.DefaultPassivationSerializer;
+import org.apache.webbeans.corespi.NoopMetricsService;
 import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.conversation.DefaultConversationService;
 import org.apache.webbeans.corespi.se.DefaultApplicationBoundaryService;
@@ -59,10 +63,13 @@ import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 import org.apache.webbeans.proxy.NormalScopeProxyFactory;
 import org.apache.webbeans.service.DefaultLoaderService;
 import org.apache.webbeans.spi.BeanArchiveService;
+import org.apache.webbeans.spi.CacheService;
 import org.apache.webbeans.spi.ApplicationBoundaryService;
 import org.apache.webbeans.spi.ContextsService;
 import org.apache.webbeans.spi.ConversationService;
 import org.apache.webbeans.spi.LoaderService;
+import org.apache.webbeans.spi.MetricsService;
+import org.apache.webbeans.spi.PassivationSerializer;
 import org.apache.webbeans.spi.ScannerService;
 import org.apache.webbeans.spi.SecurityService;
 import org.apache.webbeans.spi.plugins.OpenWebBeansPlugin;
@@ -98,6 +105,7 @@ public class WebBeansContext
     private final OpenWebBeansConfiguration openWebBeansConfiguration;
     private final PluginLoader pluginLoader = new PluginLoader();
     private final SerializableBeanVault serializableBeanVault = new SerializableBeanVault();
+    private final BeanSlotRegistry beanSlotRegistry = new BeanSlotRegistry();
     private final StereoTypeManager stereoTypeManager = new StereoTypeManager();
     private final AnnotationManager annotationManager;
     private final InjectionPointFactory injectionPointFactory = new InjectionPointFactory(this);
@@ -113,6 +121,10 @@ public class WebBeansContext
     private ConversationService conversationService;
     private final ApplicationBoundaryService applicationBoundaryService;
     private final NotificationManager notificationManager;
+    private final CacheService cacheService;
+    private final MetricsService metricsService;
+    private final PassivationSerializer passivationSerializer;
+    private final StartupProfiler startupProfiler;
 
 
     public WebBeansContext()
@@ -128,6 +140,7 @@ public class WebBeansContext
     private WebBeansContext(Map<Class<?>, Object> initialServices, OpenWebBeansConfiguration openWebBeansConfiguration)
     {
         this.openWebBeansConfiguration = openWebBeansConfiguration != null ? openWebBeansConfiguration : new OpenWebBeansConfiguration();
+        startupProfiler = new StartupProfiler(this.openWebBeansConfiguration);
         annotationManager = new AnnotationManager(this);
 
         //pluggable service-loader
@@ -160,6 +173,11 @@ public class WebBeansContext
         securityService = getService(SecurityService.class);
         applicationBoundaryService = getService(ApplicationBoundaryService.class);
 
+        // the caches must exist before any service resolves beans, e.g. the ConversationManager
+        CacheService configuredCacheService = getService(CacheService.class);
+        cacheService = configuredCacheService != null ? configuredCacheService : new DefaultCacheService(this.openWebBeansConfiguration);
+        beanManagerImpl.initCaches(cacheService);
+
         interceptorDecoratorProxyFactory = new InterceptorDecoratorProxyFactory(this);
         normalScopeProxyFactory = new NormalScopeProxyFactory(this);
         subclassProxyFactory = new SubclassProxyFactory(this);
@@ -167,6 +185,13 @@ public class WebBeansContext
         beanArchiveService = getService(BeanArchiveService.class);
         conversationManager = new ConversationManager(this);
 
+        MetricsService configuredMetricsService = getService(MetricsService.class);
+        metricsService = configuredMetricsService != null ? configuredMetricsService : new NoopMetricsService();
+
+        PassivationSerializer configuredPassivationSerializer = getService(PassivationSerializer.class);
+        passivationSerializer = configuredPassivationSerializer != null
+            ? configuredPassivationSerializer : new DefaultPassivationSerializer();
+
         notificationManager = new NotificationManager(this);
 
         beanManagerImpl.getInjectionResolver().setFastMatching(!"false".equalsIgnoreCase(getOpenWebBeansConfiguration()
@@ -281,6 +306,31 @@ public class WebBeansContext
         return serializableBeanVault;
     }
 
+    public BeanSlotRegistry getBeanSlotRegistry()
+    {
+        return beanSlotRegistry;
+    }
+
+    public CacheService getCacheService()
+    {
+        return cacheService;
+    }
+
+    public MetricsService getMetricsService()
+    {
+        return metricsService;
+    }
+
+    public PassivationSerializer getPassivationSerializer()
+    {
+        return passivationSerializer;
+    }
+
+    public StartupProfiler getStartupProfiler()
+    {
+        return startupProfiler;
+    }
+
     public CreationalContextFactory getCreationalContextFactory()
     {
         return creationalContextFactory;
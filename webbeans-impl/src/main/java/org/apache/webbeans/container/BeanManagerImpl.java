@@ -98,6 +98,7 @@ import org.apache.webbeans.portable.LazyInterceptorDefinedInjectionTarget;
 import org.apache.webbeans.portable.events.discovery.ErrorStack;
 import org.apache.webbeans.portable.events.generics.GProcessInjectionPoint;
 import org.apache.webbeans.portable.events.generics.GProcessInjectionTarget;
+import org.apache.webbeans.spi.CacheService;
 import org.apache.webbeans.spi.adaptor.ELAdaptor;
 import org.apache.webbeans.spi.plugins.OpenWebBeansEjbPlugin;
 import org.apache.webbeans.util.AnnotationUtil;
@@ -142,11 +143,26 @@ public class BeanManagerImpl implements BeanManager, Referenceable
      */
     private Map<Class<? extends Annotation>, Context> singleContextMap = new HashMap<>();
 
-    /**Deployment archive beans*/
-    private Set<Bean<?>> deploymentBeans = new HashSet<>();
+    /**
+     * Deployment archive beans.
+     * Concurrent as the injection points might get validated in parallel, see
+     * {@link org.apache.webbeans.config.OpenWebBeansConfiguration#PARALLEL_DEPLOYMENT}.
+     */
+    private final Set<Bean<?>> deploymentBeans = ConcurrentHashMap.newKeySet();
 
-    /**Normal scoped cache proxies*/
-    private Map<Contextual<?>, Object> cacheProxies = new ConcurrentHashMap<>();
+    /**
+     * The deploymentBeans indexed by the raw class of their bean types
+     */
+    private final BeanTypeIndex beanTypeIndex = new BeanTypeIndex();
+
+    /**
+     * Incremented whenever the deploymentBeans change.
+     * Allows to detect stale resolution results which got cached outside of the InjectionResolver.
+     */
+    private volatile int beansVersion;
+
+    /**Normal scoped cache proxies, see {@link #initCaches(CacheService)}*/
+    private CacheService.Cache<Contextual<?>, Object> cacheProxies;
 
     /**Injection resolver instance*/
     private InjectionResolver injectionResolver;
@@ -235,6 +251,16 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         annotatedElementFactory = webBeansContext.getAnnotatedElementFactory();
     }
 
+    /**
+     * Creates the lookup caches of this BeanManager and its {@link InjectionResolver}.
+     * Called by the {@link WebBeansContext} once its configuration is available.
+     */
+    public void initCaches(CacheService cacheService)
+    {
+        cacheProxies = cacheService.createCache("BeanManagerImpl.cacheProxies");
+        injectionResolver.initCaches(cacheService);
+    }
+
     public WebBeansContext getWebBeansContext()
     {
         return webBeansContext;
@@ -363,6 +389,8 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         {
             addPassivationInfo(newBean);
             deploymentBeans.add(newBean);
+            beanTypeIndex.add(newBean);
+            beansVersion++;
         }
         else
         {
@@ -377,9 +405,17 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             }
             addPassivationInfo(bean);
             deploymentBeans.add(bean);
+            beanTypeIndex.add(bean);
+            beansVersion++;
             thirdPartyMapping.put(newBean, bean);
         }
 
+        if (afterDeploymentValidationFired)
+        {
+            // beans added at runtime must be visible to later lookups
+            injectionResolver.clearCaches();
+        }
+
         return this;
     }
 
@@ -537,6 +573,22 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         return deploymentBeans;
     }
 
+    /**
+     * @return the index of the {@link #getBeans()} by the raw class of their bean types
+     */
+    public BeanTypeIndex getBeanTypeIndex()
+    {
+        return beanTypeIndex;
+    }
+
+    /**
+     * @return a number which changes whenever a bean gets added to or removed from {@link #getBeans()}
+     */
+    public int getBeansVersion()
+    {
+        return beansVersion;
+    }
+
     private void addContext(Class<? extends Annotation> scopeType, javax.enterprise.context.spi.Context context)
     {
         Asserts.assertNotNull(scopeType, "scopeType");
@@ -643,13 +695,25 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             return null;
         }
 
+        //Find the injection point Bean
+        return getInjectableReference(injectionPoint, injectionResolver.getInjectionPointBean(injectionPoint), ownerCreationalContext);
+    }
+
+    /**
+     * Gets the injectable reference for an injection point whose bean got already resolved.
+     * This allows to skip the resolution for injection points which got resolved upfront.
+     *
+     * @param injectionPoint the injection point
+     * @param resolvedBean the bean resolved for the injection point
+     * @param ownerCreationalContext the creational context of the bean which owns the injection point
+     * @return the injectable reference
+     */
+    public Object getInjectableReference(InjectionPoint injectionPoint, Bean<?> resolvedBean, CreationalContext<?> ownerCreationalContext)
+    {
         //Injected instance
         Object instance = null;
 
-
-        //Find the injection point Bean
-        Bean<Object> injectedBean = (Bean<Object>)injectionResolver.getInjectionPointBean(injectionPoint);
-
+        Bean<Object> injectedBean = (Bean<Object>) resolvedBean;
 
         if(WebBeansUtil.isDependent(injectedBean))
         {
@@ -964,9 +1028,10 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             if(isNormalScope(bean.getScope()))
             {
                 //Maybe it is cached
-                if(cacheProxies.containsKey(bean))
+                Object cachedProxy = cacheProxies.get(bean);
+                if(cachedProxy != null)
                 {
-                    return cacheProxies.get(bean);
+                    return cachedProxy;
                 }
             }
 
@@ -1460,6 +1525,8 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         singleContextMap.clear();
         contextMap.clear();
         deploymentBeans.clear();
+        beanTypeIndex.clear();
+        beansVersion++;
         errorStack.clear();
         producersForJavaEeComponents.clear();
         passivationBeans.clear();
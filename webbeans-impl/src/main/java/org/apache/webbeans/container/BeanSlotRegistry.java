@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.spi.Contextual;
+
+/**
+ * <p>Hands out a dense integer index for {@link Contextual}s.</p>
+ *
+ * <p>Contexts like the {@link org.apache.webbeans.context.RequestContext} and the
+ * {@link org.apache.webbeans.context.SessionContext} use this index to cache
+ * their contextual instances in an array slot. A normal scoped proxy can then
+ * resolve its instance with a single indexed load instead of hashing the Bean.</p>
+ *
+ * <p>The slots get assigned for all &#064;RequestScoped and &#064;SessionScoped beans at the end of the deployment.
+ * Beans which get added later on simply get the next free index.</p>
+ */
+public class BeanSlotRegistry
+{
+    private final Map<Contextual<?>, Integer> slots = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextSlot = new AtomicInteger();
+
+    /**
+     * @return the slot of the given contextual, a new one gets assigned if needed
+     */
+    public int getSlot(Contextual<?> contextual)
+    {
+        Integer slot = slots.get(contextual);
+        if (slot == null)
+        {
+            slot = slots.computeIfAbsent(contextual, c -> nextSlot.getAndIncrement());
+        }
+        return slot;
+    }
+
+    /**
+     * @return the number of slots which got assigned so far
+     */
+    public int size()
+    {
+        return nextSlot.get();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.util.ClassUtil;
+
+/**
+ * Inverted index from the raw class of each bean type to the beans having that type.
+ *
+ * <p>Resolving an injection point only has to check the beans which have
+ * a bean type with the same raw class as the injection point type instead of all beans.
+ * Beans which have a TypeVariable, WildcardType or GenericArrayType as bean type
+ * cannot be indexed by a raw class. They are returned as candidates for every lookup.</p>
+ *
+ * <p>The index is only a pre-filter. The candidates still need to go through the usual assignability checks.</p>
+ */
+public class BeanTypeIndex
+{
+    private final Map<Class<?>, Set<Bean<?>>> beansByRawType = new ConcurrentHashMap<>();
+
+    private final Set<Bean<?>> beansWithGenericTypes = ConcurrentHashMap.newKeySet();
+
+    public void add(Bean<?> bean)
+    {
+        for (Type type : bean.getTypes())
+        {
+            Class<?> rawType = getIndexKey(type);
+            if (rawType == null)
+            {
+                beansWithGenericTypes.add(bean);
+            }
+            else
+            {
+                beansByRawType.computeIfAbsent(rawType, k -> ConcurrentHashMap.newKeySet()).add(bean);
+            }
+        }
+    }
+
+    /**
+     * @param injectionPointType the type of the injection point
+     * @return all beans which might satisfy the given type or {@code null} if the type cannot be looked up in the index
+     */
+    public Collection<Bean<?>> getCandidates(Type injectionPointType)
+    {
+        Class<?> rawType = getIndexKey(injectionPointType);
+        if (rawType == null)
+        {
+            return null;
+        }
+
+        Set<Bean<?>> beans = beansByRawType.get(rawType);
+        if (beansWithGenericTypes.isEmpty())
+        {
+            return beans != null ? beans : Collections.emptySet();
+        }
+
+        List<Bean<?>> candidates = new ArrayList<>(beansWithGenericTypes);
+        if (beans != null)
+        {
+            candidates.addAll(beans);
+        }
+        return candidates;
+    }
+
+    public void clear()
+    {
+        beansByRawType.clear();
+        beansWithGenericTypes.clear();
+    }
+
+    /**
+     * @return the wrapper type for primitives, the raw type for ParameterizedTypes
+     *         or {@code null} if the type cannot be represented by a single raw class
+     */
+    private static Class<?> getIndexKey(Type type)
+    {
+        if (type instanceof ParameterizedType)
+        {
+            type = ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof Class)
+        {
+            Class<?> clazz = (Class<?>) type;
+            return clazz.isPrimitive() ? ClassUtil.getPrimitiveWrapper(clazz) : clazz;
+        }
+        return null;
+    }
+}
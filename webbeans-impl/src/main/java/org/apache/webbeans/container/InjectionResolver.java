@@ -31,6 +31,7 @@ import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.inject.AlternativesManager;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.BDABeansXmlScanner;
+import org.apache.webbeans.spi.CacheService;
 import org.apache.webbeans.spi.ScannerService;
 import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
@@ -53,13 +54,12 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -87,17 +87,17 @@ public class InjectionResolver
     private AlternativesManager alternativesManager;
     
     /**
-     * This Map contains all resolved beans via it's type and qualifiers.
+     * This cache contains all resolved beans via it's type and qualifiers.
      * If a bean have resolved as not existing, the entry will contain <code>null</code> as value.
      * The Long key is a hashCode, see
      * {@link BeanCacheKey#BeanCacheKey(boolean, Type, String, java.util.function.Function, Annotation...)}
      */
-    private Map<BeanCacheKey, Set<Bean<?>>> resolvedBeansByType = new ConcurrentHashMap<>();
+    private CacheService.Cache<BeanCacheKey, Set<Bean<?>>> resolvedBeansByType;
 
     /**
-     * This Map contains all resolved beans via it's ExpressionLanguage name.
+     * This cache contains all resolved beans via it's ExpressionLanguage name.
      */
-    private Map<String, Set<Bean<?>>> resolvedBeansByName = new ConcurrentHashMap<>();
+    private CacheService.Cache<String, Set<Bean<?>>> resolvedBeansByName;
 
     /**
      * Whether the container is in startup mode.
@@ -125,6 +125,16 @@ public class InjectionResolver
         eventBean = webBeansContext.getWebBeansUtil().getEventBean();
     }
 
+    /**
+     * Creates the resolution caches. Both caches are bounded by the
+     * configured maximum size as they are keyed by user supplied qualifiers and names.
+     */
+    public void initCaches(CacheService cacheService)
+    {
+        resolvedBeansByType = cacheService.createCache("InjectionResolver.resolvedBeansByType");
+        resolvedBeansByName = cacheService.createCache("InjectionResolver.resolvedBeansByName");
+    }
+
     public void setFastMatching(boolean fastMatching)
     {
         this.fastMatching = fastMatching;
@@ -480,7 +490,14 @@ public class InjectionResolver
 
         boolean returnAll = injectionPointType.equals(Object.class) && currentQualifier;
 
-        for (Bean<?> component : webBeansContext.getBeanManagerImpl().getBeans())
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        Collection<Bean<?>> candidates = returnAll ? null : beanManager.getBeanTypeIndex().getCandidates(injectionPointType);
+        if (candidates == null)
+        {
+            candidates = beanManager.getBeans();
+        }
+
+        for (Bean<?> component : candidates)
         {
             // no need to check instanceof OwbBean as we always wrap in a
             // ThirdpartyBeanImpl at least
@@ -29,15 +29,18 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.enterprise.context.ContextNotActiveException;
 import javax.enterprise.context.spi.AlterableContext;
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
 
+import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.SerializableBean;
 import org.apache.webbeans.container.SerializableBeanVault;
 import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.spi.MetricsService;
 
 /**
  * Abstract implementation of the {@link javax.enterprise.context.spi.Context} interfaces.
@@ -62,6 +65,32 @@ public abstract class AbstractContext implements AlterableContext, Serializable
     /**Contextual Scope Type*/
     protected Class<? extends Annotation> scopeType;
 
+    /**
+     * Contextual instances indexed by their {@link org.apache.webbeans.container.BeanSlotRegistry} slot.
+     * This is only a lookup cache for the normal scoped proxies,
+     * the instances are still managed in the componentInstanceMap.
+     * The slots get written by the threads which use the proxies, thus the
+     * elements must be published safely as well.
+     */
+    private transient volatile AtomicReferenceArray<Object> instanceSlots;
+
+    /**
+     * Incremented whenever contextual instances get destroyed.
+     * Used to detect a racing destroy in {@link #setSlotInstance(int, Object, int)}.
+     */
+    private transient volatile int slotsVersion;
+
+    /**
+     * Set by the ContextsService which created this context.
+     * Otherwise, e.g. after deserialisation, it gets resolved lazily.
+     */
+    private transient MetricsService metricsService;
+
+    /**
+     * {@code true} if the start of this context got reported via {@link MetricsService#contextStarted(Class)}.
+     */
+    private transient boolean contextStartReported;
+
     @SuppressWarnings("unchecked")
     private <T> BeanInstanceBag<T> createContextualBag(Contextual<T> contextual, CreationalContext<T> creationalContext)
     {
@@ -157,6 +186,10 @@ public abstract class AbstractContext implements AlterableContext, Serializable
             else
             {                
                 instance = bag.create(contextual);    
+                if (instance != null)
+                {
+                    getMetricsService().contextualInstanceCreated(scopeType);
+                }
             }
         }
 
@@ -174,7 +207,6 @@ public abstract class AbstractContext implements AlterableContext, Serializable
      */
     public void destroyInstance(Contextual<?> contextual)
     {
-        
         BeanInstanceBag<?> instance = componentInstanceMap.get(contextual);
         if (instance == null)
         {
@@ -205,6 +237,10 @@ public abstract class AbstractContext implements AlterableContext, Serializable
         //Destroy component
         component.destroy(instance,creationalContext);
         componentInstanceMap.remove(component);
+
+        // only now a racing lookup cannot get the destroyed instance anymore
+        clearSlotInstances();
+        getMetricsService().contextualInstanceDestroyed(scopeType);
     }
     
     /**
@@ -218,6 +254,98 @@ public abstract class AbstractContext implements AlterableContext, Serializable
             destroyInstance(contextual);
         }
         setActive(false);
+
+        if (contextStartReported)
+        {
+            contextStartReported = false;
+            getMetricsService().contextDestroyed(scopeType);
+        }
+    }
+
+    /**
+     * Reports the start of this context to the {@link MetricsService}.
+     * Gets called by the ContextsService which created a long living context like
+     * the session and conversation contexts to allow counting the active ones.
+     * {@link #destroy()} reports the end, but only if the start got reported in this JVM.
+     * Thus deserialised contexts never show up in the metrics.
+     */
+    public void reportContextStart()
+    {
+        contextStartReported = true;
+        getMetricsService().contextStarted(scopeType);
+    }
+
+    public void setMetricsService(MetricsService metricsService)
+    {
+        this.metricsService = metricsService;
+    }
+
+    protected MetricsService getMetricsService()
+    {
+        if (metricsService == null)
+        {
+            metricsService = WebBeansContext.currentInstance().getMetricsService();
+        }
+        return metricsService;
+    }
+
+    /**
+     * @param slot the slot of the bean as assigned by the {@link org.apache.webbeans.container.BeanSlotRegistry}
+     * @return the cached contextual instance or {@code null} if there is none yet
+     */
+    public Object getSlotInstance(int slot)
+    {
+        AtomicReferenceArray<Object> slots = instanceSlots;
+        return slots != null && slot < slots.length() ? slots.get(slot) : null;
+    }
+
+    /**
+     * @return the version to pass to {@link #setSlotInstance(int, Object, int)}.
+     *         Must be read before the contextual instance gets looked up.
+     */
+    public int getSlotsVersion()
+    {
+        return slotsVersion;
+    }
+
+    /**
+     * Caches the contextual instance of a bean in its slot.
+     * The cache gets dropped if an instance got destroyed in the meantime
+     * as the given instance might then be a stale one.
+     *
+     * @param slot the slot of the bean as assigned by the {@link org.apache.webbeans.container.BeanSlotRegistry}
+     * @param instance the current contextual instance of the bean
+     * @param expectedSlotsVersion the {@link #getSlotsVersion()} before the instance got looked up
+     */
+    public void setSlotInstance(int slot, Object instance, int expectedSlotsVersion)
+    {
+        AtomicReferenceArray<Object> slots = instanceSlots;
+        if (slots == null || slot >= slots.length())
+        {
+            AtomicReferenceArray<Object> newSlots = new AtomicReferenceArray<>(
+                    slots == null ? Math.max(slot + 1, 16) : Math.max(slot + 1, slots.length() * 2));
+            for (int i = 0; slots != null && i < slots.length(); i++)
+            {
+                newSlots.set(i, slots.get(i));
+            }
+            newSlots.set(slot, instance);
+            instanceSlots = newSlots;
+        }
+        else
+        {
+            slots.set(slot, instance);
+        }
+
+        if (slotsVersion != expectedSlotsVersion)
+        {
+            instanceSlots = null;
+        }
+    }
+
+    protected void clearSlotInstances()
+    {
+        slotsVersion++;
+        instanceSlots = null;
     }
 
     /**
@@ -96,12 +96,14 @@ public abstract class AbstractContextsService implements ContextsService
 
     /**
      * Destroy inactive (timed out) conversations.
+     * They only get looked up here if no {@link org.apache.webbeans.conversation.ConversationTimerWheel} is used.
      */
     public void destroyOutdatedConversations(ConversationContext currentConversationContext)
     {
         ConversationManager conversationManager = null;
         Context sessionContext = getCurrentContext(SessionScoped.class, false);
-        if (sessionContext != null && sessionContext.isActive())
+        if (sessionContext != null && sessionContext.isActive()
+            && !webBeansContext.getConversationManager().isScheduledExpiry())
         {
             conversationManager = webBeansContext.getConversationManager();
             Set<ConversationContext> conversationContexts = conversationManager.getSessionConversations(sessionContext, false);
@@ -36,7 +36,7 @@ import org.apache.webbeans.conversation.ConversationImpl;
  */
 public class ConversationContext extends PassivatingContext
 {
-    private static final long serialVersionUID = 2L;
+    private static final long serialVersionUID = 3L;
 
     private ConversationImpl conversation;
 
@@ -53,6 +53,7 @@ public class ConversationContext extends PassivatingContext
     {
         super(ConversationScoped.class);
         this.conversation = new ConversationImpl(webBeansContext);
+        setMetricsService(webBeansContext.getMetricsService());
     }
 
     @Override
@@ -25,16 +25,22 @@ import java.io.NotSerializableException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.lang.annotation.Annotation;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.spi.PassivationSerializer;
 import org.apache.webbeans.util.WebBeansUtil;
 
 /**
  * Base class for passivating contexts.
- * It basically provides serialisation support
+ * It basically provides serialisation support.
+ *
+ * The passivation ids of the beans get interned via {@link PassivationIdTable}
+ * and the instances get written by the configured {@link PassivationSerializer}.
  */
 public abstract class PassivatingContext extends AbstractContext implements Externalizable
 {
@@ -48,43 +54,64 @@ public abstract class PassivatingContext extends AbstractContext implements Exte
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
     {
         WebBeansContext webBeansContext = WebBeansContext.currentInstance();
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        PassivationSerializer serializer = webBeansContext.getPassivationSerializer();
 
         scopeType = (Class<? extends Annotation>) in.readObject();
-        Map<String, BeanInstanceBag<?>> map = (Map<String, BeanInstanceBag<?>>)in.readObject();
         setComponentInstanceMap();
-        for (Map.Entry<String, BeanInstanceBag<?>> beanBagEntry : map.entrySet())
+
+        PassivationIdTable previous = PassivationIdTable.begin(in);
+        try
         {
-            String id = beanBagEntry.getKey();
-            if (id != null)
+            int size = in.readInt();
+            for (int i = 0; i < size; i++)
             {
-                Contextual<?> contextual = webBeansContext.getBeanManagerImpl().getPassivationCapableBean(id);
+                String id = PassivationIdTable.readId(in);
+                BeanInstanceBag<?> bag = (BeanInstanceBag<?>) serializer.read(in);
+                Contextual<?> contextual = beanManager.getPassivationCapableBean(id);
                 if (contextual != null)
                 {
-                    componentInstanceMap.put(contextual, beanBagEntry.getValue());
+                    componentInstanceMap.put(contextual, bag);
                 }
             }
         }
+        finally
+        {
+            PassivationIdTable.end(in, previous);
+        }
     }
 
     @Override
     public void writeExternal(ObjectOutput out) throws IOException
     {
+        PassivationSerializer serializer = WebBeansContext.currentInstance().getPassivationSerializer();
+
         out.writeObject(scopeType);
-        Map<String, BeanInstanceBag<?>> map = new HashMap<>(componentInstanceMap.size());
 
-        for (Map.Entry<Contextual<?>, BeanInstanceBag<?>> beanBagEntry : componentInstanceMap.entrySet())
-        {
-            Contextual<?> contextual = beanBagEntry.getKey();
+        // take a snapshot, the map might get modified concurrently
+        List<Map.Entry<Contextual<?>, BeanInstanceBag<?>>> entries = new ArrayList<>(componentInstanceMap.entrySet());
 
-            String id = WebBeansUtil.getPassivationId(contextual);
-            if (id == null)
+        PassivationIdTable previous = PassivationIdTable.begin(out);
+        try
+        {
+            out.writeInt(entries.size());
+            for (Map.Entry<Contextual<?>, BeanInstanceBag<?>> beanBagEntry : entries)
             {
-                throw new NotSerializableException("cannot serialize " + contextual.toString());
+                Contextual<?> contextual = beanBagEntry.getKey();
+
+                String id = WebBeansUtil.getPassivationId(contextual);
+                if (id == null)
+                {
+                    throw new NotSerializableException("cannot serialize " + contextual.toString());
+                }
+                PassivationIdTable.writeId(out, id);
+                serializer.write(out, beanBagEntry.getValue());
             }
-            map.put(id, beanBagEntry.getValue());
         }
-
-        out.writeObject(map);
+        finally
+        {
+            PassivationIdTable.end(out, previous);
+        }
     }
 
 }
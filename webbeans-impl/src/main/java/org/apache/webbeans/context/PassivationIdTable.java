@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Interns the passivation ids of beans, interceptors and decorators
+ * while a {@link PassivatingContext} gets written or read.</p>
+ *
+ * <p>The first occurrence of an id gets written as string, every further
+ * occurrence only as its index. The table lives as long as a single
+ * context stream, thus passivated data doesn't depend on the order in which
+ * beans got deployed and can still be restored into a redeployed application.</p>
+ *
+ * <p>A table is bound to the stream instance it got started for. Other streams,
+ * e.g. nested ones which a bean creates in its own writeObject method, don't see it
+ * and write the ids as plain strings, like it is done outside of a passivating context.</p>
+ */
+public final class PassivationIdTable
+{
+    /**
+     * The active table per ObjectOutput or ObjectInput instance.
+     */
+    private static final Map<Object, PassivationIdTable> TABLES = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private static final int NEW_ID = -1;
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+
+    private PassivationIdTable()
+    {
+        // only via begin()
+    }
+
+    /**
+     * Bind a fresh table to the given stream.
+     * @param stream the ObjectOutput or ObjectInput the ids get written to or read from
+     * @return the previously bound table which must be handed over to {@link #end(Object, PassivationIdTable)}
+     */
+    public static PassivationIdTable begin(Object stream)
+    {
+        return TABLES.put(stream, new PassivationIdTable());
+    }
+
+    public static void end(Object stream, PassivationIdTable previous)
+    {
+        if (previous == null)
+        {
+            TABLES.remove(stream);
+        }
+        else
+        {
+            TABLES.put(stream, previous);
+        }
+    }
+
+    public static void writeId(ObjectOutput out, String id) throws IOException
+    {
+        PassivationIdTable table = TABLES.get(out);
+        if (table == null)
+        {
+            out.writeUTF(id);
+            return;
+        }
+
+        Integer index = table.indexes.get(id);
+        if (index != null)
+        {
+            out.writeInt(index);
+            return;
+        }
+
+        table.indexes.put(id, table.ids.size());
+        table.ids.add(id);
+        out.writeInt(NEW_ID);
+        out.writeUTF(id);
+    }
+
+    public static String readId(ObjectInput in) throws IOException
+    {
+        PassivationIdTable table = TABLES.get(in);
+        if (table == null)
+        {
+            return in.readUTF();
+        }
+
+        int index = in.readInt();
+        if (index == NEW_ID)
+        {
+            String id = in.readUTF();
+            table.ids.add(id);
+            return id;
+        }
+        if (index < 0 || index >= table.ids.size())
+        {
+            throw new StreamCorruptedException("Unknown passivation id index " + index);
+        }
+        return table.ids.get(index);
+    }
+}
@@ -18,12 +18,9 @@
  */
 package org.apache.webbeans.context;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.context.RequestScoped;
-import javax.enterprise.context.spi.Contextual;
-
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 
 /**
  * Request context implementation.
@@ -55,7 +52,8 @@ public class RequestContext extends AbstractContext
     @Override
     public void setComponentInstanceMap()
     {
-        componentInstanceMap = new HashMap<>();
+        // a propagated request context can be used by several threads at the same time
+        componentInstanceMap = new ConcurrentHashMap<>();
     }
 
     /**
@@ -96,11 +94,4 @@ public class RequestContext extends AbstractContext
     {
         this.httpSession = httpSession;
     }
-
-    @Override
-    public void destroy(Contextual<?> contextual)
-    {
-        super.destroy(contextual);
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
-    }
 }
@@ -23,30 +23,42 @@ import java.util.concurrent.ConcurrentHashMap;
 import javax.enterprise.context.SessionScoped;
 import javax.enterprise.context.spi.Contextual;
 
-import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
+import org.apache.webbeans.config.WebBeansContext;
 
 /**
  * Session context implementation.
  */
 public class SessionContext extends PassivatingContext
 {
-    private static final long serialVersionUID = 2L;
+    private static final long serialVersionUID = 3L;
 
+    // for serialisation
     public SessionContext()
     {
         super(SessionScoped.class);
     }
 
-    @Override
-    public void setComponentInstanceMap()
+    public SessionContext(WebBeansContext webBeansContext)
     {
-        componentInstanceMap = new ConcurrentHashMap<>();
+        super(SessionScoped.class);
+        setMetricsService(webBeansContext.getMetricsService());
+    }
+
+    /**
+     * Gets called by the proxies of &#064;SessionScoped beans whenever they hand out the
+     * contextual instance, also if they serve it from their cache.
+     * Allows subclasses to track which beans got used within a request.
+     *
+     * @param contextual the bean which got used
+     */
+    public void beanAccessed(Contextual<?> contextual)
+    {
+        // nothing to track by default
     }
 
     @Override
-    public void destroy(Contextual<?> contextual)
+    public void setComponentInstanceMap()
     {
-        super.destroy(contextual);
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
+        componentInstanceMap = new ConcurrentHashMap<>();
     }
 }
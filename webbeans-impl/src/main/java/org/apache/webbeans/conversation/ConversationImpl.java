@@ -20,8 +20,8 @@ package org.apache.webbeans.conversation;
 
 import java.io.IOException;
 import java.io.Serializable;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -60,12 +60,12 @@ public class ConversationImpl implements Conversation, Serializable
     /**
      * Default timeout is 30mins
      */
-    private long timeout;
+    private volatile long timeout;
 
     /**
      * Active duration of the conversation
      */
-    private long lastAccessTime;
+    private volatile long lastAccessTime;
 
     private transient RuntimeException problemDuringCreation;
 
@@ -74,9 +74,22 @@ public class ConversationImpl implements Conversation, Serializable
      * Atomicinteger would be great but then contract of ContextsService would need to be enhanced to
      * be compatible wih WBPhaseListeners. Using thread allow to call iUseIt() multiple times.
      * Long to be serializable.
+     * A concurrent Set, so checking whether the conversation is busy doesn't need a lock.
      * TODO: serialization should be done manually to use the manager otherwise all is broken
      */
-    private transient Set<Long> threadsUsingIt = new HashSet<>();
+    private transient Set<Long> threadsUsingIt = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Set by the {@link ConversationTimerWheel} once it destroys this conversation.
+     * Together with {@link #threadsUsingIt} this allows a lock free handover, see {@link #expire()}.
+     */
+    private transient volatile boolean expired;
+
+    /**
+     * The current entry of this conversation in the {@link ConversationTimerWheel}.
+     * {@code null} if it isn't tracked, e.g. after deserialisation.
+     */
+    private transient volatile Object expiryTimeout;
 
     private transient WebBeansContext webBeansContext;
 
@@ -174,21 +187,49 @@ public class ConversationImpl implements Conversation, Serializable
 
     public int iUseIt()
     {
-        long thread = Thread.currentThread().getId();
-        synchronized (this)
-        {
-            threadsUsingIt.add(thread);
-            return threadsUsingIt.size();
-        }
+        threadsUsingIt.add(Thread.currentThread().getId());
+        return threadsUsingIt.size();
     }
 
     public void iDontUseItAnymore()
     {
-        long thread = Thread.currentThread().getId();
-        synchronized (this)
+        threadsUsingIt.remove(Thread.currentThread().getId());
+    }
+
+    /**
+     * Marks this conversation as expired unless a request currently uses it.
+     * A request first registers itself via {@link #iUseIt()} and checks {@link #isExpired()}
+     * afterwards, so at least one of both sides sees the other one.
+     *
+     * @return {@code false} if the conversation is in use
+     */
+    boolean expire()
+    {
+        expired = true;
+        if (!threadsUsingIt.isEmpty())
         {
-            threadsUsingIt.remove(thread);
+            expired = false;
+            return false;
         }
+        return true;
+    }
+
+    /**
+     * @return {@code true} if the conversation timed out and gets destroyed
+     */
+    public boolean isExpired()
+    {
+        return expired;
+    }
+
+    Object getExpiryTimeout()
+    {
+        return expiryTimeout;
+    }
+
+    void setExpiryTimeout(Object expiryTimeout)
+    {
+        this.expiryTimeout = expiryTimeout;
     }
 
     /**
@@ -220,7 +261,7 @@ public class ConversationImpl implements Conversation, Serializable
         return isTransient;
     }
 
-    private synchronized void checkThreadUsage()
+    private void checkThreadUsage()
     {
         if (threadsUsingIt.size() > 1)
         {
@@ -237,6 +278,20 @@ public class ConversationImpl implements Conversation, Serializable
     {
         checkThreadUsage();
         timeout = milliseconds;
+
+        if (!isTransient && webBeansContext != null)
+        {
+            ConversationContext conversationContext = (ConversationContext) webBeansContext.getContextsService().getCurrentContext(ConversationScoped.class);
+            webBeansContext.getConversationManager().rescheduleExpiry(conversationContext);
+        }
+    }
+
+    /**
+     * @return the timeout without checking whether another request uses this conversation
+     */
+    long timeout()
+    {
+        return timeout;
     }
 
     /**
@@ -279,6 +334,6 @@ public class ConversationImpl implements Conversation, Serializable
     {
         in.defaultReadObject();
         webBeansContext = WebBeansContext.currentInstance();
-        threadsUsingIt = new HashSet<>();
+        threadsUsingIt = ConcurrentHashMap.newKeySet();
     }
 }
@@ -41,6 +41,7 @@ import org.apache.webbeans.context.ConversationContext;
 import org.apache.webbeans.context.RequestContext;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.ContextsService;
 import org.apache.webbeans.spi.ConversationService;
 import org.apache.webbeans.util.Asserts;
 
@@ -60,6 +61,11 @@ public class ConversationManager
     private final WebBeansContext webBeansContext;
     private final Bean<Set<ConversationContext>> conversationStorageBean;
 
+    /**
+     * Destroys timed out conversations, {@code null} if they get cleaned up at the end of each request.
+     */
+    private final ConversationTimerWheel timerWheel;
+
     /**
      * Creates new conversation manager
      */
@@ -76,6 +82,9 @@ public class ConversationManager
         // this will return the internally wrapped ThirdPartyBean.
         conversationStorageBean = (Bean<Set<ConversationContext>>)
                 bm.resolve(bm.getBeans(ConversationStorageBean.OWB_INTERNAL_CONVERSATION_STORAGE_BEAN_PASSIVATION_ID));
+
+        long periodicDelay = webBeansContext.getOpenWebBeansConfiguration().getConversationPeriodicDelay();
+        timerWheel = periodicDelay > 0 ? new ConversationTimerWheel(this, periodicDelay) : null;
     }
 
 
@@ -94,24 +103,34 @@ public class ConversationManager
         String conversationId = conversationService.getConversationId();
         if (conversationId != null && conversationId.length() > 0)
         {
-            if (conversationContexts != null)
+            ConversationContext conversationContext = findConversation(conversationContexts, conversationId);
+            if (conversationContext != null)
             {
-                for (ConversationContext conversationContext : conversationContexts)
+                ConversationImpl conversation = conversationContext.getConversation();
+                int usages = conversation.iUseIt();
+                if (!conversation.isExpired())
                 {
-                    if (conversationId.equals(conversationContext.getConversation().getId()))
+                    if (usages > 1)
                     {
-                        if (conversationContext.getConversation().iUseIt() > 1)
-                        {
-                            problem =  new BusyConversationException("Propogated conversation with cid=" +
-                                    conversationContext.getConversation().getId() +
-                                    " is used by other request. It creates a new transient conversation");
-                            conversationContext.getConversation().setProblemDuringCreation(problem);
-                        }
-
-                        conversationContext.setActive(true);
-                        return conversationContext;
+                        problem =  new BusyConversationException("Propogated conversation with cid=" +
+                                conversation.getId() +
+                                " is used by other request. It creates a new transient conversation");
+                        conversation.setProblemDuringCreation(problem);
                     }
+
+                    conversation.updateLastAccessTime();
+                    if (timerWheel != null && conversation.getExpiryTimeout() == null)
+                    {
+                        // e.g. after the session got deserialized
+                        timerWheel.schedule(conversationContext, conversationContexts);
+                    }
+
+                    conversationContext.setActive(true);
+                    return conversationContext;
                 }
+
+                // the timer wheel is about to destroy it
+                conversation.iDontUseItAnymore();
             }
 
             problem = new NonexistentConversationException("Propogated conversation with cid=" + conversationId +
@@ -120,6 +139,7 @@ public class ConversationManager
 
         ConversationContext conversationContext = new ConversationContext(webBeansContext);
         conversationContext.setActive(true);
+        conversationContext.reportContextStart();
         conversationContext.getConversation().setProblemDuringCreation(problem);
 
         return conversationContext;
@@ -135,17 +155,86 @@ public class ConversationManager
         Context sessionContext = webBeansContext.getContextsService().getCurrentContext(SessionScoped.class);
         Set<ConversationContext> sessionConversations = getSessionConversations(sessionContext, true);
 
-        // check whether this conversation already exists
-        for (ConversationContext sessionConversation : sessionConversations)
+        if (sessionConversations instanceof ConversationStorage)
+        {
+            if (!((ConversationStorage) sessionConversations).add(conversationId, conversationContext))
+            {
+                throw new IllegalArgumentException("Conversation with id=" + conversationId + " already exists!");
+            }
+        }
+        else
         {
-            if (conversationId.equals(sessionConversation.getConversation().getId()))
+            // a Set from a session which got serialized by an older version
+            if (findConversation(sessionConversations, conversationId) != null)
             {
                 throw new IllegalArgumentException("Conversation with id=" + conversationId + " already exists!");
             }
+            sessionConversations.add(conversationContext);
+        }
+
+        if (timerWheel != null)
+        {
+            timerWheel.schedule(conversationContext, sessionConversations);
+        }
+    }
+
+    private static ConversationContext findConversation(Set<ConversationContext> conversationContexts, String conversationId)
+    {
+        if (conversationContexts == null)
+        {
+            return null;
+        }
+        if (conversationContexts instanceof ConversationStorage)
+        {
+            return ((ConversationStorage) conversationContexts).get(conversationId);
+        }
+
+        for (ConversationContext conversationContext : conversationContexts)
+        {
+            if (conversationId.equals(conversationContext.getConversation().getId()))
+            {
+                return conversationContext;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return {@code true} if timed out conversations get destroyed by a timer
+     *         instead of at the end of each request
+     */
+    public boolean isScheduledExpiry()
+    {
+        return timerWheel != null;
+    }
+
+    /**
+     * Schedules the expiry of the given conversation again, e.g. after its timeout got changed.
+     */
+    public void rescheduleExpiry(ConversationContext conversationContext)
+    {
+        if (timerWheel == null || conversationContext == null || conversationContext.getConversation().getId() == null)
+        {
+            return;
         }
 
-        // if not, then simply add this conversation
-        sessionConversations.add(conversationContext);
+        Context sessionContext = webBeansContext.getContextsService().getCurrentContext(SessionScoped.class);
+        Set<ConversationContext> sessionConversations = getSessionConversations(sessionContext, false);
+        if (sessionConversations != null && sessionConversations.contains(conversationContext))
+        {
+            timerWheel.schedule(conversationContext, sessionConversations);
+        }
+    }
+
+    /**
+     * Stops the timer which destroys timed out conversations.
+     */
+    public void shutdown()
+    {
+        if (timerWheel != null)
+        {
+            timerWheel.shutdown();
+        }
     }
 
     /**
@@ -213,6 +302,30 @@ public class ConversationManager
             getLifecycleEventPayload(ctx), DestroyedLiteral.INSTANCE_CONVERSATION_SCOPED);
     }
 
+    /**
+     * Destroy a timed out ConversationContext outside of any request, e.g. by the
+     * {@link ConversationTimerWheel}. The conversation gets destroyed within a fresh
+     * request context, like at the end of a request, so &#064;PreDestroy methods and
+     * observers of the &#064;Destroyed event can use request scoped beans.
+     */
+    public void destroyTimedOutConversationContext(ConversationContext ctx)
+    {
+        ContextsService contextsService = webBeansContext.getContextsService();
+
+        // don't touch whatever might be bound to the current thread
+        Object previousContexts = contextsService.activateContexts(null);
+        contextsService.startContext(RequestScoped.class, null);
+        try
+        {
+            destroyConversationContext(ctx);
+        }
+        finally
+        {
+            contextsService.endContext(RequestScoped.class, null);
+            contextsService.restoreContexts(previousContexts);
+        }
+    }
+
     public Object getLifecycleEventPayload(ConversationContext ctx)
     {
         Object payLoad = null;
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.conversation;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.webbeans.context.ConversationContext;
+
+/**
+ * The long running conversations of a session, indexed by their conversation id.
+ * Only conversations with an id can get added.
+ */
+public class ConversationStorage extends AbstractSet<ConversationContext> implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final ConcurrentMap<String, ConversationContext> conversations = new ConcurrentHashMap<>();
+
+    /**
+     * @return the conversation with the given id or {@code null} if there is none
+     */
+    public ConversationContext get(String conversationId)
+    {
+        return conversations.get(conversationId);
+    }
+
+    /**
+     * @return {@code false} if there is already a conversation with the given id
+     */
+    public boolean add(String conversationId, ConversationContext conversationContext)
+    {
+        return conversations.putIfAbsent(conversationId, conversationContext) == null;
+    }
+
+    @Override
+    public boolean add(ConversationContext conversationContext)
+    {
+        String conversationId = conversationContext.getConversation().getId();
+        if (conversationId == null)
+        {
+            throw new IllegalArgumentException("Only long running conversations can get stored");
+        }
+        return add(conversationId, conversationContext);
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        if (!(o instanceof ConversationContext))
+        {
+            return false;
+        }
+
+        String conversationId = ((ConversationContext) o).getConversation().getId();
+        // the id is already gone if the conversation got ended
+        return conversationId != null ? conversations.get(conversationId) == o : conversations.containsValue(o);
+    }
+
+    @Override
+    public boolean remove(Object o)
+    {
+        if (!(o instanceof ConversationContext))
+        {
+            return false;
+        }
+
+        String conversationId = ((ConversationContext) o).getConversation().getId();
+        if (conversationId != null && conversations.remove(conversationId, o))
+        {
+            return true;
+        }
+        return conversations.values().remove(o);
+    }
+
+    @Override
+    public Iterator<ConversationContext> iterator()
+    {
+        return conversations.values().iterator();
+    }
+
+    @Override
+    public int size()
+    {
+        return conversations.size();
+    }
+
+    @Override
+    public void clear()
+    {
+        conversations.clear();
+    }
+}
@@ -28,8 +28,8 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.ConversationContext;
@@ -56,7 +56,7 @@ public class ConversationStorageBean implements Bean<Set<ConversationContext>>,
     @Override
     public Set<ConversationContext> create(CreationalContext<Set<ConversationContext>> creationalContext)
     {
-        return Collections.newSetFromMap(new ConcurrentHashMap<ConversationContext, Boolean>());
+        return new ConversationStorage();
     }
 
     @Override
@@ -68,8 +68,12 @@ public class ConversationStorageBean implements Bean<Set<ConversationContext>>,
         }
 
         ConversationManager conversationManager = webBeansContext.getConversationManager();
-        for (ConversationContext conversationContext : instance)
+        Iterator<ConversationContext> conversationContexts = instance.iterator();
+        while (conversationContexts.hasNext())
         {
+            ConversationContext conversationContext = conversationContexts.next();
+            // remove it first, so the timer wheel doesn't destroy it again
+            conversationContexts.remove();
             conversationManager.destroyConversationContext(conversationContext);
         }
     }
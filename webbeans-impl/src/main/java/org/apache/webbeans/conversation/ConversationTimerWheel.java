@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.conversation;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.context.ConversationContext;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.util.WebBeansUtil;
+
+/**
+ * <p>Hashed timer wheel which destroys long running conversations once they timed out.</p>
+ *
+ * <p>Each conversation gets put into the bucket of the tick at which it would time out.
+ * A single daemon thread advances the wheel every tick and only looks at the conversations
+ * of the current bucket. A conversation which got used in the meantime simply gets
+ * put into the bucket of its new timeout. Thus no request has to scan all
+ * conversations of its session.</p>
+ *
+ * <p>The thread gets started lazily with the first scheduled conversation.
+ * The wheel only holds weak references to the conversations and their sessions,
+ * so conversations of destroyed or passivated sessions don't stay on the heap
+ * until their timeout is reached.</p>
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#CONVERSATION_PERIODIC_DELAY
+ */
+public class ConversationTimerWheel
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ConversationTimerWheel.class);
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final ConversationManager conversationManager;
+    private final long tickMillis;
+    private final long startTime = System.currentTimeMillis();
+    private final Queue<Timeout>[] buckets;
+
+    /**
+     * The last tick which got processed. Only written by the timer thread.
+     */
+    private volatile long currentTick;
+
+    private ScheduledExecutorService executor;
+    private ClassLoader classLoader;
+
+    @SuppressWarnings("unchecked")
+    public ConversationTimerWheel(ConversationManager conversationManager, long tickMillis)
+    {
+        this.conversationManager = conversationManager;
+        this.tickMillis = tickMillis;
+
+        buckets = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++)
+        {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Schedules the expiry of the given long running conversation.
+     *
+     * @param conversationContext the context of the conversation
+     * @param conversationStorage the conversations of the session the conversation lives in
+     */
+    public void schedule(ConversationContext conversationContext, Set<ConversationContext> conversationStorage)
+    {
+        ConversationImpl conversation = conversationContext.getConversation();
+        if (conversation.timeout() <= 0)
+        {
+            // never times out, drop any previous entry
+            conversation.setExpiryTimeout(null);
+            return;
+        }
+
+        start();
+        // replaces any previous entry of the conversation
+        Timeout timeout = new Timeout(conversationContext, conversationStorage);
+        conversation.setExpiryTimeout(timeout);
+        add(timeout, conversation.getLastAccessTime() + conversation.timeout());
+    }
+
+    public synchronized void shutdown()
+    {
+        if (executor != null)
+        {
+            executor.shutdownNow();
+            executor = null;
+        }
+        for (Queue<Timeout> bucket : buckets)
+        {
+            bucket.clear();
+        }
+    }
+
+    private synchronized void start()
+    {
+        if (executor != null)
+        {
+            return;
+        }
+
+        // conversations get destroyed in the timer thread, which thus needs the classloader of the application
+        classLoader = WebBeansUtil.getCurrentClassLoader();
+        executor = Executors.newSingleThreadScheduledExecutor(r ->
+        {
+            Thread thread = new Thread(r, "OpenWebBeans-ConversationTimerWheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void add(Timeout timeout, long deadline)
+    {
+        // never schedule into a tick which already got processed
+        timeout.tick = Math.max((deadline - startTime + tickMillis - 1) / tickMillis, currentTick + 1);
+        buckets[(int) (timeout.tick % WHEEL_SIZE)].add(timeout);
+    }
+
+    private void tick()
+    {
+        Thread thread = Thread.currentThread();
+        ClassLoader oldClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try
+        {
+            long tick = (System.currentTimeMillis() - startTime) / tickMillis;
+            while (currentTick < tick)
+            {
+                long nextTick = currentTick + 1;
+                // set first, conversations which need another look go to the following tick
+                currentTick = nextTick;
+                expire(buckets[(int) (nextTick % WHEEL_SIZE)], nextTick);
+            }
+        }
+        catch (RuntimeException e)
+        {
+            // never let an exception cancel the timer
+            logger.log(Level.SEVERE, "Error while destroying timed out conversations", e);
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldClassLoader);
+        }
+    }
+
+    private void expire(Queue<Timeout> bucket, long tick)
+    {
+        List<Timeout> laterRounds = new ArrayList<>();
+        Timeout timeout;
+        while ((timeout = bucket.poll()) != null)
+        {
+            if (timeout.tick > tick)
+            {
+                laterRounds.add(timeout);
+            }
+            else
+            {
+                expire(timeout);
+            }
+        }
+        bucket.addAll(laterRounds);
+    }
+
+    private void expire(Timeout timeout)
+    {
+        ConversationContext conversationContext = timeout.conversationContext.get();
+        Set<ConversationContext> conversationStorage = timeout.conversationStorage.get();
+        if (conversationContext == null || conversationStorage == null)
+        {
+            // the session is gone already
+            return;
+        }
+
+        ConversationImpl conversation = conversationContext.getConversation();
+        if (conversation.getExpiryTimeout() != timeout || !conversationStorage.contains(conversationContext))
+        {
+            // got rescheduled, ended or destroyed already
+            return;
+        }
+
+        long deadline = conversation.getLastAccessTime() + conversation.timeout();
+        if (deadline > System.currentTimeMillis())
+        {
+            // got used in the meantime
+            add(timeout, deadline);
+            return;
+        }
+
+        if (!conversation.expire())
+        {
+            // currently used by a request, look again at the next tick
+            add(timeout, 0);
+            return;
+        }
+
+        if (conversationStorage.remove(conversationContext))
+        {
+            try
+            {
+                conversationManager.destroyTimedOutConversationContext(conversationContext);
+            }
+            catch (RuntimeException e)
+            {
+                logger.log(Level.WARNING, "Error while destroying timed out " + conversation, e);
+            }
+        }
+    }
+
+    private static final class Timeout
+    {
+        private final WeakReference<ConversationContext> conversationContext;
+        private final WeakReference<Set<ConversationContext>> conversationStorage;
+        private long tick;
+
+        private Timeout(ConversationContext conversationContext, Set<ConversationContext> conversationStorage)
+        {
+            this.conversationContext = new WeakReference<>(conversationContext);
+            this.conversationStorage = new WeakReference<>(conversationStorage);
+        }
+    }
+}
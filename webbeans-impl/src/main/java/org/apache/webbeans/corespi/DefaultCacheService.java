@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.spi.CacheService;
+
+/**
+ * Default {@link CacheService}. The created caches are backed by a
+ * {@link ConcurrentHashMap} and evict the least recently used entries
+ * once they grow beyond their maximum size.
+ *
+ * The recency is tracked approximately: every entry remembers the
+ * write epoch of the cache it was last read or written in. Reads
+ * thus don't need to update any shared state. The eviction happens
+ * in batches by a single thread and removes roughly 10% of the entries.
+ *
+ * @see OpenWebBeansConfiguration#CACHE_MAX_SIZE
+ */
+public class DefaultCacheService implements CacheService
+{
+    private final OpenWebBeansConfiguration configuration;
+
+    private final List<Cache<?, ?>> caches = new CopyOnWriteArrayList<>();
+
+    public DefaultCacheService(WebBeansContext webBeansContext)
+    {
+        this(webBeansContext.getOpenWebBeansConfiguration());
+    }
+
+    public DefaultCacheService(OpenWebBeansConfiguration configuration)
+    {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public <K, V> Cache<K, V> createCache(String name)
+    {
+        Cache<K, V> cache = new LruCache<>(name, configuration.getCacheMaxSize(name));
+        caches.add(cache);
+        return cache;
+    }
+
+    @Override
+    public Collection<Cache<?, ?>> getCaches()
+    {
+        return Collections.unmodifiableList(caches);
+    }
+
+    static final class LruCache<K, V> implements Cache<K, V>
+    {
+        private final String name;
+        private final int maxSize;
+        private final int evictToSize;
+        private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+        private final ReentrantLock evictionLock = new ReentrantLock();
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        /**
+         * Incremented on each write. Deliberately not atomic as it only
+         * serves as an approximate clock for the eviction order.
+         */
+        private volatile long epoch;
+
+        LruCache(String name, int maxSize)
+        {
+            this.name = name;
+            this.maxSize = maxSize;
+            this.evictToSize = maxSize - Math.max(1, maxSize / 10);
+        }
+
+        @Override
+        public V get(K key)
+        {
+            Entry<V> entry = entries.get(key);
+            if (entry == null)
+            {
+                misses.increment();
+                return null;
+            }
+
+            hits.increment();
+            long now = epoch;
+            if (entry.lastAccess != now)
+            {
+                entry.lastAccess = now;
+            }
+            return entry.value;
+        }
+
+        @Override
+        public void put(K key, V value)
+        {
+            entries.put(key, new Entry<>(value, tick()));
+            evictIfNeeded();
+        }
+
+        @Override
+        public V putIfAbsent(K key, V value)
+        {
+            Entry<V> existing = entries.putIfAbsent(key, new Entry<>(value, tick()));
+            if (existing != null)
+            {
+                return existing.value;
+            }
+            evictIfNeeded();
+            return null;
+        }
+
+        @Override
+        public void remove(K key)
+        {
+            entries.remove(key);
+        }
+
+        @Override
+        public void clear()
+        {
+            entries.clear();
+        }
+
+        @Override
+        public int size()
+        {
+            return entries.size();
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public long getHitCount()
+        {
+            return hits.sum();
+        }
+
+        @Override
+        public long getMissCount()
+        {
+            return misses.sum();
+        }
+
+        @Override
+        public long getEvictionCount()
+        {
+            return evictions.sum();
+        }
+
+        private long tick()
+        {
+            long next = epoch + 1;
+            epoch = next;
+            return next;
+        }
+
+        private void evictIfNeeded()
+        {
+            if (maxSize <= 0 || entries.size() <= maxSize || !evictionLock.tryLock())
+            {
+                return;
+            }
+
+            try
+            {
+                int toEvict = entries.size() - evictToSize;
+                if (toEvict <= 0)
+                {
+                    return;
+                }
+
+                // snapshot the access stamps as they might change concurrently while sorting
+                List<EvictionCandidate<K, V>> candidates = new ArrayList<>(entries.size());
+                for (Map.Entry<K, Entry<V>> entry : entries.entrySet())
+                {
+                    candidates.add(new EvictionCandidate<>(entry.getKey(), entry.getValue()));
+                }
+                candidates.sort((c1, c2) -> Long.compare(c1.lastAccess, c2.lastAccess));
+
+                for (int i = 0; i < toEvict && i < candidates.size(); i++)
+                {
+                    EvictionCandidate<K, V> candidate = candidates.get(i);
+                    if (entries.remove(candidate.key, candidate.entry))
+                    {
+                        evictions.increment();
+                    }
+                }
+            }
+            finally
+            {
+                evictionLock.unlock();
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Cache[" + name + ", size=" + entries.size() + ", maxSize=" + maxSize
+                + ", hits=" + hits.sum() + ", misses=" + misses.sum() + ", evictions=" + evictions.sum() + "]";
+        }
+    }
+
+    private static final class Entry<V>
+    {
+        private final V value;
+        private volatile long lastAccess;
+
+        private Entry(V value, long lastAccess)
+        {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private static final class EvictionCandidate<K, V>
+    {
+        private final K key;
+        private final Entry<V> entry;
+        private final long lastAccess;
+
+        private EvictionCandidate(K key, Entry<V> entry)
+        {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccess = entry.lastAccess;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.spi.SessionContextStore;
+
+/**
+ * {@link SessionContextStore} which writes the passivated beans to a local directory.
+ * Each session gets its own sub directory with one file per bean.
+ * A file starts with the passivation id of the bean followed by its state.
+ * As the files contain the session state, the directories get created readable
+ * for the owner only if the file system supports POSIX permissions.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#SESSION_STORE_DIRECTORY
+ */
+public class FileSessionContextStore implements SessionContextStore
+{
+    private static final FileAttribute<Set<PosixFilePermission>> OWNER_ONLY =
+        PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------"));
+
+    private final Path directory;
+
+    public FileSessionContextStore(WebBeansContext webBeansContext)
+    {
+        this(webBeansContext.getOpenWebBeansConfiguration().getSessionStoreDirectory());
+    }
+
+    public FileSessionContextStore(File directory)
+    {
+        this.directory = directory.toPath();
+        try
+        {
+            createDirectories(this.directory);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Cannot create the session store directory " + directory, e);
+        }
+    }
+
+    @Override
+    public void store(String sessionKey, String beanId, byte[] state)
+    {
+        try
+        {
+            Path sessionDirectory = createDirectories(directory.resolve(sessionKey));
+
+            ByteArrayOutputStream content = new ByteArrayOutputStream(state.length + beanId.length() + 8);
+            try (DataOutputStream out = new DataOutputStream(content))
+            {
+                out.writeUTF(beanId);
+                out.write(state);
+            }
+
+            // write to a temporary file first to never expose a partially written state
+            Path file = beanFile(sessionDirectory, beanId);
+            Path tmp = Files.createTempFile(sessionDirectory, "bean", ".tmp");
+            Files.write(tmp, content.toByteArray());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Cannot store bean " + beanId, e);
+        }
+    }
+
+    @Override
+    public byte[] load(String sessionKey, String beanId)
+    {
+        Path file = beanFile(directory.resolve(sessionKey), beanId);
+        if (!Files.exists(file))
+        {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file)))
+        {
+            in.readUTF();
+            return readRemaining(in);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Cannot load bean " + beanId, e);
+        }
+    }
+
+    @Override
+    public Set<String> getBeanIds(String sessionKey)
+    {
+        Path sessionDirectory = directory.resolve(sessionKey);
+        if (!Files.isDirectory(sessionDirectory))
+        {
+            return Collections.emptySet();
+        }
+
+        Set<String> beanIds = new HashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(sessionDirectory, "*.bean"))
+        {
+            for (Path file : files)
+            {
+                try (DataInputStream in = new DataInputStream(Files.newInputStream(file)))
+                {
+                    beanIds.add(in.readUTF());
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Cannot list the beans of session " + sessionKey, e);
+        }
+        return beanIds;
+    }
+
+    @Override
+    public void remove(String sessionKey, String beanId)
+    {
+        try
+        {
+            Files.deleteIfExists(beanFile(directory.resolve(sessionKey), beanId));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Cannot remove bean " + beanId, e);
+        }
+    }
+
+    @Override
+    public void removeSession(String sessionKey)
+    {
+        Path sessionDirectory = directory.resolve(sessionKey);
+        if (!Files.isDirectory(sessionDirectory))
+        {
+            return;
+        }
+
+        try (Stream<Path> files = Files.list(sessionDirectory))
+        {
+            for (Path file : (Iterable<Path>) files::iterator)
+            {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(sessionDirectory);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Cannot remove session " + sessionKey, e);
+        }
+    }
+
+    private static Path createDirectories(Path path) throws IOException
+    {
+        if (Files.isDirectory(path))
+        {
+            return path;
+        }
+        if (path.getFileSystem().supportedFileAttributeViews().contains("posix"))
+        {
+            return Files.createDirectories(path, OWNER_ONLY);
+        }
+        return Files.createDirectories(path);
+    }
+
+    /**
+     * Passivation ids might contain characters which are not allowed in file names.
+     */
+    private static Path beanFile(Path sessionDirectory, String beanId)
+    {
+        return sessionDirectory.resolve(UUID.nameUUIDFromBytes(beanId.getBytes(StandardCharsets.UTF_8)) + ".bean");
+    }
+
+    private static byte[] readRemaining(InputStream in) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1)
+        {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.apache.webbeans.spi.MetricsService;
+
+/**
+ * Default {@link MetricsService} which doesn't record anything.
+ */
+public class NoopMetricsService implements MetricsService
+{
+    @Override
+    public boolean isEnabled()
+    {
+        return false;
+    }
+
+    @Override
+    public void beanCreated(Bean<?> bean, long nanos)
+    {
+        // no-op
+    }
+
+    @Override
+    public void contextualInstanceCreated(Class<? extends Annotation> scope)
+    {
+        // no-op
+    }
+
+    @Override
+    public void contextualInstanceDestroyed(Class<? extends Annotation> scope)
+    {
+        // no-op
+    }
+
+    @Override
+    public void contextStarted(Class<? extends Annotation> scope)
+    {
+        // no-op
+    }
+
+    @Override
+    public void contextDestroyed(Class<? extends Annotation> scope)
+    {
+        // no-op
+    }
+
+    @Override
+    public void eventFired(Class<?> eventClass, int observerCount)
+    {
+        // no-op
+    }
+
+    @Override
+    public void observerInvoked(ObserverMethod<?> observerMethod, long nanos)
+    {
+        // no-op
+    }
+
+    @Override
+    public void interceptorChainInvoked(Method method, long nanos)
+    {
+        // no-op
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.SessionContextStore;
+
+/**
+ * Default {@link SessionContextStore} which keeps the passivated beans in
+ * direct {@link ByteBuffer}s, thus outside of the Java heap.
+ * The state gets lost if the JVM stops.
+ *
+ * <p>The native memory of a buffer gets released as soon as its bean or session
+ * gets removed instead of waiting for the garbage collector to pick up the buffer.
+ * Thus a bean must not get loaded while it gets removed, which the
+ * {@code StoredSessionContext} guarantees by doing both under its lock.</p>
+ */
+public class OffHeapSessionContextStore implements SessionContextStore
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(OffHeapSessionContextStore.class);
+
+    /**
+     * Releases the native memory of a direct buffer, {@code null} if the JVM doesn't allow it.
+     */
+    private static final Consumer<ByteBuffer> DEALLOCATOR = createDeallocator();
+
+    private final Map<String, Map<String, ByteBuffer>> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void store(String sessionKey, String beanId, byte[] state)
+    {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(state.length);
+        buffer.put(state);
+        buffer.flip();
+        free(sessions.computeIfAbsent(sessionKey, k -> new ConcurrentHashMap<>()).put(beanId, buffer));
+    }
+
+    @Override
+    public byte[] load(String sessionKey, String beanId)
+    {
+        Map<String, ByteBuffer> beans = sessions.get(sessionKey);
+        ByteBuffer buffer = beans != null ? beans.get(beanId) : null;
+        if (buffer == null)
+        {
+            return null;
+        }
+
+        byte[] state = new byte[buffer.remaining()];
+        buffer.duplicate().get(state);
+        return state;
+    }
+
+    @Override
+    public Set<String> getBeanIds(String sessionKey)
+    {
+        Map<String, ByteBuffer> beans = sessions.get(sessionKey);
+        return beans != null ? new HashSet<>(beans.keySet()) : Collections.emptySet();
+    }
+
+    @Override
+    public void remove(String sessionKey, String beanId)
+    {
+        Map<String, ByteBuffer> beans = sessions.get(sessionKey);
+        if (beans != null)
+        {
+            free(beans.remove(beanId));
+        }
+    }
+
+    @Override
+    public void removeSession(String sessionKey)
+    {
+        Map<String, ByteBuffer> beans = sessions.remove(sessionKey);
+        if (beans != null)
+        {
+            for (ByteBuffer buffer : beans.values())
+            {
+                free(buffer);
+            }
+        }
+    }
+
+    private static void free(ByteBuffer buffer)
+    {
+        if (buffer != null && DEALLOCATOR != null)
+        {
+            DEALLOCATOR.accept(buffer);
+        }
+    }
+
+    private static Consumer<ByteBuffer> createDeallocator()
+    {
+        try
+        {
+            // Java 9 and later
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            return buffer -> invoke(invokeCleaner, unsafe, buffer);
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            // Java 8
+        }
+
+        try
+        {
+            Method cleaner = ByteBuffer.allocateDirect(1).getClass().getMethod("cleaner");
+            cleaner.setAccessible(true);
+            Method clean = cleaner.getReturnType().getMethod("clean");
+            clean.setAccessible(true);
+            return buffer ->
+            {
+                Object bufferCleaner = invoke(cleaner, buffer, null);
+                if (bufferCleaner != null)
+                {
+                    invoke(clean, bufferCleaner, null);
+                }
+            };
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            logger.log(Level.FINE, "Direct buffers of the session store get released by the garbage collector", e);
+            return null;
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object argument)
+    {
+        try
+        {
+            return argument != null ? method.invoke(target, argument) : method.invoke(target);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException("Cannot release direct buffer", e);
+        }
+    }
+}
@@ -22,8 +22,11 @@ package org.apache.webbeans.corespi.scanner;
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.corespi.scanner.index.BeanArchiveIndex;
+import org.apache.webbeans.corespi.scanner.index.DeploymentSnapshot;
 import org.apache.webbeans.corespi.scanner.xbean.CdiArchive;
 import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.corespi.scanner.xbean.ParallelAnnotationFinder;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.BDABeansXmlScanner;
@@ -36,14 +39,19 @@ import org.apache.webbeans.util.WebBeansUtil;
 import org.apache.xbean.finder.AnnotationFinder;
 import org.apache.xbean.finder.ClassLoaders;
 import org.apache.xbean.finder.archive.Archive;
+import org.apache.xbean.finder.archive.CompositeArchive;
 import org.apache.xbean.finder.filter.Filter;
 import org.apache.xbean.finder.util.Files;
 
 import javax.decorator.Decorator;
 import javax.interceptor.Interceptor;
+import java.io.File;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -52,6 +60,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -89,11 +99,26 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
      */
     private Map<BeanArchiveService.BeanArchiveInformation, Set<Class<?>>> beanClassesPerBda;
 
+    /**
+     * The snapshot of a previous start if the classpath didn't change since then.
+     */
+    private DeploymentSnapshot deploymentSnapshot;
+
+    /**
+     * Hash of the current classpath if deployment snapshots are enabled.
+     */
+    private String classpathHash;
+
     protected String[] scanningExcludes;
 
     protected ClassLoader loader;
     protected CdiArchive archive;
     protected OwbAnnotationFinder finder;
+
+    /**
+     * Whether the classes of the archives with a build-time index got added to the {@link #finder} already.
+     */
+    private boolean indexedArchivesMerged;
     protected boolean isBDAScannerEnabled;
     protected BDABeansXmlScanner bdaBeansXmlScanner;
     protected WebBeansContext webBeansContext;
@@ -111,12 +136,155 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         }
 
         Filter userFilter = webBeansContext().getService(Filter.class);
-        archive = new CdiArchive(beanArchiveService, WebBeansUtil.getCurrentClassLoader(), getBeanDeploymentUrls(), userFilter, getAdditionalArchive());
-        finder = new OwbAnnotationFinder(archive);
+        archive = new CdiArchive(beanArchiveService, WebBeansUtil.getCurrentClassLoader(), getBeanDeploymentUrls(), userFilter, getAdditionalArchive(),
+                                 loadBeanArchiveIndexes(), isAnnotatedPrefilterApplicable());
+        if (webBeansContext().getOpenWebBeansConfiguration().isParallelScanning() && archive.getArchives().size() > 1)
+        {
+            ForkJoinPool pool = createScannerPool();
+            try
+            {
+                finder = new ParallelAnnotationFinder(archive.getArchives(), pool);
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+        else
+        {
+            finder = new OwbAnnotationFinder(archive);
+        }
 
         return finder;
     }
 
+    /**
+     * The {@link #finder} does not contain the classes of archives which got taken from a build-time
+     * {@link BeanArchiveIndex} and there is no finder at all if the bean classes got taken from a
+     * {@link DeploymentSnapshot}. This method scans them on first access, so integrations which
+     * need the annotation information of all bean archives still get it.
+     *
+     * @return the finder with the classes of all bean archives
+     */
+    protected OwbAnnotationFinder getCompleteFinder()
+    {
+        if (finder == null && deploymentSnapshot != null)
+        {
+            initFinder();
+        }
+        if (finder != null && !indexedArchivesMerged)
+        {
+            indexedArchivesMerged = true;
+            List<Archive> indexedArchives = archive.getIndexedArchives();
+            if (!indexedArchives.isEmpty())
+            {
+                finder.merge(new OwbAnnotationFinder(new CompositeArchive(indexedArchives)));
+            }
+        }
+        return finder;
+    }
+
+    /**
+     * The {@link org.apache.webbeans.corespi.scanner.xbean.AnnotatedClassPrefilter} only knows the default
+     * rules of {@link #isBeanAnnotatedClass(AnnotationFinder.ClassInfo)} and
+     * {@link #isBeanAnnotation(AnnotationFinder.AnnotationInfo)}, so it must not be used if
+     * an integration overrides them.
+     */
+    protected boolean isAnnotatedPrefilterApplicable()
+    {
+        return webBeansContext().getOpenWebBeansConfiguration().isAnnotatedPrefilter()
+                && !isBeanAnnotationRuleOverridden()
+                && !isOverridden("isBeanAnnotation", String.class);
+    }
+
+    private ForkJoinPool createScannerPool()
+    {
+        // the worker threads must load classes via the same ClassLoader as the scanning thread
+        ClassLoader classLoader = WebBeansUtil.getCurrentClassLoader();
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool ->
+        {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("owb-scanner-" + thread.getPoolIndex());
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Load the build-time {@link BeanArchiveIndex} of all bean archives which have one.
+     * Archives without a valid index get scanned as usual.
+     *
+     * @return the indexes per URL#toExternalForm
+     */
+    protected Map<String, BeanArchiveIndex> loadBeanArchiveIndexes()
+    {
+        if (!webBeansContext().getOpenWebBeansConfiguration().useBeanArchiveIndex())
+        {
+            return Collections.emptyMap();
+        }
+        if (isBeanAnnotationRuleOverridden())
+        {
+            // the index only contains annotation names, custom rules need the parsed ClassInfo
+            logger.fine("Not using bean archive indexes as the bean annotation rules got overridden");
+            return Collections.emptyMap();
+        }
+
+        Map<String, BeanArchiveIndex> indexes = new HashMap<>();
+        for (URL url : getBeanDeploymentUrls().values())
+        {
+            if ("openwebbeans".equals(url.getProtocol()))
+            {
+                continue;
+            }
+
+            BeanArchiveIndex index = BeanArchiveIndex.load(url, beanArchiveService.getBeanArchiveInformation(url));
+            if (index != null)
+            {
+                if (logger.isLoggable(Level.FINE))
+                {
+                    logger.fine("Using bean archive index for " + url.toExternalForm());
+                }
+                indexes.put(url.toExternalForm(), index);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * @return whether a subclass overrides {@link #isBeanAnnotatedClass(AnnotationFinder.ClassInfo)}
+     *         or {@link #isBeanAnnotation(AnnotationFinder.AnnotationInfo)}
+     */
+    private boolean isBeanAnnotationRuleOverridden()
+    {
+        return isOverridden("isBeanAnnotatedClass", AnnotationFinder.ClassInfo.class)
+                || isOverridden("isBeanAnnotation", AnnotationFinder.AnnotationInfo.class);
+    }
+
+    private boolean isOverridden(String name, Class<?>... parameterTypes)
+    {
+        for (Class<?> clazz = getClass(); clazz != AbstractMetaDataDiscovery.class; clazz = clazz.getSuperclass())
+        {
+            if (declaresMethod(clazz, name, parameterTypes))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean declaresMethod(Class<?> clazz, String name, Class<?>... parameterTypes)
+    {
+        try
+        {
+            clazz.getDeclaredMethod(name, parameterTypes);
+            return true;
+        }
+        catch (NoSuchMethodException e)
+        {
+            return false;
+        }
+    }
+
     protected Archive getAdditionalArchive()
     {
         return null;
@@ -151,7 +319,10 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         try
         {
             configure();
-            initFinder();
+            if (!loadDeploymentSnapshot())
+            {
+                initFinder();
+            }
         }
         catch (Exception e)
         {
@@ -161,6 +332,68 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
 
     protected abstract void configure();
 
+    /**
+     * Try to pick up the {@link DeploymentSnapshot} of a previous start.
+     * This only works if snapshots are enabled and none of the bean archives changed.
+     *
+     * @return {@code true} if the bean classes can be taken from the snapshot and no scanning is needed
+     */
+    protected boolean loadDeploymentSnapshot()
+    {
+        String snapshotFile = webBeansContext().getOpenWebBeansConfiguration().getDeploymentSnapshotFile();
+        if (snapshotFile == null || getAdditionalArchive() != null)
+        {
+            return false;
+        }
+
+        Collection<URL> urls = getBeanDeploymentUrls().values();
+        for (URL url : urls)
+        {
+            if ("openwebbeans".equals(url.getProtocol()))
+            {
+                // in memory archives cannot be tracked
+                return false;
+            }
+        }
+
+        Filter userFilter = webBeansContext().getService(Filter.class);
+        classpathHash = DeploymentSnapshot.computeClasspathHash(urls,
+                Arrays.toString(scanningExcludes),
+                userFilter != null ? userFilter.getClass().getName() : "");
+        if (classpathHash == null)
+        {
+            return false;
+        }
+
+        DeploymentSnapshot snapshot = DeploymentSnapshot.read(new File(snapshotFile));
+        if (snapshot == null || !classpathHash.equals(snapshot.getClasspathHash()))
+        {
+            logger.info("No up to date deployment snapshot found in " + snapshotFile + ", scanning bean archives");
+            return false;
+        }
+
+        if (beanArchiveService == null)
+        {
+            beanArchiveService = webBeansContext().getBeanArchiveService();
+        }
+        deploymentSnapshot = snapshot;
+        logger.info("Using deployment snapshot " + snapshotFile);
+        return true;
+    }
+
+    private void writeDeploymentSnapshot(Map<String, List<String>> classNamesPerArchive)
+    {
+        String snapshotFile = webBeansContext().getOpenWebBeansConfiguration().getDeploymentSnapshotFile();
+        try
+        {
+            new DeploymentSnapshot(classpathHash, classNamesPerArchive).write(new File(snapshotFile));
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Cannot write deployment snapshot " + snapshotFile, e);
+        }
+    }
+
     /**
      * Since CDI-1.1 this is actually more a 'findBdaBases' as it also
      * picks up jars without marker file.
@@ -297,6 +530,8 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
     public void release()
     {
         finder = null;
+        indexedArchivesMerged = false;
+        deploymentSnapshot = null;
         archive = null;
         loader = null;
     }
@@ -388,9 +623,18 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         {
             beanClassesPerBda = new HashMap<>();
 
+            if (deploymentSnapshot != null)
+            {
+                fillBeanClassesFromSnapshot();
+                return beanClassesPerBda;
+            }
+
+            Map<String, List<String>> snapshotClassNames = classpathHash != null ? new HashMap<String, List<String>>() : null;
+
             for (CdiArchive.FoundClasses foundClasses : archive.classesByUrl().values())
             {
                 Set<Class<?>> classSet = new HashSet<>();
+                List<String> keptClassNames = new ArrayList<>();
                 boolean scanModeAnnotated = BeanDiscoveryMode.ANNOTATED == foundClasses.getBeanArchiveInfo().getBeanDiscoveryMode();
                 for (String className : foundClasses.getClassNames())
                 {
@@ -399,47 +643,109 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
                         if (scanModeAnnotated)
                         {
                             // in this case we need to find out whether we should keep this class in the Archive
-                            AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
-                            if (classInfo == null || !isBeanAnnotatedClass(classInfo))
+                            BeanArchiveIndex index = foundClasses.getIndex();
+                            if (index != null)
                             {
-                                continue;
+                                if (!isBeanAnnotatedClass(index.getAnnotations(className)))
+                                {
+                                    continue;
+                                }
+                            }
+                            else
+                            {
+                                AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
+                                if (classInfo == null || !isBeanAnnotatedClass(classInfo))
+                                {
+                                    continue;
+                                }
                             }
                         }
 
-                        Class<?> clazz = ClassUtil.getClassFromName(className);
-                        if (clazz != null)
-                        {
-                            // try to provoke a NoClassDefFoundError exception which is thrown
-                            // if some dependencies of the class are missing
-                            clazz.getDeclaredFields();
-
-                            // we can add this class cause it has been loaded completely
-                            classSet.add(clazz);
-                        }
+                        keptClassNames.add(className);
+                        loadBeanClass(className, classSet);
                     }
                     catch (NoClassDefFoundError e)
                     {
-                        if (isAnonymous(className))
-                        {
-                            if (logger.isLoggable(Level.FINE))
-                            {
-                                logger.log(Level.FINE, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
-                            }
-                        }
-                        else if (logger.isLoggable(Level.WARNING))
-                        {
-                            logger.log(Level.WARNING, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
-                        }
+                        logMissingDependency(className, e);
                     }
                 }
 
                 beanClassesPerBda.put(foundClasses.getBeanArchiveInfo(), classSet);
+                if (snapshotClassNames != null)
+                {
+                    snapshotClassNames.put(foundClasses.getUrl().toExternalForm(), keptClassNames);
+                }
             }
 
+            if (snapshotClassNames != null)
+            {
+                writeDeploymentSnapshot(snapshotClassNames);
+            }
         }
         return beanClassesPerBda;
     }
 
+    private void fillBeanClassesFromSnapshot()
+    {
+        Map<String, URL> urls = new HashMap<>();
+        for (URL url : getBeanDeploymentUrls().values())
+        {
+            urls.put(url.toExternalForm(), url);
+        }
+
+        for (Map.Entry<String, List<String>> archiveClasses : deploymentSnapshot.getClassNamesPerArchive().entrySet())
+        {
+            URL url = urls.get(archiveClasses.getKey());
+            if (url == null)
+            {
+                continue;
+            }
+
+            Set<Class<?>> classSet = new HashSet<>();
+            for (String className : archiveClasses.getValue())
+            {
+                try
+                {
+                    loadBeanClass(className, classSet);
+                }
+                catch (NoClassDefFoundError e)
+                {
+                    logMissingDependency(className, e);
+                }
+            }
+            beanClassesPerBda.put(beanArchiveService.getBeanArchiveInformation(url), classSet);
+        }
+    }
+
+    private void loadBeanClass(String className, Set<Class<?>> classSet)
+    {
+        Class<?> clazz = ClassUtil.getClassFromName(className);
+        if (clazz != null)
+        {
+            // try to provoke a NoClassDefFoundError exception which is thrown
+            // if some dependencies of the class are missing
+            clazz.getDeclaredFields();
+
+            // we can add this class cause it has been loaded completely
+            classSet.add(clazz);
+        }
+    }
+
+    private void logMissingDependency(String className, NoClassDefFoundError e)
+    {
+        if (isAnonymous(className))
+        {
+            if (logger.isLoggable(Level.FINE))
+            {
+                logger.log(Level.FINE, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
+            }
+        }
+        else if (logger.isLoggable(Level.WARNING))
+        {
+            logger.log(Level.WARNING, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
+        }
+    }
+
     private boolean isAnonymous(final String className)
     {
         final int start = className.lastIndexOf('$');
@@ -493,10 +799,39 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         return false;
     }
 
+    /**
+     * Same as {@link #isBeanAnnotatedClass(AnnotationFinder.ClassInfo)} but for classes
+     * which got picked up from a build-time {@link BeanArchiveIndex}.
+     *
+     * @param annotationNames the class level annotations of the class
+     * @return true if this class should be kept and further get picked up as CDI Bean
+     */
+    protected boolean isBeanAnnotatedClass(Collection<String> annotationNames)
+    {
+        if (annotationNames == null)
+        {
+            return false;
+        }
+
+        for (String annotationName : annotationNames)
+        {
+            if (Interceptor.class.getName().equals(annotationName) ||
+                    Decorator.class.getName().equals(annotationName) ||
+                    isBeanAnnotation(annotationName))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected boolean isBeanAnnotation(AnnotationFinder.AnnotationInfo annotationInfo)
     {
-        String annotationName = annotationInfo.getName();
+        return isBeanAnnotation(annotationInfo.getName());
+    }
 
+    protected boolean isBeanAnnotation(String annotationName)
+    {
         // TODO add caches
 
         try
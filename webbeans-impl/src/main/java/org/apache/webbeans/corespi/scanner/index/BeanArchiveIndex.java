@@ -0,0 +1,404 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.index;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.BeanArchiveService.BeanArchiveInformation;
+import org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode;
+import org.apache.xbean.finder.util.Files;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Build-time index of a single bean archive.
+ *
+ * The index gets generated by the {@link BeanArchiveIndexer} into {@link #INDEX_LOCATION}
+ * of a jar or classes directory. It contains all class names of the archive together with
+ * their class level annotations and the bean-discovery-mode of the beans.xml at build time.
+ * If a valid index is present, the scanner can skip reading the class files of the archive.
+ *
+ * The index also contains two hashes of the indexed class files, one over their sizes
+ * and one over their CRC-32 checksums. Both are available from the central directory of
+ * a jar without reading the class files, so a jar which got changed after the index got
+ * created is detected. Classes directories get checked by the sizes and the modification
+ * time of their class files.
+ *
+ * The format is line based:
+ * <pre>
+ * #openwebbeans-index 2
+ * mode ANNOTATED
+ * sizes 5d41402abc4b2a76b9719d911017c592...
+ * crcs 7d793037a0760186574b0282f2f435e7...
+ * class org.acme.MyBean javax.enterprise.context.ApplicationScoped
+ * class org.acme.NoBean
+ * </pre>
+ */
+public class BeanArchiveIndex
+{
+    public static final String INDEX_LOCATION = "META-INF/openwebbeans/index";
+
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(BeanArchiveIndex.class);
+
+    private static final String HEADER = "#openwebbeans-index";
+    private static final String VERSION = "2";
+    private static final String MODE = "mode";
+    private static final String SIZES = "sizes";
+    private static final String CRCS = "crcs";
+    private static final String CLASS = "class";
+    private static final String CLASS_SUFFIX = ".class";
+
+    private final BeanDiscoveryMode beanDiscoveryMode;
+
+    /**
+     * key: class name, value: names of the class level annotations
+     */
+    private final Map<String, List<String>> classAnnotations;
+
+    /**
+     * Hash of the class file sizes, see {@link #hash(Map)}
+     */
+    private final String sizesHash;
+
+    /**
+     * Hash of the CRC-32 checksums of the class files, see {@link #hash(Map)}
+     */
+    private final String crcsHash;
+
+    public BeanArchiveIndex(BeanDiscoveryMode beanDiscoveryMode, Map<String, List<String>> classAnnotations,
+                            String sizesHash, String crcsHash)
+    {
+        this.beanDiscoveryMode = beanDiscoveryMode;
+        this.classAnnotations = new TreeMap<>(classAnnotations);
+        this.sizesHash = sizesHash;
+        this.crcsHash = crcsHash;
+    }
+
+    public BeanDiscoveryMode getBeanDiscoveryMode()
+    {
+        return beanDiscoveryMode;
+    }
+
+    public Collection<String> getClassNames()
+    {
+        return classAnnotations.keySet();
+    }
+
+    /**
+     * @return the class level annotation names or {@code null} if the class is not part of this index
+     */
+    public List<String> getAnnotations(String className)
+    {
+        return classAnnotations.get(className);
+    }
+
+    public void write(OutputStream outputStream) throws IOException
+    {
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        writer.write(HEADER + ' ' + VERSION + '\n');
+        writer.write(MODE + ' ' + beanDiscoveryMode.name() + '\n');
+        writer.write(SIZES + ' ' + sizesHash + '\n');
+        writer.write(CRCS + ' ' + crcsHash + '\n');
+        for (Map.Entry<String, List<String>> entry : classAnnotations.entrySet())
+        {
+            writer.write(CLASS + ' ' + entry.getKey());
+            for (String annotation : entry.getValue())
+            {
+                writer.write(' ');
+                writer.write(annotation);
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * @return the parsed index or {@code null} if the content is not a valid index of the current version
+     */
+    public static BeanArchiveIndex read(InputStream inputStream) throws IOException
+    {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null || !header.equals(HEADER + ' ' + VERSION))
+        {
+            return null;
+        }
+
+        BeanDiscoveryMode mode = null;
+        String sizesHash = null;
+        String crcsHash = null;
+        Map<String, List<String>> classAnnotations = new TreeMap<>();
+        String line;
+        while ((line = reader.readLine()) != null)
+        {
+            String[] tokens = line.trim().split(" ");
+            if (tokens.length >= 2 && MODE.equals(tokens[0]))
+            {
+                mode = BeanDiscoveryMode.valueOf(tokens[1]);
+            }
+            else if (tokens.length >= 2 && SIZES.equals(tokens[0]))
+            {
+                sizesHash = tokens[1];
+            }
+            else if (tokens.length >= 2 && CRCS.equals(tokens[0]))
+            {
+                crcsHash = tokens[1];
+            }
+            else if (tokens.length >= 2 && CLASS.equals(tokens[0]))
+            {
+                List<String> annotations = new ArrayList<>(tokens.length - 2);
+                for (int i = 2; i < tokens.length; i++)
+                {
+                    annotations.add(tokens[i]);
+                }
+                classAnnotations.put(tokens[1], annotations.isEmpty() ? Collections.<String>emptyList() : annotations);
+            }
+        }
+
+        if (mode == null || sizesHash == null || crcsHash == null)
+        {
+            return null;
+        }
+        return new BeanArchiveIndex(mode, classAnnotations, sizesHash, crcsHash);
+    }
+
+    /**
+     * Load the index of the given classpath entry.
+     *
+     * @param archiveUrl the jar or directory URL of the bean archive
+     * @param bdaInfo the runtime information about the bean archive
+     * @return the index or {@code null} if there is no index or if it is stale
+     */
+    public static BeanArchiveIndex load(URL archiveUrl, BeanArchiveInformation bdaInfo)
+    {
+        File file;
+        try
+        {
+            file = Files.toFile(archiveUrl);
+        }
+        catch (IllegalArgumentException e)
+        {
+            // not a file based classpath entry
+            return null;
+        }
+
+        try
+        {
+            BeanArchiveIndex index;
+            if (file.isDirectory())
+            {
+                index = loadFromDirectory(file);
+            }
+            else if (file.isFile())
+            {
+                index = loadFromJar(file);
+            }
+            else
+            {
+                return null;
+            }
+
+            if (index != null && index.beanDiscoveryMode != bdaInfo.getBeanDiscoveryMode())
+            {
+                logger.info("Ignoring stale bean archive index of " + archiveUrl + " as the bean-discovery-mode changed");
+                return null;
+            }
+            return index;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.log(Level.WARNING, "Ignoring invalid bean archive index of " + archiveUrl, e);
+            return null;
+        }
+    }
+
+    private static BeanArchiveIndex loadFromDirectory(File directory) throws IOException
+    {
+        File indexFile = new File(directory, INDEX_LOCATION);
+        if (!indexFile.isFile())
+        {
+            return null;
+        }
+
+        BeanArchiveIndex index;
+        try (InputStream inputStream = new FileInputStream(indexFile))
+        {
+            index = read(inputStream);
+        }
+
+        // classes directories get changed by IDEs without regenerating the index
+        Map<String, File> classFiles = collectClassFiles(directory);
+        long lastModified = 0;
+        Map<String, Long> sizes = new TreeMap<>();
+        for (Map.Entry<String, File> classFile : classFiles.entrySet())
+        {
+            lastModified = Math.max(lastModified, classFile.getValue().lastModified());
+            sizes.put(classFile.getKey(), classFile.getValue().length());
+        }
+        if (index == null || lastModified > indexFile.lastModified() || !hash(sizes).equals(index.sizesHash))
+        {
+            logger.info("Ignoring stale bean archive index " + indexFile);
+            return null;
+        }
+        return index;
+    }
+
+    private static BeanArchiveIndex loadFromJar(File jar) throws IOException
+    {
+        try (JarFile jarFile = new JarFile(jar))
+        {
+            JarEntry indexEntry = jarFile.getJarEntry(INDEX_LOCATION);
+            if (indexEntry == null)
+            {
+                return null;
+            }
+
+            BeanArchiveIndex index;
+            try (InputStream inputStream = jarFile.getInputStream(indexEntry))
+            {
+                index = read(inputStream);
+            }
+
+            // only the central directory gets read for this check
+            Map<String, Long> sizes = new TreeMap<>();
+            Map<String, Long> crcs = new TreeMap<>();
+            for (Map.Entry<String, JarEntry> classEntry : collectClassEntries(jarFile).entrySet())
+            {
+                sizes.put(classEntry.getKey(), classEntry.getValue().getSize());
+                crcs.put(classEntry.getKey(), classEntry.getValue().getCrc());
+            }
+            if (index == null || !hash(sizes).equals(index.sizesHash) || !hash(crcs).equals(index.crcsHash))
+            {
+                logger.info("Ignoring stale bean archive index in " + jar);
+                return null;
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Hash the given values per class name in a way which does not depend on the archive format.
+     */
+    static String hash(Map<String, Long> valuesPerClass)
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+
+        for (Map.Entry<String, Long> value : new TreeMap<>(valuesPerClass).entrySet())
+        {
+            digest.update((value.getKey() + ' ' + value.getValue() + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest())
+        {
+            hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Collect all class files of the given classes directory.
+     * @return the class files by class name
+     */
+    static Map<String, File> collectClassFiles(File directory)
+    {
+        Map<String, File> classFiles = new TreeMap<>();
+        collectClassFiles(directory, "", classFiles);
+        return classFiles;
+    }
+
+    private static void collectClassFiles(File directory, String packagePrefix, Map<String, File> classFiles)
+    {
+        File[] files = directory.listFiles();
+        if (files == null)
+        {
+            return;
+        }
+
+        for (File file : files)
+        {
+            String name = file.getName();
+            if (file.isDirectory())
+            {
+                if (packagePrefix.isEmpty() && "META-INF".equals(name))
+                {
+                    continue;
+                }
+                collectClassFiles(file, packagePrefix + name + '.', classFiles);
+            }
+            else if (isIndexedClassFile(name))
+            {
+                classFiles.put(packagePrefix + name.substring(0, name.length() - CLASS_SUFFIX.length()), file);
+            }
+        }
+    }
+
+    static Map<String, JarEntry> collectClassEntries(JarFile jarFile)
+    {
+        Map<String, JarEntry> classEntries = new TreeMap<>();
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements())
+        {
+            JarEntry entry = entries.nextElement();
+            String name = entry.getName();
+            if (!name.startsWith("META-INF/") && isIndexedClassFile(name.substring(name.lastIndexOf('/') + 1)))
+            {
+                classEntries.put(name.substring(0, name.length() - CLASS_SUFFIX.length()).replace('/', '.'), entry);
+            }
+        }
+        return classEntries;
+    }
+
+    private static boolean isIndexedClassFile(String fileName)
+    {
+        return fileName.endsWith(CLASS_SUFFIX)
+            && !fileName.equals("module-info.class")
+            && !fileName.equals("package-info.class");
+    }
+}
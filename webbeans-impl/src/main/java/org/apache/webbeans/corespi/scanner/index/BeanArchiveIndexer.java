@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.index;
+
+import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode;
+import org.apache.webbeans.xml.DefaultBeanArchiveService;
+import org.apache.xbean.finder.AnnotationFinder;
+import org.apache.xbean.finder.archive.FileArchive;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Creates the {@link BeanArchiveIndex} for a classes directory at build time.
+ *
+ * This class gets invoked by the openwebbeans-maven-plugin and openwebbeans-gradle integration
+ * after the classes got compiled and before they get packaged.
+ * It can also be invoked from the command line with the classes directories as arguments.
+ */
+public final class BeanArchiveIndexer
+{
+    private static final String META_INF_BEANS_XML = "META-INF/beans.xml";
+
+    private BeanArchiveIndexer()
+    {
+        // utility class
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        for (String classesDirectory : args)
+        {
+            writeIndex(new File(classesDirectory));
+        }
+    }
+
+    /**
+     * Create the index for the given classes directory and store it in
+     * {@link BeanArchiveIndex#INDEX_LOCATION} of this very directory.
+     * @return the index file
+     */
+    public static File writeIndex(File classesDirectory) throws IOException
+    {
+        BeanArchiveIndex index = createIndex(classesDirectory);
+
+        File indexFile = new File(classesDirectory, BeanArchiveIndex.INDEX_LOCATION);
+        if (!indexFile.getParentFile().isDirectory() && !indexFile.getParentFile().mkdirs())
+        {
+            throw new IOException("Cannot create directory " + indexFile.getParentFile());
+        }
+
+        try (OutputStream outputStream = new FileOutputStream(indexFile))
+        {
+            index.write(outputStream);
+        }
+        return indexFile;
+    }
+
+    public static BeanArchiveIndex createIndex(File classesDirectory) throws IOException
+    {
+        if (!classesDirectory.isDirectory())
+        {
+            throw new IllegalArgumentException(classesDirectory + " is not a directory");
+        }
+
+        Map<String, File> classFiles = BeanArchiveIndex.collectClassFiles(classesDirectory);
+        Map<String, Long> sizes = new HashMap<>(classFiles.size());
+        Map<String, Long> crcs = new HashMap<>(classFiles.size());
+        for (Map.Entry<String, File> classFile : classFiles.entrySet())
+        {
+            sizes.put(classFile.getKey(), classFile.getValue().length());
+            crcs.put(classFile.getKey(), crc(classFile.getValue()));
+        }
+
+        OwbAnnotationFinder finder = new OwbAnnotationFinder(
+            new FileArchive(Thread.currentThread().getContextClassLoader(), classesDirectory));
+
+        Map<String, List<String>> classAnnotations = new HashMap<>(classFiles.size());
+        for (String className : classFiles.keySet())
+        {
+            AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
+            if (classInfo == null || classInfo.getAnnotations().isEmpty())
+            {
+                classAnnotations.put(className, Collections.<String>emptyList());
+                continue;
+            }
+
+            List<String> annotations = new ArrayList<>(classInfo.getAnnotations().size());
+            for (AnnotationFinder.AnnotationInfo annotationInfo : classInfo.getAnnotations())
+            {
+                annotations.add(annotationInfo.getName());
+            }
+            classAnnotations.put(className, annotations);
+        }
+
+        return new BeanArchiveIndex(getBeanDiscoveryMode(classesDirectory), classAnnotations,
+            BeanArchiveIndex.hash(sizes), BeanArchiveIndex.hash(crcs));
+    }
+
+    /**
+     * @return the CRC-32 checksum of the file, the same a jar stores for its entries
+     */
+    private static long crc(File file) throws IOException
+    {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(file.toPath()));
+        return crc.getValue();
+    }
+
+    private static BeanDiscoveryMode getBeanDiscoveryMode(File classesDirectory) throws IOException
+    {
+        File beansXml = new File(classesDirectory, META_INF_BEANS_XML);
+        if (!beansXml.isFile())
+        {
+            // implicit bean archive
+            return BeanDiscoveryMode.ANNOTATED;
+        }
+
+        return new DefaultBeanArchiveService().getBeanArchiveInformation(beansXml.toURI().toURL()).getBeanDiscoveryMode();
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.index;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.xbean.finder.util.Files;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Snapshot of the scanning result of a whole deployment.
+ *
+ * It contains the bean class names per bean archive as they got picked up
+ * by the scanner, i.e. after excludes and bean-discovery-mode 'annotated' got applied.
+ * The snapshot is keyed by a hash over all classpath entries of the deployment
+ * ({@link #computeClasspathHash(Collection, String...)}) and gets stored in a small
+ * binary file. As long as the classpath didn't change, the next start can take the
+ * classes from the snapshot and doesn't need to scan any archive.
+ */
+public class DeploymentSnapshot
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(DeploymentSnapshot.class);
+
+    private static final int MAGIC = 0x4f574253; // OWBS
+    private static final int VERSION = 1;
+
+    private final String classpathHash;
+
+    /**
+     * key: URL#toExternalForm of the bean archive, value: the bean class names
+     */
+    private final Map<String, List<String>> classNamesPerArchive;
+
+    public DeploymentSnapshot(String classpathHash, Map<String, List<String>> classNamesPerArchive)
+    {
+        this.classpathHash = classpathHash;
+        this.classNamesPerArchive = new TreeMap<>(classNamesPerArchive);
+    }
+
+    public String getClasspathHash()
+    {
+        return classpathHash;
+    }
+
+    public Map<String, List<String>> getClassNamesPerArchive()
+    {
+        return Collections.unmodifiableMap(classNamesPerArchive);
+    }
+
+    public void write(File snapshotFile) throws IOException
+    {
+        File parent = snapshotFile.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+        {
+            throw new IOException("Cannot create directory " + parent);
+        }
+
+        // write to a temp file first so a concurrently starting instance never reads half a snapshot
+        File tmpFile = new File(snapshotFile.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(classpathHash);
+            out.writeInt(classNamesPerArchive.size());
+            for (Map.Entry<String, List<String>> archive : classNamesPerArchive.entrySet())
+            {
+                out.writeUTF(archive.getKey());
+                out.writeInt(archive.getValue().size());
+                for (String className : archive.getValue())
+                {
+                    out.writeUTF(className);
+                }
+            }
+        }
+
+        if (!tmpFile.renameTo(snapshotFile))
+        {
+            if (!snapshotFile.delete() || !tmpFile.renameTo(snapshotFile))
+            {
+                throw new IOException("Cannot write deployment snapshot " + snapshotFile);
+            }
+        }
+    }
+
+    /**
+     * @return the snapshot stored in the given file or {@code null} if there is none or it cannot be read
+     */
+    public static DeploymentSnapshot read(File snapshotFile)
+    {
+        if (!snapshotFile.isFile())
+        {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile))))
+        {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+            {
+                return null;
+            }
+
+            String classpathHash = in.readUTF();
+            int archiveCount = in.readInt();
+            Map<String, List<String>> classNamesPerArchive = new LinkedHashMap<>(archiveCount * 2);
+            for (int i = 0; i < archiveCount; i++)
+            {
+                String url = in.readUTF();
+                int classCount = in.readInt();
+                List<String> classNames = new ArrayList<>(classCount);
+                for (int j = 0; j < classCount; j++)
+                {
+                    classNames.add(in.readUTF());
+                }
+                classNamesPerArchive.put(url, classNames);
+            }
+            return new DeploymentSnapshot(classpathHash, classNamesPerArchive);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.log(Level.WARNING, "Ignoring invalid deployment snapshot " + snapshotFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Calculate a hash which changes whenever one of the given classpath entries changes.
+     * Jars are represented by their size and last modification time, directories by the
+     * number, sizes and modification times of all contained files.
+     *
+     * @param urls the bean archive URLs of the deployment
+     * @param additionalKeys further information the scanning result depends on, e.g. the scanning excludes
+     * @return hex encoded hash or {@code null} if one of the entries is not file based
+     */
+    public static String computeClasspathHash(Collection<URL> urls, String... additionalKeys)
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+
+        if (additionalKeys != null)
+        {
+            for (String key : additionalKeys)
+            {
+                update(digest, "key " + key);
+            }
+        }
+
+        List<String> entries = new ArrayList<>(urls.size());
+        for (URL url : urls)
+        {
+            entries.add(url.toExternalForm());
+        }
+        Collections.sort(entries);
+
+        for (String entry : entries)
+        {
+            update(digest, "url " + entry);
+
+            File file;
+            try
+            {
+                file = Files.toFile(new URL(entry));
+            }
+            catch (IOException | IllegalArgumentException e)
+            {
+                // not a file based classpath entry, we cannot detect changes
+                return null;
+            }
+
+            if (file.isDirectory())
+            {
+                updateDirectory(digest, file, "");
+            }
+            else
+            {
+                update(digest, "file " + file.length() + " " + file.lastModified());
+            }
+        }
+
+        StringBuilder hash = new StringBuilder(64);
+        for (byte b : digest.digest())
+        {
+            hash.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hash.toString();
+    }
+
+    private static void updateDirectory(MessageDigest digest, File directory, String path)
+    {
+        File[] files = directory.listFiles();
+        if (files == null)
+        {
+            return;
+        }
+
+        // listFiles() doesn't guarantee any order
+        Map<String, File> sortedFiles = new TreeMap<>();
+        for (File file : files)
+        {
+            sortedFiles.put(file.getName(), file);
+        }
+
+        for (Map.Entry<String, File> file : sortedFiles.entrySet())
+        {
+            String name = path + file.getKey();
+            if (file.getValue().isDirectory())
+            {
+                updateDirectory(digest, file.getValue(), name + '/');
+            }
+            else
+            {
+                update(digest, name + " " + file.getValue().length() + " " + file.getValue().lastModified());
+            }
+        }
+    }
+
+    private static void update(MessageDigest digest, String value)
+    {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+}
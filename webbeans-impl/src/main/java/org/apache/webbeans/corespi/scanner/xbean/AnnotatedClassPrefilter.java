@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Decides on the raw bytecode whether a class of a bean archive with
+ * bean-discovery-mode 'annotated' can be a bean at all.
+ *
+ * <p>Only the constant pool and the class level attributes get read, fields and
+ * methods are skipped. A class is rejected if it has no class level runtime annotations
+ * or only ones which never define a bean, like {@code @Deprecated}. Whether the remaining
+ * annotations are scopes or stereotypes is decided later on the full class metadata,
+ * as custom scopes and stereotypes are not yet known while scanning.</p>
+ *
+ * <p>If the bytecode cannot be understood the class is kept.</p>
+ */
+public final class AnnotatedClassPrefilter
+{
+    private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Descriptors of runtime annotations which are no bean defining annotations.
+     */
+    private static final Set<String> NON_BEAN_DEFINING_ANNOTATIONS = new HashSet<>(Arrays.asList(
+        "Ljava/lang/Deprecated;",
+        "Ljava/lang/FunctionalInterface;",
+        "Ljava/lang/annotation/Documented;",
+        "Ljava/lang/annotation/Inherited;",
+        "Ljava/lang/annotation/Repeatable;",
+        "Ljava/lang/annotation/Retention;",
+        "Ljava/lang/annotation/Target;",
+        "Lkotlin/Metadata;"));
+
+    private AnnotatedClassPrefilter()
+    {
+        // utility class
+    }
+
+    /**
+     * @param bytecode the content of a class file
+     * @return {@code false} if the class cannot be a bean in an annotated bean archive
+     */
+    public static boolean mayBeBeanAnnotated(byte[] bytecode)
+    {
+        try
+        {
+            return new ClassFileReader(bytecode).hasBeanAnnotationCandidate();
+        }
+        catch (RuntimeException e)
+        {
+            // broken or unknown class file format, let the real parser decide
+            return true;
+        }
+    }
+
+    private static final class ClassFileReader
+    {
+        private final byte[] bytes;
+        private int position;
+
+        /**
+         * Offsets of the CONSTANT_Utf8 entries by constant pool index, 0 for other entries.
+         */
+        private int[] utf8Offsets;
+
+        private ClassFileReader(byte[] bytes)
+        {
+            this.bytes = bytes;
+        }
+
+        private boolean hasBeanAnnotationCandidate()
+        {
+            if (readInt() != 0xCAFEBABE)
+            {
+                return true;
+            }
+            position += 4; // minor and major version
+
+            int runtimeVisibleAnnotationsIndex = readConstantPool();
+            if (runtimeVisibleAnnotationsIndex == -1)
+            {
+                // neither the class nor any of its members has a runtime annotation
+                return false;
+            }
+
+            position += 6; // access flags, this class, super class
+            int interfacesCount = readUnsignedShort();
+            position += 2 * interfacesCount;
+
+            skipMembers(); // fields
+            skipMembers(); // methods
+
+            int attributesCount = readUnsignedShort();
+            for (int i = 0; i < attributesCount; i++)
+            {
+                int nameIndex = readUnsignedShort();
+                int length = readInt();
+                if (nameIndex == runtimeVisibleAnnotationsIndex)
+                {
+                    return hasBeanAnnotationCandidate(readUnsignedShort());
+                }
+                position += length;
+            }
+            return false;
+        }
+
+        /**
+         * Checks the type of each class level annotation, the first one is at the current position.
+         */
+        private boolean hasBeanAnnotationCandidate(int annotationCount)
+        {
+            for (int i = 0; i < annotationCount; i++)
+            {
+                int typeIndex = readUnsignedShort();
+                if (!NON_BEAN_DEFINING_ANNOTATIONS.contains(readUtf8(typeIndex)))
+                {
+                    return true;
+                }
+                skipElementValuePairs();
+            }
+            return false;
+        }
+
+        /**
+         * @return the index of the 'RuntimeVisibleAnnotations' constant or -1 if there is none
+         */
+        private int readConstantPool()
+        {
+            int constantPoolCount = readUnsignedShort();
+            utf8Offsets = new int[constantPoolCount];
+            int runtimeVisibleAnnotationsIndex = -1;
+            for (int i = 1; i < constantPoolCount; i++)
+            {
+                int tag = bytes[position++];
+                switch (tag)
+                {
+                    case 1: // Utf8
+                        utf8Offsets[i] = position;
+                        int length = readUnsignedShort();
+                        if (runtimeVisibleAnnotationsIndex == -1 && matches(RUNTIME_VISIBLE_ANNOTATIONS, length))
+                        {
+                            runtimeVisibleAnnotationsIndex = i;
+                        }
+                        position += length;
+                        break;
+                    case 7: // Class
+                    case 8: // String
+                    case 16: // MethodType
+                    case 19: // Module
+                    case 20: // Package
+                        position += 2;
+                        break;
+                    case 15: // MethodHandle
+                        position += 3;
+                        break;
+                    case 3: // Integer
+                    case 4: // Float
+                    case 9: // Fieldref
+                    case 10: // Methodref
+                    case 11: // InterfaceMethodref
+                    case 12: // NameAndType
+                    case 17: // Dynamic
+                    case 18: // InvokeDynamic
+                        position += 4;
+                        break;
+                    case 5: // Long
+                    case 6: // Double
+                        position += 8;
+                        i++; // takes two constant pool slots
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown constant pool tag " + tag);
+                }
+            }
+            return runtimeVisibleAnnotationsIndex;
+        }
+
+        private boolean matches(byte[] expected, int length)
+        {
+            if (length != expected.length)
+            {
+                return false;
+            }
+            for (int i = 0; i < length; i++)
+            {
+                if (bytes[position + i] != expected[i])
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void skipMembers()
+        {
+            int count = readUnsignedShort();
+            for (int i = 0; i < count; i++)
+            {
+                position += 6; // access flags, name, descriptor
+                skipAttributes();
+            }
+        }
+
+        private void skipAttributes()
+        {
+            int count = readUnsignedShort();
+            for (int i = 0; i < count; i++)
+            {
+                position += 2; // attribute name
+                int length = readInt();
+                position += length;
+            }
+        }
+
+        private void skipElementValuePairs()
+        {
+            int count = readUnsignedShort();
+            for (int i = 0; i < count; i++)
+            {
+                position += 2; // element name
+                skipElementValue();
+            }
+        }
+
+        private void skipElementValue()
+        {
+            int tag = bytes[position++];
+            switch (tag)
+            {
+                case 'e': // enum: type name and const name
+                    position += 4;
+                    break;
+                case '@':
+                    position += 2; // type
+                    skipElementValuePairs();
+                    break;
+                case '[':
+                    int count = readUnsignedShort();
+                    for (int i = 0; i < count; i++)
+                    {
+                        skipElementValue();
+                    }
+                    break;
+                default: // constants and class literals
+                    position += 2;
+                    break;
+            }
+        }
+
+        private String readUtf8(int index)
+        {
+            int offset = utf8Offsets[index];
+            int length = ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+            // descriptors of annotation types are plain ASCII in practice, modified UTF-8 is irrelevant here
+            return new String(bytes, offset + 2, length, StandardCharsets.UTF_8);
+        }
+
+        private int readUnsignedShort()
+        {
+            int value = ((bytes[position] & 0xFF) << 8) | (bytes[position + 1] & 0xFF);
+            position += 2;
+            return value;
+        }
+
+        private int readInt()
+        {
+            int value = ((bytes[position] & 0xFF) << 24) | ((bytes[position + 1] & 0xFF) << 16)
+                | ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+            position += 4;
+            return value;
+        }
+    }
+}
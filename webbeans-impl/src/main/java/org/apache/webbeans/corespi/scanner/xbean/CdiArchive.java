@@ -18,8 +18,10 @@
  */
 package org.apache.webbeans.corespi.scanner.xbean;
 
+import org.apache.webbeans.corespi.scanner.index.BeanArchiveIndex;
 import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.spi.BeanArchiveService.BeanArchiveInformation;
+import org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode;
 import org.apache.xbean.finder.archive.Archive;
 import org.apache.xbean.finder.archive.ClasspathArchive;
 import org.apache.xbean.finder.archive.CompositeArchive;
@@ -31,6 +33,7 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -52,20 +55,72 @@ public class CdiArchive implements Archive
 
     private final Archive delegate;
 
+    /**
+     * The archives per classpath entry which need to get scanned.
+     */
+    private final List<Archive> archives = new ArrayList<>();
+
+    /**
+     * The archives per classpath entry whose classes got taken from a build-time index.
+     */
+    private final List<Archive> indexedArchives = new ArrayList<>();
+
     public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
                       Filter userFilter, Archive customArchive)
     {
-        Collection<Archive> archives = new ArrayList<>();
+        this(beanArchiveService, loader, urls, userFilter, customArchive, Collections.<String, BeanArchiveIndex>emptyMap());
+    }
+
+    /**
+     * @param indexes build-time indexes per URL#toExternalForm. Archives with an index do not get scanned.
+     */
+    public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
+                      Filter userFilter, Archive customArchive, Map<String, BeanArchiveIndex> indexes)
+    {
+        this(beanArchiveService, loader, urls, userFilter, customArchive, indexes, false);
+    }
+
+    /**
+     * @param indexes build-time indexes per URL#toExternalForm. Archives with an index do not get scanned.
+     * @param prefilterAnnotated whether classes of archives with bean-discovery-mode 'annotated' which cannot
+     *                           be beans get dropped via the {@link AnnotatedClassPrefilter} before parsing them
+     */
+    public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
+                      Filter userFilter, Archive customArchive, Map<String, BeanArchiveIndex> indexes,
+                      boolean prefilterAnnotated)
+    {
         boolean customAdded = false;
         for (URL url : urls.values())
         {
             List<String> urlClasses = new ArrayList<>();
 
             BeanArchiveInformation beanArchiveInfo = beanArchiveService.getBeanArchiveInformation(url);
+
+            BeanArchiveIndex index = indexes.get(url.toExternalForm());
+            if (index != null)
+            {
+                // no need to read the bytecode, the index already contains all classes of the archive
+                BeanArchiveFilter filter = new BeanArchiveFilter(beanArchiveInfo, urlClasses, userFilter);
+                for (String className : index.getClassNames())
+                {
+                    filter.accept(className);
+                }
+                classesByUrl.put(url.toExternalForm(), new FoundClasses(url, urlClasses, beanArchiveInfo, index));
+
+                // only gets parsed if somebody needs the full annotation information
+                indexedArchives.add(new FilteredArchive(ClasspathArchive.archive(loader, url),
+                        new BeanArchiveFilter(beanArchiveInfo, new ArrayList<String>(), userFilter)));
+                continue;
+            }
+
             final boolean custom = "openwebbeans".equals(url.getProtocol());
             Archive archive = new FilteredArchive(
                     custom ? customArchive : ClasspathArchive.archive(loader, url),
                     new BeanArchiveFilter(beanArchiveInfo, urlClasses, userFilter));
+            if (prefilterAnnotated && !custom && beanArchiveInfo.getBeanDiscoveryMode() == BeanDiscoveryMode.ANNOTATED)
+            {
+                archive = new PrefilteredArchive(archive);
+            }
             if (!customAdded && custom)
             {
                 customAdded = true;
@@ -86,6 +141,23 @@ public class CdiArchive implements Archive
         return classesByUrl;
     }
 
+    /**
+     * @return the filtered archive of each classpath entry which needs to get scanned.
+     *         Archives which got taken from a build-time index are not contained.
+     */
+    public List<Archive> getArchives()
+    {
+        return Collections.unmodifiableList(archives);
+    }
+
+    /**
+     * @return the filtered archive of each classpath entry whose classes got taken from a build-time index
+     */
+    public List<Archive> getIndexedArchives()
+    {
+        return Collections.unmodifiableList(indexedArchives);
+    }
+
     @Override
     public InputStream getBytecode(String className) throws IOException, ClassNotFoundException
     {
@@ -109,12 +181,19 @@ public class CdiArchive implements Archive
         private URL url;
         private Collection<String> classNames;
         private BeanArchiveInformation beanArchiveInfo;
+        private BeanArchiveIndex index;
 
         public FoundClasses(URL url, Collection<String> classNames, BeanArchiveInformation beanArchiveInfo)
+        {
+            this(url, classNames, beanArchiveInfo, null);
+        }
+
+        public FoundClasses(URL url, Collection<String> classNames, BeanArchiveInformation beanArchiveInfo, BeanArchiveIndex index)
         {
             this.url = url;
             this.classNames = classNames;
             this.beanArchiveInfo = beanArchiveInfo;
+            this.index = index;
         }
 
         public URL getUrl()
@@ -131,5 +210,13 @@ public class CdiArchive implements Archive
         {
             return classNames;
         }
+
+        /**
+         * @return the build-time index if the classes of this archive got taken from it, {@code null} otherwise
+         */
+        public BeanArchiveIndex getIndex()
+        {
+            return index;
+        }
     }
 }
@@ -21,6 +21,10 @@ package org.apache.webbeans.corespi.scanner.xbean;
 import org.apache.xbean.finder.AnnotationFinder;
 import org.apache.xbean.finder.archive.Archive;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 /**
  * We just extend the default AnnotationFinder to get Access to the original ClassInfo
  * for not having to call loadClass so often...
@@ -42,4 +46,66 @@ public class OwbAnnotationFinder extends AnnotationFinder
         return classInfos.get(className);
     }
 
+    /**
+     * @return all parsed classes by their name
+     */
+    protected Map<String, ClassInfo> getClassInfos()
+    {
+        return classInfos;
+    }
+
+    /**
+     * @return the annotated elements by annotation name
+     */
+    protected Map<String, List<Info>> getAnnotated()
+    {
+        return annotated;
+    }
+
+    /**
+     * Adds the classes parsed by the given finder. For classes which are already known
+     * the existing ones win, same as when the archives get scanned by a single finder.
+     */
+    public void merge(OwbAnnotationFinder finder)
+    {
+        for (Map.Entry<String, ClassInfo> classInfo : finder.getClassInfos().entrySet())
+        {
+            getClassInfos().putIfAbsent(classInfo.getKey(), classInfo.getValue());
+        }
+
+        for (Map.Entry<String, List<Info>> annotatedInfos : finder.getAnnotated().entrySet())
+        {
+            for (Info info : annotatedInfos.getValue())
+            {
+                ClassInfo declaringClass = getDeclaringClass(info);
+                if (declaringClass == null || getClassInfos().get(declaringClass.getName()) == declaringClass)
+                {
+                    getAnnotated().computeIfAbsent(annotatedInfos.getKey(), name -> new ArrayList<>()).add(info);
+                }
+            }
+        }
+    }
+
+    private static ClassInfo getDeclaringClass(Info info)
+    {
+        if (info instanceof ClassInfo)
+        {
+            return (ClassInfo) info;
+        }
+        if (info instanceof MethodInfo)
+        {
+            return ((MethodInfo) info).getDeclaringClass();
+        }
+        if (info instanceof FieldInfo)
+        {
+            return ((FieldInfo) info).getDeclaringClass();
+        }
+        if (info instanceof ParameterInfo)
+        {
+            return ((ParameterInfo) info).getDeclaringMethod().getDeclaringClass();
+        }
+        // package infos
+        return null;
+    }
+
 }
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import org.apache.webbeans.exception.WebBeansDeploymentException;
+import org.apache.webbeans.util.ExceptionUtil;
+import org.apache.xbean.finder.archive.Archive;
+import org.apache.xbean.finder.archive.ClassesArchive;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * An {@link OwbAnnotationFinder} which reads and parses each archive in its own task.
+ *
+ * <p>The xbean AnnotationFinder is not thread safe, thus every archive gets its own finder
+ * and the parsed classes get merged afterwards. For classes which are contained in more
+ * than one archive the first archive wins, same as for the sequential scanning.</p>
+ */
+public class ParallelAnnotationFinder extends OwbAnnotationFinder
+{
+    /**
+     * @param archives the archives to scan, usually {@link CdiArchive#getArchives()}
+     * @param pool the pool to parse the archives in
+     */
+    public ParallelAnnotationFinder(List<Archive> archives, ForkJoinPool pool)
+    {
+        // nothing to parse for the super class, all the work is done by the per archive finders
+        super(new ClassesArchive());
+
+        List<OwbAnnotationFinder> finders;
+        try
+        {
+            finders = pool.submit(() -> archives.parallelStream()
+                    .map(OwbAnnotationFinder::new)
+                    .collect(Collectors.toList()))
+                .get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new WebBeansDeploymentException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw ExceptionUtil.throwAsRuntimeException(e.getCause());
+        }
+
+        for (OwbAnnotationFinder finder : finders)
+        {
+            merge(finder);
+        }
+    }
+}
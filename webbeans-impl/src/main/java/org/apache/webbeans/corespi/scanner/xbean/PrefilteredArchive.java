@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import org.apache.xbean.finder.archive.Archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Archive of a bean archive with bean-discovery-mode 'annotated' which only hands out
+ * the classes passing the {@link AnnotatedClassPrefilter}. All other classes cannot be
+ * beans, so there is no need to let the finder parse them.
+ */
+public class PrefilteredArchive implements Archive
+{
+    private final Archive delegate;
+
+    public PrefilteredArchive(Archive delegate)
+    {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public InputStream getBytecode(String className) throws IOException, ClassNotFoundException
+    {
+        return delegate.getBytecode(className);
+    }
+
+    @Override
+    public Class<?> loadClass(String className) throws ClassNotFoundException
+    {
+        return delegate.loadClass(className);
+    }
+
+    @Override
+    public Iterator<Entry> iterator()
+    {
+        return new PrefilteredIterator(delegate.iterator());
+    }
+
+    private static byte[] read(Entry entry) throws IOException
+    {
+        try (InputStream in = entry.getBytecode())
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1)
+            {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static final class PrefilteredIterator implements Iterator<Entry>
+    {
+        private final Iterator<Entry> entries;
+        private Entry next;
+
+        private PrefilteredIterator(Iterator<Entry> entries)
+        {
+            this.entries = entries;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (next == null && entries.hasNext())
+            {
+                Entry entry = entries.next();
+                byte[] bytecode;
+                try
+                {
+                    bytecode = read(entry);
+                }
+                catch (IOException e)
+                {
+                    // let the finder run into the problem and report it
+                    next = entry;
+                    break;
+                }
+
+                if (AnnotatedClassPrefilter.mayBeBeanAnnotated(bytecode))
+                {
+                    next = new BytecodeEntry(entry.getName(), bytecode);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Entry next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            Entry entry = next;
+            next = null;
+            return entry;
+        }
+    }
+
+    /**
+     * The bytecode already got read for the prefilter, don't read it a second time.
+     */
+    private static final class BytecodeEntry implements Entry
+    {
+        private final String name;
+        private final byte[] bytecode;
+
+        private BytecodeEntry(String name, byte[] bytecode)
+        {
+            this.name = name;
+            this.bytecode = bytecode;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public InputStream getBytecode()
+        {
+            return new ByteArrayInputStream(bytecode);
+        }
+    }
+}
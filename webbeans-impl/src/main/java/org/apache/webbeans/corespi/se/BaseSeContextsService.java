@@ -42,30 +42,19 @@ import org.apache.webbeans.context.DependentContext;
 import org.apache.webbeans.context.RequestContext;
 import org.apache.webbeans.context.SessionContext;
 import org.apache.webbeans.conversation.ConversationManager;
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
-import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
 
 
 public abstract class BaseSeContextsService extends AbstractContextsService
 {
-    private static ThreadLocal<RequestContext> requestContext;
-
-    private static ThreadLocal<SessionContext> sessionContext;
-
-    private static ThreadLocal<ConversationContext> conversationContext;
-
-    private static ThreadLocal<DependentContext> dependentContext;
+    /**
+     * All thread bound contexts are kept in a single carrier object.
+     * This keeps the footprint per thread at one single ThreadLocal entry,
+     * which matters if lots of short living (e.g. virtual) threads get used.
+     */
+    private static final ThreadLocal<ThreadContexts> contextsThreadLocal = new ThreadLocal<>();
 
     private ApplicationContext applicationContext;
 
-    static
-    {
-        requestContext = new ThreadLocal<>();
-        sessionContext = new ThreadLocal<>();
-        conversationContext = new ThreadLocal<>();
-        dependentContext = new ThreadLocal<>();
-    }
-
     protected BaseSeContextsService(final WebBeansContext webBeansContext)
     {
         super(webBeansContext);
@@ -190,55 +179,128 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     @Override
     public void destroy(Object destroyObject)
     {
-        RequestContext requestCtx = requestContext.get();
-        if (requestCtx != null)
+        ThreadContexts contexts = contextsThreadLocal.get();
+        if (contexts != null)
         {
-            requestCtx.destroy();
-            RequestScopedBeanInterceptorHandler.removeThreadLocals();
-            requestContext.set(null);
-            requestContext.remove();
+            if (contexts.requestContext != null)
+            {
+                contexts.requestContext.destroy();
+                contexts.requestContext = null;
+            }
+            if (contexts.sessionContext != null)
+            {
+                contexts.sessionContext.destroy();
+                contexts.sessionContext = null;
+            }
+            if (contexts.conversationContext != null)
+            {
+                contexts.conversationContext.destroy();
+                contexts.conversationContext = null;
+            }
+            contexts.dependentContext = null;
+            removeEmptyThreadContexts();
         }
 
-        SessionContext sessionCtx = sessionContext.get();
-        if (sessionCtx != null)
+        destroyGlobalContexts();
+    }
+
+    protected void destroyGlobalContexts()
+    {
+        if (applicationContext != null)
         {
-            sessionCtx.destroy();
-            SessionScopedBeanInterceptorHandler.removeThreadLocals();
-            sessionContext.set(null);
-            sessionContext.remove();
+            applicationContext.destroy();
+            applicationContext.destroySystemBeans();
         }
+    }
 
-        ConversationContext conversationCtx = conversationContext.get();
-        if (conversationCtx != null)
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object captureContexts()
+    {
+        ThreadContexts current = contextsThreadLocal.get();
+        if (current == null)
         {
-            conversationCtx.destroy();
-            conversationContext.set(null);
-            conversationContext.remove();
+            return null;
         }
 
-        dependentContext.set(null);
-        dependentContext.remove();
+        // the DependentContext is stateless, the target thread will create its own
+        ThreadContexts captured = new ThreadContexts();
+        captured.requestContext = current.requestContext;
+        captured.sessionContext = current.sessionContext;
+        captured.conversationContext = current.conversationContext;
+        return captured;
+    }
 
-        destroyGlobalContexts();
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object activateContexts(Object contexts)
+    {
+        ThreadContexts previous = contextsThreadLocal.get();
+        if (contexts == null)
+        {
+            contextsThreadLocal.remove();
+        }
+        else
+        {
+            // use a copy, starting or ending a context must not affect the thread which captured it
+            ThreadContexts captured = (ThreadContexts) contexts;
+            ThreadContexts activated = new ThreadContexts();
+            activated.requestContext = captured.requestContext;
+            activated.sessionContext = captured.sessionContext;
+            activated.conversationContext = captured.conversationContext;
+            contextsThreadLocal.set(activated);
+        }
+        return previous;
     }
 
-    protected void destroyGlobalContexts()
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void restoreContexts(Object previousContexts)
     {
-        if (applicationContext != null)
+        if (previousContexts == null)
         {
-            applicationContext.destroy();
-            applicationContext.destroySystemBeans();
+            contextsThreadLocal.remove();
+        }
+        else
+        {
+            contextsThreadLocal.set((ThreadContexts) previousContexts);
+        }
+    }
+
+    private static ThreadContexts getThreadContexts()
+    {
+        ThreadContexts contexts = contextsThreadLocal.get();
+        if (contexts == null)
+        {
+            contexts = new ThreadContexts();
+            contextsThreadLocal.set(contexts);
+        }
+        return contexts;
+    }
+
+    private static void removeEmptyThreadContexts()
+    {
+        ThreadContexts contexts = contextsThreadLocal.get();
+        if (contexts != null && contexts.isEmpty())
+        {
+            contextsThreadLocal.remove();
         }
     }
 
 
     private Context getCurrentConversationContext()
     {
-        ConversationContext conversationCtx = conversationContext.get();
+        ConversationContext conversationCtx = getThreadContexts().conversationContext;
         if (conversationCtx == null)
         {
             conversationCtx = webBeansContext.getConversationManager().getConversationContext(getCurrentSessionContext());
-            conversationContext.set(conversationCtx);
+            getThreadContexts().conversationContext = conversationCtx;
 
             // check for busy and non-existing conversations
             String conversationId = webBeansContext.getConversationService().getConversationId();
@@ -262,24 +324,26 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     
     private Context getCurrentDependentContext()
     {        
-        if(dependentContext.get() == null)
+        if(getThreadContexts().dependentContext == null)
         {
-            dependentContext.set(new DependentContext());
+            getThreadContexts().dependentContext = new DependentContext();
         }
         
-        return dependentContext.get();
+        return getThreadContexts().dependentContext;
     }
 
     
     private Context getCurrentRequestContext()
     {        
-        return requestContext.get();
+        ThreadContexts contexts = contextsThreadLocal.get();
+        return contexts != null ? contexts.requestContext : null;
     }
 
     
     private Context getCurrentSessionContext()
     {
-        return sessionContext.get();
+        ThreadContexts contexts = contextsThreadLocal.get();
+        return contexts != null ? contexts.sessionContext : null;
     }
     
     private void startApplicationContext()
@@ -309,7 +373,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         ConversationManager conversationManager = webBeansContext.getConversationManager();
         ConversationContext ctx = conversationManager.getConversationContext(getCurrentSessionContext());
         ctx.setActive(true);
-        conversationContext.set(ctx);
+        getThreadContexts().conversationContext = ctx;
 
         if (ctx.getConversation().isTransient())
         {
@@ -323,9 +387,10 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     {
         
         RequestContext ctx = new RequestContext();
+        ctx.setMetricsService(webBeansContext.getMetricsService());
         ctx.setActive(true);
         
-        requestContext.set(ctx);
+        getThreadContexts().requestContext = ctx;
         webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
             new Object(), InitializedLiteral.INSTANCE_REQUEST_SCOPED);
     }
@@ -333,10 +398,11 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     
     private void startSessionContext()
     {
-        SessionContext ctx = new SessionContext();
+        SessionContext ctx = new SessionContext(webBeansContext);
         ctx.setActive(true);
+        ctx.reportContextStart();
         
-        sessionContext.set(ctx);
+        getThreadContexts().sessionContext = ctx;
         webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
             new Object(), InitializedLiteral.INSTANCE_SESSION_SCOPED);
     }
@@ -369,36 +435,37 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     
     private void stopConversationContext()
     {
-        if(conversationContext.get() != null)
+        ThreadContexts contexts = contextsThreadLocal.get();
+        if (contexts != null && contexts.conversationContext != null)
         {
-            conversationContext.get().destroy();   
+            contexts.conversationContext.destroy();
+            contexts.conversationContext = null;
+            removeEmptyThreadContexts();
         }
-
-        conversationContext.set(null);
-        conversationContext.remove();
     }
 
     
     private void stopRequestContext()
     {
         // cleanup open conversations first
-        if (supportsConversation)
+        ThreadContexts contexts = contextsThreadLocal.get();
+        if (supportsConversation && contexts != null)
         {
-            destroyOutdatedConversations(conversationContext.get());
-            conversationContext.set(null);
-            conversationContext.remove();
+            destroyOutdatedConversations(contexts.conversationContext);
+            contexts.conversationContext = null;
         }
 
         webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
                 new Object(), BeforeDestroyedLiteral.INSTANCE_REQUEST_SCOPED);
-        if(requestContext.get() != null)
+
+        // the observers might have started contexts on this thread
+        contexts = contextsThreadLocal.get();
+        if (contexts != null && contexts.requestContext != null)
         {
-            requestContext.get().destroy();   
+            contexts.requestContext.destroy();
+            contexts.requestContext = null;
         }
-
-        requestContext.set(null);
-        requestContext.remove();
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
+        removeEmptyThreadContexts();
         webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
             new Object(), DestroyedLiteral.INSTANCE_REQUEST_SCOPED);
     }
@@ -408,14 +475,13 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     {
         webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
                 new Object(), BeforeDestroyedLiteral.INSTANCE_SESSION_SCOPED);
-        if(sessionContext.get() != null)
+        ThreadContexts contexts = contextsThreadLocal.get();
+        if (contexts != null && contexts.sessionContext != null)
         {
-            sessionContext.get().destroy();   
+            contexts.sessionContext.destroy();
+            contexts.sessionContext = null;
         }
-
-        sessionContext.set(null);
-        sessionContext.remove();
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
+        removeEmptyThreadContexts();
         webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
             new Object(), DestroyedLiteral.INSTANCE_SESSION_SCOPED);
     }
@@ -429,4 +495,21 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
             new Object(), DestroyedLiteral.INSTANCE_SINGLETON_SCOPED);
     }
+
+    /**
+     * The contexts which are bound to a single thread.
+     */
+    private static final class ThreadContexts
+    {
+        private RequestContext requestContext;
+        private SessionContext sessionContext;
+        private ConversationContext conversationContext;
+        private DependentContext dependentContext;
+
+        private boolean isEmpty()
+        {
+            return requestContext == null && sessionContext == null
+                && conversationContext == null && dependentContext == null;
+        }
+    }
 }
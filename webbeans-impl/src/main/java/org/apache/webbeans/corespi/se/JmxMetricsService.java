@@ -0,0 +1,389 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.se;
+
+import java.io.Closeable;
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.context.ConversationScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.apache.webbeans.component.OwbBean;
+import org.apache.webbeans.config.StartupProfiler;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.CacheService;
+import org.apache.webbeans.spi.MetricsService;
+
+/**
+ * {@link MetricsService} which keeps counters and cumulated durations in memory
+ * and exposes them as {@link MetricsMXBean} on the platform MBeanServer under
+ * {@code org.apache.webbeans:type=Metrics,context=<id>}.
+ *
+ * <p>Enable it via
+ * {@code org.apache.webbeans.spi.MetricsService=org.apache.webbeans.corespi.se.JmxMetricsService}
+ * in {@code META-INF/openwebbeans/openwebbeans.properties}.</p>
+ */
+public class JmxMetricsService implements MetricsService, Closeable
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(JmxMetricsService.class);
+
+    private final WebBeansContext webBeansContext;
+
+    private final ConcurrentMap<Bean<?>, Timing> beanCreations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<? extends Annotation>, LongAdder> contextualInstancesCreated = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<? extends Annotation>, LongAdder> contextualInstancesDestroyed = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<? extends Annotation>, LongAdder> activeContexts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, LongAdder> eventsFired = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ObserverMethod<?>, Timing> observerInvocations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, Timing> interceptedInvocations = new ConcurrentHashMap<>();
+
+    private ObjectName objectName;
+
+    public JmxMetricsService(WebBeansContext webBeansContext)
+    {
+        this.webBeansContext = webBeansContext;
+        try
+        {
+            objectName = new ObjectName("org.apache.webbeans:type=Metrics,context="
+                + Integer.toHexString(System.identityHashCode(webBeansContext)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new StandardMBean(new Metrics(), MetricsMXBean.class, true), objectName);
+        }
+        catch (Exception e)
+        {
+            objectName = null;
+            logger.log(Level.WARNING, "Unable to register the OpenWebBeans metrics MBean", e);
+        }
+    }
+
+    /**
+     * @return the name of the registered MBean or {@code null} if the registration failed
+     */
+    public ObjectName getObjectName()
+    {
+        return objectName;
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+
+    @Override
+    public void beanCreated(Bean<?> bean, long nanos)
+    {
+        beanCreations.computeIfAbsent(bean, b -> new Timing()).add(nanos);
+    }
+
+    @Override
+    public void contextualInstanceCreated(Class<? extends Annotation> scope)
+    {
+        contextualInstancesCreated.computeIfAbsent(scope, s -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void contextualInstanceDestroyed(Class<? extends Annotation> scope)
+    {
+        contextualInstancesDestroyed.computeIfAbsent(scope, s -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void contextStarted(Class<? extends Annotation> scope)
+    {
+        activeContexts.computeIfAbsent(scope, s -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void contextDestroyed(Class<? extends Annotation> scope)
+    {
+        activeContexts.computeIfAbsent(scope, s -> new LongAdder()).decrement();
+    }
+
+    @Override
+    public void eventFired(Class<?> eventClass, int observerCount)
+    {
+        eventsFired.computeIfAbsent(eventClass, c -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void observerInvoked(ObserverMethod<?> observerMethod, long nanos)
+    {
+        observerInvocations.computeIfAbsent(observerMethod, o -> new Timing()).add(nanos);
+    }
+
+    @Override
+    public void interceptorChainInvoked(Method method, long nanos)
+    {
+        interceptedInvocations.computeIfAbsent(method, m -> new Timing()).add(nanos);
+    }
+
+    /**
+     * Unregisters the MBean. Gets invoked once the WebBeansContext gets cleared.
+     */
+    @Override
+    public void close()
+    {
+        if (objectName == null)
+        {
+            return;
+        }
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try
+        {
+            if (mBeanServer.isRegistered(objectName))
+            {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        }
+        catch (Exception e)
+        {
+            logger.log(Level.WARNING, "Unable to unregister the OpenWebBeans metrics MBean " + objectName, e);
+        }
+        objectName = null;
+    }
+
+    private static String getBeanName(Bean<?> bean)
+    {
+        if (bean instanceof OwbBean && ((OwbBean<?>) bean).getReturnType() != bean.getBeanClass())
+        {
+            // producers and built-in beans
+            return bean.getBeanClass().getName() + " -> " + ((OwbBean<?>) bean).getReturnType().getName();
+        }
+        return bean.getBeanClass().getName();
+    }
+
+    private static String getMethodName(Method method)
+    {
+        return method.getDeclaringClass().getName() + '#' + method.getName();
+    }
+
+    private static long sum(Map<Class<? extends Annotation>, LongAdder> counters, Class<? extends Annotation> scope)
+    {
+        LongAdder counter = counters.get(scope);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    private static <K> Map<String, Long> counts(Map<K, LongAdder> counters, Function<K, String> naming)
+    {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<K, LongAdder> entry : counters.entrySet())
+        {
+            result.merge(naming.apply(entry.getKey()), entry.getValue().sum(), Long::sum);
+        }
+        return result;
+    }
+
+    private static <K> Map<String, Long> timingCounts(Map<K, Timing> timings, Function<K, String> naming)
+    {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<K, Timing> entry : timings.entrySet())
+        {
+            result.merge(naming.apply(entry.getKey()), entry.getValue().count.sum(), Long::sum);
+        }
+        return result;
+    }
+
+    private static <K> Map<String, Double> averageMicros(Map<K, Timing> timings, Function<K, String> naming)
+    {
+        Map<String, Timing> merged = new TreeMap<>();
+        for (Map.Entry<K, Timing> entry : timings.entrySet())
+        {
+            merged.computeIfAbsent(naming.apply(entry.getKey()), n -> new Timing()).add(entry.getValue());
+        }
+
+        Map<String, Double> result = new TreeMap<>();
+        for (Map.Entry<String, Timing> entry : merged.entrySet())
+        {
+            result.put(entry.getKey(), entry.getValue().averageMicros());
+        }
+        return result;
+    }
+
+    /**
+     * Management interface of the metrics.
+     * Counters are cumulated since the container start or the last {@link #reset()}.
+     */
+    public interface MetricsMXBean
+    {
+        Map<String, Long> getBeanCreations();
+
+        Map<String, Double> getBeanCreationAverageMicros();
+
+        Map<String, Long> getContextualInstancesCreated();
+
+        Map<String, Long> getContextualInstancesDestroyed();
+
+        long getActiveSessionContexts();
+
+        long getActiveConversationContexts();
+
+        Map<String, Long> getEventsFired();
+
+        Map<String, Long> getObserverInvocations();
+
+        Map<String, Double> getObserverAverageMicros();
+
+        Map<String, Long> getInterceptedInvocations();
+
+        Map<String, Double> getInterceptorChainAverageMicros();
+
+        /**
+         * @return hits / (hits + misses) of each internal lookup cache
+         */
+        Map<String, Double> getCacheHitRatios();
+
+        /**
+         * Resets all counters except the active contexts.
+         */
+        void reset();
+    }
+
+    private class Metrics implements MetricsMXBean
+    {
+        @Override
+        public Map<String, Long> getBeanCreations()
+        {
+            return timingCounts(beanCreations, JmxMetricsService::getBeanName);
+        }
+
+        @Override
+        public Map<String, Double> getBeanCreationAverageMicros()
+        {
+            return averageMicros(beanCreations, JmxMetricsService::getBeanName);
+        }
+
+        @Override
+        public Map<String, Long> getContextualInstancesCreated()
+        {
+            return counts(contextualInstancesCreated, Class::getName);
+        }
+
+        @Override
+        public Map<String, Long> getContextualInstancesDestroyed()
+        {
+            return counts(contextualInstancesDestroyed, Class::getName);
+        }
+
+        @Override
+        public long getActiveSessionContexts()
+        {
+            return sum(activeContexts, SessionScoped.class);
+        }
+
+        @Override
+        public long getActiveConversationContexts()
+        {
+            return sum(activeContexts, ConversationScoped.class);
+        }
+
+        @Override
+        public Map<String, Long> getEventsFired()
+        {
+            return counts(eventsFired, Class::getName);
+        }
+
+        @Override
+        public Map<String, Long> getObserverInvocations()
+        {
+            return timingCounts(observerInvocations, StartupProfiler::getObserverName);
+        }
+
+        @Override
+        public Map<String, Double> getObserverAverageMicros()
+        {
+            return averageMicros(observerInvocations, StartupProfiler::getObserverName);
+        }
+
+        @Override
+        public Map<String, Long> getInterceptedInvocations()
+        {
+            return timingCounts(interceptedInvocations, JmxMetricsService::getMethodName);
+        }
+
+        @Override
+        public Map<String, Double> getInterceptorChainAverageMicros()
+        {
+            return averageMicros(interceptedInvocations, JmxMetricsService::getMethodName);
+        }
+
+        @Override
+        public Map<String, Double> getCacheHitRatios()
+        {
+            Map<String, Double> result = new TreeMap<>();
+            for (CacheService.Cache<?, ?> cache : webBeansContext.getCacheService().getCaches())
+            {
+                long requests = cache.getHitCount() + cache.getMissCount();
+                result.put(cache.getName(), requests == 0 ? 0d : (double) cache.getHitCount() / requests);
+            }
+            return result;
+        }
+
+        @Override
+        public void reset()
+        {
+            beanCreations.clear();
+            contextualInstancesCreated.clear();
+            contextualInstancesDestroyed.clear();
+            eventsFired.clear();
+            observerInvocations.clear();
+            interceptedInvocations.clear();
+        }
+    }
+
+    private static final class Timing
+    {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private void add(long elapsedNanos)
+        {
+            count.increment();
+            nanos.add(elapsedNanos);
+        }
+
+        private void add(Timing other)
+        {
+            count.add(other.count.sum());
+            nanos.add(other.nanos.sum());
+        }
+
+        private double averageMicros()
+        {
+            long invocations = count.sum();
+            return invocations == 0 ? 0d : nanos.sum() / 1000d / invocations;
+        }
+    }
+}
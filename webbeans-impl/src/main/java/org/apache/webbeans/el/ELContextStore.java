@@ -39,6 +39,8 @@ import javax.enterprise.inject.spi.Bean;
  *   tuning strategy, because creating a {@link org.apache.webbeans.intercept.NormalScopedBeanInterceptorHandler}
  *   for each and every EL call is very expensive. This needs to be cleaned up with
  *   {@link #destroyELContextStore()} at the end of each request. 
+ *   Once the deployment got validated the EL resolver keeps the client proxies of all
+ *   named beans itself, so this is only used for names resolved before that.
  *  </li>
  * </ol>
  */
@@ -22,18 +22,20 @@ package org.apache.webbeans.event;
 import java.io.Closeable;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -65,15 +67,20 @@ import javax.enterprise.inject.spi.ProcessProducer;
 
 import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.config.StartupProfiler;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.portable.AnnotatedTypeImpl;
 import org.apache.webbeans.portable.events.generics.GProcessObserverMethod;
 import org.apache.webbeans.portable.events.generics.GenericBeanEvent;
 import org.apache.webbeans.portable.events.generics.GenericProducerObserverEvent;
 import org.apache.webbeans.portable.events.generics.TwoParametersGenericBeanEvent;
+import org.apache.webbeans.spi.CacheService;
+import org.apache.webbeans.spi.ContextsService;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.spi.TransactionService;
 import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
@@ -97,9 +104,34 @@ public final class NotificationManager
     /**
      * List of ObserverMethods cached by their raw types.
      */
-    private final ConcurrentHashMap<Class<?>, Set<ObserverMethod<?>>> observersByRawType
+    private final CacheService.Cache<Class<?>, Set<ObserverMethod<?>>> observersByRawType;
+
+    /**
+     * Immutable, pre-sorted observer dispatch plans for non-lifecycle events.
+     * Only filled after the container got started, see {@link #clearCaches()}.
+     */
+    private final ConcurrentMap<ObserverDispatchKey, ObserverMethod<? super Object>[]> dispatchPlans
         = new ConcurrentHashMap<>();
 
+    /**
+     * Maximum number of entries in {@link #dispatchPlans}.
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#EVENT_DISPATCH_CACHE_SIZE
+     */
+    private final int maxDispatchPlans;
+
+    private final MetricsService metricsService;
+
+    /**
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#LAZY_ANNOTATED_TYPES
+     */
+    private final boolean lazyAnnotatedTypes;
+
+    /**
+     * Whether {@link #dispatchPlans} can be used. This is only the case after
+     * {@link AfterDeploymentValidation} as all observer methods are known by then.
+     */
+    private volatile boolean dispatchPlansActive;
+
     // this is actually faster than a lambda Comparator.comparingInt(ObserverMethod::getPriority)
     private Comparator<? super ObserverMethod<? super Object>> observerMethodComparator
         = new Comparator<ObserverMethod<? super Object>>()
@@ -115,6 +147,10 @@ public final class NotificationManager
     {
         this.webBeansContext = webBeansContext;
         this.defaultNotificationOptions = NotificationOptions.ofExecutor(getDefaultExecutor());
+        this.maxDispatchPlans = webBeansContext.getOpenWebBeansConfiguration().getEventDispatchCacheSize();
+        this.observersByRawType = webBeansContext.getCacheService().createCache("NotificationManager.observersByRawType");
+        this.metricsService = webBeansContext.getMetricsService();
+        this.lazyAnnotatedTypes = webBeansContext.getOpenWebBeansConfiguration().isLazyAnnotatedTypes();
     }
 
     private Executor getDefaultExecutor()
@@ -136,6 +172,8 @@ public final class NotificationManager
     {
         observersByRawType.clear();
         hasContextLifecycleEventObservers.clear();
+        dispatchPlans.clear();
+        dispatchPlansActive = maxDispatchPlans > 0;
     }
 
     /**
@@ -188,6 +226,9 @@ public final class NotificationManager
         }
 
         set.add(observer);
+
+        // a new observer invalidates all the already computed plans
+        dispatchPlans.clear();
     }
 
 
@@ -245,6 +286,17 @@ public final class NotificationManager
             return true;
         }
 
+        if (lazyAnnotatedTypes && annotatedType instanceof AnnotatedTypeImpl
+            && !((AnnotatedTypeImpl) annotatedType).isMembersInitialized())
+        {
+            // the members are not modified, so check the java class instead of creating them
+            if (javaMembersHaveAnnotations(annotatedType.getJavaClass(), withAnnotations))
+            {
+                return true;
+            }
+            return constructorsHaveAnnotations(annotatedType, withAnnotations);
+        }
+
         Set<AnnotatedField> fields = annotatedType.getFields();
         for (AnnotatedField annotatedField : fields)
         {
@@ -270,6 +322,11 @@ public final class NotificationManager
             }
         }
 
+        return constructorsHaveAnnotations(annotatedType, withAnnotations);
+    }
+
+    private boolean constructorsHaveAnnotations(AnnotatedType annotatedType, Class<? extends Annotation>[] withAnnotations)
+    {
         Set<AnnotatedConstructor<?>> annotatedConstructors = annotatedType.getConstructors();
         for (AnnotatedConstructor<?> annotatedConstructor : annotatedConstructors)
         {
@@ -289,6 +346,72 @@ public final class NotificationManager
         return false;
     }
 
+    /**
+     * Same as checking the fields and methods of an unmodified
+     * {@link AnnotatedTypeImpl}, which also contains the members of all superclasses.
+     * This includes superclass methods which got overridden, as AnnotatedTypeImpl keeps them as well.
+     */
+    private boolean javaMembersHaveAnnotations(Class<?> clazz, Class<? extends Annotation>[] withAnnotations)
+    {
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass())
+        {
+            for (Field field : webBeansContext.getSecurityService().doPrivilegedGetDeclaredFields(current))
+            {
+                if (!field.isSynthetic() && hasAnnotation(field.getDeclaredAnnotations(), withAnnotations))
+                {
+                    return true;
+                }
+            }
+            for (Method method : webBeansContext.getSecurityService().doPrivilegedGetDeclaredMethods(current))
+            {
+                if (method.isSynthetic() || method.isBridge())
+                {
+                    continue;
+                }
+                if (hasAnnotation(method.getDeclaredAnnotations(), withAnnotations))
+                {
+                    return true;
+                }
+                for (Annotation[] parameterAnnotations : method.getParameterAnnotations())
+                {
+                    if (hasAnnotation(parameterAnnotations, withAnnotations))
+                    {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hasAnnotation(Annotation[] annotations, Class<? extends Annotation>[] withAnnotations)
+    {
+        if (annotations.length == 0)
+        {
+            return false;
+        }
+
+        // like AbstractAnnotated, also look into the containers of repeatable annotations
+        Set<Annotation> allAnnotations = new HashSet<>();
+        for (Annotation annotation : annotations)
+        {
+            allAnnotations.add(annotation);
+            Optional<Method> repeatableMethod = webBeansContext.getAnnotationManager().getRepeatableMethod(annotation.annotationType());
+            if (repeatableMethod.isPresent())
+            {
+                try
+                {
+                    allAnnotations.addAll(Arrays.asList((Annotation[]) repeatableMethod.get().invoke(annotation)));
+                }
+                catch (Exception e)
+                {
+                    // same as AbstractAnnotated, ignore it
+                }
+            }
+        }
+        return hasAnnotation(allAnnotations, withAnnotations);
+    }
+
     private boolean hasAnnotation(Set<Annotation> annotations, Class<? extends Annotation>[] withAnnotations)
     {
         for (Class<? extends Annotation> withAnnotation : withAnnotations)
@@ -649,27 +772,19 @@ public final class NotificationManager
             throw new IllegalArgumentException("Firing container events is forbidden");
         }
 
-        LinkedList<ObserverMethod<? super Object>> observerMethods = new LinkedList<>(resolveObservers(event, metadata, isLifecycleEvent));
-
-        // async doesn't apply to Extension lifecycle events
-        if (!isLifecycleEvent)
+        ObserverMethod<? super Object>[] observerMethods;
+        if (!isLifecycleEvent && dispatchPlansActive)
         {
-            // filter for all async or all synchronous observermethods
-            // oldschool and not Streams, because of performance and avoiding tons of temporary objects
-            Iterator<ObserverMethod<? super Object>> observerMethodIterator = observerMethods.iterator();
-            while (observerMethodIterator.hasNext())
-            {
-                if (async != observerMethodIterator.next().isAsync())
-                {
-                    observerMethodIterator.remove();
-                }
-            }
+            observerMethods = getDispatchPlan(event, metadata, async);
+        }
+        else
+        {
+            observerMethods = resolveDispatchPlan(event, metadata, isLifecycleEvent, async);
         }
 
-        // new in CDI-2.0: sort observers
-        if (observerMethods.size() > 1)
+        if (metricsService.isEnabled())
         {
-            observerMethods.sort(observerMethodComparator);
+            metricsService.eventFired(event.getClass(), observerMethods.length);
         }
 
         List<CompletableFuture<Void>> completableFutures = async ? new ArrayList<>() : null;
@@ -760,6 +875,68 @@ public final class NotificationManager
         return async ? complete(completableFutures, (T) event) : null;
     }
 
+    /**
+     * @return the number of currently cached observer dispatch plans
+     */
+    public int getDispatchPlanCount()
+    {
+        return dispatchPlans.size();
+    }
+
+    /**
+     * Get the pre-sorted observer methods for the given event from the cache
+     * or resolve and store them if not yet known.
+     * The number of cached plans is limited by {@link #maxDispatchPlans}.
+     * If this limit is reached we still resolve the plan but do not store it anymore.
+     */
+    private ObserverMethod<? super Object>[] getDispatchPlan(Object event, EventMetadataImpl metadata, boolean async)
+    {
+        ObserverDispatchKey key = new ObserverDispatchKey(event.getClass(), metadata.validatedType(), metadata.getQualifiers(), async);
+        ObserverMethod<? super Object>[] observerMethods = dispatchPlans.get(key);
+        if (observerMethods == null)
+        {
+            observerMethods = resolveDispatchPlan(event, metadata, false, async);
+            if (dispatchPlans.size() < maxDispatchPlans)
+            {
+                ObserverMethod<? super Object>[] existing = dispatchPlans.putIfAbsent(key, observerMethods);
+                if (existing != null)
+                {
+                    observerMethods = existing;
+                }
+            }
+        }
+        return observerMethods;
+    }
+
+    /**
+     * Resolve all observer methods for the given event, filtered by sync/async and
+     * sorted by their priority.
+     */
+    private ObserverMethod<? super Object>[] resolveDispatchPlan(Object event, EventMetadataImpl metadata,
+                                                                 boolean isLifecycleEvent, boolean async)
+    {
+        Collection<ObserverMethod<? super Object>> resolvedObservers = resolveObservers(event, metadata, isLifecycleEvent);
+        List<ObserverMethod<? super Object>> observerMethods = new ArrayList<>(resolvedObservers.size());
+
+        // async doesn't apply to Extension lifecycle events
+        // oldschool and not Streams, because of performance and avoiding tons of temporary objects
+        for (ObserverMethod<? super Object> observerMethod : resolvedObservers)
+        {
+            if (isLifecycleEvent || async == observerMethod.isAsync())
+            {
+                observerMethods.add(observerMethod);
+            }
+        }
+
+        // new in CDI-2.0: sort observers
+        if (observerMethods.size() > 1)
+        {
+            observerMethods.sort(observerMethodComparator);
+        }
+
+        return observerMethods.toArray(new ObserverMethod[observerMethods.size()]);
+    }
+
     private <T> CompletableFuture<T> complete(List<CompletableFuture<Void>> completableFutures, T event)
     {
         if (completableFutures == null)
@@ -801,21 +978,52 @@ public final class NotificationManager
 
     private void runAsync(Object event, EventMetadataImpl metadata, ObserverMethod<? super Object> observer)
     {
-        //X TODO set up threads, requestcontext etc
-        webBeansContext.getContextsService().startContext(RequestScoped.class, null);
+        ContextsService contextsService = webBeansContext.getContextsService();
+
+        // async observers get their own fresh request context.
+        // Detach whatever is bound to the executing thread (e.g. for a caller-runs Executor)
+        // and hand it back afterwards instead of ending the contexts of the caller.
+        Object previousContexts = contextsService.activateContexts(null);
+        contextsService.startContext(RequestScoped.class, null);
         try
         {
             invokeObserverMethod(event, metadata, observer);
         }
         finally
         {
-            webBeansContext.getContextsService().endContext(RequestScoped.class, null);
+            contextsService.endContext(RequestScoped.class, null);
+            contextsService.restoreContexts(previousContexts);
         }
     }
 
     private <T> void invokeObserverMethod(T event, EventMetadataImpl metadata, ObserverMethod<?> observer)
     {
-        observer.notify(new EventContextImpl(event, metadata));
+        StartupProfiler startupProfiler = webBeansContext.getStartupProfiler();
+        boolean profiling = startupProfiler.isRecording();
+        boolean measure = metricsService.isEnabled();
+        if (!profiling && !measure)
+        {
+            observer.notify(new EventContextImpl(event, metadata));
+            return;
+        }
+
+        long start = System.nanoTime();
+        try
+        {
+            observer.notify(new EventContextImpl(event, metadata));
+        }
+        finally
+        {
+            long elapsed = System.nanoTime() - start;
+            if (profiling)
+            {
+                startupProfiler.recordObserver(observer, elapsed);
+            }
+            if (measure)
+            {
+                metricsService.observerInvoked(observer, elapsed);
+            }
+        }
     }
 
     /**
@@ -912,6 +1120,58 @@ public final class NotificationManager
         }
     }
 
+    /**
+     * Cache key for the observer dispatch plans.
+     * The qualifiers already contain &#064;Any, see {@link EventMetadataImpl}.
+     */
+    private static final class ObserverDispatchKey
+    {
+        private final Class<?> eventClass;
+        private final Type declaredType;
+        private final Set<Annotation> qualifiers;
+        private final boolean async;
+        private final int hashCode;
+
+        private ObserverDispatchKey(Class<?> eventClass, Type declaredType, Set<Annotation> qualifiers, boolean async)
+        {
+            this.eventClass = eventClass;
+            this.declaredType = declaredType;
+            this.qualifiers = qualifiers;
+            this.async = async;
+
+            // this class is directly used in ConcurrentHashMap.get() so simply init the hashCode here
+            int result = eventClass.hashCode();
+            result = 31 * result + declaredType.hashCode();
+            result = 31 * result + qualifiers.hashCode();
+            hashCode = 31 * result + (async ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+
+            ObserverDispatchKey that = (ObserverDispatchKey) o;
+            return async == that.async
+                && eventClass == that.eventClass
+                && declaredType.equals(that.declaredType)
+                && qualifiers.equals(that.qualifiers);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+
     private static final class CloseableExecutor implements Executor, Closeable
     {
         private final Collection<Runnable> tracker = new CopyOnWriteArrayList<>();
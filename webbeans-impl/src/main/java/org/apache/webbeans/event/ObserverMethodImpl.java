@@ -19,14 +19,15 @@
 package org.apache.webbeans.event;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -118,6 +119,18 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
     private boolean isAsync;
     
+    /**
+     * The injection points of the observer method together with their resolved beans.
+     * Only gets cached after the deployment got validated and only is valid
+     * as long as {@link BeanManagerImpl#getBeansVersion()} did not change.
+     */
+    private volatile ResolvedInjectionPoints resolvedInjectionPoints;
+
+    /**
+     * Invokes the observer method with (Object instance, Object[] args).
+     */
+    private volatile MethodHandle invoker;
+
     private static class ObserverParams
     {
         private Bean<Object> bean;
@@ -125,8 +138,20 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
         private Object instance;
         
         private CreationalContext<Object> creational;
-        
-        private boolean isBean;
+    }
+
+    private static final class ResolvedInjectionPoints
+    {
+        private final int beansVersion;
+        private final InjectionPoint[] injectionPoints;
+        private final Bean<Object>[] beans;
+
+        private ResolvedInjectionPoints(int beansVersion, InjectionPoint[] injectionPoints, Bean<Object>[] beans)
+        {
+            this.beansVersion = beansVersion;
+            this.injectionPoints = injectionPoints;
+            this.beans = beans;
+        }
     }
 
     /**
@@ -264,10 +289,12 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
         }
 
         Object object = null;
-        
-        List<ObserverParams> methodArgsMap = getMethodArguments(event, metadata);
-        
+
         BeanManagerImpl manager = ownerBean.getWebBeansContext().getBeanManagerImpl();
+
+        ObserverParams[] injectedParams = getInjectedParameters(manager, metadata);
+        Object[] args = getMethodArguments(event, injectedParams);
+
         CreationalContextImpl<Object> creationalContext = manager.createCreationalContext(component);
         if (metadata != null)
         {
@@ -275,18 +302,8 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
             creationalContext.putEventMetadata(metadata);
         }
         
-        ObserverParams[] obargs = null;
         try
         {
-            obargs = new ObserverParams[methodArgsMap.size()];
-            obargs = methodArgsMap.toArray(obargs);
-            Object[] args = new Object[obargs.length];
-            int i = 0;
-            for(ObserverParams param : obargs)
-            {
-                args[i++] = param.instance;
-            }
-
             //Static or not
             if (Modifier.isStatic(view.getModifiers()))
             {
@@ -295,7 +312,7 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
                     view.setAccessible(true);
                 }
                 //Invoke Method
-                view.invoke(null, args);
+                invokeObserver(null, args);
             }
             else
             {
@@ -385,11 +402,11 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
             }
             
             //Destroy observer method dependent instances
-            if(methodArgsMap != null)
+            if (injectedParams != null)
             {
-                for(ObserverParams param : obargs)
+                for (ObserverParams param : injectedParams)
                 {
-                    if(param.isBean && param.bean.getScope().equals(Dependent.class))
+                    if (param.bean.getScope().equals(Dependent.class))
                     {
                         param.bean.destroy(param.instance, param.creational);
                     }
@@ -401,33 +418,68 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
     protected void invoke(Object object, Object[] args) throws IllegalAccessException, InvocationTargetException
     {
-        view.invoke(object, args);
+        invokeObserver(object, args);
     }
 
     /**
-     * Gets observer method parameters.
-     * @param event event payload
-     * @return observer method parameters
+     * Invokes the observer method via a {@link MethodHandle} which gets created once
+     * and then spreads the arguments directly into the observer method.
+     *
+     * @param object the bean instance or {@code null} for static observer methods
      */
-    protected List<ObserverParams> getMethodArguments(Object event, EventMetadata metadata)
+    private void invokeObserver(Object object, Object[] args) throws IllegalAccessException, InvocationTargetException
     {
-        List<ObserverParams> list = new ArrayList<>();
-        if (annotatedObservesParameter.getPosition() == 0)
+        MethodHandle handle = invoker;
+        if (handle == null)
         {
-            ObserverParams param = new ObserverParams();
-            param.instance = event;
-            list.add(param);
+            // the Method is accessible at this point, so the Lookup doesn't need to have access itself
+            handle = MethodHandles.lookup().unreflect(view);
+            if (Modifier.isStatic(view.getModifiers()))
+            {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            handle = handle.asSpreader(Object[].class, view.getParameterTypes().length)
+                           .asType(MethodType.methodType(void.class, Object.class, Object[].class));
+            invoker = handle;
         }
-        WebBeansContext webBeansContext = ownerBean.getWebBeansContext();
-        BeanManagerImpl manager = webBeansContext.getBeanManagerImpl();
 
-        for (InjectionPoint injectionPoint: injectionPoints)
+        try
         {
-            Bean<Object> injectedBean = (Bean<Object>)manager.getInjectionResolver().getInjectionPointBean(injectionPoint);
-            
+            handle.invokeExact(object, args);
+        }
+        catch (Throwable t)
+        {
+            // same behaviour as Method#invoke
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Resolves the contextual references for all parameters of the observer method
+     * which are not the event itself.
+     *
+     * @return the injected parameters in the order of the {@link #injectionPoints}
+     *         or {@code null} if the observer method has no further parameters
+     */
+    private ObserverParams[] getInjectedParameters(BeanManagerImpl manager, EventMetadata metadata)
+    {
+        if (injectionPoints.isEmpty())
+        {
+            return null;
+        }
+
+        ResolvedInjectionPoints resolved = getResolvedInjectionPoints(manager);
+        ObserverParams[] params = new ObserverParams[resolved.injectionPoints.length];
+        for (int i = 0; i < params.length; i++)
+        {
+            Bean<Object> injectedBean = resolved.beans[i];
+
             CreationalContextImpl<Object> creational = manager.createCreationalContext(injectedBean);
-            creational.putInjectionPoint(metadata.getInjectionPoint());
-            creational.putInjectionPoint(injectionPoint);
+            if (metadata != null)
+            {
+                creational.putInjectionPoint(metadata.getInjectionPoint());
+            }
+            creational.putInjectionPoint(resolved.injectionPoints[i]);
             creational.putEventMetadata(metadata);
             Object instance;
             try
@@ -438,25 +490,68 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
             {
                 creational.removeEventMetadata();
                 creational.removeInjectionPoint();
-                creational.removeInjectionPoint();
+                if (metadata != null)
+                {
+                    creational.removeInjectionPoint();
+                }
             }
-                                
+
             ObserverParams param = new ObserverParams();
-            param.isBean = true;
             param.creational = creational;
             param.instance = instance;
             param.bean = injectedBean;
-            list.add(param);
+            params[i] = param;
+        }
+        return params;
+    }
 
-            if (list.size() == annotatedObservesParameter.getPosition())
+    /**
+     * The beans of the injection points only get resolved again
+     * if a bean got added after the deployment got validated.
+     */
+    private ResolvedInjectionPoints getResolvedInjectionPoints(BeanManagerImpl manager)
+    {
+        ResolvedInjectionPoints resolved = resolvedInjectionPoints;
+        int beansVersion = manager.getBeansVersion();
+        if (resolved == null || resolved.beansVersion != beansVersion)
+        {
+            InjectionPoint[] injectionPointArray = injectionPoints.toArray(new InjectionPoint[injectionPoints.size()]);
+            Bean<Object>[] beans = new Bean[injectionPointArray.length];
+            for (int i = 0; i < injectionPointArray.length; i++)
             {
-                param = new ObserverParams();
-                param.instance = event;
-                list.add(param);                 
+                beans[i] = (Bean<Object>) manager.getInjectionResolver().getInjectionPointBean(injectionPointArray[i]);
+            }
+
+            resolved = new ResolvedInjectionPoints(beansVersion, injectionPointArray, beans);
+            if (manager.isAfterDeploymentValidationFired())
+            {
+                resolvedInjectionPoints = resolved;
             }
         }
-                
-        return list;
+        return resolved;
+    }
+
+    /**
+     * Gets observer method parameters.
+     * @param event event payload
+     * @param injectedParams the other parameters of the observer method or {@code null} if there are none
+     * @return observer method parameters
+     */
+    private Object[] getMethodArguments(Object event, ObserverParams[] injectedParams)
+    {
+        if (injectedParams == null)
+        {
+            return new Object[]{event};
+        }
+
+        Object[] args = new Object[injectedParams.length + 1];
+        int eventPosition = annotatedObservesParameter.getPosition();
+        int param = 0;
+        for (int i = 0; i < args.length; i++)
+        {
+            args[i] = i == eventPosition ? event : injectedParams[param++].instance;
+        }
+        return args;
     }
 
     /**
@@ -56,13 +56,16 @@ public abstract class AbstractInjectable<T>
     
     protected final CreationalContextImpl<?> creationalContext;
     
+    /**
+     * Only gets created for &#64;TransientReference injection points,
+     * see {@link #getTransientCreationalContext()}.
+     */
     protected CreationalContextImpl<?> transientCreationalContext;
 
     protected AbstractInjectable(Producer<?> owner, CreationalContextImpl<?> creationalContext)
     {
         this.owner = owner;
         this.creationalContext = creationalContext;
-        this.transientCreationalContext = creationalContext.getWebBeansContext().getBeanManagerImpl().createCreationalContext(creationalContext.getContextual());
     }
 
     /**
@@ -72,11 +75,20 @@ public abstract class AbstractInjectable<T>
      */
     public T inject(InjectionPoint injectionPoint)
     {
-        T injected;
         BeanManagerImpl beanManager = creationalContext.getWebBeansContext().getBeanManagerImpl();
+        return inject(injectionPoint, beanManager.getInjectionResolver().getInjectionPointBean(injectionPoint));
+    }
 
-        //Injected contextual bean
-        Bean<?> injectedBean = beanManager.getInjectionResolver().getInjectionPointBean(injectionPoint);
+    /**
+     * Gets the injected bean instance for an already resolved bean.
+     * @param injectionPoint injection point definition
+     * @param injectedBean the bean resolved for the given injection point
+     * @return current bean instance in the resolved bean scope
+     */
+    protected T inject(InjectionPoint injectionPoint, Bean<?> injectedBean)
+    {
+        T injected;
+        BeanManagerImpl beanManager = creationalContext.getWebBeansContext().getBeanManagerImpl();
         
         //Injection for dependent instance InjectionPoint fields
         boolean dependentProducer = false;
@@ -89,7 +101,7 @@ public abstract class AbstractInjectable<T>
         CreationalContext<?> injectionPointContext;
         if (injectionPoint.getAnnotated().isAnnotationPresent(TransientReference.class))
         {
-            injectionPointContext = transientCreationalContext;
+            injectionPointContext = getTransientCreationalContext();
         }
         else
         {
@@ -97,7 +109,7 @@ public abstract class AbstractInjectable<T>
         }
 
         //Gets injectable reference for injected bean
-        injected = (T) beanManager.getInjectableReference(injectionPoint, injectionPointContext);
+        injected = (T) beanManager.getInjectableReference(injectionPoint, injectedBean, injectionPointContext);
 
         if (injected == null)
         {
@@ -125,6 +137,27 @@ public abstract class AbstractInjectable<T>
         return injected;
     }
     
+    protected CreationalContextImpl<?> getTransientCreationalContext()
+    {
+        if (transientCreationalContext == null)
+        {
+            transientCreationalContext = getWebBeansContext().getBeanManagerImpl().createCreationalContext(creationalContext.getContextual());
+        }
+        return transientCreationalContext;
+    }
+
+    /**
+     * Destroys the dependent instances of &#64;TransientReference injection points.
+     */
+    protected void releaseTransientCreationalContext()
+    {
+        if (transientCreationalContext != null)
+        {
+            transientCreationalContext.release();
+            transientCreationalContext = null;
+        }
+    }
+
     protected Contextual<?> getBean()
     {
         return creationalContext.getBean();
@@ -70,7 +70,7 @@ public class InjectableConstructor<T> extends AbstractInjectable<T>
             }
             
             instance = con.newInstance(createParameters());
-            transientCreationalContext.release();
+            releaseTransientCreationalContext();
             return instance;
         }
         catch (Exception e)
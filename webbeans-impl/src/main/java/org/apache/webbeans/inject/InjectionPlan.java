@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.inject;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.inject.spi.AnnotatedParameter;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.inject.spi.Producer;
+
+import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.InjectionResolver;
+import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.proxy.OwbNormalScopeProxy;
+import org.apache.webbeans.spi.ResourceInjectionService;
+import org.apache.webbeans.spi.SecurityService;
+
+/**
+ * The compiled field and initializer method injection of an
+ * {@link javax.enterprise.inject.spi.InjectionTarget} for a single instance class.
+ *
+ * <p>The steps are ordered like the spec mandates: superclass members before subclass
+ * members and fields before initializer methods within each class.
+ * The beans of all injection points get resolved while the plan gets built,
+ * the members are made accessible upfront and the initializer parameters
+ * are sorted by their position. Injecting an instance thus only needs to
+ * create the injected references.</p>
+ *
+ * <p>A plan must only be built once the container got deployed.
+ * Beans which get added afterwards might change the resolution, so a plan
+ * is only valid as long as {@link org.apache.webbeans.container.BeanManagerImpl#getBeansVersion()}
+ * did not change, see {@link #getBeansVersion()}.</p>
+ *
+ * @see org.apache.webbeans.portable.InjectionTargetImpl
+ */
+public class InjectionPlan<T>
+{
+    private final Class<?> type;
+    private final int beansVersion;
+    private final Producer<T> owner;
+    private final InjectionStep[] steps;
+
+    private InjectionPlan(Class<?> type, int beansVersion, Producer<T> owner, List<InjectionStep> steps)
+    {
+        this.type = type;
+        this.beansVersion = beansVersion;
+        this.owner = owner;
+        this.steps = steps.toArray(new InjectionStep[steps.size()]);
+    }
+
+    /**
+     * @return the instance class this plan got built for
+     */
+    public Class<?> getType()
+    {
+        return type;
+    }
+
+    /**
+     * @return the {@link org.apache.webbeans.container.BeanManagerImpl#getBeansVersion()} the beans got resolved with
+     */
+    public int getBeansVersion()
+    {
+        return beansVersion;
+    }
+
+    public void inject(T instance, CreationalContextImpl<T> creationalContext)
+    {
+        PlannedInjectable injectable = new PlannedInjectable(owner, creationalContext);
+        for (InjectionStep step : steps)
+        {
+            step.inject(instance, injectable);
+        }
+    }
+
+    /**
+     * Builds an {@link InjectionPlan}. The steps must be added
+     * in the order they need to be performed.
+     */
+    public static class Builder<T>
+    {
+        private final Class<?> type;
+        private final int beansVersion;
+        private final Producer<T> owner;
+        private final InjectionResolver injectionResolver;
+        private final SecurityService securityService;
+        private final List<InjectionStep> steps = new ArrayList<>();
+
+        public Builder(Class<?> type, Producer<T> owner, WebBeansContext webBeansContext)
+        {
+            this.type = type;
+            this.owner = owner;
+            // read before resolving anything, a concurrently added bean then only leads to another rebuild
+            this.beansVersion = webBeansContext.getBeanManagerImpl().getBeansVersion();
+            this.injectionResolver = webBeansContext.getBeanManagerImpl().getInjectionResolver();
+            this.securityService = webBeansContext.getSecurityService();
+        }
+
+        public Builder<T> addField(Field field, InjectionPoint injectionPoint)
+        {
+            makeAccessible(field);
+            steps.add(new FieldStep(field, injectionPoint, resolve(injectionPoint)));
+            return this;
+        }
+
+        /**
+         * @param injectionPoints the injection points of the method parameters in any order
+         */
+        public Builder<T> addMethod(Method method, List<InjectionPoint> injectionPoints)
+        {
+            makeAccessible(method);
+
+            InjectionPoint[] parameters = new InjectionPoint[injectionPoints.size()];
+            for (InjectionPoint injectionPoint : injectionPoints)
+            {
+                parameters[((AnnotatedParameter<?>) injectionPoint.getAnnotated()).getPosition()] = injectionPoint;
+            }
+            Bean<?>[] beans = new Bean<?>[parameters.length];
+            for (int i = 0; i < parameters.length; i++)
+            {
+                beans[i] = resolve(parameters[i]);
+            }
+
+            steps.add(new MethodStep(method, parameters, beans));
+            return this;
+        }
+
+        public Builder<T> addResourceInjection(ResourceInjectionService resourceInjectionService)
+        {
+            steps.add(new ResourceStep(resourceInjectionService));
+            return this;
+        }
+
+        public InjectionPlan<T> build()
+        {
+            return new InjectionPlan<>(type, beansVersion, owner, steps);
+        }
+
+        private Bean<?> resolve(InjectionPoint injectionPoint)
+        {
+            if (injectionPoint.isDelegate())
+            {
+                // the delegate gets taken from the CreationalContext
+                return null;
+            }
+            return injectionResolver.getInjectionPointBean(injectionPoint);
+        }
+
+        private void makeAccessible(Field field)
+        {
+            if (!field.isAccessible())
+            {
+                securityService.doPrivilegedSetAccessible(field, true);
+            }
+        }
+
+        private void makeAccessible(Method method)
+        {
+            if (!method.isAccessible())
+            {
+                securityService.doPrivilegedSetAccessible(method, true);
+            }
+        }
+    }
+
+    /**
+     * A single injection into one member of an instance.
+     */
+    private interface InjectionStep
+    {
+        void inject(Object instance, PlannedInjectable injectable);
+    }
+
+    private static final class FieldStep implements InjectionStep
+    {
+        private final Field field;
+        private final InjectionPoint injectionPoint;
+        private final Bean<?> bean;
+
+        private FieldStep(Field field, InjectionPoint injectionPoint, Bean<?> bean)
+        {
+            this.field = field;
+            this.injectionPoint = injectionPoint;
+            this.bean = bean;
+        }
+
+        @Override
+        public void inject(Object instance, PlannedInjectable injectable)
+        {
+            try
+            {
+                field.set(instance, injectable.inject(injectionPoint, bean));
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new WebBeansException(e);
+            }
+        }
+    }
+
+    private static final class MethodStep implements InjectionStep
+    {
+        private final Method method;
+        private final InjectionPoint[] injectionPoints;
+        private final Bean<?>[] beans;
+
+        private MethodStep(Method method, InjectionPoint[] injectionPoints, Bean<?>[] beans)
+        {
+            this.method = method;
+            this.injectionPoints = injectionPoints;
+            this.beans = beans;
+        }
+
+        @Override
+        public void inject(Object instance, PlannedInjectable injectable)
+        {
+            Object owner = instance;
+            if (owner instanceof OwbNormalScopeProxy)
+            {
+                owner = NormalScopeProxyFactory.unwrapInstance(owner);
+            }
+
+            Object[] parameters = new Object[injectionPoints.length];
+            for (int i = 0; i < parameters.length; i++)
+            {
+                parameters[i] = injectable.inject(injectionPoints[i], beans[i]);
+            }
+
+            try
+            {
+                method.invoke(owner, parameters);
+            }
+            catch (Exception e)
+            {
+                throw new WebBeansException(e);
+            }
+            finally
+            {
+                injectable.releaseTransientCreationalContext();
+            }
+        }
+    }
+
+    private static final class ResourceStep implements InjectionStep
+    {
+        private final ResourceInjectionService resourceInjectionService;
+
+        private ResourceStep(ResourceInjectionService resourceInjectionService)
+        {
+            this.resourceInjectionService = resourceInjectionService;
+        }
+
+        @Override
+        public void inject(Object instance, PlannedInjectable injectable)
+        {
+            try
+            {
+                resourceInjectionService.injectJavaEEResources(instance);
+            }
+            catch (Exception e)
+            {
+                throw new WebBeansException(MessageFormat.format(
+                    WebBeansLoggerFacade.getTokenString(OWBLogConst.ERROR_0023), instance), e);
+            }
+        }
+    }
+
+    /**
+     * Shared by all steps of a single {@link #inject(Object, CreationalContextImpl)} call.
+     */
+    private static final class PlannedInjectable extends AbstractInjectable<Object>
+    {
+        private PlannedInjectable(Producer<?> owner, CreationalContextImpl<?> creationalContext)
+        {
+            super(owner, creationalContext);
+        }
+
+        @Override
+        protected Object inject(InjectionPoint injectionPoint, Bean<?> injectedBean)
+        {
+            if (injectionPoint.isDelegate())
+            {
+                return creationalContext.getDelegate();
+            }
+            return super.inject(injectionPoint, injectedBean);
+        }
+    }
+}
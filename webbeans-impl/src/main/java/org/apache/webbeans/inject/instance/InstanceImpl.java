@@ -27,6 +27,7 @@ import java.lang.reflect.Member;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
@@ -75,6 +76,15 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     /** Qualifier annotations appeared on the injection point */
     private Set<Annotation> qualifierAnnotations = new HashSet<>();
 
+    /** The {@link #qualifierAnnotations} as array as needed for the resolution */
+    private transient Annotation[] qualifierArray;
+
+    /**
+     * The beans resolved for this Instance. Only gets cached after the deployment
+     * and gets recomputed if the beans of the BeanManager changed in the meantime.
+     */
+    private transient volatile ResolvedBeans resolvedBeans;
+
     private WebBeansContext webBeansContext;
 
     private Map<Object, CreationalContextImpl<?>> creationalContexts;
@@ -110,6 +120,7 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         {
             qualifierAnnotations.add(ann);
         }
+        qualifierArray = qualifierAnnotations.toArray(new Annotation[qualifierAnnotations.size()]);
     }
 
     /**
@@ -120,21 +131,47 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     @Override
     public T get()
     {
+        ResolvedBeans resolved = getResolvedBeans();
+        if (resolved != null && resolved.uniqueBean != null)
+        {
+            return create(resolved.uniqueBean);
+        }
 
-        Set<Bean<?>> beans = resolveBeans();
+        Set<Bean<?>> beans = resolved != null ? resolved.beans : resolveBeans();
 
         Bean<?> bean = webBeansContext.getBeanManagerImpl().resolve(beans);
 
         if (bean == null)
         {
-            Annotation[] anns = new Annotation[qualifierAnnotations.size()];
-            anns = qualifierAnnotations.toArray(anns);
-            InjectionExceptionUtil.throwUnsatisfiedResolutionException(ClassUtil.getClazz(injectionClazz), injectionPoint, anns);
+            InjectionExceptionUtil.throwUnsatisfiedResolutionException(ClassUtil.getClazz(injectionClazz), injectionPoint, qualifierArray.clone());
         }
 
         return create(bean);
     }
 
+    /**
+     * Returns the cached resolution result. The result only gets cached once the container got deployed
+     * as beans might still get added or vetoed before.
+     *
+     * @return the resolved beans or {@code null} if the container is not yet deployed
+     */
+    private ResolvedBeans getResolvedBeans()
+    {
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        if (!beanManager.isAfterDeploymentValidationFired())
+        {
+            return null;
+        }
+
+        ResolvedBeans resolved = resolvedBeans;
+        int beansVersion = beanManager.getBeansVersion();
+        if (resolved == null || resolved.beansVersion != beansVersion)
+        {
+            resolved = new ResolvedBeans(beansVersion, resolveBeans());
+            resolvedBeans = resolved;
+        }
+        return resolved;
+    }
 
     /**
      * Returns set of resolved beans.
@@ -143,9 +180,6 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
      */
     private Set<Bean<?>> resolveBeans()
     {
-        Annotation[] anns = new Annotation[qualifierAnnotations.size()];
-        anns = qualifierAnnotations.toArray(anns);
-
         InjectionResolver injectionResolver = webBeansContext.getBeanManagerImpl().getInjectionResolver();
 
         Bean<?> injectionPointBean = injectionPoint != null ? injectionPoint.getBean() : null;
@@ -154,7 +188,7 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         {
             injectionPointClass = injectionPointBean.getBeanClass();
         }
-        Set<Bean<?>> beans = injectionResolver.implResolveByType(false, injectionClazz, injectionPointClass, anns);
+        Set<Bean<?>> beans = injectionResolver.implResolveByType(false, injectionClazz, injectionPointClass, qualifierArray);
         return injectionResolver.resolveAll(beans);
     }
     
@@ -164,6 +198,12 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     @Override
     public boolean isAmbiguous()
     {
+        ResolvedBeans resolved = getResolvedBeans();
+        if (resolved != null)
+        {
+            return resolved.beanArray.length > 1;
+        }
+
         Set<Bean<?>> beans = resolveBeans();
         
         return beans.size() > 1;
@@ -175,6 +215,12 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     @Override
     public boolean isUnsatisfied()
     {
+        ResolvedBeans resolved = getResolvedBeans();
+        if (resolved != null)
+        {
+            return resolved.beanArray.length == 0;
+        }
+
         Set<Bean<?>> beans = resolveBeans();
         
         return beans.isEmpty();
@@ -213,14 +259,10 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         if(sub == null)
         {
             sub = injectionClazz;
-        }
-        if (qualifiers== null || qualifiers.length == 0)
-        {
-
         }
         Annotation[] effectiveQualifiers = qualifiers != null && qualifiers.length > 0
             ? qualifiers
-            : qualifierAnnotations.toArray(new Annotation[qualifierAnnotations.size()]);
+            : qualifierArray.clone();
 
         return new InstanceImpl<>(sub, injectionPoint, webBeansContext, parentCreationalContext, effectiveQualifiers);
     }
@@ -240,8 +282,9 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     @Override
     public Iterator<T> iterator()
     {
-        Set<Bean<?>> beans = resolveBeans();
-        List<T> instances = new ArrayList<>();
+        ResolvedBeans resolved = getResolvedBeans();
+        Collection<Bean<?>> beans = resolved != null ? Arrays.asList(resolved.beanArray) : resolveBeans();
+        List<T> instances = new ArrayList<>(beans.size());
         parentCreationalContext.putInjectionPoint(injectionPoint);
         try
         {
@@ -333,6 +376,7 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         ObjectInputStream inputStream = new OwbCustomObjectInputStream(in, WebBeansUtil.getCurrentClassLoader());
         injectionClazz = (Type)inputStream.readObject();
         qualifierAnnotations = (Set<Annotation>)inputStream.readObject();
+        qualifierArray = qualifierAnnotations.toArray(new Annotation[qualifierAnnotations.size()]);
         injectionPoint = (InjectionPoint) inputStream.readObject();
         parentCreationalContext = webBeansContext.getBeanManagerImpl().createCreationalContext(null); // TODO: check what we can do
     }
@@ -373,6 +417,33 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         }
     }
 
+    /**
+     * The result of {@link #resolveBeans()} for a given {@link BeanManagerImpl#getBeansVersion()}.
+     */
+    private static final class ResolvedBeans
+    {
+        private final int beansVersion;
+        private final Set<Bean<?>> beans;
+
+        /**
+         * The beans in their iteration order.
+         */
+        private final Bean<?>[] beanArray;
+
+        /**
+         * The bean to use for {@link #get()} or {@code null} if the resolution is ambiguous or unsatisfied.
+         */
+        private final Bean<?> uniqueBean;
+
+        private ResolvedBeans(int beansVersion, Set<Bean<?>> beans)
+        {
+            this.beansVersion = beansVersion;
+            this.beans = beans;
+            beanArray = beans.toArray(new Bean<?>[beans.size()]);
+            uniqueBean = beanArray.length == 1 ? beanArray[0] : null;
+        }
+    }
+
     private static class InstanceInjectionPoint implements InjectionPoint, Serializable
     {
         private InjectionPoint delegate;
@@ -20,6 +20,7 @@ package org.apache.webbeans.intercept;
 
 import org.apache.webbeans.component.OwbBean;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.PassivationIdTable;
 import org.apache.webbeans.intercept.InterceptorResolutionService.BeanInterceptorInfo;
 import org.apache.webbeans.intercept.InterceptorResolutionService.BusinessMethodInterceptorInfo;
 import org.apache.webbeans.portable.AbstractProducer;
@@ -144,7 +145,7 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
             serializeDecorator(out, decorator);
         }
 
-        out.writeUTF(passivationId);
+        PassivationIdTable.writeId(out, passivationId);
     }
 
     Object readResolve() throws ObjectStreamException
@@ -173,7 +174,7 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
         Map<Decorator<?>, Object> tmpInstances = new HashMap<>();
         for (int i = 0; i < instancesSize; i++)
         {
-            Decorator<?> bean = (Decorator<?>) beanManager.getPassivationCapableBean(in.readUTF());
+            Decorator<?> bean = (Decorator<?>) beanManager.getPassivationCapableBean(PassivationIdTable.readId(in));
             Object value = in.readObject();
             tmpInstances.put(bean, value);
         }
@@ -183,10 +184,10 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
         decorators = new CopyOnWriteArrayList<>();
         for (int i = 0; i < decoratorsSize; i++)
         {
-            decorators.add((Decorator<?>) beanManager.getPassivationCapableBean(in.readUTF()));
+            decorators.add((Decorator<?>) beanManager.getPassivationCapableBean(PassivationIdTable.readId(in)));
         }
 
-        passivationId = in.readUTF();
+        passivationId = PassivationIdTable.readId(in);
         Bean<?> bean = beanManager.getPassivationCapableBean(passivationId);
         if (bean instanceof OwbBean)
         {
@@ -205,6 +206,6 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
         {
             throw new NotSerializableException(key + " is not serializable");
         }
-        out.writeUTF(id);
+        PassivationIdTable.writeId(out, id);
     }
 }
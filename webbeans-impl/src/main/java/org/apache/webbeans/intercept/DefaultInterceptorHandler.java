@@ -22,8 +22,10 @@ import org.apache.webbeans.component.InjectionTargetBean;
 import org.apache.webbeans.component.SelfInterceptorBean;
 import org.apache.webbeans.component.WebBeansType;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.PassivationIdTable;
 import org.apache.webbeans.portable.InjectionTargetImpl;
 import org.apache.webbeans.proxy.InterceptorHandler;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.util.ExceptionUtil;
 import org.apache.webbeans.util.WebBeansUtil;
 
@@ -39,7 +41,9 @@ import java.io.NotSerializableException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.ObjectStreamException;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -64,6 +68,12 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
      */
     private T delegate;
 
+    /**
+     * Hands out the {@link #delegate} to the InvocationContexts.
+     * Gets created once and shared by all invocations.
+     */
+    private Provider<T> delegateProvider;
+
     /**
      * The passivation if in case this is a
      * {@link javax.enterprise.inject.spi.PassivationCapable} bean.
@@ -75,6 +85,12 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
     private Map<Method, List<Interceptor<?>>> interceptors;
     private Map<Interceptor<?>, ?> instances;
 
+    /**
+     * The {@link #interceptors} indexed like the intercepted methods of the proxy class.
+     * {@code null} if not known, e.g. after deserialisation. Then the Map gets used.
+     */
+    private InterceptorsByMethodIndex interceptorsByMethodIndex;
+
     /**
      * InterceptorHandler wich gets used in our InjectionTargets which
      * support interceptors and decorators
@@ -92,11 +108,26 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
     {
         this.target = target;
         this.delegate = delegate;
+        this.delegateProvider = new InstanceProvider<>(delegate);
         this.instances = instances;
         this.interceptors = interceptors;
         this.beanPassivationId = beanPassivationId;
     }
 
+    /**
+     * @param interceptorsByMethodIndex the interceptors indexed like the intercepted methods of the proxy class
+     * @see #DefaultInterceptorHandler(Object, Object, Map, Map, String)
+     */
+    public DefaultInterceptorHandler(T target,
+                                     T delegate,
+                                     InterceptorsByMethodIndex interceptorsByMethodIndex,
+                                     Map<Interceptor<?>, ?> instances,
+                                     String beanPassivationId)
+    {
+        this(target, delegate, interceptorsByMethodIndex.getMethodInterceptors(), instances, beanPassivationId);
+        this.interceptorsByMethodIndex = interceptorsByMethodIndex;
+    }
+
     public DefaultInterceptorHandler()
     {
         // no-op: for serialization
@@ -122,21 +153,46 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         return interceptors;
     }
 
+    public InterceptorsByMethodIndex getInterceptorsByMethodIndex()
+    {
+        return interceptorsByMethodIndex;
+    }
+
+    public String getBeanPassivationId()
+    {
+        return beanPassivationId;
+    }
+
     @Override
     public Object invoke(Method method, Object[] parameters)
+    {
+        return invoke(method, interceptors.get(method), parameters);
+    }
+
+    @Override
+    public Object invoke(Method method, int methodIndex, Object[] parameters)
+    {
+        if (interceptorsByMethodIndex == null)
+        {
+            return invoke(method, parameters);
+        }
+        return invoke(method, interceptorsByMethodIndex.get(method, methodIndex), parameters);
+    }
+
+    private Object invoke(Method method, List<Interceptor<?>> methodInterceptors, Object[] parameters)
     {
         try
         {
-            List<Interceptor<?>> methodInterceptors = interceptors.get(method);
-            if (methodInterceptors == null)
+            if (methodInterceptors == null || methodInterceptors.isEmpty())
             {
-                methodInterceptors = Collections.emptyList();
+                // e.g. a method which is only decorated, no InvocationContext is needed
+                return invokeDelegate(method, parameters);
             }
 
             InterceptorInvocationContext<T> ctx
-                = new InterceptorInvocationContext<T>(new InstanceProvider(delegate), InterceptionType.AROUND_INVOKE, methodInterceptors, instances, method, parameters);
+                = new InterceptorInvocationContext<>(delegateProvider, InterceptionType.AROUND_INVOKE, methodInterceptors, instances, method, parameters);
 
-            return ctx.proceed();
+            return proceed(ctx);
         }
         catch (Exception e)
         {
@@ -144,6 +200,37 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         }
     }
 
+    /**
+     * Runs the interceptor chain of an intercepted method.
+     */
+    protected Object proceed(InterceptorInvocationContext<T> ctx) throws Exception
+    {
+        return ctx.proceed();
+    }
+
+    private Object invokeDelegate(Method method, Object[] parameters) throws Exception
+    {
+        if (Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers()))
+        {
+            try
+            {
+                return method.invoke(delegate, parameters);
+            }
+            catch (InvocationTargetException ite)
+            {
+                // unpack the reflection Exception
+                throw ExceptionUtil.throwAsRuntimeException(ite.getCause());
+            }
+            catch (IllegalAccessException iae)
+            {
+                // not accessible for us after all, use the InvocationContext like before
+            }
+        }
+
+        return new InterceptorInvocationContext<>(delegateProvider, InterceptionType.AROUND_INVOKE,
+                Collections.<Interceptor<?>>emptyList(), instances, method, parameters).proceed();
+    }
+
     /**
      * The following code gets generated into the proxy:
      *
@@ -165,10 +252,13 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         BeanManager beanManager = webBeansContext.getBeanManagerImpl();
         Bean<T> bean = (Bean<T>) beanManager.getPassivationCapableBean(beanPassivationId);
 
+        MetricsService metricsService = webBeansContext.getMetricsService();
+        InterceptorHandler handler = metricsService.isEnabled() ? new MeasuredInterceptorHandler<>(this, metricsService) : this;
+
         return webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(
             webBeansContext.getInterceptorDecoratorProxyFactory().getCachedProxyClass(bean),
             target,
-            this
+            handler
         );
     }
 
@@ -210,7 +300,7 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
             }
         }
 
-        out.writeUTF(beanPassivationId);
+        PassivationIdTable.writeId(out, beanPassivationId);
     }
 
     @Override
@@ -225,6 +315,7 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         {
             delegate = (T) in.readObject();
         }
+        delegateProvider = new InstanceProvider<>(delegate);
 
         int instancesSize = in.readInt();
         WebBeansContext webBeansContext = WebBeansContext.getInstance();
@@ -233,7 +324,7 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         Map<Interceptor<?>, Object> tmpInstances = new HashMap<>();
         for (int i = 0; i < instancesSize; i++)
         {
-            Interceptor<?> interceptor = readInterceptor(in.readUTF(), beanManager);
+            Interceptor<?> interceptor = readInterceptor(PassivationIdTable.readId(in), beanManager);
             if (!SelfInterceptorBean.class.isInstance(interceptor))
             {
                 Object value = in.readObject();
@@ -267,12 +358,12 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
             List<Interceptor<?>> interceptorList = new ArrayList<>(interceptorListSize);
             for (int j = 0; j < interceptorListSize; j++)
             {
-                interceptorList.add(readInterceptor(in.readUTF(), beanManager));
+                interceptorList.add(readInterceptor(PassivationIdTable.readId(in), beanManager));
             }
             interceptors.put(method, interceptorList);
         }
 
-        beanPassivationId = in.readUTF();
+        beanPassivationId = PassivationIdTable.readId(in);
     }
 
     /**
@@ -284,7 +375,7 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         {
             String beanName = WebBeansUtil.getPassivationId(key)
                 .replace(WebBeansType.INTERCEPTOR.name(), WebBeansType.MANAGED.name());
-            out.writeUTF(SELF_KEY + beanName);
+            PassivationIdTable.writeId(out, SELF_KEY + beanName);
             return false;
         }
 
@@ -293,7 +384,7 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         {
             throw new NotSerializableException(key + " is not serializable");
         }
-        out.writeUTF(id);
+        PassivationIdTable.writeId(out, id);
         return true;
     }
 
@@ -31,6 +31,7 @@ import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.portable.AnnotatedElementFactory;
 import org.apache.webbeans.proxy.InterceptorHandler;
+import org.apache.webbeans.spi.MetricsService;
 import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
 import org.apache.webbeans.util.ClassUtil;
@@ -843,6 +844,21 @@ public class InterceptorResolutionService
                                        String passivationId, Map<Interceptor<?>, Object> interceptorInstances,
                                        Function<CreationalContextImpl<?>, Boolean> isDelegateInjection,
                                        BiFunction<T, List<Decorator<?>>, List<Decorator<?>>> filterDecorators)
+    {
+        return createProxiedInstance(instance, creationalContextImpl, creationalContext, interceptorInfo, proxyClass,
+                new InterceptorsByMethodIndex(methodInterceptors), passivationId, interceptorInstances, isDelegateInjection, filterDecorators);
+    }
+
+    /**
+     * @param methodInterceptors the interceptors of each method, indexed like the intercepted methods of the proxyClass
+     */
+    public <T> T createProxiedInstance(T instance, CreationalContextImpl<T> creationalContextImpl,
+                                       CreationalContext<T> creationalContext,
+                                       BeanInterceptorInfo interceptorInfo,
+                                       Class<? extends T> proxyClass, InterceptorsByMethodIndex methodInterceptors,
+                                       String passivationId, Map<Interceptor<?>, Object> interceptorInstances,
+                                       Function<CreationalContextImpl<?>, Boolean> isDelegateInjection,
+                                       BiFunction<T, List<Decorator<?>>, List<Decorator<?>>> filterDecorators)
     {
         // register the bean itself for self-interception
         if (interceptorInfo.getSelfInterceptorBean() != null)
@@ -866,7 +882,12 @@ public class InterceptorResolutionService
                         new DecoratorHandler(interceptorInfo, decorators, instances, i - 1, instance, passivationId));
             }
         }
-        InterceptorHandler interceptorHandler = new DefaultInterceptorHandler<>(instance, delegate, methodInterceptors, interceptorInstances, passivationId);
+        DefaultInterceptorHandler<T> defaultHandler
+            = new DefaultInterceptorHandler<>(instance, delegate, methodInterceptors, interceptorInstances, passivationId);
+        MetricsService metricsService = webBeansContext.getMetricsService();
+        InterceptorHandler interceptorHandler = metricsService.isEnabled()
+            ? new MeasuredInterceptorHandler<>(defaultHandler, metricsService)
+            : defaultHandler;
 
         return webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(proxyClass, instance, interceptorHandler);
     }
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.inject.spi.Interceptor;
+
+/**
+ * The interceptors of each intercepted method, indexed like the intercepted methods
+ * of the generated proxy class. The proxies pass the index of the invoked method,
+ * thus the {@link DefaultInterceptorHandler} needs no Map lookup per invocation.
+ * Gets created once per proxy class.
+ */
+public final class InterceptorsByMethodIndex
+{
+    private final Map<Method, List<Interceptor<?>>> methodInterceptors;
+    private final Method[] methods;
+    private final List<Interceptor<?>>[] interceptors;
+
+    /**
+     * Used if the intercepted methods of the proxy class are not known.
+     * All lookups go to the methodInterceptors then.
+     */
+    public InterceptorsByMethodIndex(Map<Method, List<Interceptor<?>>> methodInterceptors)
+    {
+        this(new Method[0], methodInterceptors);
+    }
+
+    /**
+     * @param methods the intercepted methods exactly as they got passed to the proxy class
+     * @param methodInterceptors the interceptors for each of the methods
+     */
+    @SuppressWarnings("unchecked")
+    public InterceptorsByMethodIndex(Method[] methods, Map<Method, List<Interceptor<?>>> methodInterceptors)
+    {
+        this.methodInterceptors = methodInterceptors;
+        this.methods = methods;
+        this.interceptors = new List[methods.length];
+        for (int i = 0; i < methods.length; i++)
+        {
+            interceptors[i] = methodInterceptors.get(methods[i]);
+        }
+    }
+
+    public Map<Method, List<Interceptor<?>>> getMethodInterceptors()
+    {
+        return methodInterceptors;
+    }
+
+    /**
+     * @param method the invoked method
+     * @param methodIndex the index of the method as passed by the proxy
+     * @return the interceptors of the method or {@code null} if it is not intercepted
+     */
+    public List<Interceptor<?>> get(Method method, int methodIndex)
+    {
+        if (methodIndex < methods.length && methods[methodIndex] == method)
+        {
+            return interceptors[methodIndex];
+        }
+
+        // e.g. a proxy class which got created for other Method instances
+        return methodInterceptors.get(method);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import org.apache.webbeans.spi.MetricsService;
+
+/**
+ * {@link DefaultInterceptorHandler} which reports the duration of each
+ * interceptor chain invocation to the {@link MetricsService}.
+ * Only gets used if the MetricsService is enabled.
+ *
+ * <p>It gets serialized as a plain DefaultInterceptorHandler, which
+ * attaches the MetricsService again in {@link DefaultInterceptorHandler#readResolve()}.</p>
+ */
+public class MeasuredInterceptorHandler<T> extends DefaultInterceptorHandler<T>
+{
+    private final MetricsService metricsService;
+
+    public MeasuredInterceptorHandler(DefaultInterceptorHandler<T> handler, MetricsService metricsService)
+    {
+        super(handler.getTarget(), handler.getDelegate(), getInterceptorsByMethodIndex(handler), handler.getInstances(), handler.getBeanPassivationId());
+        this.metricsService = metricsService;
+    }
+
+    private static <T> InterceptorsByMethodIndex getInterceptorsByMethodIndex(DefaultInterceptorHandler<T> handler)
+    {
+        InterceptorsByMethodIndex interceptorsByMethodIndex = handler.getInterceptorsByMethodIndex();
+        return interceptorsByMethodIndex != null ? interceptorsByMethodIndex : new InterceptorsByMethodIndex(handler.getInterceptors());
+    }
+
+    @Override
+    protected Object proceed(InterceptorInvocationContext<T> ctx) throws Exception
+    {
+        long start = System.nanoTime();
+        try
+        {
+            return super.proceed(ctx);
+        }
+        finally
+        {
+            metricsService.interceptorChainInvoked(ctx.getMethod(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The MetricsService is not serializable, so we write the plain handler instead.
+     */
+    @SuppressWarnings("unused")
+    Object writeReplace()
+    {
+        return new DefaultInterceptorHandler<>(getTarget(), getDelegate(), getInterceptors(), getInstances(), getBeanPassivationId());
+    }
+}
@@ -83,10 +83,17 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
 
     protected Object getContextualInstance()
     {
-        Object webbeansInstance;
-
         //Context of the bean
-        Context context = beanManager.getContext(bean.getScope());
+        return getContextualInstance(beanManager.getContext(bean.getScope()));
+    }
+
+    /**
+     * @param context the active context of the bean scope
+     * @return the contextual instance of the bean in the given context, created if needed
+     */
+    protected Object getContextualInstance(Context context)
+    {
+        Object webbeansInstance;
 
         //Already saved in context?
         webbeansInstance = context.get(bean);
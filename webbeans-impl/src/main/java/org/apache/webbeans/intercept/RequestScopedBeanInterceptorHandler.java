@@ -18,9 +18,9 @@
  */
 package org.apache.webbeans.intercept;
 
+import javax.enterprise.context.RequestScoped;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
-import java.util.HashMap;
 
 
 /**
@@ -28,24 +28,21 @@ import java.util.HashMap;
  * made for &#064;RequestScoped beans used in web applications.</p>
  * 
  * <p>Since there is only one single contextual instance of an &#064;RequestScoped bean per thread,
- * we can simply cache this instance inside our bean. We only need to reload this instance
- * if it is null or if the thread ends.</p>
+ * we can simply cache this instance. The instance gets stored in the slot of the bean
+ * in the current {@link org.apache.webbeans.context.RequestContext}, so it automatically goes away with the request.</p>
  */
-public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterceptorHandler
+public class RequestScopedBeanInterceptorHandler extends SlotCachingBeanInterceptorHandler
 {
     /**default serial id*/
     private static final long serialVersionUID = 1L;
 
     /**
-     * Cached bean instance for each thread
+     * @deprecated the cached instances are now held by the {@link org.apache.webbeans.context.RequestContext}, nothing to remove anymore
      */
-    private static ThreadLocal<HashMap<Bean<?>, Object>> cachedInstances = new ThreadLocal<>();
-
-
+    @Deprecated
     public static void removeThreadLocals()
     {
-        cachedInstances.set(null);
-        cachedInstances.remove();
+        // no-op
     }
 
     /**
@@ -53,31 +50,6 @@ public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterce
      */
     public RequestScopedBeanInterceptorHandler(BeanManager beanManager, Bean<?> bean)
     {
-        super(beanManager, bean);
-    }
-    
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    protected Object getContextualInstance()
-    {
-        HashMap<Bean<?>, Object> beanMap = cachedInstances.get();
-        if (beanMap == null)
-        {
-            beanMap = new HashMap<>();
-            cachedInstances.set(beanMap);
-        }
-
-        Object cachedInstance = beanMap.get(bean);
-        if (cachedInstance == null)
-        {
-
-            cachedInstance = super.getContextualInstance();
-            beanMap.put(bean, cachedInstance);
-        }
-
-        return cachedInstance;
+        super(beanManager, bean, RequestScoped.class);
     }
-
 }
@@ -18,34 +18,35 @@
  */
 package org.apache.webbeans.intercept;
 
+import javax.enterprise.context.SessionScoped;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
-import java.util.HashMap;
+
+import org.apache.webbeans.context.AbstractContext;
+import org.apache.webbeans.context.SessionContext;
 
 
 /**
  * <p>This is a {@link javax.inject.Provider} especially
  * made for &#064;SessionScoped beans used in web applications.</p>
  * 
- * <p>Since there is only one single contextual instance of an &#064;SessionScoped bean per thread,
- * we can simply cache this instance inside our bean. We only need to reload this instance
- * if it is null or if the thread ends.</p>
+ * <p>Since there is only one single contextual instance of an &#064;SessionScoped bean per session,
+ * we can simply cache this instance. The instance gets stored in the slot of the bean
+ * in the current {@link org.apache.webbeans.context.SessionContext}, so it automatically
+ * goes away with the session.</p>
  */
-public class SessionScopedBeanInterceptorHandler extends NormalScopedBeanInterceptorHandler
+public class SessionScopedBeanInterceptorHandler extends SlotCachingBeanInterceptorHandler
 {
     /**default serial id*/
     private static final long serialVersionUID = 1L;
 
     /**
-     * Cached bean instance for each thread
+     * @deprecated the cached instances are now held by the {@link org.apache.webbeans.context.SessionContext}, nothing to remove anymore
      */
-    private static ThreadLocal<HashMap<Bean<?>, Object>> cachedInstances = new ThreadLocal<>();
-
-
+    @Deprecated
     public static void removeThreadLocals()
     {
-        cachedInstances.set(null);
-        cachedInstances.remove();
+        // no-op
     }
 
     /**
@@ -53,31 +54,18 @@ public class SessionScopedBeanInterceptorHandler extends NormalScopedBeanInterce
      */
     public SessionScopedBeanInterceptorHandler(BeanManager beanManager, Bean<?> bean)
     {
-        super(beanManager, bean);
+        super(beanManager, bean, SessionScoped.class);
     }
-    
+
     /**
      * {@inheritDoc}
      */
     @Override
-    protected Object getContextualInstance()
+    protected void instanceAccessed(AbstractContext context)
     {
-        HashMap<Bean<?>, Object> beanMap = cachedInstances.get();
-        if (beanMap == null)
-        {
-            beanMap = new HashMap<>();
-            cachedInstances.set(beanMap);
-        }
-
-        Object cachedInstance = beanMap.get(bean);
-        if (cachedInstance == null)
+        if (context instanceof SessionContext)
         {
-
-            cachedInstance = super.getContextualInstance();
-            beanMap.put(bean, cachedInstance);
+            ((SessionContext) context).beanAccessed(getBean());
         }
-
-        return cachedInstance;
     }
-
 }
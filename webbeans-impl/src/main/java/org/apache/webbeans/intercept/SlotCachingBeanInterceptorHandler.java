@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import java.lang.annotation.Annotation;
+
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.context.AbstractContext;
+import org.apache.webbeans.spi.ContextsService;
+
+/**
+ * <p>Base {@link javax.inject.Provider} for scopes whose contexts are held by the {@link ContextsService}.</p>
+ *
+ * <p>The current context gets fetched from the ContextsService with a single call and the
+ * contextual instance gets cached in the slot of the bean in this context. Once the instance
+ * is cached a proxy invocation thus neither needs to go through
+ * {@link BeanManager#getContext(Class)} nor do a map lookup in the context.</p>
+ *
+ * <p>If the context is not an {@link AbstractContext}, e.g. because a custom ContextsService
+ * is in use, the handler behaves like the {@link NormalScopedBeanInterceptorHandler}.</p>
+ */
+public abstract class SlotCachingBeanInterceptorHandler extends NormalScopedBeanInterceptorHandler
+{
+    private static final long serialVersionUID = 1L;
+
+    private final transient Class<? extends Annotation> scope;
+
+    private transient ContextsService contextsService;
+
+    /**
+     * The slot of the bean as assigned by the {@link org.apache.webbeans.container.BeanSlotRegistry}
+     * or -1 if the slots cannot be used.
+     */
+    private transient int slot = -1;
+
+    protected SlotCachingBeanInterceptorHandler(BeanManager beanManager, Bean<?> bean, Class<? extends Annotation> scope)
+    {
+        super(beanManager, bean);
+        this.scope = scope;
+        if (beanManager instanceof BeanManagerImpl)
+        {
+            WebBeansContext webBeansContext = ((BeanManagerImpl) beanManager).getWebBeansContext();
+            contextsService = webBeansContext.getContextsService();
+            slot = webBeansContext.getBeanSlotRegistry().getSlot(bean);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object getContextualInstance()
+    {
+        if (slot < 0)
+        {
+            return super.getContextualInstance();
+        }
+
+        Context context = contextsService.getCurrentContext(scope);
+        if (!(context instanceof AbstractContext) || !context.isActive())
+        {
+            return super.getContextualInstance();
+        }
+
+        AbstractContext abstractContext = (AbstractContext) context;
+        Object cachedInstance = abstractContext.getSlotInstance(slot);
+        if (cachedInstance == null)
+        {
+            int slotsVersion = abstractContext.getSlotsVersion();
+            cachedInstance = getContextualInstance(context);
+            abstractContext.setSlotInstance(slot, cachedInstance, slotsVersion);
+        }
+        instanceAccessed(abstractContext);
+
+        return cachedInstance;
+    }
+
+    /**
+     * Gets invoked whenever the contextual instance got taken from the given context.
+     *
+     * @param context the current context of the scope
+     */
+    protected void instanceAccessed(AbstractContext context)
+    {
+        // nothing to do by default
+    }
+}
@@ -27,6 +27,7 @@ import javax.enterprise.inject.spi.BeanManager;
 
 import org.apache.webbeans.config.BeansDeployer;
 import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.config.StartupProfiler;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.config.WebBeansFinder;
 import org.apache.webbeans.container.BeanManagerImpl;
@@ -127,21 +128,37 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
         //Scanning process
         logger.fine("Scanning classpaths for beans artifacts.");
 
-        //Scan
-        scannerService.scan();
-        
-        //Deploy beans
-        logger.fine("Deploying scanned beans.");
+        try
+        {
+            //Scan
+            StartupProfiler.Phase scanPhase = webBeansContext.getStartupProfiler().startPhase("scan");
+            try
+            {
+                scannerService.scan();
+            }
+            finally
+            {
+                scanPhase.end();
+            }
 
-        //Deploy
-        deployer.deploy(scannerService);
+            //Deploy beans
+            logger.fine("Deploying scanned beans.");
 
-        //Start actual starting on sub-classes
-        afterStartApplication(startupObject);
+            //Deploy
+            deployer.deploy(scannerService);
 
-        if (logger.isLoggable(Level.INFO))
+            //Start actual starting on sub-classes
+            afterStartApplication(startupObject);
+
+            if (logger.isLoggable(Level.INFO))
+            {
+                logger.log(Level.INFO, OWBLogConst.INFO_0001, Long.toString(System.currentTimeMillis() - begin));
+            }
+        }
+        finally
         {
-            logger.log(Level.INFO, OWBLogConst.INFO_0001, Long.toString(System.currentTimeMillis() - begin));
+            // also report the phases of a failed boot
+            webBeansContext.getStartupProfiler().finish();
         }
 
         started.set(true);
@@ -162,6 +179,9 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
 
             contextsService.destroy(endObject);
 
+            //Stop destroying timed out conversations
+            webBeansContext.getConversationManager().shutdown();
+
             //Unbind BeanManager
             jndiService.unbind(WebBeansConstants.WEB_BEANS_MANAGER_JNDI_NAME);
 
@@ -39,6 +39,7 @@ import org.apache.webbeans.component.BeanManagerBean;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.intercept.InterceptorResolutionService.BeanInterceptorInfo;
+import org.apache.webbeans.intercept.InterceptorsByMethodIndex;
 import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 import org.apache.webbeans.proxy.OwbInterceptorProxy;
 
@@ -51,6 +52,7 @@ public abstract class AbstractProducer<T> implements Producer<T>
     protected BeanInterceptorInfo interceptorInfo;
     protected InterceptorDecoratorProxyFactory proxyFactory;
     protected Map<Method, List<Interceptor<?>>> methodInterceptors;
+    private InterceptorsByMethodIndex interceptorsByMethodIndex;
 
     public AbstractProducer()
     {
@@ -89,6 +91,7 @@ public abstract class AbstractProducer<T> implements Producer<T>
         }
 
         methodInterceptors = webBeansContext.getInterceptorResolutionService().createMethodInterceptors(interceptorInfo);
+        interceptorsByMethodIndex = new InterceptorsByMethodIndex(methodInterceptors);
 
         defineLifecycleInterceptors(bean, annotatedType, webBeansContext);
 
@@ -103,6 +106,7 @@ public abstract class AbstractProducer<T> implements Producer<T>
             Method[] nonInterceptedMethods = interceptorInfo.getNonInterceptedMethods().toArray(new Method[interceptorInfo.getNonInterceptedMethods().size()]);
 
             proxyClass = (Class<? extends T>) pf.createProxyClass(bean, classLoader, annotatedType.getJavaClass(), businessMethods, nonInterceptedMethods);
+            interceptorsByMethodIndex = new InterceptorsByMethodIndex(businessMethods, methodInterceptors);
 
             // now we collect the post-construct and pre-destroy interceptors
 
@@ -137,7 +141,7 @@ public abstract class AbstractProducer<T> implements Producer<T>
         {
             instance = creationalContextImpl.getWebBeansContext().getInterceptorResolutionService()
                 .createProxiedInstance(instance, creationalContextImpl, creationalContext,
-                        interceptorInfo, proxyClass, methodInterceptors, passivationId, interceptorInstances,
+                        interceptorInfo, proxyClass, interceptorsByMethodIndex, passivationId, interceptorInstances,
                         this::isDelegateInjection, this::filterDecorators);
             creationalContextImpl.putContextual(oldContextual);
         }
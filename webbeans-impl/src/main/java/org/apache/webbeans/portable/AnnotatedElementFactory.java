@@ -342,6 +342,18 @@ public final class AnnotatedElementFactory
         return (Set<AnnotatedMethod<? super T>>)(Set<?>)methods;
     }
 
+    /**
+     * Drop the caches which only help while the beans get defined.
+     * They get filled again on demand, the AnnotatedTypes stay untouched.
+     */
+    public void compact()
+    {
+        annotatedConstructorCache.clear();
+        annotatedFieldCache.clear();
+        annotatedMethodCache.clear();
+        annotatedMethodsOfTypeCache.clear();
+    }
+
     /**
      * Clear caches.
      */
@@ -58,6 +58,13 @@ public class AnnotatedTypeImpl<X>
      */
     private final Class<X> annotatedClass;
 
+    /**
+     * Constructors, created on first access.
+     * Kept apart from the other members as checking the constructors of a class
+     * is often all that is needed for classes which don't end up as beans.
+     */
+    private volatile Set<AnnotatedConstructor<X>> constructors;
+
     private volatile State state;
 
     /**
@@ -119,9 +126,15 @@ public class AnnotatedTypeImpl<X>
         //X TODO revisit!!
         if (otherAnnotatedType instanceof AnnotatedTypeImpl)
         {
-            AnnotatedTypeImpl annotatedTypeImpl = (AnnotatedTypeImpl) otherAnnotatedType;
+            AnnotatedTypeImpl<X> annotatedTypeImpl = (AnnotatedTypeImpl<X>) otherAnnotatedType;
             this.supertype = annotatedTypeImpl.supertype;
 
+            if (annotatedTypeImpl.constructors != null)
+            {
+                this.constructors = annotatedTypeImpl.constructors.stream()
+                    .map(ac -> new AnnotatedConstructorImpl<>(getWebBeansContext(), ac, this))
+                    .collect(Collectors.toSet());
+            }
             if (annotatedTypeImpl.state != null)
             {
                 this.state = new State(annotatedTypeImpl.state);
@@ -150,7 +163,20 @@ public class AnnotatedTypeImpl<X>
     @Override
     public Set<AnnotatedConstructor<X>> getConstructors()
     {
-        return getState().constructors;
+        Set<AnnotatedConstructor<X>> result = constructors;
+        if (result == null)
+        {
+            synchronized (this)
+            {
+                result = constructors;
+                if (result == null)
+                {
+                    result = createConstructors();
+                    constructors = result;
+                }
+            }
+        }
+        return result;
     }
 
     /**
@@ -171,6 +197,15 @@ public class AnnotatedTypeImpl<X>
         return getState().methods;
     }
 
+    /**
+     * @return {@code false} if neither the fields nor the methods got requested so far.
+     *         In this case they exactly reflect the members of the java class.
+     */
+    public boolean isMembersInitialized()
+    {
+        return state != null;
+    }
+
     @Override
     protected Class<?> getOwningClass()
     {
@@ -204,13 +239,38 @@ public class AnnotatedTypeImpl<X>
         return result;
     }
 
-    private class State
+    private Set<AnnotatedConstructor<X>> createConstructors()
     {
+        Constructor<?>[] decCtxs =
+            getWebBeansContext().getSecurityService().doPrivilegedGetDeclaredConstructors(annotatedClass);
 
-        /**
-         * Constructors
-         */
-        private final Set<AnnotatedConstructor<X>> constructors;
+        Set<AnnotatedConstructor<X>> constructors = new HashSet<>();
+        for (Constructor<?> ct : decCtxs)
+        {
+            if (!ct.isSynthetic())
+            {
+                AnnotatedConstructor<X> ac =
+                    new AnnotatedConstructorImpl<>(getWebBeansContext(), (Constructor<X>) ct,
+                        AnnotatedTypeImpl.this);
+                constructors.add(ac);
+            }
+        }
+        if (constructors.isEmpty())
+        {
+            // must be implicit default constructor
+            Constructor<X> constructor =
+                getWebBeansContext().getSecurityService().doPrivilegedGetDeclaredConstructor(annotatedClass);
+            if (constructor != null)
+            {
+                constructors.add(
+                    new AnnotatedConstructorImpl<>(getWebBeansContext(), constructor, AnnotatedTypeImpl.this));
+            }
+        }
+        return Collections.unmodifiableSet(constructors);
+    }
+
+    private class State
+    {
 
         /**
          * Fields
@@ -224,39 +284,12 @@ public class AnnotatedTypeImpl<X>
 
         private State()
         {
-            Constructor<?>[] decCtxs =
-                getWebBeansContext().getSecurityService().doPrivilegedGetDeclaredConstructors(annotatedClass);
-
-            Set<AnnotatedConstructor<X>> constructors = new HashSet<>();
             Set<AnnotatedField<? super X>> fields = new HashSet<>();
             Set<AnnotatedMethod<? super X>> methods = new HashSet<>();
 
-            this.constructors = Collections.unmodifiableSet(constructors);
             this.fields = Collections.unmodifiableSet(fields);
             this.methods = Collections.unmodifiableSet(methods);
 
-            for (Constructor<?> ct : decCtxs)
-            {
-                if (!ct.isSynthetic())
-                {
-                    AnnotatedConstructor<X> ac =
-                        new AnnotatedConstructorImpl<>(getWebBeansContext(), (Constructor<X>) ct,
-                            AnnotatedTypeImpl.this);
-                    constructors.add(ac);
-                }
-            }
-            if (constructors.isEmpty())
-            {
-                // must be implicit default constructor
-                Constructor<X> constructor =
-                    getWebBeansContext().getSecurityService().doPrivilegedGetDeclaredConstructor(annotatedClass);
-                if (constructor != null)
-                {
-                    constructors.add(
-                        new AnnotatedConstructorImpl<>(getWebBeansContext(), constructor, AnnotatedTypeImpl.this));
-                }
-            }
-
             Field[] decFields = getWebBeansContext().getSecurityService().doPrivilegedGetDeclaredFields(annotatedClass);
             for (Field f : decFields)
             {
@@ -297,10 +330,6 @@ public class AnnotatedTypeImpl<X>
          */
         private State(State otherState)
         {
-            constructors = otherState.constructors.stream()
-                .map(ac -> new AnnotatedConstructorImpl<>(getWebBeansContext(), ac, AnnotatedTypeImpl.this))
-                .collect(Collectors.toSet());
-
             fields = otherState.fields.stream()
                 .map(af -> new AnnotatedFieldImpl<>(getWebBeansContext(), af.getJavaMember(), AnnotatedTypeImpl.this))
                 .collect(Collectors.toSet());
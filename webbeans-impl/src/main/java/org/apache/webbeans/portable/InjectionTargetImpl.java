@@ -26,6 +26,7 @@ import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.inject.InjectableConstructor;
 import org.apache.webbeans.inject.InjectableField;
 import org.apache.webbeans.inject.InjectableMethod;
+import org.apache.webbeans.inject.InjectionPlan;
 import org.apache.webbeans.intercept.ConstructorInterceptorInvocationContext;
 import org.apache.webbeans.intercept.DefaultInterceptorHandler;
 import org.apache.webbeans.intercept.InterceptorResolutionService;
@@ -113,6 +114,13 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
 
     private List<Interceptor<?>> aroundConstructInterceptors;
 
+    /**
+     * The compiled field and initializer method injection for the
+     * last injected instance class. Only used after the deployment
+     * and rebuilt if the deployed beans changed.
+     */
+    private volatile InjectionPlan<T> injectionPlan;
+
     public InjectionTargetImpl(AnnotatedType<T> annotatedType, Set<InjectionPoint> injectionPoints, WebBeansContext webBeansContext,
                                List<AnnotatedMethod<?>> postConstructMethods, List<AnnotatedMethod<?>> preDestroyMethods)
     {
@@ -200,7 +208,96 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
     @Override
     public void inject(T instance, CreationalContext<T> context)
     {
-        inject(instance.getClass(), unwrapProxyInstance(instance), (CreationalContextImpl<T>) context);
+        if (webBeansContext.getBeanManagerImpl().isAfterDeploymentValidationFired())
+        {
+            getInjectionPlan(instance.getClass()).inject(unwrapProxyInstance(instance), (CreationalContextImpl<T>) context);
+        }
+        else
+        {
+            inject(instance.getClass(), unwrapProxyInstance(instance), (CreationalContextImpl<T>) context);
+        }
+    }
+
+    private InjectionPlan<T> getInjectionPlan(Class<?> type)
+    {
+        InjectionPlan<T> plan = injectionPlan;
+        if (plan == null || plan.getType() != type
+                || plan.getBeansVersion() != webBeansContext.getBeanManagerImpl().getBeansVersion())
+        {
+            // building the plan twice in parallel does no harm
+            plan = createInjectionPlan(type);
+            injectionPlan = plan;
+        }
+        return plan;
+    }
+
+    /**
+     * Compiles the same injection steps {@link #inject(Class, Object, CreationalContextImpl)} performs.
+     */
+    private InjectionPlan<T> createInjectionPlan(Class<?> type)
+    {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = type; current != null && !current.equals(Object.class); current = current.getSuperclass())
+        {
+            hierarchy.add(0, current);
+        }
+
+        ResourceInjectionService resourceInjectionService = getResourceInjectionService();
+        Set<AnnotatedMethod<? super T>> annotatedMethods = webBeansContext.getAnnotatedElementFactory().getFilteredAnnotatedMethods(annotatedType);
+
+        InjectionPlan.Builder<T> builder = new InjectionPlan.Builder<>(type, this, webBeansContext);
+        for (Class<?> declaringType : hierarchy)
+        {
+            for (InjectionPoint injectionPoint : getInjectionPoints())
+            {
+                if (injectionPoint.getMember().getDeclaringClass().equals(declaringType) && injectionPoint.getMember() instanceof Field)
+                {
+                    builder.addField((Field) injectionPoint.getMember(), injectionPoint);
+                }
+            }
+
+            Set<Member> injectedMethods = new HashSet<>();
+            for (InjectionPoint injectionPoint : getInjectionPoints())
+            {
+                if (injectionPoint.getMember().getDeclaringClass().equals(declaringType)
+                        && injectionPoint.getMember() instanceof Method
+                        && !injectedMethods.contains(injectionPoint.getMember())
+                        && !isProducerMethod(injectionPoint)
+                        && !isDisposalMethod(injectionPoint)
+                        && !isObserverMethod(injectionPoint))
+                {
+                    builder.addMethod((Method) injectionPoint.getMember(), getInjectionPoints(injectionPoint.getMember()));
+                    injectedMethods.add(injectionPoint.getMember());
+                }
+            }
+
+            for (AnnotatedMethod<? super T> method : annotatedMethods)
+            {
+                if (method.getDeclaringType().getJavaClass().equals(declaringType) && method.isAnnotationPresent(Inject.class) && method.getParameters().isEmpty())
+                {
+                    builder.addMethod(method.getJavaMember(), Collections.<InjectionPoint>emptyList());
+                }
+            }
+
+            if (resourceInjectionService != null)
+            {
+                builder.addResourceInjection(resourceInjectionService);
+            }
+        }
+        return builder.build();
+    }
+
+    private List<InjectionPoint> getInjectionPoints(Member member)
+    {
+        List<InjectionPoint> injectionPoints = new ArrayList<>();
+        for (InjectionPoint injectionPoint : getInjectionPoints())
+        {
+            if (injectionPoint.getMember().equals(member))
+            {
+                injectionPoints.add(injectionPoint);
+            }
+        }
+        return injectionPoints;
     }
 
     private void inject(Class<?> type, T instance, CreationalContextImpl<T> context)
@@ -265,20 +362,24 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
         }
     }
     
+    private ResourceInjectionService getResourceInjectionService()
+    {
+        try
+        {
+            return webBeansContext.getService(ResourceInjectionService.class);
+        }
+        catch (Exception e)
+        {
+            // When running in tests
+            return null;
+        }
+    }
+
     private void injectResources(T instance)
     {
         try
         {
-            ResourceInjectionService service = null;
-            try
-            {
-                service = webBeansContext.getService(ResourceInjectionService.class);
-            
-            }
-            catch (Exception e)
-            {
-                // When running in tests
-            }
+            ResourceInjectionService service = getResourceInjectionService();
         
             if (service != null)
             {
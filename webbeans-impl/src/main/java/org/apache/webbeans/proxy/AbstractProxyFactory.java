@@ -22,16 +22,26 @@ import static org.apache.xbean.asm7.ClassReader.SKIP_CODE;
 import static org.apache.xbean.asm7.ClassReader.SKIP_DEBUG;
 import static org.apache.xbean.asm7.ClassReader.SKIP_FRAMES;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import org.apache.webbeans.config.StartupProfiler;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.xbean.asm7.ClassReader;
 import org.apache.xbean.asm7.ClassWriter;
 import org.apache.xbean.asm7.MethodVisitor;
@@ -53,12 +63,33 @@ public abstract class AbstractProxyFactory
      */
     public static final int MODIFIER_VARARGS = 0x00000080;
 
+    /**
+     * Infix of the proxy class names which got generated at build time.
+     * The part after it is a hash over the proxied methods.
+     */
+    public static final String PREBUILT_PROXY_INFIX = "Aot";
+
+    /**
+     * Needs to get increased whenever the bytecode of the generated proxies changes
+     * in a way which makes pre-built proxies incompatible.
+     */
+    private static final int PREBUILT_PROXY_FORMAT_VERSION = 1;
+
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(AbstractProxyFactory.class);
+
     protected final Unsafe unsafe;
 
     protected WebBeansContext webBeansContext;
 
     private final int javaVersion;
 
+    private final boolean usePrebuiltProxies;
+
+    /**
+     * if not {@code null} all generated proxies get written to this directory
+     */
+    private final File prebuiltProxyOutputDirectory;
+
 
     /**
      * The name of the field which stores the passivationID of the Bean this proxy serves.
@@ -73,6 +104,10 @@ public abstract class AbstractProxyFactory
         this.webBeansContext = webBeansContext;
         javaVersion = determineDefaultJavaVersion();
         unsafe = new Unsafe();
+
+        usePrebuiltProxies = webBeansContext.getOpenWebBeansConfiguration().usePrebuiltProxies();
+        String outputDirectory = webBeansContext.getOpenWebBeansConfiguration().getPrebuiltProxyOutputDirectory();
+        prebuiltProxyOutputDirectory = outputDirectory != null ? new File(outputDirectory) : null;
     }
 
     private int determineDefaultJavaVersion()
@@ -184,6 +219,133 @@ public abstract class AbstractProxyFactory
         throw new WebBeansException("Unable to detect a free proxy class name based on: " + proxyClassName);
     }
 
+    /**
+     * Looks up a proxy class which got generated at build time for exactly the given methods.
+     *
+     * @param proxyBaseName the proxy class name without any suffix, e.g. org.acme.Foo$$OwbNormalScopeProxy
+     * @return the pre-built proxy class or {@code null} if there is none
+     */
+    protected <T> Class<T> loadPrebuiltProxyClass(ClassLoader classLoader, String proxyBaseName, Class<T> classToProxy,
+                                                  Method[] interceptedMethods, Method[] nonInterceptedMethods,
+                                                  Constructor<T> constructor)
+    {
+        if (!usePrebuiltProxies || prebuiltProxyOutputDirectory != null)
+        {
+            return null;
+        }
+
+        String proxyClassName = getPrebuiltProxyClassName(proxyBaseName, interceptedMethods, nonInterceptedMethods, constructor);
+        try
+        {
+            Class<?> proxyClass = Class.forName(proxyClassName, true, classLoader);
+            if (classToProxy.isAssignableFrom(proxyClass) && getMarkerInterface().isAssignableFrom(proxyClass))
+            {
+                return (Class<T>) proxyClass;
+            }
+            logger.warning("Ignoring pre-built proxy " + proxyClassName + " as it doesn't match " + classToProxy.getName());
+        }
+        catch (ClassNotFoundException cnfe)
+        {
+            // no pre-built proxy, it will get generated
+        }
+        catch (LinkageError e)
+        {
+            logger.log(Level.WARNING, "Ignoring broken pre-built proxy " + proxyClassName, e);
+        }
+        return null;
+    }
+
+    /**
+     * @param proxyBaseName the proxy class name without any suffix, e.g. org.acme.Foo$$OwbNormalScopeProxy
+     * @return the name for a newly generated proxy class
+     */
+    protected String getProxyClassName(ClassLoader classLoader, String proxyBaseName,
+                                       Method[] interceptedMethods, Method[] nonInterceptedMethods, Constructor<?> constructor)
+    {
+        if (prebuiltProxyOutputDirectory != null)
+        {
+            // build time generation needs a name which can be calculated again at runtime
+            return getPrebuiltProxyClassName(proxyBaseName, interceptedMethods, nonInterceptedMethods, constructor);
+        }
+        return getUnusedProxyClassName(classLoader, proxyBaseName);
+    }
+
+    /**
+     * The name of a pre-built proxy class is derived from the proxied methods.
+     * Thus a proxy class generated at build time only gets picked up at runtime
+     * if the very same methods get intercepted, in the same order, as the generated
+     * bytecode refers to the intercepted methods by their index.
+     * The OpenWebBeans version and the class file version are part of the name as well,
+     * so proxies generated by a different generator never get picked up.
+     */
+    protected String getPrebuiltProxyClassName(String proxyBaseName, Method[] interceptedMethods, Method[] nonInterceptedMethods,
+                                               Constructor<?> constructor)
+    {
+        StringBuilder signature = new StringBuilder();
+        signature.append('v').append(PREBUILT_PROXY_FORMAT_VERSION)
+                .append(':').append(AbstractProxyFactory.class.getPackage().getImplementationVersion())
+                .append(':').append(javaVersion).append(';');
+        if (interceptedMethods != null)
+        {
+            for (Method method : interceptedMethods)
+            {
+                signature.append('i').append(getMethodSignature(method));
+            }
+        }
+        if (nonInterceptedMethods != null)
+        {
+            // non-intercepted methods get delegated directly, so their order doesn't matter
+            List<String> nonInterceptedSignatures = new ArrayList<>(nonInterceptedMethods.length);
+            for (Method method : nonInterceptedMethods)
+            {
+                nonInterceptedSignatures.add(getMethodSignature(method));
+            }
+            Collections.sort(nonInterceptedSignatures);
+            for (String nonInterceptedSignature : nonInterceptedSignatures)
+            {
+                signature.append('n').append(nonInterceptedSignature);
+            }
+        }
+        if (constructor != null)
+        {
+            signature.append('c').append(Arrays.toString(constructor.getParameterTypes()));
+        }
+
+        // 64 bit FNV-1a
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < signature.length(); i++)
+        {
+            hash ^= signature.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        return fixPreservedPackages(proxyBaseName) + PREBUILT_PROXY_INFIX + Long.toHexString(hash);
+    }
+
+    private String getMethodSignature(Method method)
+    {
+        return method.getDeclaringClass().getName() + '.' + method.getName()
+                + Arrays.toString(method.getParameterTypes()) + method.getReturnType().getName() + ';';
+    }
+
+    private void writePrebuiltProxy(String proxyClassFileName, byte[] proxyBytes)
+    {
+        File classFile = new File(prebuiltProxyOutputDirectory, proxyClassFileName + ".class");
+        if (!classFile.getParentFile().isDirectory() && !classFile.getParentFile().mkdirs())
+        {
+            throw new ProxyGenerationException("Cannot create directory for pre-built proxy " + classFile);
+        }
+
+        try (OutputStream out = new FileOutputStream(classFile))
+        {
+            out.write(proxyBytes);
+        }
+        catch (IOException e)
+        {
+            throw new ProxyGenerationException(e);
+        }
+    }
+
     protected  <T> String getSignedClassProxyName(final Class<T> classToProxy)
     {
         // avoid java.lang.SecurityException: class's signer information
@@ -236,6 +398,10 @@ public abstract class AbstractProxyFactory
                                                       Constructor<T> constructor)
             throws ProxyGenerationException
     {
+        StartupProfiler startupProfiler = webBeansContext.getStartupProfiler();
+        boolean profiling = startupProfiler.isRecording();
+        long start = profiling ? System.nanoTime() : 0;
+
         String proxyClassFileName = proxyClassName.replace('.', '/');
 
         byte[] proxyBytes = generateProxy(classLoader,
@@ -246,7 +412,18 @@ public abstract class AbstractProxyFactory
                 sortOutDuplicateMethods(nonInterceptedMethods),
                 constructor);
 
-        return unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes);
+        if (prebuiltProxyOutputDirectory != null)
+        {
+            writePrebuiltProxy(proxyClassFileName, proxyBytes);
+        }
+
+        Class<T> proxyClass = unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes);
+
+        if (profiling)
+        {
+            startupProfiler.recordProxyGeneration(getClass().getSimpleName(), classToProxy, System.nanoTime() - start);
+        }
+        return proxyClass;
     }
 
     private Method[] sortOutDuplicateMethods(Method[] methods)
@@ -208,12 +208,14 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
                                           Method[] interceptedMethods, Method[] nonInterceptedMethods)
             throws ProxyGenerationException
     {
-        String proxyClassName = getUnusedProxyClassName(
-                classLoader,
-                (classToProxy.getSigners() != null ? getSignedClassProxyName(classToProxy) : classToProxy.getName()) + "$$OwbInterceptProxy");
+        String proxyBaseName = (classToProxy.getSigners() != null ? getSignedClassProxyName(classToProxy) : classToProxy.getName()) + "$$OwbInterceptProxy";
 
-
-        Class<T> clazz = createProxyClass(classLoader, proxyClassName, classToProxy, interceptedMethods, nonInterceptedMethods);
+        Class<T> clazz = loadPrebuiltProxyClass(classLoader, proxyBaseName, classToProxy, interceptedMethods, nonInterceptedMethods, null);
+        if (clazz == null)
+        {
+            String proxyClassName = getProxyClassName(classLoader, proxyBaseName, interceptedMethods, nonInterceptedMethods, null);
+            clazz = createProxyClass(classLoader, proxyClassName, classToProxy, interceptedMethods, nonInterceptedMethods);
+        }
 
         try
         {
@@ -420,6 +422,23 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
         }
     }
 
+    private void pushMethodIndex(MethodVisitor mv, int methodIndex) throws ProxyGenerationException
+    {
+        if (methodIndex <128)
+        {
+            mv.visitIntInsn(Opcodes.BIPUSH, methodIndex);
+        }
+        else if (methodIndex < 32267)
+        {
+            // for methods > 127 we need to push a short number as index
+            mv.visitIntInsn(Opcodes.SIPUSH, methodIndex);
+        }
+        else
+        {
+            throw new ProxyGenerationException("Sorry, we only support Classes with 2^15 methods...");
+        }
+    }
+
     private void generateInterceptorHandledMethod(ClassWriter cw, Method method, int methodIndex, Class<?> classToProxy, String proxyClassFileName)
             throws ProxyGenerationException
     {
@@ -461,43 +480,12 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
 
         // push try code
         mv.visitLabel(l0);
-        String classNameToOverride = method.getDeclaringClass().getName().replace('.', '/');
-        mv.visitLdcInsn(Type.getType("L" + classNameToOverride + ";"));
-
-        // the following code generates the bytecode for this line of Java:
-        // Method method = <proxy>.class.getMethod("add", new Class[] { <array of function argument classes> });
-
-        // get the method name to invoke, and push to stack
-        mv.visitLdcInsn(method.getName());
-
-        // create the Class[]
-        createArrayDefinition(mv, parameterTypes.length, Class.class);
 
+        // the Method gets taken from the static array, so nothing needs to get looked up per invocation.
+        // we only need the size of the local variables to store the exception
         int length = 1;
-
-        // push parameters into array
-        for (int i = 0; i < parameterTypes.length; i++)
+        for (Class<?> parameterType : parameterTypes)
         {
-            // keep copy of array on stack
-            mv.visitInsn(Opcodes.DUP);
-
-            Class<?> parameterType = parameterTypes[i];
-
-            // push number onto stack
-            pushIntOntoStack(mv, i);
-
-            if (parameterType.isPrimitive())
-            {
-                String wrapperType = getWrapperType(parameterType);
-                mv.visitFieldInsn(Opcodes.GETSTATIC, wrapperType, "TYPE", "Ljava/lang/Class;");
-            }
-            else
-            {
-                mv.visitLdcInsn(Type.getType(parameterType));
-            }
-
-            mv.visitInsn(Opcodes.AASTORE);
-
             if (Long.TYPE.equals(parameterType) || Double.TYPE.equals(parameterType))
             {
                 length += 2;
@@ -509,7 +497,7 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
         }
 
         // the following code generates bytecode equivalent to:
-        // return ((<returntype>) invocationHandler.invoke(this, {methodIndex}, new Object[] { <function arguments }))[.<primitive>Value()];
+        // return ((<returntype>) invocationHandler.invoke(methods[{methodIndex}], {methodIndex}, new Object[] { <function arguments }))[.<primitive>Value()];
 
         Label l4 = new Label();
         mv.visitLabel(l4);
@@ -521,25 +509,14 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
 
         // add the Method from the static array as first parameter
         mv.visitFieldInsn(Opcodes.GETSTATIC, proxyClassFileName, FIELD_INTERCEPTED_METHODS, Type.getDescriptor(Method[].class));
-
-        // push the methodIndex of the current method
-        if (methodIndex <128)
-        {
-            mv.visitIntInsn(Opcodes.BIPUSH, methodIndex);
-        }
-        else if (methodIndex < 32267)
-        {
-            // for methods > 127 we need to push a short number as index
-            mv.visitIntInsn(Opcodes.SIPUSH, methodIndex);
-        }
-        else
-        {
-            throw new ProxyGenerationException("Sorry, we only support Classes with 2^15 methods...");
-        }
+        pushMethodIndex(mv, methodIndex);
 
         // and now load the Method from the array
         mv.visitInsn(Opcodes.AALOAD);
 
+        // the methodIndex is the second parameter, it allows the handler to look up the interceptors by index
+        pushMethodIndex(mv, methodIndex);
+
 
         // prepare the parameter array as Object[] and store it on the stack
         pushMethodParameterArray(mv, parameterTypes);
@@ -547,7 +524,7 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
 
         // invoke the invocationHandler
         mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(InterceptorHandler.class), "invoke",
-                "(Ljava/lang/reflect/Method;[Ljava/lang/Object;)Ljava/lang/Object;", true);
+                "(Ljava/lang/reflect/Method;I[Ljava/lang/Object;)Ljava/lang/Object;", true);
 
         // cast the result
         mv.visitTypeInsn(Opcodes.CHECKCAST, getCastType(returnType));
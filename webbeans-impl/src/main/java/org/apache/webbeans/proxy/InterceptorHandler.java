@@ -35,4 +35,17 @@ public interface InterceptorHandler
      * @return the return value of the intercepted methos
      */
     Object invoke(Method method, Object[] args);
+
+    /**
+     * This method gets called by the proxies generated by the
+     * {@link InterceptorDecoratorProxyFactory} instead of {@link #invoke(Method, Object[])}.
+     * @param method Method which should get invoked
+     * @param methodIndex index of the method within the intercepted methods of the proxy class
+     * @param args original invocation parameters
+     * @return the return value of the intercepted methos
+     */
+    default Object invoke(Method method, int methodIndex, Object[] args)
+    {
+        return invoke(method, args);
+    }
 }
@@ -232,9 +232,7 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
     public <T> Class<T> createProxyClass(ClassLoader classLoader, Class<T> classToProxy)
             throws ProxyGenerationException
     {
-        String proxyClassName = getUnusedProxyClassName(
-                classLoader,
-                (classToProxy.getSigners() != null ? getSignedClassProxyName(classToProxy) : classToProxy.getName()) + "$$OwbNormalScopeProxy");
+        String proxyBaseName = (classToProxy.getSigners() != null ? getSignedClassProxyName(classToProxy) : classToProxy.getName()) + "$$OwbNormalScopeProxy";
 
         Method[] nonInterceptedMethods;
         Method[] interceptedMethods = null;
@@ -268,7 +266,12 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
             interceptedMethods = protectedMethods.toArray(new Method[protectedMethods.size()]);
         }
 
-        Class<T> clazz = createProxyClass(classLoader, proxyClassName, classToProxy, interceptedMethods, nonInterceptedMethods);
+        Class<T> clazz = loadPrebuiltProxyClass(classLoader, proxyBaseName, classToProxy, interceptedMethods, nonInterceptedMethods, null);
+        if (clazz == null)
+        {
+            String proxyClassName = getProxyClassName(classLoader, proxyBaseName, interceptedMethods, nonInterceptedMethods, null);
+            clazz = createProxyClass(classLoader, proxyClassName, classToProxy, interceptedMethods, nonInterceptedMethods);
+        }
 
         if (interceptedMethods != null && interceptedMethods.length > 0)
         {
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.ContainerLifecycle;
+
+import javax.enterprise.inject.spi.Bean;
+import java.io.File;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Generates the proxy classes of a deployment at build time.
+ *
+ * The container gets booted on the current classpath with
+ * {@link OpenWebBeansConfiguration#PREBUILT_PROXY_OUTPUT_DIRECTORY} pointing to the given directory.
+ * All interceptor and decorator proxies get created during the deployment, the normal scoped proxies
+ * get created explicitly afterwards. Each proxy gets written as class file with a name which
+ * the proxy factories can calculate again at runtime. If
+ * {@link OpenWebBeansConfiguration#USE_PREBUILT_PROXIES} is enabled and the proxied methods didn't
+ * change, the runtime will then load those classes instead of generating them.
+ *
+ * This class gets invoked by the openwebbeans-maven-plugin and openwebbeans-gradle integration
+ * with the classes directory as argument.
+ */
+public final class PrebuiltProxyGenerator
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(PrebuiltProxyGenerator.class);
+
+    private PrebuiltProxyGenerator()
+    {
+        // utility class
+    }
+
+    public static void main(String[] args)
+    {
+        if (args.length != 1)
+        {
+            throw new IllegalArgumentException("Usage: " + PrebuiltProxyGenerator.class.getName() + " <output directory>");
+        }
+        generateProxies(new File(args[0]));
+    }
+
+    /**
+     * Boot the container on the current classpath and write all proxies into the given directory.
+     * @return the number of normal scoped proxies which got generated
+     */
+    public static int generateProxies(File outputDirectory)
+    {
+        System.setProperty(OpenWebBeansConfiguration.PREBUILT_PROXY_OUTPUT_DIRECTORY, outputDirectory.getAbsolutePath());
+
+        ContainerLifecycle lifecycle = WebBeansContext.getInstance().getService(ContainerLifecycle.class);
+        lifecycle.startApplication(null);
+        try
+        {
+            WebBeansContext webBeansContext = WebBeansContext.currentInstance();
+            BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+            NormalScopeProxyFactory normalScopeProxyFactory = webBeansContext.getNormalScopeProxyFactory();
+
+            int proxyCount = 0;
+            for (Bean<?> bean : beanManager.getBeans())
+            {
+                if (!beanManager.isNormalScope(bean.getScope()))
+                {
+                    continue;
+                }
+
+                try
+                {
+                    normalScopeProxyFactory.createNormalScopeProxy(bean);
+                    proxyCount++;
+                }
+                catch (RuntimeException e)
+                {
+                    // such a proxy will simply get generated at runtime
+                    logger.log(Level.WARNING, "Cannot pre-build the normal scoped proxy for " + bean, e);
+                }
+            }
+
+            logger.info("Generated " + proxyCount + " normal scoped proxies into " + outputDirectory);
+            return proxyCount;
+        }
+        finally
+        {
+            lifecycle.stopApplication(null);
+            System.clearProperty(OpenWebBeansConfiguration.PREBUILT_PROXY_OUTPUT_DIRECTORY);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.index;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode;
+import org.apache.webbeans.test.events.observer.Painter;
+import org.apache.webbeans.xml.DefaultBeanArchiveInformation;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BeanArchiveIndexTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testIndexRoundTrip() throws Exception
+    {
+        File classesDirectory = tempFolder.newFolder("classes");
+        File classFile = copyClass(Painter.class, classesDirectory);
+
+        File indexFile = BeanArchiveIndexer.writeIndex(classesDirectory);
+        Assert.assertTrue(indexFile.isFile());
+
+        BeanArchiveIndex index = BeanArchiveIndex.load(classesDirectory.toURI().toURL(), annotatedBda());
+        Assert.assertNotNull(index);
+        Assert.assertEquals(BeanDiscoveryMode.ANNOTATED, index.getBeanDiscoveryMode());
+        Assert.assertEquals(Collections.singleton(Painter.class.getName()), index.getClassNames());
+        Assert.assertEquals(Collections.singletonList(ApplicationScoped.class.getName()), index.getAnnotations(Painter.class.getName()));
+
+        // a recompiled class makes the index stale
+        Assert.assertTrue(classFile.setLastModified(indexFile.lastModified() + 10000));
+        Assert.assertNull(BeanArchiveIndex.load(classesDirectory.toURI().toURL(), annotatedBda()));
+    }
+
+    @Test
+    public void testChangedClassSizeIsStale() throws Exception
+    {
+        File classesDirectory = tempFolder.newFolder("classes");
+        File classFile = copyClass(Painter.class, classesDirectory);
+        File indexFile = BeanArchiveIndexer.writeIndex(classesDirectory);
+
+        // a changed class which kept an older timestamp, e.g. restored from a build cache
+        Files.write(classFile.toPath(), new byte[] { 1, 2, 3 }, StandardOpenOption.APPEND);
+        Assert.assertTrue(classFile.setLastModified(indexFile.lastModified() - 10000));
+        Assert.assertNull(BeanArchiveIndex.load(classesDirectory.toURI().toURL(), annotatedBda()));
+    }
+
+    @Test
+    public void testJarIndex() throws Exception
+    {
+        File classesDirectory = tempFolder.newFolder("classes");
+        copyClass(Painter.class, classesDirectory);
+        BeanArchiveIndexer.writeIndex(classesDirectory);
+
+        File jar = createJar(classesDirectory, false);
+        BeanArchiveIndex index = BeanArchiveIndex.load(jar.toURI().toURL(), annotatedBda());
+        Assert.assertNotNull(index);
+        Assert.assertEquals(Collections.singleton(Painter.class.getName()), index.getClassNames());
+    }
+
+    @Test
+    public void testChangedJarContentIsStale() throws Exception
+    {
+        File classesDirectory = tempFolder.newFolder("classes");
+        copyClass(Painter.class, classesDirectory);
+        BeanArchiveIndexer.writeIndex(classesDirectory);
+
+        // same class names and sizes, only the CRC differs
+        File jar = createJar(classesDirectory, true);
+        Assert.assertNull(BeanArchiveIndex.load(jar.toURI().toURL(), annotatedBda()));
+    }
+
+    @Test
+    public void testDifferentDiscoveryModeIsStale() throws Exception
+    {
+        File classesDirectory = tempFolder.newFolder("classes");
+        copyClass(Painter.class, classesDirectory);
+        BeanArchiveIndexer.writeIndex(classesDirectory);
+
+        DefaultBeanArchiveInformation bdaInfo = new DefaultBeanArchiveInformation(classesDirectory.toURI().toString());
+        bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
+        Assert.assertNull(BeanArchiveIndex.load(classesDirectory.toURI().toURL(), bdaInfo));
+    }
+
+    @Test
+    public void testMissingIndex() throws Exception
+    {
+        File classesDirectory = tempFolder.newFolder("classes");
+        copyClass(Painter.class, classesDirectory);
+
+        Assert.assertNull(BeanArchiveIndex.load(classesDirectory.toURI().toURL(), annotatedBda()));
+    }
+
+    private DefaultBeanArchiveInformation annotatedBda()
+    {
+        DefaultBeanArchiveInformation bdaInfo = new DefaultBeanArchiveInformation("test");
+        bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.ANNOTATED);
+        return bdaInfo;
+    }
+
+    private File createJar(File classesDirectory, boolean changeClasses) throws Exception
+    {
+        File jar = tempFolder.newFile("archive.jar");
+        Path root = classesDirectory.toPath();
+        try (JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(jar));
+             Stream<Path> files = Files.walk(root))
+        {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator)
+            {
+                byte[] content = Files.readAllBytes(file);
+                String name = root.relativize(file).toString().replace(File.separatorChar, '/');
+                if (changeClasses && name.endsWith(".class"))
+                {
+                    content[content.length - 1]++;
+                }
+                jarOutputStream.putNextEntry(new JarEntry(name));
+                jarOutputStream.write(content);
+                jarOutputStream.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private File copyClass(Class<?> clazz, File classesDirectory) throws Exception
+    {
+        String resource = clazz.getName().replace('.', '/') + ".class";
+        File target = new File(classesDirectory, resource);
+        Assert.assertTrue(target.getParentFile().mkdirs());
+        try (InputStream inputStream = clazz.getClassLoader().getResourceAsStream(resource))
+        {
+            Files.copy(inputStream, target.toPath());
+        }
+        return target;
+    }
+}
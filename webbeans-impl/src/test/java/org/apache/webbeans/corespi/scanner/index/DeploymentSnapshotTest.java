@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.index;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeploymentSnapshotTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws Exception
+    {
+        Map<String, List<String>> classNames = new HashMap<>();
+        classNames.put("file:/tmp/a.jar", Arrays.asList("org.acme.A", "org.acme.B"));
+        classNames.put("file:/tmp/classes/", Collections.<String>emptyList());
+
+        File snapshotFile = new File(tempFolder.getRoot(), "snapshots/deployment.snapshot");
+        new DeploymentSnapshot("abc", classNames).write(snapshotFile);
+
+        DeploymentSnapshot snapshot = DeploymentSnapshot.read(snapshotFile);
+        Assert.assertNotNull(snapshot);
+        Assert.assertEquals("abc", snapshot.getClasspathHash());
+        Assert.assertEquals(classNames, snapshot.getClassNamesPerArchive());
+    }
+
+    @Test
+    public void testInvalidSnapshot() throws Exception
+    {
+        File snapshotFile = tempFolder.newFile("broken.snapshot");
+        Files.write(snapshotFile.toPath(), "no snapshot".getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertNull(DeploymentSnapshot.read(snapshotFile));
+        Assert.assertNull(DeploymentSnapshot.read(new File(tempFolder.getRoot(), "missing.snapshot")));
+    }
+
+    @Test
+    public void testClasspathHashChanges() throws Exception
+    {
+        File classesDirectory = tempFolder.newFolder("classes");
+        File classFile = new File(classesDirectory, "Foo.class");
+        Files.write(classFile.toPath(), new byte[]{1, 2, 3});
+        List<URL> urls = Collections.singletonList(classesDirectory.toURI().toURL());
+
+        String hash = DeploymentSnapshot.computeClasspathHash(urls, "excludes");
+        Assert.assertNotNull(hash);
+        Assert.assertEquals(hash, DeploymentSnapshot.computeClasspathHash(urls, "excludes"));
+        Assert.assertNotEquals(hash, DeploymentSnapshot.computeClasspathHash(urls, "otherExcludes"));
+
+        Files.write(new File(classesDirectory, "Bar.class").toPath(), new byte[]{1});
+        String changedHash = DeploymentSnapshot.computeClasspathHash(urls, "excludes");
+        Assert.assertNotEquals(hash, changedHash);
+
+        Assert.assertTrue(classFile.setLastModified(classFile.lastModified() + 10000));
+        Assert.assertNotEquals(changedHash, DeploymentSnapshot.computeClasspathHash(urls, "excludes"));
+    }
+}
@@ -18,25 +18,39 @@
  */
 package org.apache.webbeans.test.config;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.logging.Level.FINE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 
 import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.spi.Bean;
+import javax.inject.Inject;
+import javax.inject.Named;
 import javax.interceptor.AroundInvoke;
 import javax.interceptor.Interceptor;
 import javax.interceptor.InvocationContext;
 
 import org.apache.webbeans.config.BeansDeployer;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.component.intercept.webbeans.bindings.Transactional;
 import org.junit.Rule;
@@ -106,6 +120,121 @@ public class BeansDeployerTest extends AbstractUnitTest
                 " is already defined with priority 1000", record.getMessage());
     }
 
+    @Test
+    public void parallelDeploymentFindsSameBeans()
+    {
+        Collection<Class<?>> beanClasses = asList(Repository.class, Service.class, Controller.class, NumberProducer.class);
+
+        Set<String> sequentialBeans = deployedBeans(beanClasses, false);
+        Set<String> parallelBeans = deployedBeans(beanClasses, true);
+
+        assertFalse(sequentialBeans.isEmpty());
+        assertEquals(sequentialBeans, parallelBeans);
+    }
+
+    @Test
+    public void parallelDeploymentReportsSameProblem()
+    {
+        Collection<Class<?>> beanClasses = asList(Repository.class, Service.class, Controller.class, NumberProducer.class,
+                UnsatisfiedConsumer.class);
+
+        Throwable sequentialProblem = deploymentProblem(beanClasses, false);
+        Throwable parallelProblem = deploymentProblem(beanClasses, true);
+
+        assertNotNull(sequentialProblem);
+        assertNotNull(parallelProblem);
+        assertEquals(sequentialProblem.getClass(), parallelProblem.getClass());
+        assertEquals(sequentialProblem.getMessage(), parallelProblem.getMessage());
+    }
+
+    private Set<String> deployedBeans(Collection<Class<?>> beanClasses, boolean parallel)
+    {
+        setParallelDeployment(parallel);
+        try
+        {
+            startContainer(beanClasses);
+
+            Set<String> beans = new TreeSet<>();
+            for (Bean<?> bean : getBeanManager().getBeans(Object.class))
+            {
+                beans.add(bean.toString());
+            }
+            return beans;
+        }
+        finally
+        {
+            shutDownContainer();
+            System.clearProperty(OpenWebBeansConfiguration.PARALLEL_DEPLOYMENT);
+        }
+    }
+
+    private Throwable deploymentProblem(Collection<Class<?>> beanClasses, boolean parallel)
+    {
+        setParallelDeployment(parallel);
+        try
+        {
+            startContainer(beanClasses);
+            fail("deployment should have failed");
+            return null;
+        }
+        catch (WebBeansConfigurationException e)
+        {
+            Throwable problem = e;
+            while (problem.getCause() != null)
+            {
+                problem = problem.getCause();
+            }
+            return problem;
+        }
+        finally
+        {
+            shutDownContainer();
+            System.clearProperty(OpenWebBeansConfiguration.PARALLEL_DEPLOYMENT);
+        }
+    }
+
+    private static void setParallelDeployment(boolean parallel)
+    {
+        System.setProperty(OpenWebBeansConfiguration.PARALLEL_DEPLOYMENT, Boolean.toString(parallel));
+    }
+
+    @ApplicationScoped
+    public static class Repository
+    {
+    }
+
+    @RequestScoped
+    public static class Service
+    {
+        @Inject
+        private Repository repository;
+
+        @Inject
+        private Integer number;
+    }
+
+    @Named
+    public static class Controller
+    {
+        @Inject
+        private Service service;
+    }
+
+    public static class NumberProducer
+    {
+        @Produces
+        public Integer produceNumber()
+        {
+            return 42;
+        }
+    }
+
+    public static class UnsatisfiedConsumer
+    {
+        @Inject
+        private Runnable unsatisfied;
+    }
+
     @Interceptor
     @Transactional
     @Priority(Interceptor.Priority.LIBRARY_BEFORE)
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.StartupProfiler;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StartupProfilerTest extends AbstractUnitTest
+{
+    @Test
+    public void testStartupGetsProfiled()
+    {
+        addExtension(new ProfiledExtension());
+        try
+        {
+            System.setProperty(OpenWebBeansConfiguration.STARTUP_PROFILING, "true");
+            startContainer(ProfiledBean.class, ProfiledConsumer.class);
+        }
+        finally
+        {
+            System.clearProperty(OpenWebBeansConfiguration.STARTUP_PROFILING);
+        }
+
+        StartupProfiler profiler = getWebBeansContext().getStartupProfiler();
+        Assert.assertFalse(profiler.isRecording());
+
+        List<String> phases = new ArrayList<>();
+        for (StartupProfiler.PhaseTiming phase : profiler.getPhases())
+        {
+            Assert.assertTrue(phase.getWallNanos() >= 0);
+            phases.add(phase.getName());
+        }
+        Assert.assertEquals("scan", phases.get(0));
+        Assert.assertTrue(phases.contains("BeforeBeanDiscovery"));
+        Assert.assertTrue(phases.contains("annotatedTypesFromClassPath"));
+        Assert.assertTrue(phases.contains("deployFromBeanAttributes"));
+        Assert.assertTrue(phases.contains("validateInjectionPoints"));
+        Assert.assertEquals("AfterDeploymentValidation", phases.get(phases.size() - 1));
+
+        StartupProfiler.Timing patTiming = find(profiler.getExtensionEventTimings(),
+            ProfiledExtension.class.getName() + " (ProcessAnnotatedType)");
+        Assert.assertNotNull(patTiming);
+        Assert.assertTrue(patTiming.getCount() >= 2);
+
+        Assert.assertNotNull(find(profiler.getExtensionTimings(), ProfiledExtension.class.getName()));
+        Assert.assertNotNull(find(profiler.getObserverTimings(),
+            ProfiledExtension.class.getName() + "#observePat(ProcessAnnotatedType)"));
+
+        Assert.assertTrue(profiler.getSummary().contains("slowest extensions"));
+        String json = profiler.toJson();
+        Assert.assertTrue(json.contains("\"phases\""));
+        Assert.assertTrue(json.contains("\"extensionEvents\""));
+        Assert.assertTrue(json.contains(ProfiledExtension.class.getName()));
+
+        // nothing gets recorded after the container got started
+        int observers = profiler.getObserverTimings().size();
+        getBeanManager().fireEvent(new ProfiledBean());
+        Assert.assertEquals(observers, profiler.getObserverTimings().size());
+    }
+
+    @Test
+    public void testFailedStartupGetsProfiled()
+    {
+        try
+        {
+            System.setProperty(OpenWebBeansConfiguration.STARTUP_PROFILING, "true");
+            startContainer(UnsatisfiedConsumer.class);
+            Assert.fail("the injection point should be unsatisfied");
+        }
+        catch (WebBeansConfigurationException e)
+        {
+            // expected
+        }
+        finally
+        {
+            System.clearProperty(OpenWebBeansConfiguration.STARTUP_PROFILING);
+        }
+
+        StartupProfiler profiler = getWebBeansContext().getStartupProfiler();
+        Assert.assertFalse(profiler.isRecording());
+
+        List<StartupProfiler.PhaseTiming> phases = profiler.getPhases();
+        Assert.assertEquals("scan", phases.get(0).getName());
+        Assert.assertEquals("validateInjectionPoints", phases.get(phases.size() - 1).getName());
+    }
+
+    @Test
+    public void testDisabledByDefault()
+    {
+        addExtension(new ProfiledExtension());
+        startContainer(ProfiledBean.class);
+
+        StartupProfiler profiler = getWebBeansContext().getStartupProfiler();
+        Assert.assertFalse(profiler.isRecording());
+        Assert.assertTrue(profiler.getPhases().isEmpty());
+        Assert.assertTrue(profiler.getObserverTimings().isEmpty());
+    }
+
+    private static StartupProfiler.Timing find(List<StartupProfiler.Timing> timings, String name)
+    {
+        for (StartupProfiler.Timing timing : timings)
+        {
+            if (timing.getName().equals(name))
+            {
+                return timing;
+            }
+        }
+        return null;
+    }
+
+    public static class ProfiledExtension implements Extension
+    {
+        void observePat(@Observes ProcessAnnotatedType<?> pat)
+        {
+            // only needs to get invoked
+        }
+    }
+
+    @RequestScoped
+    public static class ProfiledBean
+    {
+    }
+
+    public static class UnsatisfiedConsumer
+    {
+        @Inject
+        private Runnable unsatisfied;
+    }
+
+    public static class ProfiledConsumer
+    {
+        @Inject
+        private ProfiledBean profiledBean;
+
+        public void observe(@Observes ProfiledBean event)
+        {
+            // runtime event which must not get recorded
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.containertests;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.util.TypeLiteral;
+import javax.inject.Inject;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Resolution by type with the beans pre-filtered by the raw class of their bean types.
+ */
+public class BeanTypeIndexTest extends AbstractUnitTest
+{
+    @Test
+    public void testResolveViaIndex()
+    {
+        startContainer(Producers.class, ServiceImpl.class, Consumer.class);
+
+        Assert.assertEquals(1, getBeanManager().getBeans(Integer.class).size());
+        Assert.assertEquals(1, getBeanManager().getBeans(int.class).size());
+        Assert.assertEquals(1, getBeanManager().getBeans(new TypeLiteral<List<String>>() {}.getType()).size());
+        Assert.assertTrue(getBeanManager().getBeans(new TypeLiteral<List<Integer>>() {}.getType()).isEmpty());
+        Assert.assertEquals(1, getBeanManager().getBeans(Service.class).size());
+        Assert.assertTrue(getBeanManager().getBeans(Runnable.class).isEmpty());
+
+        Consumer consumer = getInstance(Consumer.class);
+        Assert.assertEquals(Integer.valueOf(42), consumer.getNumber());
+        Assert.assertEquals(Collections.singletonList("OpenWebBeans"), consumer.getStrings());
+        Assert.assertEquals("ok", consumer.getService().call());
+    }
+
+    public interface Service
+    {
+        String call();
+    }
+
+    @ApplicationScoped
+    public static class ServiceImpl implements Service
+    {
+        @Override
+        public String call()
+        {
+            return "ok";
+        }
+    }
+
+    public static class Producers
+    {
+        @Produces
+        public int produceNumber()
+        {
+            return 42;
+        }
+
+        @Produces
+        public List<String> produceStrings()
+        {
+            return Collections.singletonList("OpenWebBeans");
+        }
+    }
+
+    public static class Consumer
+    {
+        @Inject
+        private Integer number;
+
+        @Inject
+        private List<String> strings;
+
+        @Inject
+        private Service service;
+
+        public Integer getNumber()
+        {
+            return number;
+        }
+
+        public List<String> getStrings()
+        {
+            return strings;
+        }
+
+        public Service getService()
+        {
+            return service;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.containertests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.event.Observes;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.webbeans.context.SessionContext;
+import org.apache.webbeans.corespi.se.JmxMetricsService;
+import org.apache.webbeans.spi.MetricsService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JmxMetricsServiceTest extends AbstractUnitTest
+{
+    @Test
+    public void testMetricsGetExposedViaJmx()
+    {
+        try
+        {
+            System.setProperty(MetricsService.class.getName(), JmxMetricsService.class.getName());
+            startContainer(MeteredBean.class, MeteredObserver.class, MeteredInterceptor.class);
+        }
+        finally
+        {
+            System.clearProperty(MetricsService.class.getName());
+        }
+
+        MetricsService metricsService = getWebBeansContext().getMetricsService();
+        Assert.assertTrue(metricsService instanceof JmxMetricsService);
+        ObjectName objectName = ((JmxMetricsService) metricsService).getObjectName();
+        Assert.assertNotNull(objectName);
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        JmxMetricsService.MetricsMXBean metrics = JMX.newMXBeanProxy(mBeanServer, objectName, JmxMetricsService.MetricsMXBean.class);
+
+        Assert.assertEquals("done", getInstance(MeteredBean.class).work());
+        getBeanManager().fireEvent(new MeteredEvent());
+
+        Map<String, Long> beanCreations = metrics.getBeanCreations();
+        Assert.assertEquals(Long.valueOf(1), beanCreations.get(MeteredBean.class.getName()));
+        Assert.assertTrue(metrics.getBeanCreationAverageMicros().containsKey(MeteredBean.class.getName()));
+        Assert.assertTrue(metrics.getContextualInstancesCreated().get(RequestScoped.class.getName()) >= 1);
+
+        Assert.assertEquals(Long.valueOf(1), metrics.getEventsFired().get(MeteredEvent.class.getName()));
+        Assert.assertEquals(Long.valueOf(1), metrics.getObserverInvocations().get(MeteredObserver.class.getName() + "#observe(MeteredEvent)"));
+
+        String workMethod = MeteredBean.class.getName() + "#work";
+        Assert.assertEquals(Long.valueOf(1), metrics.getInterceptedInvocations().get(workMethod));
+        Assert.assertTrue(metrics.getInterceptorChainAverageMicros().get(workMethod) >= 0);
+
+        Assert.assertTrue(metrics.getCacheHitRatios().containsKey("InjectionResolver.resolvedBeansByType"));
+
+        long activeSessions = metrics.getActiveSessionContexts();
+        getWebBeansContext().getContextsService().startContext(SessionScoped.class, null);
+        Assert.assertEquals(activeSessions + 1, metrics.getActiveSessionContexts());
+        getWebBeansContext().getContextsService().endContext(SessionScoped.class, null);
+        Assert.assertEquals(activeSessions, metrics.getActiveSessionContexts());
+
+        metrics.reset();
+        Assert.assertTrue(metrics.getBeanCreations().isEmpty());
+
+        shutDownContainer();
+        Assert.assertFalse(mBeanServer.isRegistered(objectName));
+    }
+
+    @Test
+    public void testInterceptorChainStaysMeasuredAfterSerialization() throws Exception
+    {
+        try
+        {
+            System.setProperty(MetricsService.class.getName(), JmxMetricsService.class.getName());
+            startContainer(SerializableMeteredBean.class, MeteredInterceptor.class);
+        }
+        finally
+        {
+            System.clearProperty(MetricsService.class.getName());
+        }
+
+        JmxMetricsService metricsService = (JmxMetricsService) getWebBeansContext().getMetricsService();
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        JmxMetricsService.MetricsMXBean metrics
+            = JMX.newMXBeanProxy(mBeanServer, metricsService.getObjectName(), JmxMetricsService.MetricsMXBean.class);
+
+        SerializableMeteredBean bean = getInstance(SerializableMeteredBean.class);
+        Assert.assertEquals("done", bean.work());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            out.writeObject(bean);
+        }
+        SerializableMeteredBean deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            deserialized = (SerializableMeteredBean) in.readObject();
+        }
+        Assert.assertEquals("done", deserialized.work());
+
+        Assert.assertEquals(Long.valueOf(2), metrics.getInterceptedInvocations().get(SerializableMeteredBean.class.getName() + "#work"));
+    }
+
+    @Test
+    public void testDeserialisedSessionContextDoesNotChangeActiveSessions() throws Exception
+    {
+        try
+        {
+            System.setProperty(MetricsService.class.getName(), JmxMetricsService.class.getName());
+            startContainer();
+        }
+        finally
+        {
+            System.clearProperty(MetricsService.class.getName());
+        }
+
+        JmxMetricsService metricsService = (JmxMetricsService) getWebBeansContext().getMetricsService();
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        JmxMetricsService.MetricsMXBean metrics
+            = JMX.newMXBeanProxy(mBeanServer, metricsService.getObjectName(), JmxMetricsService.MetricsMXBean.class);
+
+        getWebBeansContext().getContextsService().startContext(SessionScoped.class, null);
+        SessionContext sessionContext = (SessionContext) getWebBeansContext().getContextsService().getCurrentContext(SessionScoped.class);
+        long activeSessions = metrics.getActiveSessionContexts();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            out.writeObject(sessionContext);
+        }
+        SessionContext deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            deserialized = (SessionContext) in.readObject();
+        }
+        Assert.assertEquals(activeSessions, metrics.getActiveSessionContexts());
+
+        deserialized.destroy();
+        Assert.assertEquals(activeSessions, metrics.getActiveSessionContexts());
+
+        getWebBeansContext().getContextsService().endContext(SessionScoped.class, null);
+        Assert.assertEquals(activeSessions - 1, metrics.getActiveSessionContexts());
+    }
+
+    @Test
+    public void testNoopByDefault()
+    {
+        startContainer(MeteredBean.class);
+
+        Assert.assertFalse(getWebBeansContext().getMetricsService().isEnabled());
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    public @interface Metered
+    {
+    }
+
+    @Metered
+    @Interceptor
+    @Priority(100)
+    public static class MeteredInterceptor implements Serializable
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext ic) throws Exception
+        {
+            return ic.proceed();
+        }
+    }
+
+    @RequestScoped
+    public static class MeteredBean
+    {
+        @Metered
+        public String work()
+        {
+            return "done";
+        }
+    }
+
+    public static class SerializableMeteredBean implements Serializable
+    {
+        @Metered
+        public String work()
+        {
+            return "done";
+        }
+    }
+
+    public static class MeteredEvent
+    {
+    }
+
+    public static class MeteredObserver
+    {
+        public void observe(@Observes MeteredEvent event)
+        {
+            // only needs to get invoked
+        }
+    }
+}
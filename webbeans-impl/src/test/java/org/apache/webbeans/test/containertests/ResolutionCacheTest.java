@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.containertests;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.corespi.DefaultCacheService;
+import org.apache.webbeans.spi.CacheService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Bounded lookup caches created via the {@link CacheService}.
+ */
+public class ResolutionCacheTest extends AbstractUnitTest
+{
+    @Test
+    public void testLeastRecentlyUsedEntriesGetEvicted()
+    {
+        Properties properties = new Properties();
+        properties.setProperty(OpenWebBeansConfiguration.CACHE_MAX_SIZE, "1000");
+        properties.setProperty(OpenWebBeansConfiguration.CACHE_MAX_SIZE + ".small", "100");
+        CacheService cacheService = new DefaultCacheService(new OpenWebBeansConfiguration(properties));
+
+        CacheService.Cache<Integer, String> cache = cacheService.createCache("small");
+        for (int i = 0; i < 100; i++)
+        {
+            cache.put(i, "value" + i);
+        }
+        Assert.assertEquals(100, cache.size());
+        Assert.assertEquals(0, cache.getEvictionCount());
+
+        // touch the oldest entry so that it survives the eviction
+        Assert.assertEquals("value0", cache.get(0));
+
+        cache.put(100, "value100");
+        Assert.assertTrue(cache.size() <= 100);
+        Assert.assertEquals(101 - cache.size(), cache.getEvictionCount());
+        Assert.assertEquals("value0", cache.get(0));
+        Assert.assertNull(cache.get(1));
+        Assert.assertEquals("value100", cache.get(100));
+
+        Assert.assertEquals(3, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cacheService.getCaches().size());
+    }
+
+    @Test
+    public void testUnboundedCache()
+    {
+        Properties properties = new Properties();
+        properties.setProperty(OpenWebBeansConfiguration.CACHE_MAX_SIZE, "0");
+        CacheService.Cache<Integer, Integer> cache
+            = new DefaultCacheService(new OpenWebBeansConfiguration(properties)).createCache("unbounded");
+
+        for (int i = 0; i < 20000; i++)
+        {
+            Assert.assertNull(cache.putIfAbsent(i, i));
+        }
+        Assert.assertEquals(Integer.valueOf(5), cache.putIfAbsent(5, 6));
+        Assert.assertEquals(20000, cache.size());
+        Assert.assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testResolutionStatistics()
+    {
+        startContainer(CachedBean.class);
+
+        Map<String, CacheService.Cache<?, ?>> caches = new HashMap<>();
+        for (CacheService.Cache<?, ?> cache : getWebBeansContext().getCacheService().getCaches())
+        {
+            caches.put(cache.getName(), cache);
+        }
+        Assert.assertTrue(caches.containsKey("BeanManagerImpl.cacheProxies"));
+        Assert.assertTrue(caches.containsKey("NotificationManager.observersByRawType"));
+        CacheService.Cache<?, ?> byType = caches.get("InjectionResolver.resolvedBeansByType");
+        Assert.assertNotNull(byType);
+        Assert.assertNotNull(caches.get("InjectionResolver.resolvedBeansByName"));
+
+        long hits = byType.getHitCount();
+        long misses = byType.getMissCount();
+        Assert.assertEquals(1, getBeanManager().getBeans(CachedBean.class).size());
+        Assert.assertEquals(1, getBeanManager().getBeans(CachedBean.class).size());
+        Assert.assertTrue(byType.getHitCount() > hits);
+        Assert.assertTrue(byType.getMissCount() > misses);
+    }
+
+    @ApplicationScoped
+    public static class CachedBean
+    {
+    }
+}
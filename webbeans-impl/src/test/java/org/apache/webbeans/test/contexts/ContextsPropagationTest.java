@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.event.NotificationOptions;
+import javax.enterprise.event.ObservesAsync;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.spi.ContextsService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContextsPropagationTest extends AbstractUnitTest
+{
+    @Test
+    public void testPropagateContextsToOtherThread() throws Exception
+    {
+        startContainer();
+
+        ContextsService contextsService = getWebBeansContext().getContextsService();
+        Context requestContext = contextsService.getCurrentContext(RequestScoped.class);
+        Assert.assertNotNull(requestContext);
+
+        Object contexts = contextsService.captureContexts();
+        Assert.assertNotNull(contexts);
+
+        AtomicReference<Context> propagated = new AtomicReference<>();
+        AtomicReference<Context> afterRestore = new AtomicReference<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            executor.submit(() ->
+            {
+                Object previous = contextsService.activateContexts(contexts);
+                try
+                {
+                    propagated.set(contextsService.getCurrentContext(RequestScoped.class));
+                }
+                finally
+                {
+                    contextsService.restoreContexts(previous);
+                }
+                afterRestore.set(contextsService.getCurrentContext(RequestScoped.class));
+            }).get(10, TimeUnit.SECONDS);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        Assert.assertSame(requestContext, propagated.get());
+        Assert.assertNull(afterRestore.get());
+        Assert.assertSame(requestContext, contextsService.getCurrentContext(RequestScoped.class));
+    }
+
+    @Test
+    public void testAsyncObserverDoesNotEndCallerRequestContext() throws Exception
+    {
+        startContainer(AsyncObserver.class);
+
+        ContextsService contextsService = getWebBeansContext().getContextsService();
+        Context requestContext = contextsService.getCurrentContext(RequestScoped.class);
+
+        // the observer runs on the calling thread
+        getBeanManager().getEvent().select(AsyncEvent.class)
+            .fireAsync(new AsyncEvent(), NotificationOptions.ofExecutor(Runnable::run))
+            .toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        AsyncObserver observer = getInstance(AsyncObserver.class);
+        Assert.assertNotNull(observer.getObservedContext());
+        Assert.assertNotSame(requestContext, observer.getObservedContext());
+
+        Assert.assertSame(requestContext, contextsService.getCurrentContext(RequestScoped.class));
+        Assert.assertTrue(requestContext.isActive());
+    }
+
+    public static class AsyncEvent
+    {
+    }
+
+    @ApplicationScoped
+    public static class AsyncObserver
+    {
+        private volatile Context observedContext;
+
+        public void observe(@ObservesAsync AsyncEvent event)
+        {
+            observedContext = WebBeansContext.currentInstance().getContextsService().getCurrentContext(RequestScoped.class);
+        }
+
+        public Context getObservedContext()
+        {
+            return observedContext;
+        }
+    }
+}
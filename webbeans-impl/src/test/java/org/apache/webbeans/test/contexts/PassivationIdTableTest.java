@@ -0,0 +1,96 @@
+/*
+* Licensed to the Apache Software Foundation (ASF) under one
+* or more contributor license agreements. See the NOTICE file
+* distributed with this work for additional information
+* regarding copyright ownership. The ASF licenses this file
+* to you under the Apache License, Version 2.0 (the
+* "License"); you may not use this file except in compliance
+* with the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.apache.webbeans.test.contexts;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.apache.webbeans.context.PassivationIdTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PassivationIdTableTest
+{
+    @Test
+    public void testIdsGetWrittenOncePerStream() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            PassivationIdTable previous = PassivationIdTable.begin(out);
+            try
+            {
+                PassivationIdTable.writeId(out, "a");
+                PassivationIdTable.writeId(out, "b");
+                PassivationIdTable.writeId(out, "a");
+            }
+            finally
+            {
+                PassivationIdTable.end(out, previous);
+            }
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            PassivationIdTable previous = PassivationIdTable.begin(in);
+            try
+            {
+                Assert.assertEquals("a", PassivationIdTable.readId(in));
+                Assert.assertEquals("b", PassivationIdTable.readId(in));
+                Assert.assertEquals("a", PassivationIdTable.readId(in));
+            }
+            finally
+            {
+                PassivationIdTable.end(in, previous);
+            }
+        }
+    }
+
+    @Test
+    public void testNestedStreamDoesNotUseTheOuterTable() throws Exception
+    {
+        ByteArrayOutputStream nestedBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            PassivationIdTable previous = PassivationIdTable.begin(out);
+            try
+            {
+                PassivationIdTable.writeId(out, "a");
+
+                // e.g. a bean which serializes a copy of itself in its writeObject method
+                try (ObjectOutputStream nested = new ObjectOutputStream(nestedBytes))
+                {
+                    PassivationIdTable.writeId(nested, "a");
+                }
+            }
+            finally
+            {
+                PassivationIdTable.end(out, previous);
+            }
+        }
+
+        try (ObjectInputStream nested = new ObjectInputStream(new ByteArrayInputStream(nestedBytes.toByteArray())))
+        {
+            Assert.assertEquals("a", nested.readUTF());
+        }
+    }
+}
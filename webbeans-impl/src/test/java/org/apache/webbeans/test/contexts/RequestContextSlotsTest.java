@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.container.BeanSlotRegistry;
+import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RequestContextSlotsTest extends AbstractUnitTest
+{
+    @Test
+    public void testInstanceIsCachedPerRequest()
+    {
+        startContainer(RequestBean.class);
+
+        Bean<RequestBean> bean = getBean(RequestBean.class);
+        BeanSlotRegistry slotRegistry = getWebBeansContext().getBeanSlotRegistry();
+        Assert.assertTrue(slotRegistry.getSlot(bean) < slotRegistry.size());
+
+        RequestScopedBeanInterceptorHandler handler
+            = new RequestScopedBeanInterceptorHandler(getWebBeansContext().getBeanManagerImpl(), bean);
+
+        Object instance = handler.get();
+        Assert.assertNotNull(instance);
+        Assert.assertSame(instance, handler.get());
+
+        restartContext(RequestScoped.class);
+
+        Object newInstance = handler.get();
+        Assert.assertNotNull(newInstance);
+        Assert.assertNotSame(instance, newInstance);
+        Assert.assertSame(newInstance, handler.get());
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+    }
+}
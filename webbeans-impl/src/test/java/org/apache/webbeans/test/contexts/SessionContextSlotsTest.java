@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.io.Serializable;
+
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.AlterableContext;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SessionContextSlotsTest extends AbstractUnitTest
+{
+    @Test
+    public void testInstanceIsCachedPerSession()
+    {
+        startContainer(SessionBean.class);
+
+        Bean<SessionBean> bean = getBean(SessionBean.class);
+        SessionScopedBeanInterceptorHandler handler
+            = new SessionScopedBeanInterceptorHandler(getWebBeansContext().getBeanManagerImpl(), bean);
+
+        Object instance = handler.get();
+        Assert.assertNotNull(instance);
+        Assert.assertSame(instance, handler.get());
+
+        // the cached instance must not survive a destroyed bean
+        ((AlterableContext) getBeanManager().getContext(SessionScoped.class)).destroy(bean);
+        Object recreated = handler.get();
+        Assert.assertNotNull(recreated);
+        Assert.assertNotSame(instance, recreated);
+        Assert.assertSame(recreated, handler.get());
+
+        restartContext(SessionScoped.class);
+
+        Object newInstance = handler.get();
+        Assert.assertNotSame(recreated, newInstance);
+        Assert.assertSame(newInstance, handler.get());
+    }
+
+    @SessionScoped
+    public static class SessionBean implements Serializable
+    {
+    }
+}
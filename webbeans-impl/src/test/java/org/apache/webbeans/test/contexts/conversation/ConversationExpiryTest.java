@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts.conversation;
+
+import java.util.Set;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.context.ConversationContext;
+import org.apache.webbeans.conversation.ConversationManager;
+import org.apache.webbeans.conversation.ConversationStorage;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for the timer wheel which destroys timed out conversations.
+ */
+public class ConversationExpiryTest extends AbstractUnitTest
+{
+    @Test
+    public void testTimedOutConversationGetsDestroyedByTimer() throws Exception
+    {
+        try
+        {
+            System.setProperty(OpenWebBeansConfiguration.APPLICATION_SUPPORTS_CONVERSATION, "true");
+            System.setProperty(OpenWebBeansConfiguration.CONVERSATION_PERIODIC_DELAY, "10");
+            startContainer(ConversationScopedBean.class);
+        }
+        finally
+        {
+            System.clearProperty(OpenWebBeansConfiguration.APPLICATION_SUPPORTS_CONVERSATION);
+            System.clearProperty(OpenWebBeansConfiguration.CONVERSATION_PERIODIC_DELAY);
+        }
+
+        ConversationManager conversationManager = getWebBeansContext().getConversationManager();
+        Assert.assertTrue(conversationManager.isScheduledExpiry());
+
+        ConversationScopedBean instance = getInstance(ConversationScopedBean.class);
+        instance.setValue("a");
+        instance.begin();
+        instance.getConversation().setTimeout(100);
+        String conversationId = instance.getConversation().getId();
+
+        Set<ConversationContext> conversations = conversationManager.getSessionConversations(
+            getBeanManager().getContext(SessionScoped.class), false);
+        Assert.assertTrue(conversations instanceof ConversationStorage);
+        Assert.assertNotNull(((ConversationStorage) conversations).get(conversationId));
+
+        // the current request still uses the conversation
+        Thread.sleep(300);
+        Assert.assertEquals(1, conversations.size());
+
+        endContext(RequestScoped.class);
+
+        long end = System.currentTimeMillis() + 5000;
+        while (!conversations.isEmpty() && System.currentTimeMillis() < end)
+        {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(conversations.isEmpty());
+    }
+
+    @Test
+    public void testConversationsAreIndexedById() throws Exception
+    {
+        try
+        {
+            System.setProperty(OpenWebBeansConfiguration.APPLICATION_SUPPORTS_CONVERSATION, "true");
+            startContainer(ConversationScopedBean.class);
+        }
+        finally
+        {
+            System.clearProperty(OpenWebBeansConfiguration.APPLICATION_SUPPORTS_CONVERSATION);
+        }
+
+        // the timer wheel is opt-in
+        Assert.assertFalse(getWebBeansContext().getConversationManager().isScheduledExpiry());
+
+        ConversationScopedBean instance = getInstance(ConversationScopedBean.class);
+        instance.begin();
+        String conversationId = instance.getConversation().getId();
+
+        ConversationStorage conversations = (ConversationStorage) getWebBeansContext().getConversationManager()
+            .getSessionConversations(getBeanManager().getContext(SessionScoped.class), false);
+        ConversationContext conversationContext = conversations.get(conversationId);
+        Assert.assertNotNull(conversationContext);
+        Assert.assertTrue(conversations.contains(conversationContext));
+
+        instance.end();
+        Assert.assertNull(conversations.get(conversationId));
+        Assert.assertFalse(conversations.contains(conversationContext));
+        Assert.assertTrue(conversations.isEmpty());
+    }
+}
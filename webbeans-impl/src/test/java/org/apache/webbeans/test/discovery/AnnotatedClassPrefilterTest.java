@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.discovery;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.Stereotype;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.interceptor.Interceptor;
+
+import org.apache.webbeans.corespi.scanner.xbean.AnnotatedClassPrefilter;
+import org.junit.Test;
+
+public class AnnotatedClassPrefilterTest
+{
+    @Test
+    public void testClassesWhichMayBeBeans() throws IOException
+    {
+        assertTrue(AnnotatedClassPrefilter.mayBeBeanAnnotated(bytecode(ScopedBean.class)));
+        assertTrue(AnnotatedClassPrefilter.mayBeBeanAnnotated(bytecode(StereotypedBean.class)));
+        assertTrue(AnnotatedClassPrefilter.mayBeBeanAnnotated(bytecode(InterceptorClass.class)));
+        assertTrue(AnnotatedClassPrefilter.mayBeBeanAnnotated(bytecode(DeprecatedAndScopedBean.class)));
+    }
+
+    @Test
+    public void testClassesWhichCannotBeBeans() throws IOException
+    {
+        assertFalse(AnnotatedClassPrefilter.mayBeBeanAnnotated(bytecode(PlainClass.class)));
+        assertFalse(AnnotatedClassPrefilter.mayBeBeanAnnotated(bytecode(MemberAnnotationsOnly.class)));
+        assertFalse(AnnotatedClassPrefilter.mayBeBeanAnnotated(bytecode(DeprecatedClass.class)));
+        assertFalse(AnnotatedClassPrefilter.mayBeBeanAnnotated(bytecode(Constants.class)));
+    }
+
+    @Test
+    public void testBrokenBytecodeGetsKept() throws IOException
+    {
+        byte[] bytecode = bytecode(ScopedBean.class);
+        assertTrue(AnnotatedClassPrefilter.mayBeBeanAnnotated(Arrays.copyOf(bytecode, bytecode.length / 2)));
+        assertTrue(AnnotatedClassPrefilter.mayBeBeanAnnotated(new byte[] { 1, 2, 3 }));
+    }
+
+    private static byte[] bytecode(Class<?> clazz) throws IOException
+    {
+        String resource = clazz.getName().replace('.', '/') + ".class";
+        try (InputStream in = clazz.getClassLoader().getResourceAsStream(resource))
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1)
+            {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    @RequestScoped
+    public static class ScopedBean
+    {
+        @Inject
+        private PlainClass plainClass;
+    }
+
+    @Stereotype
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface MyStereotype
+    {
+    }
+
+    @MyStereotype
+    public static class StereotypedBean
+    {
+    }
+
+    @Interceptor
+    public static class InterceptorClass
+    {
+    }
+
+    @Deprecated
+    @RequestScoped
+    public static class DeprecatedAndScopedBean
+    {
+    }
+
+    public static class PlainClass
+    {
+    }
+
+    public static class MemberAnnotationsOnly
+    {
+        @Inject
+        @Named("other")
+        private PlainClass plainClass;
+
+        @Deprecated
+        public void method()
+        {
+            // nothing to do
+        }
+    }
+
+    @Deprecated
+    public static class DeprecatedClass
+    {
+    }
+
+    public static class Constants
+    {
+        public static final long LONG_VALUE = 42L;
+        public static final double DOUBLE_VALUE = 4.2d;
+        public static final String STRING_VALUE = "RuntimeVisibleAnnotations";
+    }
+}
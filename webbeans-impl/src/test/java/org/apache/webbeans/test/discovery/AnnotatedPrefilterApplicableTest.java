@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.discovery;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.lifecycle.test.OpenWebBeansTestMetaDataDiscoveryService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.xbean.finder.AnnotationFinder;
+import org.junit.Test;
+
+public class AnnotatedPrefilterApplicableTest extends AbstractUnitTest
+{
+    @Test
+    public void testDisabledByDefault()
+    {
+        startContainer();
+
+        assertFalse(new DefaultRulesDiscovery().isPrefilterApplicable());
+    }
+
+    @Test
+    public void testSkippedIfBeanAnnotationRulesAreOverridden()
+    {
+        try
+        {
+            System.setProperty(OpenWebBeansConfiguration.ANNOTATED_PREFILTER, "true");
+            startContainer();
+        }
+        finally
+        {
+            System.clearProperty(OpenWebBeansConfiguration.ANNOTATED_PREFILTER);
+        }
+
+        assertTrue(new DefaultRulesDiscovery().isPrefilterApplicable());
+        assertFalse(new ClassInfoRuleDiscovery().isPrefilterApplicable());
+        assertFalse(new AnnotationInfoRuleDiscovery().isPrefilterApplicable());
+        assertFalse(new AnnotationNameRuleDiscovery().isPrefilterApplicable());
+    }
+
+    public static class DefaultRulesDiscovery extends OpenWebBeansTestMetaDataDiscoveryService
+    {
+        public boolean isPrefilterApplicable()
+        {
+            return isAnnotatedPrefilterApplicable();
+        }
+    }
+
+    public static class ClassInfoRuleDiscovery extends DefaultRulesDiscovery
+    {
+        @Override
+        protected boolean isBeanAnnotatedClass(AnnotationFinder.ClassInfo classInfo)
+        {
+            return true;
+        }
+    }
+
+    public static class AnnotationInfoRuleDiscovery extends DefaultRulesDiscovery
+    {
+        @Override
+        protected boolean isBeanAnnotation(AnnotationFinder.AnnotationInfo annotationInfo)
+        {
+            return true;
+        }
+    }
+
+    public static class AnnotationNameRuleDiscovery extends DefaultRulesDiscovery
+    {
+        @Override
+        protected boolean isBeanAnnotation(String annotationName)
+        {
+            return true;
+        }
+    }
+}
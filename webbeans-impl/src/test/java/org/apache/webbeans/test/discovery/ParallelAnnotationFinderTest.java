@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.discovery;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.inject.Inject;
+
+import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.corespi.scanner.xbean.ParallelAnnotationFinder;
+import org.apache.xbean.finder.archive.Archive;
+import org.apache.xbean.finder.archive.ClassesArchive;
+import org.apache.xbean.finder.archive.CompositeArchive;
+import org.junit.Test;
+
+public class ParallelAnnotationFinderTest
+{
+    @Test
+    public void testArchivesGetMerged()
+    {
+        List<Archive> archives = asList(
+            new ClassesArchive(FirstBean.class, SharedBean.class),
+            new ClassesArchive(SecondBean.class, SharedBean.class),
+            new ClassesArchive(PlainClass.class));
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        ParallelAnnotationFinder finder;
+        try
+        {
+            finder = new ParallelAnnotationFinder(archives, pool);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        assertNotNull(finder.getClassInfo(FirstBean.class.getName()));
+        assertNotNull(finder.getClassInfo(SecondBean.class.getName()));
+        assertNotNull(finder.getClassInfo(SharedBean.class.getName()));
+        assertNotNull(finder.getClassInfo(PlainClass.class.getName()));
+        assertNull(finder.getClassInfo(ParallelAnnotationFinderTest.class.getName()));
+
+        assertEquals(ApplicationScoped.class.getName(),
+            finder.getClassInfo(FirstBean.class.getName()).getAnnotations().get(0).getName());
+
+        assertEquals(new HashSet<>(asList(FirstBean.class, SecondBean.class)),
+            new HashSet<>(finder.findAnnotatedClasses(ApplicationScoped.class)));
+    }
+
+    @Test
+    public void testSameResultAsSequentialScanning()
+    {
+        List<Archive> archives = asList(
+            new ClassesArchive(FirstBean.class, SharedBean.class),
+            new ClassesArchive(SecondBean.class, SharedBean.class));
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        ParallelAnnotationFinder finder;
+        try
+        {
+            finder = new ParallelAnnotationFinder(archives, pool);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        OwbAnnotationFinder sequentialFinder = new OwbAnnotationFinder(new CompositeArchive(archives));
+
+        // the first archive wins, duplicated classes are only contained once
+        assertEquals(asList(SharedBean.class), finder.findAnnotatedClasses(RequestScoped.class));
+        assertEquals(1, finder.findAnnotatedFields(Inject.class).size());
+
+        assertEquals(new HashSet<>(sequentialFinder.findAnnotatedClasses(RequestScoped.class)),
+            new HashSet<>(finder.findAnnotatedClasses(RequestScoped.class)));
+        assertEquals(new HashSet<>(sequentialFinder.findAnnotatedFields(Inject.class)),
+            new HashSet<>(finder.findAnnotatedFields(Inject.class)));
+    }
+
+    @ApplicationScoped
+    public static class FirstBean
+    {
+    }
+
+    @ApplicationScoped
+    public static class SecondBean
+    {
+    }
+
+    @RequestScoped
+    public static class SharedBean
+    {
+        @Inject
+        private FirstBean firstBean;
+    }
+
+    public static class PlainClass
+    {
+    }
+}
@@ -23,6 +23,10 @@ import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
+import javax.enterprise.inject.AmbiguousResolutionException;
+
+import org.apache.webbeans.configurator.BeanConfiguratorImpl;
+import org.apache.webbeans.event.NotificationManager;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.junit.Assert;
 import org.junit.Ignore;
@@ -51,6 +55,84 @@ public class EventTest extends AbstractUnitTest {
         shutDownContainer();
     }
 
+    @Test
+    public void repeatedFireUsesSameObservers()
+    {
+        Collection<Class<?>> beanClasses = new ArrayList<Class<?>>();
+        beanClasses.add(Painter.class);
+        startContainer(beanClasses, null);
+
+        NotificationManager notificationManager = getWebBeansContext().getNotificationManager();
+        int cachedPlans = notificationManager.getDispatchPlanCount();
+
+        // each further event of the same type gets delivered via the cached dispatch plan
+        final Orange orange = new Orange();
+        getBeanManager().fireEvent(orange);
+        Assert.assertEquals(cachedPlans + 1, notificationManager.getDispatchPlanCount());
+        getBeanManager().fireEvent(orange);
+        Assert.assertEquals(cachedPlans + 1, notificationManager.getDispatchPlanCount());
+
+        final Green green = new Green();
+        getBeanManager().fireEvent(green);
+        getBeanManager().fireEvent(orange);
+        Assert.assertEquals(cachedPlans + 2, notificationManager.getDispatchPlanCount());
+
+        final Painter painter = getInstance(Painter.class);
+        Assert.assertEquals(4, painter.getObserved().size());
+        Assert.assertSame(orange, painter.getObserved().get(0));
+        Assert.assertSame(orange, painter.getObserved().get(1));
+        Assert.assertSame(green, painter.getObserved().get(2));
+        Assert.assertSame(orange, painter.getObserved().get(3));
+
+        shutDownContainer();
+    }
+
+    @Test
+    public void testObserverWithInjectedParameters()
+    {
+        startContainer(Sculptor.class, Painter.class, Litographer.class);
+
+        // the injected parameters get resolved once and must be passed in the right order every time
+        final Orange orange = new Orange();
+        getBeanManager().fireEvent(orange);
+        getBeanManager().fireEvent(orange);
+
+        final Sculptor sculptor = getInstance(Sculptor.class);
+        Assert.assertEquals(6, sculptor.getObserved().size());
+        for (int i = 0; i < 2; i++)
+        {
+            Assert.assertTrue(sculptor.getObserved().get(i * 3) instanceof Painter);
+            Assert.assertSame(orange, sculptor.getObserved().get(i * 3 + 1));
+            Assert.assertTrue(sculptor.getObserved().get(i * 3 + 2) instanceof Litographer);
+        }
+
+        shutDownContainer();
+    }
+
+    @Test
+    public void testObserverParametersGetResolvedAgainAfterBeanGotAdded()
+    {
+        startContainer(Sculptor.class, Painter.class, Litographer.class);
+        getBeanManager().fireEvent(new Orange());
+
+        // a second Litographer bean makes the injection point ambiguous, the observer must not keep the old resolution
+        BeanConfiguratorImpl<Litographer> otherLitographer = new BeanConfiguratorImpl<>(getWebBeansContext());
+        otherLitographer.beanClass(Litographer.class).types(Litographer.class, Object.class)
+            .createWith(creationalContext -> new Litographer());
+        getWebBeansContext().getBeanManagerImpl().addBean(otherLitographer.getBean());
+        try
+        {
+            getBeanManager().fireEvent(new Orange());
+            Assert.fail("the injection point should be ambiguous now");
+        }
+        catch (AmbiguousResolutionException e)
+        {
+            // expected
+        }
+
+        shutDownContainer();
+    }
+
     @Test
     public void testOverriddenObserverMethodsInSubclasses()
     {
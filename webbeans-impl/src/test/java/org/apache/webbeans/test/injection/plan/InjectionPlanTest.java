@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.injection.plan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.AmbiguousResolutionException;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InjectionTarget;
+import javax.inject.Inject;
+
+import org.apache.webbeans.configurator.BeanConfiguratorImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Field and initializer injection via the compiled injection plan.
+ */
+public class InjectionPlanTest extends AbstractUnitTest
+{
+    @Test
+    public void testInjectionOrder()
+    {
+        startContainer(Service.class, Helper.class, Child.class);
+
+        for (int i = 0; i < 3; i++)
+        {
+            Child child = getInstance(Child.class);
+            Assert.assertNotNull(child.service);
+            Assert.assertNotNull(child.childHelper);
+            Assert.assertEquals("ok", child.childHelper.call());
+
+            // same order as the non compiled injection: the AnnotatedMethods of inherited
+            // initializers without parameters are declared by the subclass AnnotatedType,
+            // so they all run after the initializers with injection points
+            Assert.assertEquals(4, child.calls.size());
+            Assert.assertEquals("parentInit:true", child.calls.get(0));
+            Assert.assertEquals("childInit:true:true", child.calls.get(1));
+            Assert.assertTrue(child.calls.subList(2, 4).containsAll(Arrays.asList("parentNoArg", "childNoArg")));
+        }
+    }
+
+    @Test
+    public void testNonContextualInstance()
+    {
+        startContainer(Service.class, Helper.class);
+
+        BeanManager beanManager = getBeanManager();
+        InjectionTarget<Child> injectionTarget = beanManager.getInjectionTargetFactory(beanManager.createAnnotatedType(Child.class))
+            .createInjectionTarget(null);
+
+        for (int i = 0; i < 2; i++)
+        {
+            CreationalContext<Child> creationalContext = beanManager.createCreationalContext(null);
+            Child child = new Child();
+            injectionTarget.inject(child, creationalContext);
+            Assert.assertNotNull(child.service);
+            Assert.assertEquals(4, child.calls.size());
+            creationalContext.release();
+        }
+    }
+
+    @Test
+    public void testPlanGetsRebuiltAfterBeanGotAdded()
+    {
+        startContainer(Service.class, Helper.class);
+
+        BeanManager beanManager = getBeanManager();
+        InjectionTarget<Helper> injectionTarget = beanManager.getInjectionTargetFactory(beanManager.createAnnotatedType(Helper.class))
+            .createInjectionTarget(null);
+
+        Helper helper = new Helper();
+        injectionTarget.inject(helper, beanManager.createCreationalContext(null));
+        Assert.assertEquals("ok", helper.call());
+
+        // a second Service bean makes the injection point ambiguous, the plan must not keep the old resolution
+        BeanConfiguratorImpl<Service> otherServiceBean = new BeanConfiguratorImpl<>(getWebBeansContext());
+        otherServiceBean.beanClass(Service.class).types(Service.class, Object.class).createWith(creationalContext -> new Service());
+        getWebBeansContext().getBeanManagerImpl().addBean(otherServiceBean.getBean());
+        try
+        {
+            injectionTarget.inject(new Helper(), beanManager.createCreationalContext(null));
+            Assert.fail("the injection point should be ambiguous now");
+        }
+        catch (AmbiguousResolutionException e)
+        {
+            // expected
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        public String call()
+        {
+            return "ok";
+        }
+    }
+
+    @Dependent
+    public static class Helper
+    {
+        @Inject
+        private Service service;
+
+        public String call()
+        {
+            return service.call();
+        }
+    }
+
+    public static class Parent
+    {
+        protected final List<String> calls = new ArrayList<>();
+
+        @Inject
+        protected Service service;
+
+        @Inject
+        protected void parentInit(Helper helper)
+        {
+            calls.add("parentInit:" + (service != null && helper != null));
+        }
+
+        @Inject
+        protected void parentNoArg()
+        {
+            calls.add("parentNoArg");
+        }
+    }
+
+    @Dependent
+    public static class Child extends Parent
+    {
+        @Inject
+        private Helper childHelper;
+
+        @Inject
+        private void childInit(Service childService, Helper helper)
+        {
+            calls.add("childInit:" + (childHelper != null) + ":" + (childService != null && helper != null));
+        }
+
+        @Inject
+        private void childNoArg()
+        {
+            calls.add("childNoArg");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.instance;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+
+import org.apache.webbeans.configurator.BeanConfiguratorImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The cached resolution of an {@link Instance} must see beans which got added after the deployment.
+ */
+public class InstanceResolutionCacheTest extends AbstractUnitTest
+{
+    @Test
+    public void testCachedResolution()
+    {
+        startContainer(Holder.class, Service.class);
+
+        Holder holder = getInstance(Holder.class);
+        for (int i = 0; i < 3; i++)
+        {
+            Assert.assertFalse(holder.services.isUnsatisfied());
+            Assert.assertFalse(holder.services.isAmbiguous());
+            Assert.assertEquals("service", holder.services.get().name());
+            Assert.assertTrue(holder.services.iterator().hasNext());
+        }
+
+        Assert.assertTrue(holder.greeters.isUnsatisfied());
+    }
+
+    @Test
+    public void testBeanAddedAfterDeployment()
+    {
+        startContainer(Holder.class, Service.class);
+
+        Holder holder = getInstance(Holder.class);
+        Assert.assertTrue(holder.greeters.isUnsatisfied());
+
+        BeanConfiguratorImpl<Greeter> greeterBean = new BeanConfiguratorImpl<>(getWebBeansContext());
+        greeterBean.beanClass(Greeter.class).types(Greeter.class, Object.class).createWith(creationalContext -> new Greeter());
+        getWebBeansContext().getBeanManagerImpl().addBean(greeterBean.getBean());
+
+        Assert.assertFalse(holder.greeters.isUnsatisfied());
+        Assert.assertEquals("hello", holder.greeters.get().greet());
+    }
+
+    @Dependent
+    public static class Holder
+    {
+        @Inject
+        private Instance<Service> services;
+
+        @Inject
+        @Any
+        private Instance<Greeter> greeters;
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        public String name()
+        {
+            return "service";
+        }
+    }
+
+    public static class Greeter
+    {
+        public String greet()
+        {
+            return "hello";
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -91,4 +92,29 @@ public class NewProxyTest extends AbstractUnitTest
         shutDownContainer();
         
     }
+
+    @Test
+    public void testMethodWithoutInterceptorsGetsDelegatedDirectly() throws Exception
+    {
+        startContainer(RuntimeExceptionBindingTypeBean.class);
+
+        BeanManager beanManager = getBeanManager();
+        Bean bean = beanManager.resolve(beanManager.getBeans(RuntimeExceptionBindingTypeBean.class));
+
+        RuntimeExceptionBindingTypeBean target = new RuntimeExceptionBindingTypeBean();
+
+        // e.g. a method which only gets decorated
+        Method[] interceptedMethods = {RuntimeExceptionBindingTypeBean.class.getMethod("business")};
+        Map<Method, List<Interceptor<?>>> interceptors = new HashMap<Method, List<Interceptor<?>>>();
+        interceptors.put(interceptedMethods[0], Collections.<Interceptor<?>>emptyList());
+        InterceptorHandler interceptorHandler
+                = new DefaultInterceptorHandler<RuntimeExceptionBindingTypeBean>(target, target, interceptors, new HashMap(), null);
+
+        InterceptorDecoratorProxyFactory factory = new InterceptorDecoratorProxyFactory(getWebBeansContext());
+        Class<RuntimeExceptionBindingTypeBean> proxyClass
+                = factory.createProxyClass(bean, Thread.currentThread().getContextClassLoader(), RuntimeExceptionBindingTypeBean.class, interceptedMethods, null);
+
+        RuntimeExceptionBindingTypeBean instance = factory.createProxyInstance(proxyClass, target, interceptorHandler);
+        Assert.assertEquals(42, instance.business());
+    }
 }
@@ -96,6 +96,42 @@ public class InterceptorDecoratorProxyFactoryTest extends AbstractUnitTest
         Assert.assertEquals(5, testInvocationHandler.invokedMethodNames.size());
     }
 
+    @Test
+    public void testProxyPassesMethodIndex() throws Exception
+    {
+        InterceptorDecoratorProxyFactory pf = new InterceptorDecoratorProxyFactory(new WebBeansContext());
+
+        // we take a fresh URLClassLoader to not blur the test classpath with synthetic classes.
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+
+        List<Method> methods = ClassUtil.getNonPrivateMethods(ClassInterceptedClass.class, true);
+        final Method[] interceptedMethods = methods.toArray(new Method[methods.size()]);
+
+        Class<ClassInterceptedClass> proxyClass = pf.createProxyClass(new DummyBean(), classLoader, ClassInterceptedClass.class, interceptedMethods, null);
+
+        ClassInterceptedClass internalInstance = new ClassInterceptedClass();
+        internalInstance.init();
+
+        final List<Integer> indices = new ArrayList<Integer>();
+        TestInterceptorHandler testInvocationHandler = new TestInterceptorHandler(internalInstance)
+        {
+            @Override
+            public Object invoke(Method method, int methodIndex, Object[] args)
+            {
+                Assert.assertSame(interceptedMethods[methodIndex], method);
+                indices.add(methodIndex);
+                return invoke(method, args);
+            }
+        };
+
+        ClassInterceptedClass proxy = pf.createProxyInstance(proxyClass, internalInstance, testInvocationHandler);
+        proxy.setMeaningOfLife(42);
+        Assert.assertEquals(42, proxy.getMeaningOfLife());
+
+        Assert.assertEquals(2, indices.size());
+        Assert.assertEquals(2, testInvocationHandler.invokedMethodNames.size());
+    }
+
     @Test
     public void testGenericProxyGeneration()
     {
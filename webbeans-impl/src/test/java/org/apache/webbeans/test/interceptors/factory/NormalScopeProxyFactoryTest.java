@@ -20,6 +20,7 @@ package org.apache.webbeans.test.interceptors.factory;
 
 import org.apache.webbeans.component.OwbBean;
 import org.apache.webbeans.component.WebBeansType;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.InjectableBeanManager;
 import org.apache.webbeans.context.ApplicationContext;
@@ -27,10 +28,13 @@ import org.apache.webbeans.intercept.NormalScopedBeanInterceptorHandler;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.interceptors.factory.beans.ClassInterceptedClass;
 import org.apache.webbeans.test.interceptors.factory.beans.SomeBaseClass;
+import org.apache.webbeans.proxy.AbstractProxyFactory;
 import org.apache.webbeans.proxy.NormalScopeProxyFactory;
 import org.apache.webbeans.test.util.Serializations;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.spi.Context;
@@ -40,6 +44,7 @@ import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.inject.spi.Producer;
 import javax.inject.Provider;
 
+import java.io.File;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
@@ -60,6 +65,9 @@ import static org.junit.Assert.assertSame;
  */
 public class NormalScopeProxyFactoryTest extends AbstractUnitTest
 {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     @Test
     public void noBeanClassProxy()
     {
@@ -280,6 +288,68 @@ public class NormalScopeProxyFactoryTest extends AbstractUnitTest
         proxy.willFail3();
     }
     
+    @Test
+    public void testPrebuiltProxy() throws Exception
+    {
+        File outputDirectory = tempFolder.newFolder("proxies");
+
+        Class<PartialBeanClass> prebuiltClass;
+        System.setProperty(OpenWebBeansConfiguration.PREBUILT_PROXY_OUTPUT_DIRECTORY, outputDirectory.getAbsolutePath());
+        try
+        {
+            NormalScopeProxyFactory pf = new NormalScopeProxyFactory(new WebBeansContext());
+            prebuiltClass = pf.createProxyClass(new URLClassLoader(new URL[0]), PartialBeanClass.class);
+        }
+        finally
+        {
+            System.clearProperty(OpenWebBeansConfiguration.PREBUILT_PROXY_OUTPUT_DIRECTORY);
+        }
+
+        Assert.assertTrue(prebuiltClass.getName().startsWith(
+                PartialBeanClass.class.getName() + "$$OwbNormalScopeProxy" + AbstractProxyFactory.PREBUILT_PROXY_INFIX));
+        Assert.assertTrue(new File(outputDirectory, prebuiltClass.getName().replace('.', '/') + ".class").isFile());
+
+        // a classloader which contains the pre-built proxy like a packaged application would
+        ClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()});
+
+        // pre-built proxies are opt-in
+        NormalScopeProxyFactory pf = new NormalScopeProxyFactory(new WebBeansContext());
+        Assert.assertNotEquals(prebuiltClass.getName(), pf.createProxyClass(classLoader, PartialBeanClass.class).getName());
+
+        System.setProperty(OpenWebBeansConfiguration.USE_PREBUILT_PROXIES, "true");
+        try
+        {
+            pf = new NormalScopeProxyFactory(new WebBeansContext());
+        }
+        finally
+        {
+            System.clearProperty(OpenWebBeansConfiguration.USE_PREBUILT_PROXIES);
+        }
+        Class<PartialBeanClass> proxyClass = pf.createProxyClass(classLoader, PartialBeanClass.class);
+        Assert.assertEquals(prebuiltClass.getName(), proxyClass.getName());
+        Assert.assertSame(classLoader, proxyClass.getClassLoader());
+
+        PartialBeanClass internalInstance = new PartialBeanClass()
+        {
+            @Override
+            public String willFail2()
+            {
+                return "";
+            }
+
+            @Override
+            public String willFail()
+            {
+                return "";
+            }
+        };
+
+        TestContextualInstanceProvider provider = new TestContextualInstanceProvider(internalInstance);
+        PartialBeanClass proxy = pf.createProxyInstance(proxyClass, provider);
+        proxy.willFail();
+        Assert.assertTrue(provider.gotInvoked());
+    }
+
     @Test
     public void testPartialBeanProxyCreation2() throws Exception
     {
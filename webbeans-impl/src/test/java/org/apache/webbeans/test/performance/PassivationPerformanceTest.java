@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.performance;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.context.spi.Contextual;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.context.AbstractContext;
+import org.apache.webbeans.context.PassivatingContext;
+import org.apache.webbeans.context.SessionContext;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.util.WebBeansUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Test to benchmark the size and the time of session passivation.
+ * The legacy encoding wrote a HashMap keyed by the passivation ids
+ * and the interceptor handlers wrote every id as full string.
+ */
+public class PassivationPerformanceTest extends AbstractUnitTest
+{
+    private static final Logger logger = Logger.getLogger(PassivationPerformanceTest.class.getName());
+
+    private static final int WARMUP_ITERATIONS = 1000;
+
+    // tune up to larger values to get more stable numbers
+    private static final int BENCHMARK_ITERATIONS = 5000;
+
+    @Test
+    public void testSessionPassivationPerformance() throws Exception
+    {
+        startContainer(TrackingInterceptor.class, TrackedService.class, OtherTrackedService.class,
+                       FirstSessionBean.class, SecondSessionBean.class, ThirdSessionBean.class);
+
+        getInstance(FirstSessionBean.class).touch();
+        getInstance(SecondSessionBean.class).touch();
+        getInstance(ThirdSessionBean.class).touch();
+
+        Context context = getBeanManager().getContext(SessionScoped.class);
+        Assert.assertTrue(context instanceof PassivatingContext);
+        PassivatingContext sessionContext = (PassivatingContext) context;
+
+        byte[] legacy = writeLegacy(sessionContext);
+        byte[] compact = write(sessionContext);
+        logger.info("Session size legacy: " + legacy.length + " bytes, compact: " + compact.length + " bytes");
+        Assert.assertTrue(compact.length < legacy.length);
+
+        SessionContext restored = (SessionContext) read(compact);
+        restored.setActive(true);
+        Assert.assertNotNull(restored.get(getBean(FirstSessionBean.class)));
+        Assert.assertNotNull(restored.get(getBean(SecondSessionBean.class)));
+        Assert.assertNotNull(restored.get(getBean(ThirdSessionBean.class)));
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++)
+        {
+            writeLegacy(sessionContext);
+            read(write(sessionContext));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++)
+        {
+            writeLegacy(sessionContext);
+        }
+        long end = System.nanoTime();
+        logger.info("Writing the legacy session " + BENCHMARK_ITERATIONS + " times took ms: " + TimeUnit.NANOSECONDS.toMillis(end - start));
+
+        start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++)
+        {
+            write(sessionContext);
+        }
+        end = System.nanoTime();
+        logger.info("Writing the compact session " + BENCHMARK_ITERATIONS + " times took ms: " + TimeUnit.NANOSECONDS.toMillis(end - start));
+
+        start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++)
+        {
+            read(compact);
+        }
+        end = System.nanoTime();
+        logger.info("Reading the compact session " + BENCHMARK_ITERATIONS + " times took ms: " + TimeUnit.NANOSECONDS.toMillis(end - start));
+    }
+
+    private static byte[] write(Object o) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos))
+        {
+            oos.writeObject(o);
+        }
+        return baos.toByteArray();
+    }
+
+    private static Object read(byte[] bytes) throws IOException, ClassNotFoundException
+    {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes)))
+        {
+            return ois.readObject();
+        }
+    }
+
+    /**
+     * Reproduces the encoding of the contexts before the passivation ids got interned.
+     */
+    private static byte[] writeLegacy(PassivatingContext context) throws Exception
+    {
+        Field field = AbstractContext.class.getDeclaredField("componentInstanceMap");
+        field.setAccessible(true);
+        Map<?, ?> instances = (Map<?, ?>) field.get(context);
+
+        Map<String, Object> map = new HashMap<>(instances.size());
+        for (Map.Entry<?, ?> entry : instances.entrySet())
+        {
+            map.put(WebBeansUtil.getPassivationId((Contextual<?>) entry.getKey()), entry.getValue());
+        }
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos))
+        {
+            oos.writeObject(context.getScope());
+            oos.writeObject(map);
+        }
+        return baos.toByteArray();
+    }
+
+    @InterceptorBinding
+    @Retention(RUNTIME)
+    @Target({TYPE, METHOD})
+    public @interface Tracked
+    {
+    }
+
+    @Interceptor
+    @Tracked
+    @Priority(0)
+    public static class TrackingInterceptor implements Serializable
+    {
+        @AroundInvoke
+        public Object track(InvocationContext ic) throws Exception
+        {
+            return ic.proceed();
+        }
+    }
+
+    @Tracked
+    public static class TrackedService implements Serializable
+    {
+        private int calls;
+
+        public int first()
+        {
+            return ++calls;
+        }
+
+        public int second()
+        {
+            return ++calls;
+        }
+
+        public int third()
+        {
+            return ++calls;
+        }
+    }
+
+    @Tracked
+    public static class OtherTrackedService implements Serializable
+    {
+        private String state = "other";
+
+        public String first()
+        {
+            return state;
+        }
+
+        public String second()
+        {
+            return state;
+        }
+    }
+
+    @SessionScoped
+    public static class FirstSessionBean implements Serializable
+    {
+        private @Inject TrackedService service;
+        private @Inject OtherTrackedService otherService;
+
+        public void touch()
+        {
+            service.first();
+            otherService.first();
+        }
+    }
+
+    @SessionScoped
+    public static class SecondSessionBean implements Serializable
+    {
+        private @Inject TrackedService service;
+        private @Inject OtherTrackedService otherService;
+
+        public void touch()
+        {
+            service.second();
+            otherService.second();
+        }
+    }
+
+    @SessionScoped
+    public static class ThirdSessionBean implements Serializable
+    {
+        private @Inject TrackedService service;
+        private @Inject TrackedService anotherService;
+
+        public void touch()
+        {
+            service.third();
+            anotherService.third();
+        }
+    }
+}
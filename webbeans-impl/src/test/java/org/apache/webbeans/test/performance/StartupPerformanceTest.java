@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.component.binding.AnyBindingComponent;
 import org.apache.webbeans.test.component.binding.DefaultAnyBinding;
@@ -95,6 +96,42 @@ public class StartupPerformanceTest extends AbstractUnitTest
 
     @Test
     public void testPerformance()
+    {
+        Collection<Class<?>> beanClasses = getBeanClasses();
+
+        long start = System.nanoTime();
+        for (int i=0; i < NUMBER_ITERATIONS; i++)
+        {
+            startupWithClasses(beanClasses);
+        }
+        long stop = System.nanoTime();
+        log.info("Starting up " + beanClasses.size() + " classes " + NUMBER_ITERATIONS + " times took " + TimeUnit.NANOSECONDS.toMillis(stop - start) + " ms");
+    }
+
+    @Test
+    public void testParallelDeploymentPerformance()
+    {
+        Collection<Class<?>> beanClasses = getBeanClasses();
+
+        try
+        {
+            System.setProperty(OpenWebBeansConfiguration.PARALLEL_DEPLOYMENT, "true");
+
+            long start = System.nanoTime();
+            for (int i=0; i < NUMBER_ITERATIONS; i++)
+            {
+                startupWithClasses(beanClasses);
+            }
+            long stop = System.nanoTime();
+            log.info("Parallel starting up " + beanClasses.size() + " classes " + NUMBER_ITERATIONS + " times took " + TimeUnit.NANOSECONDS.toMillis(stop - start) + " ms");
+        }
+        finally
+        {
+            System.clearProperty(OpenWebBeansConfiguration.PARALLEL_DEPLOYMENT);
+        }
+    }
+
+    private Collection<Class<?>> getBeanClasses()
     {
         Collection<Class<?>> beanClasses = new ArrayList<Class<?>>();
         beanClasses.add(PaymentProcessorComponent.class);
@@ -160,13 +197,7 @@ public class StartupPerformanceTest extends AbstractUnitTest
         addDecorator(LargeTransactionDecorator.class);
         addDecorator(ServiceDecorator.class);
 
-        long start = System.nanoTime();
-        for (int i=0; i < NUMBER_ITERATIONS; i++)
-        {
-            startupWithClasses(beanClasses);
-        }
-        long stop = System.nanoTime();
-        log.info("Starting up " + beanClasses.size() + " classes " + NUMBER_ITERATIONS + " times took " + TimeUnit.NANOSECONDS.toMillis(stop - start) + " ms");
+        return beanClasses;
     }
 
     private void startupWithClasses(Collection<Class<?>> beanClasses)
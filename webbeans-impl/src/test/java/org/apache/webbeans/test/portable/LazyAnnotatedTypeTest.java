@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.portable;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.enterprise.inject.spi.WithAnnotations;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.portable.AnnotatedTypeImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * &#064;WithAnnotations matching with lazily created AnnotatedType members.
+ */
+public class LazyAnnotatedTypeTest extends AbstractUnitTest
+{
+    @Test
+    public void testWithAnnotationsOnLazyAnnotatedTypes()
+    {
+        LazyExtension extension = new LazyExtension();
+        addExtension(extension);
+        try
+        {
+            System.setProperty(OpenWebBeansConfiguration.LAZY_ANNOTATED_TYPES, "true");
+            startContainer(PlainClass.class, InheritedFieldClass.class, ParameterClass.class,
+                RepeatedClass.class, ConstructorClass.class);
+        }
+        finally
+        {
+            System.clearProperty(OpenWebBeansConfiguration.LAZY_ANNOTATED_TYPES);
+        }
+
+        Set<Class<?>> expected = new HashSet<>();
+        expected.add(InheritedFieldClass.class);
+        expected.add(ParameterClass.class);
+        expected.add(RepeatedClass.class);
+        expected.add(ConstructorClass.class);
+        Assert.assertEquals(expected, extension.matched);
+
+        Assert.assertFalse(extension.plainMembersInitialized);
+
+        Assert.assertNotNull(getInstance(PlainClass.class));
+    }
+
+    @Test
+    public void testLazyMatchingIsSameAsEagerMatching()
+    {
+        Set<Class<?>> eager = matchedClasses(false);
+        Set<Class<?>> lazy = matchedClasses(true);
+
+        Assert.assertTrue(eager.contains(InheritedFieldClass.class));
+        // AnnotatedTypeImpl also contains the overridden methods of the superclasses
+        Assert.assertTrue(eager.contains(OverridingClass.class));
+        Assert.assertEquals(eager, lazy);
+    }
+
+    private Set<Class<?>> matchedClasses(boolean lazyAnnotatedTypes)
+    {
+        LazyExtension extension = new LazyExtension();
+        addExtension(extension);
+        try
+        {
+            System.setProperty(OpenWebBeansConfiguration.LAZY_ANNOTATED_TYPES, Boolean.toString(lazyAnnotatedTypes));
+            startContainer(PlainClass.class, InheritedFieldClass.class, ParameterClass.class,
+                RepeatedClass.class, ConstructorClass.class, OverridingClass.class, InheritedMethodClass.class);
+        }
+        finally
+        {
+            System.clearProperty(OpenWebBeansConfiguration.LAZY_ANNOTATED_TYPES);
+        }
+
+        Set<Class<?>> matched = new HashSet<>(extension.matched);
+        shutDownContainer();
+        cleanup();
+        return matched;
+    }
+
+    public static class LazyExtension implements Extension
+    {
+        private final Set<Class<?>> matched = new HashSet<>();
+        private boolean plainMembersInitialized = true;
+
+        public void withAnnotations(@Observes @WithAnnotations({ Marker.class, Tag.class }) ProcessAnnotatedType<?> pat)
+        {
+            matched.add(pat.getAnnotatedType().getJavaClass());
+        }
+
+        public void plain(@Observes ProcessAnnotatedType<PlainClass> pat)
+        {
+            plainMembersInitialized = ((AnnotatedTypeImpl<?>) pat.getAnnotatedType()).isMembersInitialized();
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ ElementType.FIELD, ElementType.METHOD, ElementType.CONSTRUCTOR, ElementType.PARAMETER })
+    public @interface Marker
+    {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    @Repeatable(Tags.class)
+    public @interface Tag
+    {
+        String value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    public @interface Tags
+    {
+        Tag[] value();
+    }
+
+    public static class PlainClass
+    {
+        private int value;
+
+        public int getValue()
+        {
+            return value;
+        }
+    }
+
+    public static class AnnotatedFieldSuperClass
+    {
+        @Marker
+        protected int value;
+    }
+
+    public static class InheritedFieldClass extends AnnotatedFieldSuperClass
+    {
+    }
+
+    public static class AnnotatedMethodSuperClass
+    {
+        @Marker
+        public void marked()
+        {
+            // nothing to do
+        }
+    }
+
+    public static class OverridingClass extends AnnotatedMethodSuperClass
+    {
+        @Override
+        public void marked()
+        {
+            // overridden without the annotation
+        }
+    }
+
+    public static class InheritedMethodClass extends AnnotatedMethodSuperClass
+    {
+    }
+
+    public static class ParameterClass
+    {
+        public void setValue(@Marker int value)
+        {
+            // nothing to do
+        }
+    }
+
+    public static class RepeatedClass
+    {
+        @Tag("a")
+        @Tag("b")
+        public void tagged()
+        {
+            // nothing to do
+        }
+    }
+
+    public static class ConstructorClass
+    {
+        @Marker
+        public ConstructorClass()
+        {
+            // nothing to do
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.maven.index;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.webbeans.corespi.scanner.index.BeanArchiveIndexer;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Generates the OpenWebBeans bean archive index (META-INF/openwebbeans/index)
+ * into the compiled classes so that the container does not need to scan them at startup.
+ */
+@Mojo(name = "index", defaultPhase = LifecyclePhase.PROCESS_CLASSES, threadSafe = true)
+public class BeanArchiveIndexMojo extends AbstractMojo
+{
+    @Parameter(defaultValue = "${project.build.outputDirectory}", property = "openwebbeans.index.classes")
+    private File classesDirectory;
+
+    @Parameter(defaultValue = "false", property = "openwebbeans.index.skip")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException
+    {
+        if (skip || !classesDirectory.isDirectory())
+        {
+            getLog().info("Skipping OpenWebBeans bean archive index generation");
+            return;
+        }
+
+        try
+        {
+            File index = BeanArchiveIndexer.writeIndex(classesDirectory);
+            getLog().info("Generated OpenWebBeans bean archive index " + index);
+        }
+        catch (IOException e)
+        {
+            throw new MojoExecutionException("Cannot generate the bean archive index for " + classesDirectory, e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.maven.proxy;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.webbeans.proxy.PrebuiltProxyGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the OpenWebBeans proxy classes of the project into the compiled classes
+ * so that the container does not need to generate them at runtime.
+ *
+ * The container gets booted in a forked JVM on the runtime classpath of the project.
+ */
+@Mojo(name = "proxies", defaultPhase = LifecyclePhase.PROCESS_CLASSES, threadSafe = true,
+      requiresDependencyResolution = ResolutionScope.RUNTIME)
+public class PrebuiltProxyMojo extends AbstractMojo
+{
+    @Parameter(defaultValue = "${project.build.outputDirectory}", property = "openwebbeans.proxies.classes")
+    private File classesDirectory;
+
+    @Parameter(defaultValue = "${project.runtimeClasspathElements}", readonly = true, required = true)
+    private List<String> classpathElements;
+
+    @Parameter(defaultValue = "${plugin.artifacts}", readonly = true, required = true)
+    private List<Artifact> pluginArtifacts;
+
+    @Parameter(defaultValue = "false", property = "openwebbeans.proxies.skip")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException
+    {
+        if (skip || !classesDirectory.isDirectory())
+        {
+            getLog().info("Skipping OpenWebBeans proxy generation");
+            return;
+        }
+
+        // the project classes first, then openwebbeans-impl and its dependencies
+        StringBuilder classpath = new StringBuilder();
+        for (String classpathElement : classpathElements)
+        {
+            classpath.append(classpathElement).append(File.pathSeparatorChar);
+        }
+        for (Artifact artifact : pluginArtifacts)
+        {
+            if (artifact.getFile() != null)
+            {
+                classpath.append(artifact.getFile().getAbsolutePath()).append(File.pathSeparatorChar);
+            }
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getAbsolutePath());
+        command.add("-cp");
+        command.add(classpath.toString());
+        command.add(PrebuiltProxyGenerator.class.getName());
+        command.add(classesDirectory.getAbsolutePath());
+
+        try
+        {
+            Process process = new ProcessBuilder(command).inheritIO().start();
+            int exitCode = process.waitFor();
+            if (exitCode != 0)
+            {
+                throw new MojoExecutionException("OpenWebBeans proxy generation failed with exit code " + exitCode);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new MojoExecutionException("Cannot start the OpenWebBeans proxy generation", e);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("OpenWebBeans proxy generation got interrupted", e);
+        }
+
+        getLog().info("Generated OpenWebBeans proxies into " + classesDirectory);
+    }
+}
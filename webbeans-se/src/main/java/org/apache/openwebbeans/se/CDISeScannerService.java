@@ -49,7 +49,7 @@ public class CDISeScannerService extends AbstractMetaDataDiscovery
 
     public OwbAnnotationFinder getFinder()
     {
-        return finder;
+        return getCompleteFinder();
     }
 
     public void loader(ClassLoader loader)
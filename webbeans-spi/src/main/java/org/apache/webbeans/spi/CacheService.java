@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.spi;
+
+import java.util.Collection;
+
+/**
+ * <p>The CacheService SPI creates the internal lookup caches of the container,
+ * e.g. the resolved beans by type and name or the resolved observer methods.</p>
+ *
+ * <p>Those caches are keyed by user supplied data like dynamically created
+ * qualifier instances. Implementations are therefore expected to bound
+ * their size and to evict entries which are not used anymore. A cache entry
+ * which got evicted will simply be recomputed by the container.</p>
+ *
+ * <p>The default implementation evicts the least recently used entries
+ * once the configured maximum size got exceeded.</p>
+ */
+public interface CacheService
+{
+    /**
+     * Creates a new cache. The name identifies the cache for
+     * configuration and statistic purposes.
+     *
+     * @param name the name of the cache, e.g. {@code InjectionResolver.resolvedBeansByType}
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return the new cache, never {@code null}
+     */
+    <K, V> Cache<K, V> createCache(String name);
+
+    /**
+     * @return all caches which got created by this service
+     */
+    Collection<Cache<?, ?>> getCaches();
+
+    /**
+     * A concurrent cache. Neither {@code null} keys nor {@code null} values are supported.
+     */
+    interface Cache<K, V>
+    {
+        /**
+         * @return the cached value or {@code null} if there is no such entry
+         */
+        V get(K key);
+
+        void put(K key, V value);
+
+        /**
+         * @return the already existing value or {@code null} if the given value got stored
+         */
+        V putIfAbsent(K key, V value);
+
+        void remove(K key);
+
+        void clear();
+
+        /**
+         * @return the current number of entries
+         */
+        int size();
+
+        String getName();
+
+        /**
+         * @return the number of {@link #get(Object)} invocations which returned a value
+         */
+        long getHitCount();
+
+        /**
+         * @return the number of {@link #get(Object)} invocations which returned {@code null}
+         */
+        long getMissCount();
+
+        /**
+         * @return the number of entries which got removed because the cache exceeded its maximum size
+         */
+        long getEvictionCount();
+    }
+}
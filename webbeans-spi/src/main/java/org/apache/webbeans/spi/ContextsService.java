@@ -101,6 +101,40 @@ public interface ContextsService
      */
     void removeThreadLocals();
 
+    /**
+     * Captures the contexts which are bound to the current thread, so they can be
+     * handed over to another thread via {@link #activateContexts(Object)}.
+     * This is a cheap operation which doesn't copy any contextual instances.
+     * @return an opaque handle of the current contexts or {@code null} if there are none
+     *         or the ContextsService doesn't support the propagation of contexts
+     */
+    default Object captureContexts()
+    {
+        return null;
+    }
+
+    /**
+     * Binds the contexts of a handle taken via {@link #captureContexts()} to the current thread.
+     * Starting or ending a context afterwards doesn't affect the thread the handle got captured on.
+     * @param contexts the handle or {@code null} to run without any thread bound contexts
+     * @return the handle of the contexts which were bound before,
+     *         this must be handed over to {@link #restoreContexts(Object)} once the work is done
+     */
+    default Object activateContexts(Object contexts)
+    {
+        return null;
+    }
+
+    /**
+     * Restores the contexts which were bound to the current thread
+     * before {@link #activateContexts(Object)} got invoked.
+     * @param previousContexts the handle returned by {@link #activateContexts(Object)}
+     */
+    default void restoreContexts(Object previousContexts)
+    {
+        // no-op by default
+    }
+
     /**
      * This method can be used to disable conversation support in core CDI.
      * This is needed as the spec defines that a user can define it's
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.spi;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+/**
+ * <p>The MetricsService SPI gets notified by the container about what happens
+ * on its hot paths: bean instantiation, contextual instance and context
+ * lifecycle, event delivery and interceptor invocations.</p>
+ *
+ * <p>All methods get invoked synchronously on the hot path, thus implementations
+ * must be thread safe and cheap. Durations are in nanoseconds.
+ * The default implementation ignores all notifications.</p>
+ *
+ * <p>Hit ratios of the internal lookup caches are available via
+ * {@link CacheService#getCaches()} and are not reported through this SPI.</p>
+ */
+public interface MetricsService
+{
+    /**
+     * @return {@code false} if this service ignores all notifications.
+     *         The container will then not take any timestamps for it.
+     */
+    boolean isEnabled();
+
+    /**
+     * A new instance of the given bean got created, injected and initialised.
+     */
+    void beanCreated(Bean<?> bean, long nanos);
+
+    /**
+     * A context of the given scope stored a new contextual instance.
+     */
+    void contextualInstanceCreated(Class<? extends Annotation> scope);
+
+    /**
+     * A context of the given scope destroyed one of its contextual instances.
+     */
+    void contextualInstanceDestroyed(Class<? extends Annotation> scope);
+
+    /**
+     * A long living context got started, e.g. for a new session or conversation.
+     */
+    void contextStarted(Class<? extends Annotation> scope);
+
+    /**
+     * A context which got reported via {@link #contextStarted(Class)} got destroyed.
+     */
+    void contextDestroyed(Class<? extends Annotation> scope);
+
+    /**
+     * An event got fired.
+     * @param observerCount the number of observer methods the event got resolved to
+     */
+    void eventFired(Class<?> eventClass, int observerCount);
+
+    /**
+     * An observer method got notified.
+     */
+    void observerInvoked(ObserverMethod<?> observerMethod, long nanos);
+
+    /**
+     * An intercepted business method got invoked, including all its interceptors.
+     */
+    void interceptorChainInvoked(Method method, long nanos);
+}
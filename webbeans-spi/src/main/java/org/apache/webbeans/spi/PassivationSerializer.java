@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.spi;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * <p>Writes and reads the contextual instances of passivating contexts,
+ * e.g. the beans of a session or a conversation.</p>
+ *
+ * <p>The container takes care of the bean identities itself and hands
+ * only the instance holders to this SPI. An implementation can thus plug in
+ * a more compact encoding than the default Java serialization.
+ * Whatever gets written by {@link #write(ObjectOutput, Object)} must be
+ * consumed exactly by {@link #read(ObjectInput)}.</p>
+ */
+public interface PassivationSerializer
+{
+    /**
+     * Write the given instance holder to the stream of the passivating context.
+     */
+    void write(ObjectOutput out, Object instance) throws IOException;
+
+    /**
+     * Read an instance holder which got written by {@link #write(ObjectOutput, Object)}.
+     */
+    Object read(ObjectInput in) throws IOException, ClassNotFoundException;
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.spi;
+
+import java.util.Set;
+
+/**
+ * <p>Storage for the serialized &#064;SessionScoped beans of idle sessions.</p>
+ *
+ * <p>The container passivates the beans of a session which didn't get used for
+ * a configurable period into this store and drops them from the heap. A bean gets
+ * hydrated again on its first access through its proxy. Implementations can keep
+ * the state off-heap, in a local file or in an external system.</p>
+ *
+ * <p>The state of a bean is identified by the key of its session and the
+ * passivation id of the bean. Implementations must be thread safe.</p>
+ */
+public interface SessionContextStore
+{
+    /**
+     * Stores the serialized state of a bean and replaces any previous one.
+     */
+    void store(String sessionKey, String beanId, byte[] state);
+
+    /**
+     * @return the state which got stored for the bean or {@code null} if there is none
+     */
+    byte[] load(String sessionKey, String beanId);
+
+    /**
+     * @return the passivation ids of all beans which got stored for the session
+     */
+    Set<String> getBeanIds(String sessionKey);
+
+    /**
+     * Removes the stored state of a single bean.
+     */
+    void remove(String sessionKey, String beanId);
+
+    /**
+     * Removes the stored state of all beans of the session.
+     */
+    void removeSession(String sessionKey);
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.web.context;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.lang.annotation.Annotation;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.servlet.http.HttpSession;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.context.SessionContext;
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.util.WebBeansUtil;
+
+/**
+ * SessionContext which keeps each contextual instance in its own HttpSession attribute.
+ *
+ * <p>The context itself gets serialized without its instances. Beans which got used
+ * within a request get marked as dirty and {@link #flush(HttpSession)} sets only their
+ * attributes again at the end of the request. Servlet containers with delta replication
+ * thus only ship the beans a request really touched.</p>
+ *
+ * <p>After a failover {@link #attach(HttpSession, WebBeansContext)} collects the
+ * instances from the session attributes again.</p>
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#SESSION_DELTA_REPLICATION
+ */
+public class DeltaSessionContext extends SessionContext
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Prefix of the HttpSession attributes, followed by the passivation id of the bean.
+     */
+    public static final String BEAN_ATTRIBUTE_PREFIX = "openWebBeansSessionBean:";
+
+    /**
+     * Beans which got used or destroyed since the last {@link #flush(HttpSession)}.
+     */
+    private transient Set<Contextual<?>> dirtyBeans = ConcurrentHashMap.newKeySet();
+
+    /**
+     * {@code false} after deserialisation as long as the instances didn't get
+     * collected from the HttpSession attributes.
+     */
+    private transient volatile boolean attached;
+
+    // for serialisation
+    public DeltaSessionContext()
+    {
+        super();
+    }
+
+    public DeltaSessionContext(WebBeansContext webBeansContext)
+    {
+        super(webBeansContext);
+        attached = true;
+    }
+
+    @Override
+    protected <T> T getInstance(Contextual<T> contextual, CreationalContext<T> creationalContext)
+    {
+        T instance = super.getInstance(contextual, creationalContext);
+        dirtyBeans.add(contextual);
+        return instance;
+    }
+
+    @Override
+    public void destroyInstance(Contextual<?> contextual)
+    {
+        super.destroyInstance(contextual);
+        dirtyBeans.add(contextual);
+    }
+
+    @Override
+    public void destroy()
+    {
+        super.destroy();
+        dirtyBeans.clear();
+    }
+
+    @Override
+    public void beanAccessed(Contextual<?> contextual)
+    {
+        dirtyBeans.add(contextual);
+    }
+
+    /**
+     * Collects the contextual instances from the HttpSession attributes
+     * if this context got deserialized, e.g. after a failover.
+     */
+    public void attach(HttpSession session, WebBeansContext webBeansContext)
+    {
+        if (attached)
+        {
+            return;
+        }
+
+        synchronized (this)
+        {
+            if (attached)
+            {
+                return;
+            }
+
+            BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+            Enumeration<String> attributeNames = session.getAttributeNames();
+            while (attributeNames.hasMoreElements())
+            {
+                String attributeName = attributeNames.nextElement();
+                if (!attributeName.startsWith(BEAN_ATTRIBUTE_PREFIX))
+                {
+                    continue;
+                }
+
+                Contextual<?> contextual = beanManager.getPassivationCapableBean(
+                    attributeName.substring(BEAN_ATTRIBUTE_PREFIX.length()));
+                Object bag = session.getAttribute(attributeName);
+                if (contextual != null && bag instanceof BeanInstanceBag)
+                {
+                    componentInstanceMap.put(contextual, (BeanInstanceBag<?>) bag);
+                }
+            }
+            attached = true;
+        }
+    }
+
+    /**
+     * Sets the HttpSession attributes of all beans which got used since the last flush
+     * and removes the ones of destroyed beans.
+     */
+    public void flush(HttpSession session)
+    {
+        Iterator<Contextual<?>> dirtyIterator = dirtyBeans.iterator();
+        while (dirtyIterator.hasNext())
+        {
+            Contextual<?> contextual = dirtyIterator.next();
+            dirtyIterator.remove();
+
+            String id = WebBeansUtil.getPassivationId(contextual);
+            if (id == null)
+            {
+                // not passivation capable, such a bean cannot be replicated anyway
+                continue;
+            }
+
+            BeanInstanceBag<?> bag = componentInstanceMap.get(contextual);
+            if (bag != null)
+            {
+                session.setAttribute(BEAN_ATTRIBUTE_PREFIX + id, bag);
+            }
+            else
+            {
+                session.removeAttribute(BEAN_ATTRIBUTE_PREFIX + id);
+            }
+        }
+    }
+
+    /**
+     * The contextual instances are stored in their own HttpSession attributes.
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeObject(scopeType);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        scopeType = (Class<? extends Annotation>) in.readObject();
+        setComponentInstanceMap();
+        attached = false;
+    }
+}
@@ -34,6 +34,11 @@ public class ServletRequestContext extends RequestContext
     // this can only be accessed when the context is active
     private transient HttpServletRequest servletRequest;
 
+    /**
+     * The session which got marked as used by this request via {@link StoredSessionContext#requestStarted()}.
+     * Only this request releases it again, even if the contexts got propagated to other threads.
+     */
+    private transient StoredSessionContext usedSessionContext;
 
     public ServletRequestContext()
     {
@@ -63,6 +68,16 @@ public class ServletRequestContext extends RequestContext
         this.servletRequest = servletRequest;
     }
 
+    public StoredSessionContext getUsedSessionContext()
+    {
+        return usedSessionContext;
+    }
+
+    public void setUsedSessionContext(StoredSessionContext usedSessionContext)
+    {
+        this.usedSessionContext = usedSessionContext;
+    }
+
     @Override
     public void destroy()
     {
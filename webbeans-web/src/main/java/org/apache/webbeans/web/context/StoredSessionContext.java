@@ -0,0 +1,444 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.web.context;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.PassivationIdTable;
+import org.apache.webbeans.context.SessionContext;
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.PassivationSerializer;
+import org.apache.webbeans.spi.SessionContextStore;
+import org.apache.webbeans.util.OwbCustomObjectInputStream;
+import org.apache.webbeans.util.WebBeansUtil;
+
+/**
+ * SessionContext which moves its contextual instances into a {@link SessionContextStore}
+ * once the session got idle.
+ *
+ * <p>{@link #passivateIfIdle(long, long)} serializes every passivation capable bean
+ * into the store and drops it from the heap. Each bean gets hydrated on its own as soon
+ * as it gets accessed again, e.g. through its proxy. Beans which cannot get serialized
+ * stay on the heap.</p>
+ *
+ * <p>A session never gets passivated while a request is using it.</p>
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#SESSION_STORE_IDLE_TIMEOUT
+ */
+public class StoredSessionContext extends SessionContext
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(StoredSessionContext.class);
+
+    /**
+     * Contexts which got dropped without being destroyed, e.g. because the servlet container
+     * serialized and swapped out their session. Their beans get removed from the store once
+     * the context got garbage collected.
+     */
+    private static final ReferenceQueue<StoredSessionContext> COLLECTED_CONTEXTS = new ReferenceQueue<>();
+
+    /**
+     * Keeps the {@link StoreCleanup}s reachable until they got processed.
+     */
+    private static final Set<StoreCleanup> STORE_CLEANUPS = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Identifies the beans of this context in the store.
+     * A deserialized context gets a new one as the store is local to the JVM.
+     */
+    private final transient String sessionKey = UUID.randomUUID().toString();
+
+    /**
+     * Passivation ids of the beans which currently live in the store.
+     */
+    private final transient Set<String> storedBeanIds = ConcurrentHashMap.newKeySet();
+
+    private transient SessionContextStore store;
+    private transient PassivationSerializer serializer;
+    private transient StoreCleanup storeCleanup;
+
+    private transient volatile long lastAccess = System.currentTimeMillis();
+
+    /**
+     * Number of requests which currently use this session, guarded by this.
+     */
+    private transient int activeRequests;
+
+    // for serialisation
+    public StoredSessionContext()
+    {
+        super();
+    }
+
+    public StoredSessionContext(WebBeansContext webBeansContext)
+    {
+        super(webBeansContext);
+        initStore(webBeansContext);
+    }
+
+    private void initStore(WebBeansContext webBeansContext)
+    {
+        store = webBeansContext.getService(SessionContextStore.class);
+        if (store == null)
+        {
+            throw new WebBeansConfigurationException("No " + SessionContextStore.class.getName() + " configured");
+        }
+        serializer = webBeansContext.getPassivationSerializer();
+
+        removeCollectedContexts();
+        storeCleanup = new StoreCleanup(this, store, sessionKey);
+        STORE_CLEANUPS.add(storeCleanup);
+    }
+
+    /**
+     * Removes the beans of all contexts which got garbage collected without being destroyed.
+     */
+    private static void removeCollectedContexts()
+    {
+        Reference<? extends StoredSessionContext> reference;
+        while ((reference = COLLECTED_CONTEXTS.poll()) != null)
+        {
+            StoreCleanup cleanup = (StoreCleanup) reference;
+            STORE_CLEANUPS.remove(cleanup);
+            try
+            {
+                cleanup.store.removeSession(cleanup.sessionKey);
+            }
+            catch (RuntimeException e)
+            {
+                logger.log(Level.WARNING, "Cannot remove the beans of a dropped session from the store", e);
+            }
+        }
+    }
+
+    @Override
+    public <T> T get(Contextual<T> component)
+    {
+        checkActive();
+        hydrate(component);
+        return super.get(component);
+    }
+
+    @Override
+    protected <T> T getInstance(Contextual<T> contextual, CreationalContext<T> creationalContext)
+    {
+        lastAccess = System.currentTimeMillis();
+        hydrate(contextual);
+        return super.getInstance(contextual, creationalContext);
+    }
+
+    @Override
+    public void beanAccessed(Contextual<?> contextual)
+    {
+        lastAccess = System.currentTimeMillis();
+    }
+
+    @Override
+    public void destroyInstance(Contextual<?> contextual)
+    {
+        hydrate(contextual);
+        super.destroyInstance(contextual);
+    }
+
+    @Override
+    public void destroy()
+    {
+        synchronized (this)
+        {
+            for (String beanId : new ArrayList<>(storedBeanIds))
+            {
+                Contextual<?> contextual = WebBeansContext.currentInstance().getBeanManagerImpl()
+                    .getPassivationCapableBean(beanId);
+                if (contextual != null)
+                {
+                    hydrate(contextual);
+                }
+            }
+            storedBeanIds.clear();
+            if (store != null)
+            {
+                store.removeSession(sessionKey);
+            }
+            if (storeCleanup != null)
+            {
+                // nothing left to clean up
+                STORE_CLEANUPS.remove(storeCleanup);
+                storeCleanup.clear();
+                storeCleanup = null;
+            }
+        }
+        super.destroy();
+    }
+
+    /**
+     * Marks this session as used by a request. It won't get passivated until {@link #requestEnded()}.
+     */
+    public synchronized void requestStarted()
+    {
+        activeRequests++;
+        lastAccess = System.currentTimeMillis();
+    }
+
+    public synchronized void requestEnded()
+    {
+        if (activeRequests > 0)
+        {
+            activeRequests--;
+        }
+        lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Moves all beans into the store if this session didn't get used for the given time.
+     *
+     * @param now the current time in milliseconds
+     * @param idleTimeout milliseconds after which a session counts as idle
+     * @return {@code true} if the beans got passivated
+     */
+    public boolean passivateIfIdle(long now, long idleTimeout)
+    {
+        if (now - lastAccess < idleTimeout || componentInstanceMap.isEmpty())
+        {
+            return false;
+        }
+        return passivate();
+    }
+
+    /**
+     * Moves all passivation capable beans into the store.
+     *
+     * @return {@code false} if a request currently uses this session
+     */
+    public synchronized boolean passivate()
+    {
+        removeCollectedContexts();
+        if (activeRequests > 0)
+        {
+            return false;
+        }
+
+        for (Map.Entry<Contextual<?>, BeanInstanceBag<?>> entry : new ArrayList<>(componentInstanceMap.entrySet()))
+        {
+            String beanId = WebBeansUtil.getPassivationId(entry.getKey());
+            if (beanId == null)
+            {
+                continue;
+            }
+
+            byte[] state;
+            try
+            {
+                state = write(entry.getValue());
+            }
+            catch (IOException e)
+            {
+                // keep such beans on the heap
+                if (logger.isLoggable(Level.FINE))
+                {
+                    logger.log(Level.FINE, "Cannot passivate session bean " + beanId, e);
+                }
+                continue;
+            }
+
+            store.store(sessionKey, beanId, state);
+            storedBeanIds.add(beanId);
+            componentInstanceMap.remove(entry.getKey());
+        }
+        clearSlotInstances();
+        return true;
+    }
+
+    /**
+     * @return the number of beans which currently live in the store
+     */
+    public int getStoredBeanCount()
+    {
+        return storedBeanIds.size();
+    }
+
+    /**
+     * Loads the bean from the store if it got passivated.
+     */
+    private void hydrate(Contextual<?> contextual)
+    {
+        if (storedBeanIds.isEmpty())
+        {
+            return;
+        }
+
+        String beanId = WebBeansUtil.getPassivationId(contextual);
+        if (beanId == null || !storedBeanIds.contains(beanId))
+        {
+            return;
+        }
+
+        synchronized (this)
+        {
+            if (!storedBeanIds.contains(beanId))
+            {
+                // got hydrated by another thread
+                return;
+            }
+
+            byte[] state = store.load(sessionKey, beanId);
+            if (state != null)
+            {
+                try
+                {
+                    componentInstanceMap.put(contextual, read(state));
+                }
+                catch (IOException | ClassNotFoundException e)
+                {
+                    throw new WebBeansException("Cannot restore session bean " + beanId, e);
+                }
+            }
+
+            // only remove the id after the bag is available again, see the unlocked check above
+            storedBeanIds.remove(beanId);
+            store.remove(sessionKey, beanId);
+        }
+    }
+
+    private byte[] write(BeanInstanceBag<?> bag) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(baos))
+        {
+            PassivationIdTable previous = PassivationIdTable.begin(out);
+            try
+            {
+                serializer.write(out, bag);
+            }
+            finally
+            {
+                PassivationIdTable.end(out, previous);
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    private BeanInstanceBag<?> read(byte[] state) throws IOException, ClassNotFoundException
+    {
+        try (ObjectInputStream in = new OwbCustomObjectInputStream(new ByteArrayInputStream(state),
+                                                                   WebBeansUtil.getCurrentClassLoader()))
+        {
+            PassivationIdTable previous = PassivationIdTable.begin(in);
+            try
+            {
+                return (BeanInstanceBag<?>) serializer.read(in);
+            }
+            finally
+            {
+                PassivationIdTable.end(in, previous);
+            }
+        }
+    }
+
+    /**
+     * Writes the beans on the heap as usual followed by the raw state of the stored ones,
+     * which thus don't need to get hydrated.
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        super.writeExternal(out);
+
+        Map<String, byte[]> states = new HashMap<>();
+        synchronized (this)
+        {
+            for (String beanId : storedBeanIds)
+            {
+                byte[] state = store.load(sessionKey, beanId);
+                if (state != null)
+                {
+                    states.put(beanId, state);
+                }
+            }
+        }
+
+        out.writeInt(states.size());
+        for (Map.Entry<String, byte[]> entry : states.entrySet())
+        {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().length);
+            out.write(entry.getValue());
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        super.readExternal(in);
+        initStore(WebBeansContext.currentInstance());
+
+        int size = in.readInt();
+        List<String> beanIds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+        {
+            String beanId = in.readUTF();
+            byte[] state = new byte[in.readInt()];
+            in.readFully(state);
+            store.store(sessionKey, beanId, state);
+            beanIds.add(beanId);
+        }
+        storedBeanIds.addAll(beanIds);
+    }
+
+    /**
+     * Removes the beans of a {@link StoredSessionContext} from the store once it got garbage collected.
+     */
+    private static final class StoreCleanup extends WeakReference<StoredSessionContext>
+    {
+        private final SessionContextStore store;
+        private final String sessionKey;
+
+        private StoreCleanup(StoredSessionContext context, SessionContextStore store, String sessionKey)
+        {
+            super(context, COLLECTED_CONTEXTS);
+            this.store = store;
+            this.sessionKey = sessionKey;
+        }
+    }
+}
@@ -34,9 +34,9 @@ import org.apache.webbeans.context.SingletonContext;
 import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.el.ELContextStore;
 import org.apache.webbeans.event.NotificationManager;
-import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
+import org.apache.webbeans.spi.SessionContextStore;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.ContextException;
@@ -51,6 +51,12 @@ import javax.servlet.ServletRequestEvent;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -101,6 +107,25 @@ public class WebContextsService extends AbstractContextsService
 
     protected Boolean fireRequestLifecycleEvents;
 
+    /**
+     * @see OpenWebBeansConfiguration#SESSION_DELTA_REPLICATION
+     */
+    protected final boolean sessionDeltaReplication;
+
+    /**
+     * @see OpenWebBeansConfiguration#SESSION_STORE_IDLE_TIMEOUT
+     */
+    protected final long sessionStoreIdleTimeout;
+
+    /**
+     * All live {@link StoredSessionContext}s. Weakly referenced as the servlet container
+     * might drop a session without us getting notified, e.g. if it gets migrated.
+     */
+    private final Set<StoredSessionContext> storedSessionContexts =
+        Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final AtomicLong nextIdleSessionCheck = new AtomicLong();
+
     /**
      * Creates a new instance.
      */
@@ -121,6 +146,8 @@ public class WebContextsService extends AbstractContextsService
         dependentContext.setActive(true);
 
         configureEagerSessionInitialisation(webBeansContext);
+        sessionDeltaReplication = webBeansContext.getOpenWebBeansConfiguration().isSessionDeltaReplication();
+        sessionStoreIdleTimeout = webBeansContext.getOpenWebBeansConfiguration().getSessionStoreIdleTimeout();
     }
 
     protected void configureEagerSessionInitialisation(WebBeansContext webBeansContext)
@@ -151,7 +178,63 @@ public class WebContextsService extends AbstractContextsService
         requestContexts.remove();
         sessionContexts.remove();
         conversationContexts.remove();
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object captureContexts()
+    {
+        ServletRequestContext requestContext = requestContexts.get();
+        SessionContext sessionContext = sessionContexts.get();
+        ConversationContext conversationContext = conversationContexts.get();
+        if (requestContext == null && sessionContext == null && conversationContext == null)
+        {
+            return null;
+        }
+        return new ThreadContexts(requestContext, sessionContext, conversationContext);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object activateContexts(Object contexts)
+    {
+        Object previous = captureContexts();
+        restoreContexts(contexts);
+        return previous;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void restoreContexts(Object previousContexts)
+    {
+        if (previousContexts == null)
+        {
+            removeThreadLocals();
+            return;
+        }
+
+        ThreadContexts contexts = (ThreadContexts) previousContexts;
+        set(requestContexts, contexts.requestContext);
+        set(sessionContexts, contexts.sessionContext);
+        set(conversationContexts, contexts.conversationContext);
+    }
+
+    private static <T> void set(ThreadLocal<T> threadLocal, T value)
+    {
+        if (value == null)
+        {
+            threadLocal.remove();
+        }
+        else
+        {
+            threadLocal.set(value);
+        }
     }
 
 
@@ -161,6 +244,13 @@ public class WebContextsService extends AbstractContextsService
     @Override
     public void init(Object initializeObject)
     {
+        if (sessionStoreIdleTimeout > 0 && webBeansContext.getService(SessionContextStore.class) == null)
+        {
+            // fail fast instead of when the first session gets passivated
+            throw new WebBeansConfigurationException(OpenWebBeansConfiguration.SESSION_STORE_IDLE_TIMEOUT
+                    + " is set but there is no " + SessionContextStore.class.getName() + " configured");
+        }
+
         //Start signelton context
         startContext(Singleton.class, initializeObject);
 
@@ -349,6 +439,7 @@ public class WebContextsService extends AbstractContextsService
     {
         
         ServletRequestContext requestContext = new ServletRequestContext();
+        requestContext.setMetricsService(webBeansContext.getMetricsService());
         requestContext.setActive(true);
 
         requestContexts.set(requestContext);// set thread local
@@ -402,6 +493,12 @@ public class WebContextsService extends AbstractContextsService
             return;
         }
 
+        flushSessionContext(context);
+        if (sessionStoreIdleTimeout > 0)
+        {
+            passivateIdleSessions();
+        }
+
             // cleanup open conversations first
         if (supportsConversation)
         {
@@ -462,10 +559,6 @@ public class WebContextsService extends AbstractContextsService
                 payload != null ? payload : new Object(), DestroyedLiteral.INSTANCE_REQUEST_SCOPED);
         }
 
-        // clean the proxy cache ThreadLocals
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
-
         //Clear thread locals
         requestContexts.set(null);
         requestContexts.remove();
@@ -495,13 +588,15 @@ public class WebContextsService extends AbstractContextsService
                     currentSessionContext = (SessionContext) session.getAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME);
                     if (currentSessionContext == null)
                     {
-                        currentSessionContext = new SessionContext();
+                        currentSessionContext = createSessionContext();
                         currentSessionContext.setActive(true);
+                        currentSessionContext.reportContextStart();
                         
                         // init context before fire @Initialized(SessionScoped)
                         // so that SessionScoped beans are already available inside the observer
                         session.setAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME, currentSessionContext);
                         sessionContexts.set(currentSessionContext);
+                        sessionContextBound(currentSessionContext);
                         
                         webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
                             session, InitializedLiteral.INSTANCE_SESSION_SCOPED);
@@ -510,17 +605,117 @@ public class WebContextsService extends AbstractContextsService
             }
             else
             {
-                // we do that in any case.
-                // This is needed to trigger delta-replication on most servers
-                session.setAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME, currentSessionContext);
+                if (currentSessionContext instanceof DeltaSessionContext)
+                {
+                    // the beans get set one by one at the end of the request, see #flushSessionContext
+                    ((DeltaSessionContext) currentSessionContext).attach(session, webBeansContext);
+                }
+                else
+                {
+                    // we do that in any case.
+                    // This is needed to trigger delta-replication on most servers
+                    session.setAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME, currentSessionContext);
+                }
                 currentSessionContext.setActive(true);
 
                 //Set thread local
                 sessionContexts.set(currentSessionContext);
+                sessionContextBound(currentSessionContext);
+            }
+        }
+    }
+
+    /**
+     * Tracks the sessions which can get passivated into the
+     * {@link org.apache.webbeans.spi.SessionContextStore}.
+     */
+    private void sessionContextBound(SessionContext sessionContext)
+    {
+        if (sessionContext instanceof StoredSessionContext)
+        {
+            StoredSessionContext storedSessionContext = (StoredSessionContext) sessionContext;
+            storedSessionContexts.add(storedSessionContext);
+
+            // the request which marks the session as used is the only one which releases it again
+            ServletRequestContext requestContext = requestContexts.get();
+            if (requestContext != null && requestContext.getUsedSessionContext() == null)
+            {
+                storedSessionContext.requestStarted();
+                requestContext.setUsedSessionContext(storedSessionContext);
             }
         }
     }
 
+    protected SessionContext createSessionContext()
+    {
+        if (sessionDeltaReplication)
+        {
+            return new DeltaSessionContext(webBeansContext);
+        }
+        if (sessionStoreIdleTimeout > 0)
+        {
+            return new StoredSessionContext(webBeansContext);
+        }
+        return new SessionContext(webBeansContext);
+    }
+
+    /**
+     * Stores the session beans which got used within the request in the HttpSession.
+     * Only needed if {@link OpenWebBeansConfiguration#SESSION_DELTA_REPLICATION} is enabled.
+     * A {@link StoredSessionContext} instead gets released by the request, so it can get passivated again.
+     * @param requestContext the context of the ending request
+     */
+    protected void flushSessionContext(ServletRequestContext requestContext)
+    {
+        StoredSessionContext usedSessionContext = requestContext.getUsedSessionContext();
+        if (usedSessionContext != null)
+        {
+            // not the thread bound session, the contexts might have been propagated to this thread
+            requestContext.setUsedSessionContext(null);
+            usedSessionContext.requestEnded();
+            return;
+        }
+
+        SessionContext sessionContext = sessionContexts.get();
+
+        if (!(sessionContext instanceof DeltaSessionContext) || !sessionContext.isActive()
+            || requestContext.getServletRequest() == null)
+        {
+            return;
+        }
+
+        HttpSession session = requestContext.getServletRequest().getSession(false);
+        if (session != null)
+        {
+            ((DeltaSessionContext) sessionContext).flush(session);
+        }
+    }
+
+    /**
+     * Moves the beans of all sessions which didn't get used for the
+     * {@link OpenWebBeansConfiguration#SESSION_STORE_IDLE_TIMEOUT} into the store.
+     * Gets invoked at the end of a request but does the check only once per timeout.
+     */
+    protected void passivateIdleSessions()
+    {
+        long now = System.currentTimeMillis();
+        long nextCheck = nextIdleSessionCheck.get();
+        if (now < nextCheck || !nextIdleSessionCheck.compareAndSet(nextCheck, now + sessionStoreIdleTimeout))
+        {
+            return;
+        }
+
+        List<StoredSessionContext> contexts;
+        synchronized (storedSessionContexts)
+        {
+            contexts = new ArrayList<>(storedSessionContexts);
+        }
+        for (StoredSessionContext context : contexts)
+        {
+            context.passivateIfIdle(now, sessionStoreIdleTimeout);
+        }
+    }
+
     /**
      * Destroys the session context and all of its components at the end of the
      * session. 
@@ -582,8 +777,6 @@ public class WebContextsService extends AbstractContextsService
                 requestContext.setHttpSession(session);
             }
         }
-
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
     }
 
 
@@ -869,4 +1062,21 @@ public class WebContextsService extends AbstractContextsService
         }
     }
 
+    /**
+     * Handle of the contexts which are bound to a thread.
+     */
+    private static final class ThreadContexts
+    {
+        private final ServletRequestContext requestContext;
+        private final SessionContext sessionContext;
+        private final ConversationContext conversationContext;
+
+        private ThreadContexts(ServletRequestContext requestContext, SessionContext sessionContext,
+                               ConversationContext conversationContext)
+        {
+            this.requestContext = requestContext;
+            this.sessionContext = sessionContext;
+            this.conversationContext = conversationContext;
+        }
+    }
 }
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.web.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.servlet.ServletRequestEvent;
+import javax.servlet.http.HttpSession;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.util.WebBeansUtil;
+import org.apache.webbeans.web.context.DeltaSessionContext;
+import org.apache.webbeans.web.context.WebContextsService;
+import org.apache.webbeans.web.lifecycle.test.MockServletContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DeltaSessionReplicationTest extends AbstractUnitTest
+{
+    @Test
+    public void testOnlyUsedBeansGetSetAgain() throws Exception
+    {
+        try
+        {
+            System.setProperty(OpenWebBeansConfiguration.SESSION_DELTA_REPLICATION, "true");
+            startContainer(CartBean.class, ProfileBean.class);
+        }
+        finally
+        {
+            System.clearProperty(OpenWebBeansConfiguration.SESSION_DELTA_REPLICATION);
+        }
+
+        String cartAttribute = attributeName(CartBean.class);
+        String profileAttribute = attributeName(ProfileBean.class);
+
+        RecordingHttpSession session = new RecordingHttpSession();
+        request(session, () ->
+        {
+            getInstance(CartBean.class).add();
+            getInstance(ProfileBean.class).setName("owb");
+        });
+        Assert.assertTrue(session.changedAttributes.contains(cartAttribute));
+        Assert.assertTrue(session.changedAttributes.contains(profileAttribute));
+
+        session.changedAttributes.clear();
+        request(session, () -> getInstance(CartBean.class).add());
+        Assert.assertEquals(1, session.changedAttributes.size());
+        Assert.assertTrue(session.changedAttributes.contains(cartAttribute));
+
+        // simulate a failover to another node
+        RecordingHttpSession replicatedSession = new RecordingHttpSession();
+        Enumeration<String> attributeNames = session.getAttributeNames();
+        while (attributeNames.hasMoreElements())
+        {
+            String attributeName = attributeNames.nextElement();
+            replicatedSession.setAttribute(attributeName, deserialize(serialize(session.getAttribute(attributeName))));
+        }
+        replicatedSession.changedAttributes.clear();
+
+        int[] items = new int[1];
+        String[] name = new String[1];
+        request(replicatedSession, () ->
+        {
+            items[0] = getInstance(CartBean.class).getItems();
+            name[0] = getInstance(ProfileBean.class).getName();
+        });
+        Assert.assertEquals(2, items[0]);
+        Assert.assertEquals("owb", name[0]);
+
+        shutDownContainer();
+    }
+
+    private String attributeName(Class<?> beanClass)
+    {
+        return DeltaSessionContext.BEAN_ATTRIBUTE_PREFIX
+            + WebBeansUtil.getPassivationId(getBeanManager().getBeans(beanClass).iterator().next());
+    }
+
+    private void request(HttpSession session, Runnable work)
+    {
+        MockServletRequest request = new MockServletRequest()
+        {
+            @Override
+            public HttpSession getSession(boolean create)
+            {
+                return session;
+            }
+        };
+        ServletRequestEvent event = new ServletRequestEvent(new MockServletContext(), request);
+
+        WebContextsService contextsService = (WebContextsService) getWebBeansContext().getContextsService();
+        contextsService.startContext(RequestScoped.class, event);
+        try
+        {
+            work.run();
+        }
+        finally
+        {
+            contextsService.endContext(RequestScoped.class, event);
+            contextsService.removeThreadLocals();
+        }
+    }
+
+    private static byte[] serialize(Object o) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos))
+        {
+            oos.writeObject(o);
+        }
+        return baos.toByteArray();
+    }
+
+    private static Object deserialize(byte[] serial) throws IOException, ClassNotFoundException
+    {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serial)))
+        {
+            return ois.readObject();
+        }
+    }
+
+    public static class RecordingHttpSession extends MockHttpSession
+    {
+        private final Set<String> changedAttributes = new HashSet<>();
+
+        @Override
+        public void setAttribute(String name, Object value)
+        {
+            changedAttributes.add(name);
+            super.setAttribute(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name)
+        {
+            changedAttributes.add(name);
+            super.removeAttribute(name);
+        }
+    }
+
+    @SessionScoped
+    public static class CartBean implements Serializable
+    {
+        private final List<String> items = new ArrayList<>();
+
+        public void add()
+        {
+            items.add("item");
+        }
+
+        public int getItems()
+        {
+            return items.size();
+        }
+    }
+
+    @SessionScoped
+    public static class ProfileBean implements Serializable
+    {
+        private String name;
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public void setName(String name)
+        {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.web.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.servlet.ServletRequestEvent;
+import javax.servlet.http.HttpSession;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.corespi.FileSessionContextStore;
+import org.apache.webbeans.spi.SessionContextStore;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.web.context.StoredSessionContext;
+import org.apache.webbeans.web.context.WebContextsService;
+import org.apache.webbeans.web.lifecycle.test.MockServletContext;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StoredSessionContextTest extends AbstractUnitTest
+{
+    private static final long IDLE_TIMEOUT = 60000;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testIdleSessionGetsPassivatedAndHydratedPerBean() throws Exception
+    {
+        File storeDirectory = tempFolder.newFolder("sessions");
+        try
+        {
+            System.setProperty(OpenWebBeansConfiguration.SESSION_STORE_IDLE_TIMEOUT, String.valueOf(IDLE_TIMEOUT));
+            System.setProperty(SessionContextStore.class.getName(), FileSessionContextStore.class.getName());
+            System.setProperty(OpenWebBeansConfiguration.SESSION_STORE_DIRECTORY, storeDirectory.getAbsolutePath());
+            startContainer(CartBean.class, ProfileBean.class);
+        }
+        finally
+        {
+            System.clearProperty(OpenWebBeansConfiguration.SESSION_STORE_IDLE_TIMEOUT);
+            System.clearProperty(SessionContextStore.class.getName());
+            System.clearProperty(OpenWebBeansConfiguration.SESSION_STORE_DIRECTORY);
+        }
+
+        MockHttpSession session = new MockHttpSession();
+        request(session, () ->
+        {
+            getInstance(CartBean.class).add();
+            getInstance(CartBean.class).add();
+            getInstance(ProfileBean.class).setName("owb");
+        });
+
+        StoredSessionContext sessionContext = findSessionContext(session);
+        long now = System.currentTimeMillis();
+        Assert.assertFalse(sessionContext.passivateIfIdle(now, IDLE_TIMEOUT));
+        Assert.assertTrue(sessionContext.passivateIfIdle(now + IDLE_TIMEOUT, IDLE_TIMEOUT));
+        Assert.assertEquals(2, sessionContext.getStoredBeanCount());
+        Assert.assertEquals(1, storeDirectory.list().length);
+        Path sessionDirectory = storeDirectory.listFiles()[0].toPath();
+        if (Files.getFileStore(sessionDirectory).supportsFileAttributeView("posix"))
+        {
+            // the files contain the session state
+            Assert.assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(sessionDirectory));
+        }
+
+        // only the used bean gets hydrated
+        int[] items = new int[1];
+        request(session, () -> items[0] = getInstance(CartBean.class).getItems());
+        Assert.assertEquals(2, items[0]);
+        Assert.assertEquals(1, sessionContext.getStoredBeanCount());
+
+        // a session which got serialized by the servlet container keeps its stored beans
+        Assert.assertTrue(sessionContext.passivate());
+        MockHttpSession restoredSession = new MockHttpSession();
+        Enumeration<String> attributeNames = session.getAttributeNames();
+        while (attributeNames.hasMoreElements())
+        {
+            String attributeName = attributeNames.nextElement();
+            restoredSession.setAttribute(attributeName, deserialize(serialize(session.getAttribute(attributeName))));
+        }
+        Assert.assertEquals(2, findSessionContext(restoredSession).getStoredBeanCount());
+
+        String[] name = new String[1];
+        request(restoredSession, () ->
+        {
+            items[0] = getInstance(CartBean.class).getItems();
+            name[0] = getInstance(ProfileBean.class).getName();
+        });
+        Assert.assertEquals(2, items[0]);
+        Assert.assertEquals("owb", name[0]);
+
+        shutDownContainer();
+    }
+
+    @Test
+    public void testSessionInUseDoesNotGetPassivated()
+    {
+        try
+        {
+            System.setProperty(OpenWebBeansConfiguration.SESSION_STORE_IDLE_TIMEOUT, String.valueOf(IDLE_TIMEOUT));
+            startContainer(CartBean.class);
+        }
+        finally
+        {
+            System.clearProperty(OpenWebBeansConfiguration.SESSION_STORE_IDLE_TIMEOUT);
+        }
+
+        MockHttpSession session = new MockHttpSession();
+        boolean[] passivated = new boolean[2];
+        request(session, () ->
+        {
+            getInstance(CartBean.class).add();
+            passivated[0] = findSessionContext(session).passivate();
+
+            // a request context started and ended on another thread with the propagated contexts
+            // must not release the session of this request
+            WebContextsService contextsService = (WebContextsService) getWebBeansContext().getContextsService();
+            Object contexts = contextsService.captureContexts();
+            Thread thread = new Thread(() ->
+            {
+                Object previous = contextsService.activateContexts(contexts);
+                contextsService.startContext(RequestScoped.class, null);
+                contextsService.endContext(RequestScoped.class, null);
+                contextsService.restoreContexts(previous);
+            });
+            thread.start();
+            try
+            {
+                thread.join();
+            }
+            catch (InterruptedException e)
+            {
+                throw new IllegalStateException(e);
+            }
+            passivated[1] = findSessionContext(session).passivate();
+        });
+        Assert.assertFalse(passivated[0]);
+        Assert.assertFalse(passivated[1]);
+        Assert.assertTrue(findSessionContext(session).passivate());
+
+        shutDownContainer();
+    }
+
+    private static StoredSessionContext findSessionContext(HttpSession session)
+    {
+        Enumeration<String> attributeNames = session.getAttributeNames();
+        while (attributeNames.hasMoreElements())
+        {
+            Object attribute = session.getAttribute(attributeNames.nextElement());
+            if (attribute instanceof StoredSessionContext)
+            {
+                return (StoredSessionContext) attribute;
+            }
+        }
+        throw new AssertionError("no StoredSessionContext in the session");
+    }
+
+    private void request(HttpSession session, Runnable work)
+    {
+        MockServletRequest request = new MockServletRequest()
+        {
+            @Override
+            public HttpSession getSession(boolean create)
+            {
+                return session;
+            }
+        };
+        ServletRequestEvent event = new ServletRequestEvent(new MockServletContext(), request);
+
+        WebContextsService contextsService = (WebContextsService) getWebBeansContext().getContextsService();
+        contextsService.startContext(RequestScoped.class, event);
+        try
+        {
+            work.run();
+        }
+        finally
+        {
+            contextsService.endContext(RequestScoped.class, event);
+            contextsService.removeThreadLocals();
+        }
+    }
+
+    private static byte[] serialize(Object o) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos))
+        {
+            oos.writeObject(o);
+        }
+        return baos.toByteArray();
+    }
+
+    private static Object deserialize(byte[] serial) throws IOException, ClassNotFoundException
+    {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serial)))
+        {
+            return ois.readObject();
+        }
+    }
+
+    @SessionScoped
+    public static class CartBean implements Serializable
+    {
+        private final List<String> items = new ArrayList<>();
+
+        public void add()
+        {
+            items.add("item");
+        }
+
+        public int getItems()
+        {
+            return items.size();
+        }
+    }
+
+    @SessionScoped
+    public static class ProfileBean implements Serializable
+    {
+        private String name;
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public void setName(String name)
+        {
+            this.name = name;
+        }
+    }
+}